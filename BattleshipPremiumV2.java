@@ -44,7 +44,19 @@ public class BattleshipPremiumV2 extends JFrame {
         PLAYING,          // FR: Phase de jeu active. / EN: Active gameplay phase.
         PAUSED,           // FR: Jeu en pause. / EN: Game is paused.
         GAME_OVER,        // FR: La partie est terminée. / EN: The game is over.
-        HIGHSCORE_SCREEN  // FR: Écran des meilleurs scores. / EN: High scores screen.
+        HIGHSCORE_SCREEN, // FR: Écran des meilleurs scores. / EN: High scores screen.
+        STATS_SCREEN,     // FR: Écran des statistiques de tir. / EN: Shot statistics screen.
+        PROFILE_SCREEN,   // FR: Écran du profil joueur. / EN: Player profile screen.
+        SHARED_OCEAN      // FR: Océan partagé, chacun pour soi. / EN: Shared ocean, free-for-all.
+    }
+
+    /**
+     * FR: Variantes de règles disponibles pour une partie.
+     * EN: Rule variants available for a game.
+     */
+    public enum RuleSet {
+        CLASSIC, // FR: Un tir par tour. / EN: One shot per turn.
+        SALVO    // FR: Un tir par navire encore à flot. / EN: One shot per ship still afloat.
     }
 
     // FR: Constante pour le titre de l'application. / EN: Constant for the application title.
@@ -54,10 +66,35 @@ public class BattleshipPremiumV2 extends JFrame {
     // EN: Managers for the user interface and game logic.
     private final CardLayout cardLayout = new CardLayout();
     private final JPanel mainPanel = new JPanel(cardLayout);
-    private final GameEngine gameEngine = new GameEngine(this);
+    private final GameEngine gameEngine = new GameEngine();
+    // FR: Horloge unique de toutes les animations et transitions. / EN: Single clock for every animation and transition.
+    private final FrameClock frameClock = new FrameClock();
     private final GamePanel gamePanel = new GamePanel();
     private final ShipPlacementPanel shipPlacementPanel = new ShipPlacementPanel();
     private final HighScoreDisplayPanel highScoreDisplayPanel = new HighScoreDisplayPanel();
+    private final StatsPanel statsPanel = new StatsPanel();
+    // FR: Compteurs de tirs et de placements partagés entre instances (null si le fichier est indisponible).
+    // EN: Shot and placement counters shared between instances (null if the file is unavailable).
+    private final ShotStatistics shotStatistics = ShotStatistics.openDefault();
+    // FR: Profils des joueurs (null si le fichier est indisponible). / EN: Player profiles (null if the file is unavailable).
+    private final PlayerProfileStore profileStore = PlayerProfileStore.openDefault();
+    // FR: Archive de toutes les parties (null si indisponible). / EN: Archive of every game (null if unavailable).
+    private final GameArchive gameArchive = GameArchive.openDefault();
+    private final ProfilePanel profilePanel = new ProfilePanel();
+    private final SharedOceanPanel sharedOceanPanel = new SharedOceanPanel();
+    // FR: Abonnement de l'interface au bus d'événements du moteur.
+    // EN: The UI's subscription to the engine's event bus.
+    private final GameEventBus.Subscription uiEvents;
+    // FR: Niveau dont la flotte est en cours de placement (connu de l'interface sans attendre le moteur).
+    // EN: Level whose fleet is being placed (known to the UI without waiting for the engine).
+    private int placementLevel = 1;
+    // FR: Changement d'écran différé en attente (annulé si un autre écran est demandé).
+    // EN: Pending delayed screen change (cancelled if another screen is requested).
+    private FrameClock.Tween pendingTransition;
+    // FR: Prochain événement attendu par l'interface (-1 avant le premier) et fin de partie déjà traitée.
+    // EN: Next event the UI expects (-1 before the first) and game over already handled.
+    private long expectedUiEvent = -1;
+    private boolean gameOverShown;
 
     /**
      * FR: Constructeur principal de l'application. Initialise la fenêtre et les panneaux.
@@ -65,12 +102,17 @@ public class BattleshipPremiumV2 extends JFrame {
      */
     public BattleshipPremiumV2() {
         setTitle(APP_TITLE);
-        setSize(Theme.APP_WIDTH, Theme.APP_HEIGHT);
+        // FR: Fenêtre redimensionnable, dimensionnée d'après l'écran (les grilles suivent la taille).
+        // EN: Resizable window, sized from the screen (grids follow the size).
+        Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        int side = Math.max(Theme.APP_HEIGHT, screen.height * 9 / 10);
+        setSize(Math.min(screen.width, Math.max(Theme.APP_WIDTH, side * 4 / 5)), Math.min(screen.height, side));
+        setMinimumSize(new Dimension(Theme.APP_WIDTH * 3 / 4, Theme.APP_HEIGHT * 3 / 4));
         // FR: Empêche la fermeture par défaut pour gérer la sauvegarde.
         // EN: Prevents default closing to handle the save process.
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setLocationRelativeTo(null);
-        setResizable(false);
+        setResizable(true);
 
         // FR: Ajout des différents panneaux au CardLayout avec un nom correspondant à l'état du jeu.
         // EN: Adding the different panels to the CardLayout with a name corresponding to the game state.
@@ -79,9 +121,24 @@ public class BattleshipPremiumV2 extends JFrame {
         mainPanel.add(gamePanel, GameState.PLAYING.name());
         mainPanel.add(new PauseMenuPanel(), GameState.PAUSED.name());
         mainPanel.add(highScoreDisplayPanel, GameState.HIGHSCORE_SCREEN.name());
+        mainPanel.add(statsPanel, GameState.STATS_SCREEN.name());
+        mainPanel.add(profilePanel, GameState.PROFILE_SCREEN.name());
+        mainPanel.add(sharedOceanPanel, GameState.SHARED_OCEAN.name());
 
         add(mainPanel);
 
+        // FR: L'interface consomme les événements du moteur sur l'EDT, par lots, sans jamais bloquer le moteur.
+        //     Un trou dans les séquences (file pleine) se rattrape depuis l'instantané du moteur.
+        // EN: The UI consumes engine events on the EDT, in batches, without ever blocking the engine.
+        //     A gap in the sequences (full queue) is caught up from the engine snapshot.
+        uiEvents = gameEngine.getEventBus().subscribe(this::onGameEvent,
+                GameEventBus.BackPressure.DROP_OLDEST, () -> SwingUtilities.invokeLater(this::drainUiEvents));
+        if (shotStatistics != null) shotStatistics.attach(gameEngine.getEventBus());
+        if (profileStore != null) profileStore.attach(gameEngine.getEventBus());
+        if (gameArchive != null) gameArchive.attach(gameEngine.getEventBus());
+        SpectatorBroadcast.attachIfRequested(gameEngine);
+        gameEngine.start();
+
         // FR: Ajout d'un écouteur pour gérer l'événement de fermeture de la fenêtre.
         // EN: Adding a listener to handle the window closing event.
         addWindowListener(new WindowAdapter() {
@@ -89,8 +146,14 @@ public class BattleshipPremiumV2 extends JFrame {
             public void windowClosing(WindowEvent e) {
                 // FR: Si le jeu est en cours ou en pause, on déclenche la logique de fin de partie.
                 // EN: If the game is in progress or paused, trigger the game over logic.
+                // FR: La fermeture attend la saisie éventuelle du meilleur score.
+                // EN: Closing waits for the possible high score entry.
+                // FR: Le plein écran exclusif est rendu d'abord : le dialogue éventuel s'affiche normalement.
+                // EN: Exclusive full screen is released first: the possible dialog shows normally.
+                ActiveRenderer.exitFullScreen(BattleshipPremiumV2.this);
                 if (gameEngine.getCurrentState() == GameState.PLAYING || gameEngine.getCurrentState() == GameState.PAUSED) {
-                    gameEngine.handleGameOverOrQuit();
+                    handleGameOverOrQuit().thenRun(() -> System.exit(0));
+                    return;
                 }
                 System.exit(0); // FR: Ferme l'application. / EN: Closes the application.
             }
@@ -107,8 +170,19 @@ public class BattleshipPremiumV2 extends JFrame {
      * @param state FR: L'état du jeu à afficher. / EN: The game state to display.
      */
     public void showPanel(GameState state) {
+        if (pendingTransition != null) {
+            pendingTransition.cancel();
+            pendingTransition = null;
+        }
         cardLayout.show(mainPanel, state.name());
         gameEngine.setCurrentState(state);
+        frameClock.setPaused(state == GameState.PAUSED);
+        if (state != GameState.PLAYING && state != GameState.PAUSED) {
+            gamePanel.stopDrawingLoop();
+        }
+        if (state != GameState.SHARED_OCEAN) {
+            sharedOceanPanel.stop();
+        }
 
         // FR: Actions spécifiques à exécuter lors du changement de panneau.
         // EN: Specific actions to execute when changing panels.
@@ -119,6 +193,15 @@ public class BattleshipPremiumV2 extends JFrame {
             case HIGHSCORE_SCREEN:
                 highScoreDisplayPanel.refreshScores();
                 break;
+            case STATS_SCREEN:
+                statsPanel.refresh();
+                break;
+            case PROFILE_SCREEN:
+                profilePanel.refresh();
+                break;
+            case SHARED_OCEAN:
+                sharedOceanPanel.start();
+                break;
             case SHIP_PLACEMENT:
                 shipPlacementPanel.startPlacementPhase();
                 break;
@@ -128,6 +211,154 @@ public class BattleshipPremiumV2 extends JFrame {
         }
     }
 
+    /**
+     * FR: Vide la file d'événements de l'interface (appelé sur l'EDT).
+     * EN: Drains the UI's event queue (called on the EDT).
+     */
+    private void drainUiEvents() {
+        uiEvents.poll(256);
+    }
+
+    /**
+     * FR: Réagit à un événement du moteur : messages animés et changements d'écran.
+     * EN: Reacts to an engine event: animated messages and screen changes.
+     */
+    private void onGameEvent(GameEventBus.GameEvent event) {
+        long sequence = event.getSequence();
+        if (expectedUiEvent >= 0 && sequence != expectedUiEvent) resyncFromSnapshot(sequence - 1);
+        expectedUiEvent = sequence + 1;
+        switch (event.getType()) {
+            case MESSAGE:
+                gamePanel.showAnimatedMessage(event.getText());
+                break;
+            case LEVEL_UP:
+                showLevelUp((int) event.getValue(), event.getText());
+                break;
+            case SHOT_FIRED:
+            case SUNK:
+                gamePanel.showShotEffect(event.getType(), event.isByPlayer(), event.getX(), event.getY(), event.getValue());
+                break;
+            case GAME_OVER:
+                showGameOver(event.isByPlayer(), event.getValue(), event.getText());
+                break;
+            default:
+                /* FR: Les autres événements concernent d'autres abonnés. / EN: Other events are for other subscribers. */
+                break;
+        }
+    }
+
+    /**
+     * FR: Rattrape les changements d'écran perdus avec les événements écrasés, d'après l'instantané
+     *     (comme un spectateur en retard repart d'une image clé). Si l'instantané ne couvre pas
+     *     encore ces événements, on réessaie au tour suivant de l'EDT.
+     * EN: Catches up on screen changes lost with the overwritten events, from the snapshot (the
+     *     way a lagging spectator restarts from a keyframe). If the snapshot does not cover those
+     *     events yet, this retries on the next EDT turn.
+     */
+    private void resyncFromSnapshot(long missedUpTo) {
+        GameEngine.Snapshot view = gameEngine.getSnapshot();
+        if (view.getEventSequence() < missedUpTo) {
+            SwingUtilities.invokeLater(() -> resyncFromSnapshot(missedUpTo));
+            return;
+        }
+        if (view.getState() == GameState.GAME_OVER) {
+            boolean won = view.getLevel() > Theme.MAX_LEVEL;
+            showGameOver(won, view.getScore(), won ? "VICTOIRE !" : "GAME OVER");
+        } else if (view.getState() == GameState.SHIP_PLACEMENT) {
+            showLevelUp(view.getLevel(), "Niveau " + view.getLevel());
+        }
+    }
+
+    /**
+     * FR: Annonce un nouveau niveau puis passe au placement (une seule fois par niveau).
+     * EN: Announces a new level then moves to placement (once per level).
+     */
+    private void showLevelUp(int level, String text) {
+        if (level <= placementLevel) return;
+        placementLevel = level;
+        gamePanel.showAnimatedMessage(text);
+        gamePanel.clearSalvoAims();
+        // FR: Laisse le temps de lire l'annonce du niveau. / EN: Leaves time to read the level announcement.
+        transitionTo(GameState.SHIP_PLACEMENT, 1500);
+    }
+
+    /**
+     * FR: Termine la partie à l'écran (une seule fois par partie) : annonce, score, retour au menu.
+     * EN: Ends the game on screen (once per game): announcement, score, back to the menu.
+     */
+    private void showGameOver(boolean won, long score, String text) {
+        if (gameOverShown) return;
+        gameOverShown = true;
+        gamePanel.showAnimatedMessage(text);
+        handleGameOverOrQuit(score);
+        transitionTo(GameState.MAIN_MENU, won ? 4000 : 3000);
+    }
+
+    /**
+     * FR: Change d'écran après un délai mesuré par l'horloge d'images (suspendu par la pause).
+     * EN: Changes screen after a delay measured by the frame clock (suspended while paused).
+     */
+    private void transitionTo(GameState state, long delayMillis) {
+        if (pendingTransition != null) pendingTransition.cancel();
+        FrameClock.Tween[] self = new FrameClock.Tween[1];
+        self[0] = frameClock.after(delayMillis, () -> {
+            if (pendingTransition == self[0]) pendingTransition = null;
+            showPanel(state);
+        });
+        pendingTransition = self[0];
+    }
+
+    /**
+     * FR: Gère la sauvegarde du score à la fin d'une partie.
+     * EN: Handles saving the score at the end of a game.
+     * @return FR: Terminé une fois le score proposé (ou écarté), sur l'EDT. / EN: Completed once the score was offered (or skipped), on the EDT.
+     */
+    public java.util.concurrent.CompletableFuture<Void> handleGameOverOrQuit() {
+        return handleGameOverOrQuit(gameEngine.getPlayerScore());
+    }
+
+    /**
+     * FR: Variante utilisant le score porté par l'événement de fin de partie (l'instantané
+     *     du moteur peut ne pas encore être publié).
+     * EN: Variant using the score carried by the game-over event (the engine snapshot may
+     *     not be published yet).
+     */
+    private java.util.concurrent.CompletableFuture<Void> handleGameOverOrQuit(long score) {
+        HighScoreManager highScores = gameEngine.getHighScoreManager();
+        // FR: Les parties jouées avec annulation n'entrent pas au classement.
+        // EN: Matches played with undo do not enter the leaderboard.
+        if (gameEngine.getSnapshot().isTrainingUsed() || !highScores.isNewHighScore(score)) {
+            return java.util.concurrent.CompletableFuture.completedFuture(null);
+        }
+        // FR: Journal de la partie, joint au score comme preuve. Demandé tout de suite (la partie suivante
+        //     ne l'a pas encore remplacé) mais attendu hors de l'EDT : le dialogue suit sur l'EDT.
+        // EN: Match log, attached to the score as proof. Requested right away (the next match has not
+        //     replaced it yet) but awaited off the EDT: the dialog follows on the EDT.
+        java.util.concurrent.CompletableFuture<Void> offered = new java.util.concurrent.CompletableFuture<>();
+        gameEngine.recordMatch().thenAccept(record -> SwingUtilities.invokeLater(() -> {
+            try {
+                offerHighScore(highScores, score, record);
+            } finally {
+                offered.complete(null);
+            }
+        }));
+        return offered;
+    }
+
+    /**
+     * FR: Demande le pseudo et enregistre le score vérifié (sur l'EDT).
+     * EN: Asks for the name and records the verified score (on the EDT).
+     */
+    private void offerHighScore(HighScoreManager highScores, long score, GameRecord record) {
+        // FR: Le pseudo du tableau ne remplace plus le profil actif. / EN: The table name no longer replaces the active profile.
+        String name = JOptionPane.showInputDialog(this, "Nouveau Highscore ! Entrez votre pseudo:", gameEngine.getCurrentPlayerName());
+        if (name == null || name.trim().isEmpty()) { name = "Anonyme"; }
+        // FR: Un refus est déjà signalé par le gestionnaire. / EN: A rejection is already reported by the manager.
+        if (highScores.addScore(name, score, record)) {
+            highScores.saveHighScores();
+        }
+    }
+
     // --- Getters ---
     public GameEngine getGameEngine() { return gameEngine; }
     public GamePanel getGamePanel() { return gamePanel; }
@@ -137,7 +368,22 @@ public class BattleshipPremiumV2 extends JFrame {
      * EN: Starts a brand new game from the beginning.
      */
     public void startNewGame() {
-        gameEngine.initGame();
+        startNewGame(RuleSet.CLASSIC);
+    }
+
+    /**
+     * FR: Démarre une nouvelle partie avec la variante de règles donnée.
+     * EN: Starts a new game with the given rule variant.
+     * @param ruleSet FR: Les règles à appliquer. / EN: The rules to apply.
+     */
+    public void startNewGame(RuleSet ruleSet) {
+        // FR: La flotte ennemie s'écartera des habitudes de tir du joueur actif.
+        // EN: The enemy fleet will keep away from the active player's targeting habits.
+        gameEngine.setOpponentHeat(profileStore == null ? null : profileStore.targetingHeat(gameEngine.getCurrentPlayerName()));
+        gameEngine.initGame(ruleSet);
+        placementLevel = 1;
+        gameOverShown = false;
+        gamePanel.clearSalvoAims();
         showPanel(GameState.SHIP_PLACEMENT);
     }
 
@@ -156,6 +402,55 @@ public class BattleshipPremiumV2 extends JFrame {
      * @param args FR: Arguments de la ligne de commande (non utilisés). / EN: Command-line arguments (not used).
      */
     public static void main(String[] args) {
+        // FR: Modes sans interface (outils de développement). / EN: Headless modes (developer tools).
+        if (args.length > 0) {
+            switch (args[0]) {
+                case "--fuzz":
+                    FuzzHarness.run(args);
+                    return;
+                case "--fuzz-replay":
+                    FuzzHarness.replay(args);
+                    return;
+                case "--bot-host":
+                    BotHost.run(args);
+                    return;
+                case "--verify-scores":
+                    ScoreVerifier.run(args);
+                    return;
+                case "--merge-leaderboards":
+                    LeaderboardMerger.run(args);
+                    return;
+                case "--ocean-bench":
+                    SharedOcean.bench(args);
+                    return;
+                case "--archive-report":
+                    GameArchive.report(args);
+                    return;
+                case "--archive-bench":
+                    GameArchive.bench(args);
+                    return;
+                case "--bench-heatmap":
+                    HeatmapEvaluator.bench(args);
+                    return;
+                case "--train-policy":
+                    SelfPlayTrainer.run(args);
+                    return;
+                case "--spectate":
+                    // FR: Fenêtre de spectateur à la place du jeu. / EN: Spectator window instead of the game.
+                    SpectatorView.run(args);
+                    return;
+                case "--bot-random":
+                    try {
+                        RandomBot.run();
+                    } catch (IOException e) {
+                        System.err.println("Bot interrompu : " + e.getMessage());
+                    }
+                    return;
+                default:
+                    break;
+            }
+        }
+        configureUiOptions(args);
         // FR: Tente de définir un look and feel multiplateforme pour une apparence cohérente.
         // EN: Tries to set a cross-platform look and feel for a consistent appearance.
         try {
@@ -168,11 +463,44 @@ public class BattleshipPremiumV2 extends JFrame {
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
-                new BattleshipPremiumV2().setVisible(true);
+                BattleshipPremiumV2 frame = new BattleshipPremiumV2();
+                // FR: Une fois la fenêtre construite, avant son affichage. / EN: Once the window is built, before it is shown.
+                ActiveRenderer.enterFullScreen(frame);
+                frame.setVisible(true);
             }
         });
     }
 
+    /**
+     * FR: Lit les options de l'interface, combinables dans n'importe quel ordre. Chacune lit sa
+     *     propre valeur, l'argument qui la suit, sauf si c'est une autre option.
+     * EN: Reads the UI options, combinable in any order. Each one reads its own value, the
+     *     argument that follows it, unless that is another option.
+     */
+    private static void configureUiOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--edt-watchdog":
+                    String threshold = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[i + 1] : null;
+                    EdtWatchdog.install(threshold);
+                    if (threshold != null) i++;
+                    break;
+                case "--active-rendering":
+                    boolean windowed = i + 1 < args.length && args[i + 1].equals("--windowed");
+                    ActiveRenderer.configure(windowed);
+                    if (windowed) i++;
+                    break;
+                case "--broadcast":
+                    String port = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[i + 1] : null;
+                    SpectatorBroadcast.configure(port);
+                    if (port != null) i++;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
     /**
      * FR: Classe interne contenant toutes les constantes de thème (couleurs, polices, tailles).
      * EN: Inner class containing all theme constants (colors, fonts, sizes).
@@ -182,7 +510,7 @@ public class BattleshipPremiumV2 extends JFrame {
         public static final int APP_WIDTH = 800;
         public static final int APP_HEIGHT = 800;
         public static final int BOARD_SIZE = 10; // 10x10 grid
-        public static final int CELL_SIZE = 40;  // 40x40 pixels per cell
+        public static final int CELL_SIZE = 40;  // 40x40 pixels per cell (FR: taille nominale / EN: nominal size)
         public static final int MAX_LEVEL = 5;
 
         // Colors
@@ -210,1053 +538,10631 @@ public class BattleshipPremiumV2 extends JFrame {
     }
 
     /**
-     * FR: Un JPanel personnalisé qui dessine un fond en dégradé.
-     * EN: A custom JPanel that draws a gradient background.
+     * FR: Géométrie des grilles pour une taille de panneau donnée : la taille des cases suit la
+     *     fenêtre au lieu d'être fixée à {@link Theme#CELL_SIZE}.
+     * EN: Grid geometry for a given panel size: the cell size follows the window instead of
+     *     being fixed to {@link Theme#CELL_SIZE}.
      */
-    private static class GradientPanel extends JPanel {
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            GradientPaint gp = new GradientPaint(0, 0, Theme.COLOR_BACKGROUND_START, 0, getHeight(), Theme.COLOR_BACKGROUND_END);
-            g2d.setPaint(gp);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
-        }
-    }
+    private static final class BoardLayout {
+        private static final int MIN_CELL = 12;
+        private static final int GAME_HEADER = 120;     // FR: Score, niveau, salve. / EN: Score, level, volley.
+        private static final int GAME_GAP = 50;         // FR: Titre de la grille du joueur. / EN: Player grid title.
+        private static final int PLACEMENT_HEADER = 100;
+        private static final int MARGIN = 20;
 
-    /**
-     * FR: Un JButton personnalisé avec un style moderne.
-     * EN: A custom JButton with a modern style.
-     */
-    private static class ModernButton extends JButton {
-        public ModernButton(String text) {
-            super(text);
-            setFont(Theme.FONT_BUTTON);
-            setBackground(Theme.COLOR_BUTTON);
-            setForeground(Theme.COLOR_TEXT);
-            setFocusPainted(false);
-            setPreferredSize(new Dimension(250, 55));
-            setBorder(BorderFactory.createLineBorder(Theme.COLOR_ACCENT, 1));
+        private final int cell;
+        private final int offsetX;
+        private final int enemyY;
+        private final int playerY;
+        private final int boardSize;
 
-            addMouseListener(new MouseAdapter() {
-                public void mouseEntered(MouseEvent evt) { setBackground(Theme.COLOR_BUTTON_HOVER); }
-                public void mouseExited(MouseEvent evt) { setBackground(Theme.COLOR_BUTTON); }
-            });
+        private BoardLayout(int cell, int offsetX, int enemyY, int playerY, int boardSize) {
+            this.cell = cell;
+            this.offsetX = offsetX;
+            this.enemyY = enemyY;
+            this.playerY = playerY;
+            this.boardSize = boardSize;
         }
-    }
-
-    /**
-     * FR: Le panneau du menu principal, affichant les options de jeu.
-     * EN: The main menu panel, displaying game options.
-     */
-    private class MainMenuPanel extends GradientPanel {
-        public MainMenuPanel() {
-            setLayout(new GridBagLayout());
-            GridBagConstraints gbc = new GridBagConstraints();
-            gbc.insets = new Insets(15, 10, 15, 10);
-            gbc.gridx = 0;
 
-            JLabel title = new JLabel(APP_TITLE);
-            title.setFont(Theme.FONT_TITLE);
-            title.setForeground(Theme.COLOR_TEXT);
-            gbc.gridy = 0;
-            add(title, gbc);
+        /**
+         * FR: Écran de jeu : grille ennemie au-dessus de celle du joueur.
+         * EN: Gameplay screen: enemy grid above the player's grid.
+         */
+        public static BoardLayout forGame(int width, int height) {
+            int cell = Math.max(MIN_CELL, Math.min((width - 2 * MARGIN) / Theme.BOARD_SIZE,
+                    (height - GAME_HEADER - GAME_GAP - MARGIN) / (2 * Theme.BOARD_SIZE)));
+            int boardPx = cell * Theme.BOARD_SIZE;
+            return new BoardLayout(cell, (width - boardPx) / 2, GAME_HEADER, GAME_HEADER + boardPx + GAME_GAP, Theme.BOARD_SIZE);
+        }
 
-            gbc.gridy = 1;
-            add(new ModernButton("Nouvelle Partie") {{ addActionListener(e -> startNewGame()); }}, gbc);
-            gbc.gridy = 2;
-            add(new ModernButton("Meilleurs Scores") {{ addActionListener(e -> showPanel(GameState.HIGHSCORE_SCREEN)); }}, gbc);
-            gbc.gridy = 3;
-            add(new ModernButton("Quitter") {{ addActionListener(e -> System.exit(0)); }}, gbc);
+        /**
+         * FR: Écran de placement (et cartes de chaleur) : une seule grille centrée sous les consignes.
+         * EN: Placement screen (and heatmaps): a single grid centred below the instructions.
+         */
+        public static BoardLayout forSingleBoard(int width, int height, int boardSize) {
+            int cell = Math.max(MIN_CELL, Math.min((width - 2 * MARGIN) / boardSize,
+                    (height - 2 * PLACEMENT_HEADER) / boardSize));
+            int boardPx = cell * boardSize;
+            int offsetY = Math.max(PLACEMENT_HEADER, (height - boardPx) / 2);
+            return new BoardLayout(cell, (width - boardPx) / 2, offsetY, offsetY, boardSize);
         }
-    }
 
-    /**
-     * FR: Le panneau du menu de pause, superposé à l'écran de jeu.
-     * EN: The pause menu panel, overlaid on the game screen.
-     */
-    private class PauseMenuPanel extends JPanel {
-        public PauseMenuPanel() {
-            setOpaque(false);
-            setBackground(Theme.COLOR_TRANSPARENT_BG);
-            setLayout(new GridBagLayout());
-            GridBagConstraints gbc = new GridBagConstraints();
-            gbc.insets = new Insets(10, 10, 10, 10);
-            gbc.gridx = 0;
+        /**
+         * FR: Océan partagé : une grande grille sous l'en-tête, les cases pouvant descendre à 1 pixel.
+         * EN: Shared ocean: one large grid below the header, cells may shrink down to 1 pixel.
+         */
+        public static BoardLayout forOcean(int width, int height, int oceanSize) {
+            int cell = Math.max(1, Math.min((width - 2 * MARGIN) / oceanSize,
+                    (height - GAME_HEADER - PLACEMENT_HEADER) / oceanSize));
+            int boardPx = cell * oceanSize;
+            int offsetY = GAME_HEADER - MARGIN;
+            return new BoardLayout(cell, (width - boardPx) / 2, offsetY, offsetY, oceanSize);
+        }
 
-            JLabel pauseLabel = new JLabel("PAUSE");
-            pauseLabel.setFont(Theme.FONT_TITLE);
-            pauseLabel.setForeground(Theme.COLOR_TEXT);
-            gbc.gridy = 0; add(pauseLabel, gbc);
+        /**
+         * FR: Colonne sous l'abscisse donnée, ou -1 hors de la grille.
+         * EN: Column under the given x, or -1 outside the grid.
+         */
+        public int column(int px) {
+            return px < offsetX ? -1 : index((px - offsetX) / cell);
+        }
 
-            gbc.gridy = 1; add(new ModernButton("Reprendre") {{ addActionListener(e -> showPanel(GameState.PLAYING)); }}, gbc);
-            gbc.gridy = 2; add(new ModernButton("Menu Principal") {{ addActionListener(e -> {
-                gameEngine.handleGameOverOrQuit();
-                showPanel(GameState.MAIN_MENU);
-            }); }}, gbc);
-            gbc.gridy = 3; add(new ModernButton("Quitter le Jeu") {{ addActionListener(e -> {
-                gameEngine.handleGameOverOrQuit();
-                System.exit(0);
-            }); }}, gbc);
+        /**
+         * FR: Ligne sous l'ordonnée donnée pour une grille commençant en originY, ou -1 hors de la grille.
+         * EN: Row under the given y for a grid starting at originY, or -1 outside the grid.
+         */
+        public int row(int py, int originY) {
+            return py < originY ? -1 : index((py - originY) / cell);
         }
 
-        @Override
-        protected void paintComponent(Graphics g) {
-            g.setColor(getBackground());
-            g.fillRect(0, 0, getWidth(), getHeight());
-            super.paintComponent(g);
+        private int index(int i) {
+            return i < boardSize ? i : -1;
         }
+
+        public int getCell() { return cell; }
+        public int getOffsetX() { return offsetX; }
+        public int getEnemyY() { return enemyY; }
+        public int getPlayerY() { return playerY; }
     }
 
     /**
-     * FR: Panneau pour afficher la liste des meilleurs scores.
-     * EN: Panel for displaying the list of high scores.
+     * FR: Atlas de sprites : cases d'eau, marqueurs de tir et segments de navire dessinés une seule
+     *     fois, à la résolution réelle de l'écran (HiDPI compris), dans une image compatible. Le rendu
+     *     des grilles se réduit ensuite à des copies d'image 1:1 ; l'atlas est recuit uniquement
+     *     quand la taille des cases ou l'échelle de l'écran change.
+     * EN: Sprite atlas: water tiles, shot markers and ship segments drawn once, at the screen's real
+     *     resolution (HiDPI included), into a compatible image. Grid rendering then boils down to
+     *     1:1 image copies; the atlas is re-baked only when the cell size or the screen scale changes.
      */
-    private class HighScoreDisplayPanel extends GradientPanel {
-        private final JTextArea scoreArea = new JTextArea();
-
-        public HighScoreDisplayPanel() {
-            setLayout(new BorderLayout(20, 20));
-            setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+    private static final class SpriteAtlas {
+        static final int WATER = 0;
+        static final int HIT = 1;
+        static final int MISS = 2;
+        static final int SHIP_SINGLE = 3;
+        static final int SHIP_BOW_H = 4;
+        static final int SHIP_MID_H = 5;
+        static final int SHIP_STERN_H = 6;
+        static final int SHIP_BOW_V = 7;
+        static final int SHIP_MID_V = 8;
+        static final int SHIP_STERN_V = 9;
+        private static final int TILE_COUNT = 10;
+        // FR: Quelques atlas récents (grilles de jeu, de placement, plusieurs écrans).
+        // EN: A few recent atlases (game grids, placement grid, several screens).
+        private static final int CACHE_SIZE = 4;
+        private static final java.util.LinkedHashMap<Long, SpriteAtlas> CACHE =
+                new java.util.LinkedHashMap<Long, SpriteAtlas>(8, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(java.util.Map.Entry<Long, SpriteAtlas> eldest) {
+                        return size() > CACHE_SIZE;
+                    }
+                };
 
-            JLabel title = new JLabel("Meilleurs Scores", SwingConstants.CENTER);
-            title.setFont(Theme.FONT_TITLE);
-            title.setForeground(Theme.COLOR_TEXT);
-            add(title, BorderLayout.NORTH);
+        private final int cell;
+        private final int tilePx;
+        private final Image image;
 
-            scoreArea.setFont(Theme.FONT_MONO);
-            scoreArea.setBackground(Theme.COLOR_BACKGROUND_START);
-            scoreArea.setForeground(Theme.COLOR_TEXT);
-            scoreArea.setEditable(false);
-            
-            JScrollPane scrollPane = new JScrollPane(scoreArea);
-            scrollPane.setBorder(BorderFactory.createLineBorder(Theme.COLOR_ACCENT));
-            add(scrollPane, BorderLayout.CENTER);
+        private SpriteAtlas(GraphicsConfiguration config, int cell, double scale) {
+            this.cell = cell;
+            this.tilePx = Math.max(1, (int) Math.round(cell * scale));
+            this.image = config != null
+                    ? config.createCompatibleImage(tilePx * TILE_COUNT, tilePx, Transparency.TRANSLUCENT)
+                    : new java.awt.image.BufferedImage(tilePx * TILE_COUNT, tilePx, java.awt.image.BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = (Graphics2D) image.getGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                for (int tile = 0; tile < TILE_COUNT; tile++) {
+                    Graphics2D t = (Graphics2D) g.create(tile * tilePx, 0, tilePx, tilePx);
+                    t.scale((double) tilePx / cell, (double) tilePx / cell);
+                    bake(t, tile);
+                    t.dispose();
+                }
+            } finally {
+                g.dispose();
+            }
+        }
 
-            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-            buttonPanel.setOpaque(false);
-            buttonPanel.add(new ModernButton("Retour") {{ addActionListener(e -> showPanel(GameState.MAIN_MENU)); }});
-            add(buttonPanel, BorderLayout.SOUTH);
+        /**
+         * FR: Atlas adapté à la surface cible et à la taille de case (cuit au premier usage).
+         * EN: Atlas matching the target surface and cell size (baked on first use).
+         */
+        public static synchronized SpriteAtlas forCell(Graphics2D target, int cell) {
+            double scale = Math.max(Math.abs(target.getTransform().getScaleX()), 0.01);
+            long key = ((long) cell << 32) | Math.round(scale * 100);
+            SpriteAtlas atlas = CACHE.get(key);
+            if (atlas == null) {
+                atlas = new SpriteAtlas(target.getDeviceConfiguration(), cell, scale);
+                CACHE.put(key, atlas);
+            }
+            return atlas;
         }
-        
+
         /**
-         * FR: Met à jour l'affichage des scores en les rechargeant depuis le disque.
-         * EN: Updates the score display by reloading them from the disk.
+         * FR: Copie une tuile dans la case de coin (x, y) en coordonnées logiques.
+         * EN: Copies a tile into the cell whose corner is (x, y) in logical coordinates.
          */
-        public void refreshScores() {
-            scoreArea.setText("");
-            StringBuilder sb = new StringBuilder();
-            gameEngine.getHighScoreManager().loadHighScores(); 
-            java.util.List<HighScoreEntry> scores = gameEngine.getHighScoreManager().getHighScores();
-            if (scores.isEmpty()) {
-                sb.append("\n   Aucun score enregistré pour le moment.");
-            } else {
-                sb.append(String.format("\n   %-4s %-15s %10s\n", "Rang", "Joueur", "Score"));
-                sb.append("   ----------------------------------\n");
-                for (int i = 0; i < scores.size(); i++) {
-                    HighScoreEntry entry = scores.get(i);
-                    sb.append(String.format("   #%-3d %-15s %10d\n", i + 1, entry.getPlayerName(), entry.getScore()));
+        public void blit(Graphics2D g2d, int tile, int x, int y) {
+            int sx = tile * tilePx;
+            g2d.drawImage(image, x, y, x + cell, y + cell, sx, 0, sx + tilePx, tilePx, null);
+        }
+
+        public int getCell() { return cell; }
+
+        private void bake(Graphics2D g, int tile) {
+            int c = cell;
+            switch (tile) {
+                case WATER:
+                    // FR: Seuls les bords haut et gauche : les voisins ferment la case. / EN: Top and left edges only: neighbours close the cell.
+                    g.setColor(Theme.COLOR_GRID_BG);
+                    g.fillRect(0, 0, c, c);
+                    g.setColor(Theme.COLOR_GRID_LINE);
+                    g.drawLine(0, 0, c, 0);
+                    g.drawLine(0, 0, 0, c);
+                    break;
+                case HIT:
+                    g.setColor(Theme.COLOR_HIT);
+                    g.fillRect(2, 2, c - 4, c - 4);
+                    break;
+                case MISS: {
+                    int d = Math.max(4, c / 5);
+                    g.setColor(Theme.COLOR_MISS);
+                    g.fillOval((c - d) / 2, (c - d) / 2, d, d);
+                    break;
                 }
+                default:
+                    bakeShipSegment(g, tile, c);
+                    break;
+            }
+        }
+
+        private static void bakeShipSegment(Graphics2D g, int tile, int c) {
+            boolean vertical = tile >= SHIP_BOW_V;
+            int part = tile == SHIP_SINGLE ? -1 : (tile - SHIP_BOW_H) % 3; // 0 = proue, 1 = milieu, 2 = poupe
+            g.setColor(Theme.COLOR_SHIP);
+            g.fillRect(0, 0, c, c);
+            g.setColor(Color.WHITE);
+            // FR: Contour extérieur du navire uniquement. / EN: Outer outline of the ship only.
+            boolean open0 = part == 1 || part == 2; // FR: Relié au segment précédent. / EN: Joined to the previous segment.
+            boolean open1 = part == 0 || part == 1; // FR: Relié au segment suivant. / EN: Joined to the next segment.
+            if (vertical) {
+                g.drawLine(0, 0, 0, c);
+                g.drawLine(c - 1, 0, c - 1, c);
+                if (!open0) g.drawLine(0, 0, c, 0);
+                if (!open1) g.drawLine(0, c - 1, c, c - 1);
+            } else {
+                g.drawLine(0, 0, c, 0);
+                g.drawLine(0, c - 1, c, c - 1);
+                if (!open0) g.drawLine(0, 0, 0, c);
+                if (!open1) g.drawLine(c - 1, 0, c - 1, c);
             }
-            scoreArea.setText(sb.toString());
         }
     }
 
     /**
-     * FR: Panneau interactif où le joueur place ses navires sur la grille.
-     * EN: Interactive panel where the player places their ships on the grid.
+     * FR: Horloge d'images unique de l'interface : un seul Timer Swing fait avancer, à pas fixe,
+     *     toutes les interpolations (fondus, transitions, délais) et simulations, et appelle les
+     *     écouteurs d'image.
+     *     Le Timer ne tourne que s'il reste un effet ou un écouteur ; la pause gèle le temps des
+     *     effets. À utiliser uniquement depuis l'EDT.
+     * EN: The UI's single frame clock: one Swing Timer advances, on a fixed timestep, every tween
+     *     (fades, transitions, delays) and step simulation, and calls the frame listeners. The Timer
+     *     only runs while an effect or a listener remains; pausing freezes the effects' time. EDT only.
      */
-    private class ShipPlacementPanel extends GradientPanel implements MouseListener, MouseMotionListener, KeyListener {
-        private int currentShipIndex;
-        private Ship currentPlacingShip;
-        private boolean isHorizontal = true;
-        private Point mouseGridPos = new Point(-1, -1);
-        private java.util.List<Ship> shipsToPlace;
-
-        public ShipPlacementPanel() {
-            this.addMouseListener(this);
-            this.addMouseMotionListener(this);
-            this.addKeyListener(this);
-            this.setFocusable(true);
-        }
+    private static final class FrameClock {
+        private static final long STEP_NANOS = 1_000_000_000L / 60;
+        // FR: Au-delà, le retard est abandonné (EDT bloqué, dialogue modal). / EN: Beyond this, lag is dropped (blocked EDT, modal dialog).
+        private static final long MAX_CATCH_UP_NANOS = 250_000_000L;
 
         /**
-         * FR: Initialise la phase de placement.
-         * EN: Initializes the placement phase.
+         * FR: Courbes d'accélération des interpolations (t dans [0, 1]).
+         * EN: Tween easing curves (t in [0, 1]).
          */
-        public void startPlacementPhase() {
-            shipsToPlace = gameEngine.getShipsForCurrentLevel();
-            currentShipIndex = 0;
-            nextShipToPlace();
-            this.requestFocusInWindow();
-            repaint();
+        public enum Easing {
+            LINEAR {
+                @Override double apply(double t) { return t; }
+            },
+            EASE_IN_QUAD {
+                @Override double apply(double t) { return t * t; }
+            },
+            EASE_OUT_QUAD {
+                @Override double apply(double t) { return t * (2 - t); }
+            },
+            EASE_IN_OUT_CUBIC {
+                @Override double apply(double t) { return t < 0.5 ? 4 * t * t * t : 1 - Math.pow(-2 * t + 2, 3) / 2; }
+            };
+
+            abstract double apply(double t);
         }
 
         /**
-         * FR: Prépare le prochain navire à être placé par le joueur.
-         * EN: Prepares the next ship to be placed by the player.
+         * FR: Interpolation d'une valeur de {@code from} à {@code to}, après un délai, puis action finale.
+         * EN: Interpolation of a value from {@code from} to {@code to}, after a delay, then a final action.
          */
-        private void nextShipToPlace() {
-            if (currentShipIndex < shipsToPlace.size()) {
-                currentPlacingShip = shipsToPlace.get(currentShipIndex);
-                currentPlacingShip.setOrientation(isHorizontal);
-            } else {
-                // FR: Tous les navires sont placés, on lance le jeu.
-                // EN: All ships are placed, start the game.
-                currentPlacingShip = null;
-                gameEngine.placeComputerShips();
-                startGameplay();
-            }
-        }
+        public static final class Tween {
+            private final double from;
+            private final double to;
+            private final long delayNanos;
+            private final long durationNanos;
+            private final Easing easing;
+            private final java.util.function.DoubleConsumer setter;
+            private final Runnable onDone;
+            private long elapsedNanos;
+            private boolean cancelled;
 
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Tween(double from, double to, long delayNanos, long durationNanos, Easing easing,
+                  java.util.function.DoubleConsumer setter, Runnable onDone) {
+                this.from = from;
+                this.to = to;
+                this.delayNanos = delayNanos;
+                this.durationNanos = durationNanos;
+                this.easing = easing;
+                this.setter = setter;
+                this.onDone = onDone;
+            }
 
-            // FR: Calcule le décalage pour centrer la grille.
-            // EN: Calculates the offset to center the grid.
-            int boardPixelSize = Theme.BOARD_SIZE * Theme.CELL_SIZE;
-            int offsetX = (getWidth() - boardPixelSize) / 2;
-            int offsetY = (getHeight() - boardPixelSize) / 2;
+            /**
+             * FR: Annule l'effet : ni nouvelle valeur ni action finale.
+             * EN: Cancels the effect: neither new values nor the final action.
+             */
+            public void cancel() { cancelled = true; }
 
-            // FR: Dessine les textes d'instruction.
-            // EN: Draws the instruction texts.
-            g2d.setFont(Theme.FONT_SUBTITLE);
-            g2d.setColor(Theme.COLOR_TEXT);
-            g2d.drawString("Placez vos Navires", getWidth() / 2 - 120, 50);
+            public boolean isDone() { return cancelled || elapsedNanos >= delayNanos + durationNanos; }
 
-            String instruction = (currentPlacingShip != null)
-                ? "Cliquez pour placer. 'R' pour pivoter. Navire : " + currentPlacingShip.getType() + " (Taille " + currentPlacingShip.getSize() + ")"
-                : "Placement terminé. Lancement du jeu...";
-            g2d.setFont(Theme.FONT_TEXT);
-            g2d.drawString(instruction, getWidth() / 2 - 200, 80);
+            /** FR: Avance d'un pas ; vrai si l'effet est terminé. / EN: Advances one step; true once the effect is over. */
+            boolean advance(long stepNanos) {
+                if (cancelled) return true;
+                elapsedNanos += stepNanos;
+                if (elapsedNanos < delayNanos) return false;
+                double t = durationNanos == 0 ? 1 : Math.min(1.0, (double) (elapsedNanos - delayNanos) / durationNanos);
+                if (setter != null) setter.accept(from + (to - from) * easing.apply(t));
+                if (t < 1) return false;
+                if (onDone != null) onDone.run();
+                return true;
+            }
+        }
 
-            // FR: Dessine la grille du joueur.
-            // EN: Draws the player's grid.
-            gameEngine.getPlayerBoard().draw(g2d, offsetX, offsetY, false);
+        private final Timer timer;
+        private final java.util.List<Tween> tweens = new ArrayList<>();
+        private final java.util.List<Tween> added = new ArrayList<>();
+        private final java.util.List<Runnable> frameListeners = new ArrayList<>();
+        private final java.util.List<java.util.function.BooleanSupplier> stepListeners = new ArrayList<>();
+        private boolean paused;
+        private boolean stepping;
+        private long lastTickNanos;
+        private long accumulatorNanos;
 
-            // FR: Dessine un "fantôme" du navire en cours de placement.
-            // EN: Draws a "ghost" of the ship currently being placed.
-            if (currentPlacingShip != null && mouseGridPos.x != -1) {
-                currentPlacingShip.setPlacement(mouseGridPos.x, mouseGridPos.y, isHorizontal);
-                boolean canPlace = gameEngine.getPlayerBoard().canPlaceShip(currentPlacingShip);
-                currentPlacingShip.drawGhost(g2d, offsetX, offsetY, canPlace);
-            }
+        FrameClock() {
+            timer = new Timer((int) (STEP_NANOS / 1_000_000), e -> tick());
+            timer.setCoalesce(true);
         }
 
         /**
-         * FR: Convertit les coordonnées en pixels de la souris en coordonnées de la grille.
-         * EN: Converts mouse pixel coordinates to grid coordinates.
+         * FR: Programme une interpolation (durées en millisecondes de temps de jeu).
+         * EN: Schedules a tween (durations in milliseconds of game time).
          */
-        private Point getGridCoordinates(MouseEvent e) {
-            int boardPixelSize = Theme.BOARD_SIZE * Theme.CELL_SIZE;
-            int offsetX = (getWidth() - boardPixelSize) / 2;
-            int offsetY = (getHeight() - boardPixelSize) / 2;
-            if (e.getX() >= offsetX && e.getY() >= offsetY) {
-                int gridX = (e.getX() - offsetX) / Theme.CELL_SIZE;
-                int gridY = (e.getY() - offsetY) / Theme.CELL_SIZE;
-                if (gridX < Theme.BOARD_SIZE && gridY < Theme.BOARD_SIZE) {
-                    return new Point(gridX, gridY);
-                }
-            }
-            return new Point(-1, -1); // FR: Hors de la grille. / EN: Outside the grid.
+        public Tween tween(double from, double to, long delayMillis, long durationMillis, Easing easing,
+                           java.util.function.DoubleConsumer setter, Runnable onDone) {
+            Tween tween = new Tween(from, to, delayMillis * 1_000_000L, durationMillis * 1_000_000L, easing, setter, onDone);
+            // FR: Un effet ajouté pendant un pas démarre au pas suivant. / EN: An effect added during a step starts on the next step.
+            (stepping ? added : tweens).add(tween);
+            wake();
+            return tween;
         }
 
-        // --- Écouteurs d'événements / Event Listeners ---
-        
-        @Override public void mouseClicked(MouseEvent e) {
-             if (e.getButton() == MouseEvent.BUTTON1 && currentPlacingShip != null && mouseGridPos.x != -1) {
-                currentPlacingShip.setPlacement(mouseGridPos.x, mouseGridPos.y, isHorizontal);
-                if (gameEngine.getPlayerBoard().placeShip(currentPlacingShip)) {
-                    currentShipIndex++;
-                    nextShipToPlace();
-                }
-            }
-        }
-        
-        @Override public void mouseMoved(MouseEvent e) {
-            Point newGridPos = getGridCoordinates(e);
-            if (!newGridPos.equals(mouseGridPos)) {
-                mouseGridPos = newGridPos;
-                repaint();
-            }
-        }
-        
-        @Override public void keyPressed(KeyEvent e) {
-            // FR: La touche 'R' pivote le navire. / EN: The 'R' key rotates the ship.
-            if (e.getKeyCode() == KeyEvent.VK_R && currentPlacingShip != null) {
-                isHorizontal = !isHorizontal;
-                currentPlacingShip.setOrientation(isHorizontal);
-                repaint();
-            }
+        /**
+         * FR: Exécute une action après un délai de temps de jeu (suspendu par la pause).
+         * EN: Runs an action after a delay of game time (suspended while paused).
+         */
+        public Tween after(long delayMillis, Runnable action) {
+            return tween(0, 0, delayMillis, 0, Easing.LINEAR, null, action);
         }
-        
-        // FR: Méthodes d'interface non utilisées. / EN: Unused interface methods.
-        @Override public void keyTyped(KeyEvent e) {}
-        @Override public void keyReleased(KeyEvent e) {}
-        @Override public void mousePressed(MouseEvent e) {}
-        @Override public void mouseReleased(MouseEvent e) {}
-        @Override public void mouseEntered(MouseEvent e) {}
-        @Override public void mouseExited(MouseEvent e) {}
-        @Override public void mouseDragged(MouseEvent e) {}
-    }
 
-    /**
-     * FR: Le panneau principal du jeu, où se déroule l'action.
-     * EN: The main game panel, where the action takes place.
-     */
-    private class GamePanel extends JPanel {
-        private Timer gameLoopTimer; // FR: Pour redessiner l'écran à 60 FPS. / EN: For redrawing the screen at 60 FPS.
-        private String animatedMessage = null; // FR: Message animé (Touché, Manqué). / EN: Animated message (Hit, Miss).
-        private float messageAlpha = 0.0f; // FR: Transparence du message. / EN: Transparency of the message.
-        private Timer messageTimer; // FR: Timer pour l'animation du message. / EN: Timer for the message animation.
+        /**
+         * FR: Ajoute un écouteur appelé une fois par image, même en pause (ex. redessin continu).
+         * EN: Adds a listener called once per frame, even while paused (e.g. continuous repaint).
+         */
+        public void addFrameListener(Runnable listener) {
+            if (!frameListeners.contains(listener)) frameListeners.add(listener);
+            wake();
+        }
 
-        public GamePanel() {
-            setBackground(Theme.COLOR_BACKGROUND_START);
-            addMouseListener(new MouseAdapter() {
-                @Override public void mouseClicked(MouseEvent e) {
-                    // FR: Gère le clic du joueur sur la grille ennemie.
-                    // EN: Handles the player's click on the enemy grid.
-                    if (gameEngine.getCurrentState() == GameState.PLAYING && !gameEngine.isComputerTurn()) {
-                        int boardSizePx = Theme.BOARD_SIZE * Theme.CELL_SIZE;
-                        int offsetX = (getWidth() - boardSizePx) / 2;
-                        
-                        // FR: Vérifie si le clic est sur la grille ennemie (la grille du haut).
-                        // EN: Checks if the click is on the enemy grid (the top grid).
-                        if (e.getY() >= 100 && e.getY() < 100 + boardSizePx) {
-                             if(e.getX() >= offsetX && e.getX() < offsetX + boardSizePx) {
-                                int x = (e.getX() - offsetX) / Theme.CELL_SIZE;
-                                int y = (e.getY() - 100) / Theme.CELL_SIZE;
-                                gameEngine.playerMakeMove(x, y);
-                             }
-                        }
-                    }
-                }
-            });
+        public void removeFrameListener(Runnable listener) {
+            frameListeners.remove(listener);
         }
-        
+
         /**
-         * FR: Affiche un message animé au centre de l'écran.
-         * EN: Displays an animated message in the center of the screen.
-         * @param message Le texte à afficher. / The text to display.
+         * FR: Ajoute une simulation appelée à chaque pas fixe (pas en pause) ; retirée dès qu'elle retourne faux.
+         * EN: Adds a simulation called on every fixed step (not while paused); removed once it returns false.
          */
-        public void showAnimatedMessage(String message) {
-            this.animatedMessage = message;
-            this.messageAlpha = 1.0f;
-            if (messageTimer != null && messageTimer.isRunning()) messageTimer.stop();
-            
-            // FR: Fait disparaître le message progressivement.
-            // EN: Fades the message out progressively.
-            messageTimer = new Timer(20, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    messageAlpha -= 0.01f;
-                    if (messageAlpha <= 0) {
-                        messageAlpha = 0;
-                        animatedMessage = null;
-                        ((Timer)e.getSource()).stop();
-                    }
-                    repaint();
-                }
-            });
-            messageTimer.setInitialDelay(1000); // FR: Délai avant le début du fondu. / EN: Delay before the fade starts.
-            messageTimer.start();
+        public void addStepListener(java.util.function.BooleanSupplier listener) {
+            if (!stepListeners.contains(listener)) stepListeners.add(listener);
+            wake();
         }
 
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            
-            // FR: Dessine le fond en dégradé. / EN: Draws the gradient background.
-            GradientPaint gp = new GradientPaint(0, 0, Theme.COLOR_BACKGROUND_START, 0, getHeight(), Theme.COLOR_BACKGROUND_END);
-            g2d.setPaint(gp);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
+        public void setPaused(boolean paused) { this.paused = paused; }
+        public boolean isPaused() { return paused; }
+        public int getActiveEffects() { return tweens.size() + added.size(); }
 
-            // FR: Laisse le moteur de jeu dessiner les grilles, etc.
-            // EN: Lets the game engine draw the grids, etc.
-            gameEngine.drawGame(g2d, getWidth(), getHeight());
-            
-            // FR: Dessine le message animé s'il y en a un.
-            // EN: Draws the animated message if there is one.
-            if (animatedMessage != null) {
-                g2d.setFont(Theme.FONT_TITLE);
-                g2d.setColor(new Color(255, 255, 255, (int)(messageAlpha * 255)));
-                int textWidth = g2d.getFontMetrics().stringWidth(animatedMessage);
-                g2d.drawString(animatedMessage, (getWidth() - textWidth) / 2, getHeight() / 2);
+        private void wake() {
+            if (!timer.isRunning()) {
+                lastTickNanos = System.nanoTime();
+                accumulatorNanos = 0;
+                timer.start();
             }
         }
 
         /**
-         * FR: Démarre la boucle de rendu principale du jeu.
-         * EN: Starts the main rendering loop of the game.
+         * FR: Un rappel EDT par image : pas fixes rattrapés, puis écouteurs d'image.
+         * EN: One EDT callback per frame: catch up fixed steps, then frame listeners.
          */
-        public void startDrawingLoop() {
-            if (gameLoopTimer != null && gameLoopTimer.isRunning()) {
-                gameLoopTimer.stop();
+        private void tick() {
+            long now = System.nanoTime();
+            long elapsed = Math.min(now - lastTickNanos, MAX_CATCH_UP_NANOS);
+            lastTickNanos = now;
+            if (!paused) {
+                accumulatorNanos += elapsed;
+                while (accumulatorNanos >= STEP_NANOS) {
+                    accumulatorNanos -= STEP_NANOS;
+                    step();
+                }
             }
-            
-            // =================================================================================
-            // CORRECTION DÉFINITIVE APPLIQUÉE ICI
-            // La syntaxe lambda "e -> repaint()" a été remplacée par une classe anonyme
-            // pour assurer la compatibilité avec tous les environnements de compilation Java.
-            // =================================================================================
-            gameLoopTimer = new Timer(1000 / 60, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    repaint();
+            for (int i = 0; i < frameListeners.size(); i++) {
+                frameListeners.get(i).run();
+            }
+            if (tweens.isEmpty() && frameListeners.isEmpty() && stepListeners.isEmpty()) {
+                timer.stop();
+            }
+        }
+
+        private void step() {
+            stepping = true;
+            try {
+                int live = 0;
+                for (int i = 0; i < tweens.size(); i++) {
+                    Tween tween = tweens.get(i);
+                    if (!tween.advance(STEP_NANOS)) tweens.set(live++, tween);
                 }
-            }); // ~60 FPS
-            gameLoopTimer.start();
+                tweens.subList(live, tweens.size()).clear();
+            } finally {
+                stepping = false;
+            }
+            tweens.addAll(added);
+            added.clear();
+            stepListeners.removeIf(listener -> !listener.getAsBoolean());
         }
     }
 
     /**
-     * FR: Le cœur logique du jeu. Gère l'état, les tours, les scores, et la logique de l'IA.
-     * EN: The logical core of the game. Manages state, turns, scores, and AI logic.
+     * FR: Système de particules (explosions, gerbes d'eau, fumée) en structure de tableaux : chaque
+     *     attribut est un tableau primitif préalloué, les particules vivantes sont contiguës (une
+     *     particule morte est remplacée par la dernière), sans aucun objet par particule. Le rendu
+     *     écrit directement dans le raster d'une seule image ARGB prémultipliée, copiée en un appel.
+     *     Les positions sont en cases de grille, ce qui suit le redimensionnement de la fenêtre.
+     *     À utiliser uniquement depuis l'EDT.
+     * EN: Particle system (explosions, splashes, smoke) as a structure of arrays: every attribute
+     *     is a preallocated primitive array, live particles are contiguous (a dead particle is
+     *     replaced by the last one), with no object per particle. Rendering writes straight into
+     *     the raster of a single premultiplied ARGB image, copied in one call. Positions are in
+     *     grid cells, so they follow window resizing. EDT only.
      */
-    private static class GameEngine {
-        private final BattleshipPremiumV2 gameFrame;
-        private GameState currentState;
-        private Board playerBoard;
-        private Board computerBoard;
-        private final HighScoreManager highScores;
-        private int currentLevel;
-        private long playerScore;
-        private String currentPlayerName = "Joueur";
-        private boolean isComputerTurn = false;
-        
-        // FR: Liste des cibles prioritaires pour l'IA (après avoir touché un navire).
-        // EN: List of priority targets for the AI (after hitting a ship).
-        private final java.util.List<Point> huntTargets = new ArrayList<>();
-        private final Random random = new Random();
+    private static final class ParticleSystem {
+        public static final int CAPACITY = 1 << 16;
+        public static final int ENEMY_BOARD = 0;
+        public static final int PLAYER_BOARD = 1;
+        private static final float STEP_SECONDS = 1f / 60;
+        private static final float DRAG = 0.985f;
+        // FR: Couleurs ARGB ; l'alpha est l'opacité au début de la vie. / EN: ARGB colours; alpha is the opacity at birth.
+        private static final int[] FIRE = {0xFFFFD040, 0xFFFF8030, 0xFFFF4020};
+        private static final int[] WATER = {0xFFA0C8FF, 0xFFFFFFFF, 0xFF6090D0};
+        private static final int SMOKE = 0x40707080;
 
-        public GameEngine(BattleshipPremiumV2 gameFrame) {
-            this.gameFrame = gameFrame;
-            this.highScores = new HighScoreManager();
-            this.currentState = GameState.MAIN_MENU;
-        }
+        private final float[] x = new float[CAPACITY];
+        private final float[] y = new float[CAPACITY];
+        private final float[] vx = new float[CAPACITY];
+        private final float[] vy = new float[CAPACITY];
+        private final float[] ay = new float[CAPACITY];
+        private final float[] life = new float[CAPACITY];
+        private final float[] invMaxLife = new float[CAPACITY];
+        private final int[] argb = new int[CAPACITY];
+        private final byte[] board = new byte[CAPACITY];
+        private final byte[] size = new byte[CAPACITY];
+        private int count;
+        private int seed = 0x2545F491;
+
+        private java.awt.image.BufferedImage layer;
+        private int[] pixels;
+        // FR: Zone écrite à l'image précédente, seule à effacer. / EN: Area written in the previous frame, the only one to clear.
+        private int dirtyMinX, dirtyMinY, dirtyMaxX = -1, dirtyMaxY = -1;
 
         /**
-         * FR: Initialise une session de jeu complète (score, niveau 1).
-         * EN: Initializes a full game session (score, level 1).
+         * FR: Explosion d'une touche sur la case (cellX, cellY).
+         * EN: Explosion of a hit on cell (cellX, cellY).
          */
-        public void initGame() {
-            playerScore = 0;
-            currentLevel = 1;
-            setupNextLevel();
+        public void explode(int boardId, int cellX, int cellY, int amount) {
+            for (int i = 0; i < amount; i++) {
+                double angle = nextFloat() * 2 * Math.PI;
+                float speed = 0.5f + 3.5f * nextFloat();
+                spawn(boardId, cellX + 0.5f, cellY + 0.5f, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed,
+                        1.5f, 0.35f + 0.55f * nextFloat(), FIRE[nextInt(FIRE.length)], 2);
+            }
         }
 
         /**
-         * FR: Prépare le niveau suivant (ou le premier) sans réinitialiser le score.
-         * EN: Prepares the next (or first) level without resetting the score.
+         * FR: Gerbe d'eau d'un tir manqué.
+         * EN: Splash of a missed shot.
          */
-        public void setupNextLevel() {
-            playerBoard = new Board();
-            computerBoard = new Board();
-            huntTargets.clear();
-            isComputerTurn = false;
+        public void splash(int boardId, int cellX, int cellY, int amount) {
+            for (int i = 0; i < amount; i++) {
+                spawn(boardId, cellX + 0.3f + 0.4f * nextFloat(), cellY + 0.6f, (nextFloat() - 0.5f) * 1.6f, -1.5f - 2.5f * nextFloat(),
+                        9f, 0.5f + 0.5f * nextFloat(), WATER[nextInt(WATER.length)], 2);
+            }
         }
 
         /**
-         * FR: Retourne la liste des navires à placer pour le niveau actuel.
-         * EN: Returns the list of ships to be placed for the current level.
+         * FR: Fumée qui s'élève d'un navire coulé.
+         * EN: Smoke rising from a sunk ship.
          */
-        public java.util.List<Ship> getShipsForCurrentLevel() {
-            java.util.List<Ship> ships = new ArrayList<>();
-            // FR: Le nombre de navires augmente avec les niveaux.
-            // EN: The number of ships increases with levels.
-            int numShips = Math.min(currentLevel / 2 + 2, 5);
-            ships.add(new Ship(5, "Porte-avions"));
-            ships.add(new Ship(4, "Croiseur"));
-            ships.add(new Ship(3, "Destroyer"));
-            ships.add(new Ship(3, "Sous-marin"));
-            ships.add(new Ship(2, "Torpilleur"));
-            return ships.subList(0, Math.min(numShips, ships.size()));
+        public void smoke(int boardId, int cellX, int cellY, int amount) {
+            for (int i = 0; i < amount; i++) {
+                spawn(boardId, cellX + nextFloat(), cellY + nextFloat(), (nextFloat() - 0.5f) * 0.6f, -0.2f - 0.4f * nextFloat(),
+                        -0.3f, 1.5f + nextFloat(), SMOKE, 3);
+            }
+        }
+
+        private void spawn(int boardId, float px, float py, float pvx, float pvy, float pay, float lifeSeconds, int color, int pixelSize) {
+            if (count == CAPACITY) return; // FR: Pool plein : on ignore. / EN: Pool full: dropped.
+            int i = count++;
+            x[i] = px;
+            y[i] = py;
+            vx[i] = pvx;
+            vy[i] = pvy;
+            ay[i] = pay;
+            life[i] = lifeSeconds;
+            invMaxLife[i] = 1f / lifeSeconds;
+            argb[i] = color;
+            board[i] = (byte) boardId;
+            size[i] = (byte) pixelSize;
         }
 
         /**
-         * FR: Place aléatoirement les navires de l'ordinateur sur sa grille.
-         * EN: Randomly places the computer's ships on its grid.
+         * FR: Avance d'un pas fixe ; faux quand plus aucune particule ne vit.
+         * EN: Advances one fixed step; false once no particle is alive.
          */
-        public void placeComputerShips() {
-            java.util.List<Ship> shipsToPlace = getShipsForCurrentLevel();
-            for (Ship ship : shipsToPlace) {
-                while (!computerBoard.placeShipRandomly(ship, random));
+        public boolean step() {
+            final float dt = STEP_SECONDS;
+            int n = count;
+            for (int i = 0; i < n; i++) {
+                float remaining = life[i] - dt;
+                if (remaining <= 0) {
+                    // FR: Remplace par la dernière et retraite cet indice. / EN: Replace with the last one and reprocess this index.
+                    n--;
+                    moveParticle(n, i);
+                    i--;
+                    continue;
+                }
+                life[i] = remaining;
+                vy[i] = (vy[i] + ay[i] * dt) * DRAG;
+                vx[i] *= DRAG;
+                x[i] += vx[i] * dt;
+                y[i] += vy[i] * dt;
             }
+            count = n;
+            return n > 0;
+        }
+
+        private void moveParticle(int from, int to) {
+            x[to] = x[from];
+            y[to] = y[from];
+            vx[to] = vx[from];
+            vy[to] = vy[from];
+            ay[to] = ay[from];
+            life[to] = life[from];
+            invMaxLife[to] = invMaxLife[from];
+            argb[to] = argb[from];
+            board[to] = board[from];
+            size[to] = size[from];
         }
 
+        public int getCount() { return count; }
+
+        public void clear() { count = 0; }
+
         /**
-         * FR: Gère une tentative de tir du joueur.
-         * EN: Handles a shot attempt from the player.
-         * @param x Coordonnée X. / X coordinate.
-         * @param y Coordonnée Y. / Y coordinate.
+         * FR: Dessine toutes les particules en un seul drawImage, à la résolution réelle de l'écran.
+         * EN: Draws every particle with a single drawImage, at the screen's real resolution.
          */
-        public void playerMakeMove(int x, int y) {
-            if (currentState != GameState.PLAYING || isComputerTurn) return;
-
-            if (computerBoard.isShot(x, y)) {
-                gameFrame.getGamePanel().showAnimatedMessage("Déjà tiré ici!");
-                return;
+        public void render(Graphics2D g2d, BoardLayout layout, int width, int height) {
+            if (count == 0 && dirtyMaxX < 0) return;
+            double scale = Math.max(Math.abs(g2d.getTransform().getScaleX()), 0.01);
+            int w = Math.max(1, (int) Math.ceil(width * scale));
+            int h = Math.max(1, (int) Math.ceil(height * scale));
+            if (layer == null || layer.getWidth() != w || layer.getHeight() != h) {
+                layer = new java.awt.image.BufferedImage(w, h, java.awt.image.BufferedImage.TYPE_INT_ARGB_PRE);
+                pixels = ((java.awt.image.DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+                // FR: Image neuve, donc vierge : l'ancien rectangle ne la concerne pas.
+                // EN: New image, hence blank: the old rectangle does not apply to it.
+                dirtyMinX = 0;
+                dirtyMinY = 0;
+                dirtyMaxX = -1;
+                dirtyMaxY = -1;
             }
-
-            boolean hit = computerBoard.shoot(x, y);
-            if (hit) {
-                playerScore += 100 * currentLevel;
-                gameFrame.getGamePanel().showAnimatedMessage("Touché !");
-            } else {
-                gameFrame.getGamePanel().showAnimatedMessage("Manqué !");
+            int clearMaxX = Math.min(dirtyMaxX, w - 1);
+            int clearMaxY = Math.min(dirtyMaxY, h - 1);
+            for (int row = Math.max(dirtyMinY, 0); row <= clearMaxY; row++) {
+                if (dirtyMinX <= clearMaxX) java.util.Arrays.fill(pixels, row * w + dirtyMinX, row * w + clearMaxX + 1, 0);
+            }
+            int minX = w, minY = h, maxX = -1, maxY = -1;
+            float cellPx = (float) (layout.getCell() * scale);
+            float originX = (float) (layout.getOffsetX() * scale);
+            float enemyY = (float) (layout.getEnemyY() * scale);
+            float playerY = (float) (layout.getPlayerY() * scale);
+            int pixelScale = Math.max(1, (int) Math.round(scale));
+            for (int i = 0; i < count; i++) {
+                int px = (int) (originX + x[i] * cellPx);
+                int py = (int) ((board[i] == ENEMY_BOARD ? enemyY : playerY) + y[i] * cellPx);
+                int s = size[i] * pixelScale;
+                int x0 = Math.max(px, 0), y0 = Math.max(py, 0);
+                int x1 = Math.min(px + s, w), y1 = Math.min(py + s, h);
+                if (x0 >= x1 || y0 >= y1) continue;
+                int color = argb[i];
+                int alpha = Math.min(255, (int) (life[i] * invMaxLife[i] * (color >>> 24)));
+                // FR: Couleur prémultipliée de la source. / EN: Premultiplied source colour.
+                int sr = ((color >>> 16) & 0xFF) * alpha / 255;
+                int sg = ((color >>> 8) & 0xFF) * alpha / 255;
+                int sb = (color & 0xFF) * alpha / 255;
+                int inv = 255 - alpha;
+                for (int yy = y0; yy < y1; yy++) {
+                    int rowBase = yy * w;
+                    for (int xx = x0; xx < x1; xx++) {
+                        int d = pixels[rowBase + xx];
+                        int a = alpha + (((d >>> 24) & 0xFF) * inv) / 255;
+                        int r = sr + (((d >>> 16) & 0xFF) * inv) / 255;
+                        int gr = sg + (((d >>> 8) & 0xFF) * inv) / 255;
+                        int b = sb + ((d & 0xFF) * inv) / 255;
+                        pixels[rowBase + xx] = (a << 24) | (r << 16) | (gr << 8) | b;
+                    }
+                }
+                if (x0 < minX) minX = x0;
+                if (y0 < minY) minY = y0;
+                if (x1 - 1 > maxX) maxX = x1 - 1;
+                if (y1 - 1 > maxY) maxY = y1 - 1;
+            }
+            dirtyMinX = minX;
+            dirtyMinY = minY;
+            dirtyMaxX = maxX;
+            dirtyMaxY = maxY;
+            if (maxX >= 0) {
+                g2d.drawImage(layer, 0, 0, width, height, null);
             }
+        }
 
-            // FR: Si la partie n'est pas terminée, c'est au tour de l'ordinateur.
-            // EN: If the game is not over, it's the computer's turn.
-            if (checkGameStatus()) {
-                 initiateComputerTurn();
+        // FR: Xorshift : aléatoire visuel sans allocation. / EN: Xorshift: allocation-free visual randomness.
+        private int nextInt(int bound) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+            return (seed >>> 1) % bound;
+        }
+
+        private float nextFloat() {
+            return nextInt(1 << 24) / (float) (1 << 24);
+        }
+    }
+
+    /**
+     * FR: Chien de garde de l'EDT (option --edt-watchdog [seuil_ms]) : une file d'événements
+     *     insérée devant celle du système chronomètre chaque distribution, et un thread
+     *     échantillonneur relève la pile de l'EDT tant qu'un événement dépasse le seuil. Les
+     *     échantillons sont agrégés par pile dans edt_stalls.folded, au format « piles repliées »
+     *     des outils de flame graph (flamegraph.pl, speedscope). Coût hors blocage : deux lectures
+     *     d'horloge par événement et au plus un réveil du thread par seuil écoulé.
+     * EN: EDT watchdog (--edt-watchdog [threshold_ms] option): an event queue pushed in front of
+     *     the system one times every dispatch, and a sampler thread captures the EDT stack while an
+     *     event exceeds the threshold. Samples are aggregated per stack into edt_stalls.folded, in
+     *     the "folded stacks" format of flame graph tools (flamegraph.pl, speedscope). Cost outside
+     *     stalls: two clock reads per event and at most one thread wake-up per elapsed threshold.
+     */
+    private static final class EdtWatchdog extends EventQueue {
+        private static final String FOLDED_FILE = "edt_stalls.folded";
+        private static final long DEFAULT_THRESHOLD_MILLIS = 50;
+        private static final long SAMPLE_MILLIS = 10;
+        private static final long FLUSH_NANOS = 5_000_000_000L;
+
+        private static final java.lang.invoke.VarHandle SEQUENCE;
+        static {
+            try {
+                SEQUENCE = java.lang.invoke.MethodHandles.lookup().findVarHandle(EdtWatchdog.class, "sequence", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
             }
         }
 
-        /**
-         * FR: Déclenche et exécute le tour de l'ordinateur (IA).
-         * EN: Triggers and executes the computer's turn (AI).
-         */
-        private void initiateComputerTurn() {
-            isComputerTurn = true;
+        private final long thresholdNanos;
+        // FR: Distribution en cours, publiée sous séquence (paire = stable) ; début à 0 = EDT au repos.
+        //     Écritures en mode release, sans barrière complète : rien de plus qu'un mov sur x86.
+        // EN: Current dispatch, published under a sequence (even = stable); start at 0 = EDT idle.
+        //     Release-mode writes, no full fence: nothing more than a mov on x86.
+        private long sequence;
+        private long dispatchStart;
+        private String dispatchType;
+        private volatile Thread edt;
+        private long events;
 
-            // FR: Un timer pour simuler une pause de réflexion de l'IA.
-            // EN: A timer to simulate a thinking pause for the AI.
-            Timer computerMoveTimer = new Timer(1500, new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    Point target;
-                    // FR: Mode "chasse" : si une cible prioritaire existe, on la vise.
-                    // EN: "Hunt" mode: if a priority target exists, aim for it.
-                    if (!huntTargets.isEmpty()) {
-                        target = huntTargets.remove(0);
-                    } else {
-                        // FR: Mode "recherche" : tir aléatoire sur une case non touchée.
-                        // EN: "Search" mode: random shot on an untouched cell.
-                        do {
-                            target = new Point(random.nextInt(Theme.BOARD_SIZE), random.nextInt(Theme.BOARD_SIZE));
-                        } while (playerBoard.isShot(target.x, target.y));
-                    }
-
-                    boolean hit = playerBoard.shoot(target.x, target.y);
-                    if (hit) {
-                        addHuntTargets(target.x, target.y); // FR: Ajoute les cases adjacentes aux cibles. / EN: Adds adjacent cells to targets.
-                        Ship sunkShip = playerBoard.getShipAt(target.x, target.y);
-                        if (sunkShip != null && sunkShip.isSunk()) {
-                            huntTargets.clear(); // FR: Le navire est coulé, on arrête la chasse. / EN: The ship is sunk, stop hunting.
-                            gameFrame.getGamePanel().showAnimatedMessage("L'ennemi a coulé un navire!");
-                        } else {
-                            gameFrame.getGamePanel().showAnimatedMessage("L'ennemi a touché!");
-                        }
-                    }
+        // FR: État de l'échantillonneur (son thread seulement, sauf l'écriture finale, synchronisée).
+        // EN: Sampler state (its thread only, except the final write, which is synchronized).
+        private final java.util.Map<String, Long> folded = new java.util.HashMap<>();
+        private long stallSequence = -1;
+        private long stallNanos;
+        private String stallFrame;
+        private long stalls;
+        private long samples;
+        private long worstNanos;
+        private Thread sampler;
+        private boolean dirty;
 
-                    checkGameStatus();
-                    isComputerTurn = false;
-                }
-            });
-            computerMoveTimer.setRepeats(false);
-            computerMoveTimer.start();
+        private EdtWatchdog(long thresholdNanos) {
+            this.thresholdNanos = thresholdNanos;
         }
 
         /**
-         * FR: Ajoute les cases adjacentes à une touche réussie à la liste des cibles de l'IA.
-         * EN: Adds adjacent cells of a successful hit to the AI's target list.
+         * FR: Installe le chien de garde devant la file système et démarre l'échantillonneur.
+         * EN: Installs the watchdog in front of the system queue and starts the sampler.
+         * @param threshold FR: Seuil en millisecondes, null pour la valeur par défaut. / EN: Threshold in milliseconds, null for the default.
          */
-        private void addHuntTargets(int x, int y) {
-            int[] dx = {0, 0, 1, -1};
-            int[] dy = {1, -1, 0, 0};
-            for (int i = 0; i < 4; i++) {
-                int nx = x + dx[i];
-                int ny = y + dy[i];
-                if (playerBoard.isValidCoordinate(nx, ny) && !playerBoard.isShot(nx, ny)) {
-                    huntTargets.add(new Point(nx, ny));
+        static void install(String threshold) {
+            long millis = DEFAULT_THRESHOLD_MILLIS;
+            if (threshold != null) {
+                try {
+                    millis = Math.max(SAMPLE_MILLIS, Long.parseLong(threshold));
+                } catch (NumberFormatException e) {
+                    System.err.println("Seuil invalide, " + DEFAULT_THRESHOLD_MILLIS + " ms retenus : " + threshold);
                 }
             }
-            Collections.shuffle(huntTargets); // FR: Mélange pour éviter un comportement prévisible. / EN: Shuffle to avoid predictable behavior.
+            EdtWatchdog watchdog = new EdtWatchdog(millis * 1_000_000L);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+            Thread sampler = new Thread(watchdog::sample, "battleship-edt-watchdog");
+            sampler.setDaemon(true);
+            watchdog.sampler = sampler;
+            sampler.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(watchdog::finish, "battleship-edt-watchdog-flush"));
+            System.out.println("Surveillance de l'EDT : blocages > " + millis + " ms échantillonnés dans " + FOLDED_FILE);
         }
 
         /**
-         * FR: Vérifie si la partie est terminée (victoire du joueur ou de l'ordinateur).
-         * EN: Checks if the game is over (player or computer victory).
-         * @return FR: `false` si la partie est terminée, `true` sinon. / EN: `false` if the game is over, `true` otherwise.
+         * FR: Chronomètre l'événement. Un dialogue modal distribue des événements imbriqués :
+         *     l'événement externe est suspendu pendant ce temps, puis son chronomètre repart.
+         * EN: Times the event. A modal dialog dispatches nested events: the outer event is
+         *     suspended meanwhile, then its timer restarts.
          */
-        private boolean checkGameStatus() {
-            if (computerBoard.areAllShipsSunk()) {
-                playerScore += 500 * currentLevel;
-                levelUp();
-                return false;
-            } else if (playerBoard.areAllShipsSunk()) {
-                setGameOver();
-                return false;
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long outerStart = dispatchStart;
+            String outerType = dispatchType;
+            if (edt == null) edt = Thread.currentThread();
+            events++;
+            publish(System.nanoTime(), event.getClass().getName());
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                publish(outerStart == 0 ? 0 : System.nanoTime(), outerType);
             }
-            return true;
+        }
+
+        private void publish(long start, String type) {
+            long next = sequence + 1;
+            SEQUENCE.setOpaque(this, next);
+            java.lang.invoke.VarHandle.storeStoreFence();
+            dispatchStart = start;
+            dispatchType = type;
+            SEQUENCE.setRelease(this, next + 1);
+        }
+
+        private long sequence() {
+            return (long) SEQUENCE.getAcquire(this);
         }
 
         /**
-         * FR: Fait passer le joueur au niveau supérieur ou termine la partie s'il a gagné.
-         * EN: Moves the player to the next level or ends the game if they have won.
+         * FR: Boucle de l'échantillonneur. Hors blocage, il ne se réveille qu'au moment où
+         *     l'événement en cours atteindrait le seuil (au pire une fois par seuil) ; pendant un
+         *     blocage, toutes les 10 ms.
+         * EN: Sampler loop. Outside stalls, it only wakes up when the current event would reach
+         *     the threshold (at worst once per threshold); during a stall, every 10 ms.
          */
-        private void levelUp() {
-            currentLevel++;
-            if (currentLevel > Theme.MAX_LEVEL) {
-                setGameWon();
-            } else {
-                gameFrame.getGamePanel().showAnimatedMessage("Niveau " + currentLevel);
-                setupNextLevel();
-                gameFrame.showPanel(GameState.SHIP_PLACEMENT);
+        private void sample() {
+            long lastFlush = System.nanoTime();
+            long pause = thresholdNanos;
+            while (true) {
+                try {
+                    java.util.concurrent.TimeUnit.NANOSECONDS.sleep(pause);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long begin = System.nanoTime();
+                long seen = sequence();
+                long start = dispatchStart;
+                String type = dispatchType;
+                Thread thread = edt;
+                java.lang.invoke.VarHandle.loadLoadFence();
+                pause = SAMPLE_MILLIS * 1_000_000L;
+                if ((seen & 1) != 0 || seen != sequence() || thread == null) continue;
+                endStall(seen);
+                if (start == 0) {
+                    pause = thresholdNanos;
+                } else if (begin - start < thresholdNanos) {
+                    pause = Math.max(pause, thresholdNanos - (begin - start));
+                } else {
+                    StackTraceElement[] stack = thread.getStackTrace();
+                    // FR: L'événement a pu se terminer pendant la capture : pile sans rapport, ignorée.
+                    // EN: The event may have ended during the capture: unrelated stack, ignored.
+                    if (sequence() == seen) record(seen, begin - start, type, stack);
+                }
+                if (dirty && begin - lastFlush >= FLUSH_NANOS) {
+                    write();
+                    lastFlush = begin;
+                }
             }
         }
 
-        /**
-         * FR: Gère la condition de défaite du joueur.
-         * EN: Handles the player's defeat condition.
-         */
-        private void setGameOver() {
-            currentState = GameState.GAME_OVER;
-            gameFrame.getGamePanel().showAnimatedMessage("GAME OVER");
-            handleGameOverOrQuit();
-            Timer t = new Timer(3000, e -> gameFrame.showPanel(GameState.MAIN_MENU));
-            t.setRepeats(false);
-            t.start();
+        private synchronized void record(long seen, long elapsed, String type, StackTraceElement[] stack) {
+            // FR: Seuls les cadres au-dessus de notre distribution la plus interne décrivent le gestionnaire.
+            // EN: Only the frames above our innermost dispatch describe the handler.
+            int top = stack.length;
+            for (int i = 0; i < stack.length; i++) {
+                if (stack[i].getClassName().equals(EdtWatchdog.class.getName()) && stack[i].getMethodName().equals("dispatchEvent")) {
+                    top = i;
+                    break;
+                }
+            }
+            StringBuilder key = new StringBuilder(type);
+            for (int i = top - 1; i >= 0; i--) {
+                // FR: Le suffixe des classes de lambda change à chaque lancement. / EN: Lambda class suffixes change on every launch.
+                String owner = stack[i].getClassName();
+                int lambda = owner.indexOf("$$Lambda");
+                key.append(';').append(lambda < 0 ? owner : owner.substring(0, lambda + 8)).append('.').append(stack[i].getMethodName());
+            }
+            folded.merge(key.toString(), 1L, Long::sum);
+            samples++;
+            dirty = true;
+            if (seen != stallSequence) {
+                stallSequence = seen;
+                stalls++;
+                stallFrame = top > 0 ? firstOwnFrame(stack, top) : type;
+            }
+            stallNanos = elapsed;
+            worstNanos = Math.max(worstNanos, elapsed);
         }
 
         /**
-         * FR: Gère la condition de victoire du joueur.
-         * EN: Handles the player's victory condition.
+         * FR: Premier cadre du jeu en partant du sommet de la pile (sinon le sommet lui-même).
+         * EN: First game frame starting from the top of the stack (else the top itself).
          */
-        private void setGameWon() {
-            currentState = GameState.GAME_OVER;
-            playerScore += 1000 * Theme.MAX_LEVEL;
-            gameFrame.getGamePanel().showAnimatedMessage("VICTOIRE !");
-            handleGameOverOrQuit();
-            Timer t = new Timer(4000, e -> gameFrame.showPanel(GameState.MAIN_MENU));
-            t.setRepeats(false);
-            t.start();
+        private static String firstOwnFrame(StackTraceElement[] stack, int top) {
+            for (int i = 0; i < top; i++) {
+                if (stack[i].getClassName().startsWith(BattleshipPremiumV2.class.getName())) return stack[i].toString();
+            }
+            return stack[0].toString();
         }
 
         /**
-         * FR: Gère la sauvegarde du score à la fin d'une partie.
-         * EN: Handles saving the score at the end of a game.
+         * FR: Signale le blocage en cours une fois l'EDT passé à autre chose (séquence différente).
+         * EN: Reports the current stall once the EDT has moved on (different sequence).
          */
-        public void handleGameOverOrQuit() {
-            if (highScores.isNewHighScore(playerScore)) {
-                String name = JOptionPane.showInputDialog(gameFrame, "Nouveau Highscore ! Entrez votre pseudo:", currentPlayerName);
-                if (name == null || name.trim().isEmpty()) { name = "Anonyme"; }
-                currentPlayerName = name;
-                highScores.addScore(currentPlayerName, playerScore);
-                highScores.saveHighScores();
+        private synchronized void endStall(long seen) {
+            if (stallFrame != null && seen != stallSequence) {
+                System.err.printf("Blocage de l'EDT : %d ms ou plus dans %s%n", stallNanos / 1_000_000, stallFrame);
+                stallFrame = null;
             }
         }
 
         /**
-         * FR: Dessine tous les éléments du jeu (grilles, score, etc.).
-         * EN: Draws all game elements (grids, score, etc.).
+         * FR: Réécrit le fichier d'un bloc (piles triées, une par ligne : « cadres;séparés nombre »).
+         * EN: Rewrites the file in one go (sorted stacks, one per line: "frames;separated count").
          */
-        public void drawGame(Graphics2D g2d, int panelWidth, int panelHeight) {
-            int boardSizePx = Theme.BOARD_SIZE * Theme.CELL_SIZE;
-            int offsetX = (panelWidth - boardSizePx) / 2;
-            int playerOffsetY = 100 + boardSizePx + 50;
-            
-            g2d.setColor(Theme.COLOR_TEXT);
-            g2d.setFont(Theme.FONT_SUBTITLE);
-            g2d.drawString("Grille Ennemie", offsetX, 90);
-            computerBoard.draw(g2d, offsetX, 100, true); // hideShips = true
-            
-            g2d.drawString("Votre Grille", offsetX, playerOffsetY - 10);
-            playerBoard.draw(g2d, offsetX, playerOffsetY, false); // hideShips = false
+        private synchronized void write() {
+            StringBuilder out = new StringBuilder();
+            for (java.util.Map.Entry<String, Long> entry : new java.util.TreeMap<>(folded).entrySet()) {
+                out.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+            java.nio.file.Path file = Paths.get(FOLDED_FILE).toAbsolutePath();
+            try {
+                java.nio.file.Path next = Files.createTempFile(file.getParent(), FOLDED_FILE, ".tmp");
+                try {
+                    Files.writeString(next, out, StandardCharsets.UTF_8);
+                    Files.move(next, file, java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(next);
+                }
+                dirty = false;
+            } catch (IOException e) {
+                System.err.println("Écriture de " + FOLDED_FILE + " impossible : " + e.getMessage());
+            }
+        }
 
-            g2d.setFont(Theme.FONT_BUTTON);
-            g2d.drawString("Score: " + getPlayerScore(), 20, 40);
-            g2d.drawString("Niveau: " + getCurrentLevel(), 20, 70);
+        private synchronized void finish() {
+            endStall(Long.MIN_VALUE);
+            if (dirty) write();
+            java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+            long samplerCpu = threads.isThreadCpuTimeSupported() ? threads.getThreadCpuTime(sampler.getId()) : -1;
+            System.out.printf("Surveillance de l'EDT : %d événements, %d blocages (pire : %d ms), %d échantillons, CPU de l'échantillonneur %.1f ms%n",
+                    events, stalls, worstNanos / 1_000_000, samples, samplerCpu / 1e6);
         }
-        
-        // --- Getters & Setters ---
-        public GameState getCurrentState() { return currentState; }
-        public void setCurrentState(GameState state) { this.currentState = state; }
-        public Board getPlayerBoard() { return playerBoard; }
-        public long getPlayerScore() { return playerScore; }
-        public int getCurrentLevel() { return currentLevel; }
-        public HighScoreManager getHighScoreManager() { return highScores; }
-        public boolean isComputerTurn() { return isComputerTurn; }
     }
 
     /**
-     * FR: Représente une grille de jeu (du joueur ou de l'ordinateur).
-     * EN: Represents a game grid (for the player or the computer).
+     * FR: Un JPanel personnalisé qui dessine un fond en dégradé.
+     * EN: A custom JPanel that draws a gradient background.
      */
-    private static class Board {
-        // FR: '~': Eau, 'S': Navire, 'H': Touché, 'M': Manqué
-        // EN: '~': Water, 'S': Ship, 'H': Hit, 'M': Miss
-        private final char[][] grid = new char[Theme.BOARD_SIZE][Theme.BOARD_SIZE];
-        private final java.util.List<Ship> ships = new ArrayList<>();
+    private static class GradientPanel extends JPanel {
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            GradientPaint gp = new GradientPaint(0, 0, Theme.COLOR_BACKGROUND_START, 0, getHeight(), Theme.COLOR_BACKGROUND_END);
+            g2d.setPaint(gp);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+        }
+    }
 
-        public Board() {
-            clearShips();
+    /**
+     * FR: Un JButton personnalisé avec un style moderne.
+     * EN: A custom JButton with a modern style.
+     */
+    private static class ModernButton extends JButton {
+        public ModernButton(String text) {
+            super(text);
+            setFont(Theme.FONT_BUTTON);
+            setBackground(Theme.COLOR_BUTTON);
+            setForeground(Theme.COLOR_TEXT);
+            setFocusPainted(false);
+            setPreferredSize(new Dimension(250, 55));
+            setBorder(BorderFactory.createLineBorder(Theme.COLOR_ACCENT, 1));
+
+            addMouseListener(new MouseAdapter() {
+                public void mouseEntered(MouseEvent evt) { setBackground(Theme.COLOR_BUTTON_HOVER); }
+                public void mouseExited(MouseEvent evt) { setBackground(Theme.COLOR_BUTTON); }
+            });
         }
+    }
 
-        public void clearShips() {
-            ships.clear();
-            for (int i = 0; i < Theme.BOARD_SIZE; i++) {
-                for (int j = 0; j < Theme.BOARD_SIZE; j++) {
-                    grid[i][j] = '~';
+    /**
+     * FR: Le panneau du menu principal, affichant les options de jeu.
+     * EN: The main menu panel, displaying game options.
+     */
+    private class MainMenuPanel extends GradientPanel {
+        public MainMenuPanel() {
+            setLayout(new GridBagLayout());
+            GridBagConstraints gbc = new GridBagConstraints();
+            gbc.insets = new Insets(10, 10, 10, 10);
+            gbc.gridx = 0;
+
+            JLabel title = new JLabel(APP_TITLE);
+            title.setFont(Theme.FONT_TITLE);
+            title.setForeground(Theme.COLOR_TEXT);
+            gbc.gridy = 0;
+            add(title, gbc);
+
+            gbc.gridy = 1;
+            add(new ModernButton("Nouvelle Partie") {{ addActionListener(e -> startNewGame()); }}, gbc);
+            gbc.gridy = 2;
+            add(new ModernButton("Partie Salvo") {{ addActionListener(e -> startNewGame(RuleSet.SALVO)); }}, gbc);
+            gbc.gridy = 3;
+            add(new ModernButton("Meilleurs Scores") {{ addActionListener(e -> showPanel(GameState.HIGHSCORE_SCREEN)); }}, gbc);
+            gbc.gridy = 4;
+            add(new ModernButton("Statistiques") {{ addActionListener(e -> showPanel(GameState.STATS_SCREEN)); }}, gbc);
+            gbc.gridy = 5;
+            add(new ModernButton("Profil Joueur") {{ addActionListener(e -> showPanel(GameState.PROFILE_SCREEN)); }}, gbc);
+            gbc.gridy = 6;
+            add(new ModernButton("Océan Partagé") {{ addActionListener(e -> showPanel(GameState.SHARED_OCEAN)); }}, gbc);
+            gbc.gridy = 7;
+            add(new ModernButton("Quitter") {{ addActionListener(e -> System.exit(0)); }}, gbc);
+        }
+    }
+
+    /**
+     * FR: Le panneau du menu de pause, superposé à l'écran de jeu.
+     * EN: The pause menu panel, overlaid on the game screen.
+     */
+    private class PauseMenuPanel extends JPanel {
+        public PauseMenuPanel() {
+            setOpaque(false);
+            setBackground(Theme.COLOR_TRANSPARENT_BG);
+            setLayout(new GridBagLayout());
+            GridBagConstraints gbc = new GridBagConstraints();
+            gbc.insets = new Insets(10, 10, 10, 10);
+            gbc.gridx = 0;
+
+            JLabel pauseLabel = new JLabel("PAUSE");
+            pauseLabel.setFont(Theme.FONT_TITLE);
+            pauseLabel.setForeground(Theme.COLOR_TEXT);
+            gbc.gridy = 0; add(pauseLabel, gbc);
+
+            gbc.gridy = 1; add(new ModernButton("Reprendre") {{ addActionListener(e -> showPanel(GameState.PLAYING)); }}, gbc);
+            gbc.gridy = 2; add(new ModernButton("Menu Principal") {{ addActionListener(e -> {
+                handleGameOverOrQuit();
+                showPanel(GameState.MAIN_MENU);
+            }); }}, gbc);
+            gbc.gridy = 3; add(new ModernButton("Quitter le Jeu") {{ addActionListener(e ->
+                handleGameOverOrQuit().thenRun(() -> System.exit(0))); }}, gbc);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+            super.paintComponent(g);
+        }
+    }
+
+    /**
+     * FR: Panneau pour afficher la liste des meilleurs scores : le top 10 vérifié (onglet
+     *     principal) et, si l'archive est ouverte, le classement de toutes les parties archivées.
+     * EN: Panel for displaying the list of high scores: the verified top 10 (main tab) and,
+     *     when the archive is open, the leaderboard of every archived game.
+     */
+    private class HighScoreDisplayPanel extends GradientPanel {
+        private static final String[] TOP_COLUMNS = {"Rang", "Joueur", "Score"};
+        private static final String[] ARCHIVE_COLUMNS = {"Rang", "Joueur", "Score", "Niveau", "Date"};
+        private final JTextField rankField = new JTextField(8);
+        private final JTextField playerField = new JTextField(12);
+        private final JLabel status = new JLabel(" ", SwingConstants.CENTER);
+        private final JTabbedPane tabs = new JTabbedPane();
+        private final java.time.format.DateTimeFormatter dateFormat = java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+                .withZone(java.time.ZoneId.systemDefault());
+        // FR: Top 10 partagé, relu à chaque visite. / EN: Shared top 10, reloaded on every visit.
+        private java.util.List<HighScoreEntry> topScores = Collections.emptyList();
+        // FR: Classement de l'archive (construit à la première visite). / EN: Archive leaderboard (built on the first visit).
+        private ArchiveLeaderboard leaderboard;
+        // FR: Lignes annoncées à la table de l'archive (les insertions arrivent par l'EDT).
+        // EN: Rows announced to the archive table (insertions come through the EDT).
+        private int archiveRows;
+
+        private final javax.swing.table.AbstractTableModel topModel = new javax.swing.table.AbstractTableModel() {
+            @Override
+            public int getRowCount() { return topScores.size(); }
+
+            @Override
+            public int getColumnCount() { return TOP_COLUMNS.length; }
+
+            @Override
+            public String getColumnName(int column) { return TOP_COLUMNS[column]; }
+
+            @Override
+            public Object getValueAt(int rank, int column) {
+                HighScoreEntry entry = topScores.get(rank);
+                switch (column) {
+                    case 0: return "#" + (rank + 1);
+                    case 1: return gameEngine.getHighScoreManager().isVerified(entry) ? entry.getPlayerName() : entry.getPlayerName() + " (non vérifié)";
+                    default: return String.valueOf(entry.getScore());
+                }
+            }
+        };
+
+        /**
+         * FR: Modèle virtuel : la table ne demande que les cellules visibles, lues page par page.
+         * EN: Virtual model: the table only asks for visible cells, read page by page.
+         */
+        private final javax.swing.table.AbstractTableModel archiveModel = new javax.swing.table.AbstractTableModel() {
+            @Override
+            public int getRowCount() { return archiveRows; }
+
+            @Override
+            public int getColumnCount() { return ARCHIVE_COLUMNS.length; }
+
+            @Override
+            public String getColumnName(int column) { return ARCHIVE_COLUMNS[column]; }
+
+            @Override
+            public Object getValueAt(int rank, int column) {
+                if (column == 0) return "#" + (rank + 1);
+                ArchiveLeaderboard.Row row = leaderboard.row(rank);
+                if (row == null) return "";
+                switch (column) {
+                    case 1: return row.player;
+                    case 2: return String.valueOf(row.score);
+                    case 3: return String.valueOf(row.level);
+                    default: return dateFormat.format(java.time.Instant.ofEpochMilli(row.timestamp));
                 }
             }
+        };
+        private final JTable topTable = new JTable(topModel);
+        private final JTable archiveTable = new JTable(archiveModel);
+
+        public HighScoreDisplayPanel() {
+            setLayout(new BorderLayout(20, 20));
+            setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+            JLabel title = new JLabel("Meilleurs Scores", SwingConstants.CENTER);
+            title.setFont(Theme.FONT_TITLE);
+            title.setForeground(Theme.COLOR_TEXT);
+
+            JPanel search = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            search.setOpaque(false);
+            for (Object[] field : new Object[][] {{"Rang :", rankField}, {"Joueur :", playerField}}) {
+                JLabel label = new JLabel((String) field[0]);
+                label.setFont(Theme.FONT_TEXT);
+                label.setForeground(Theme.COLOR_TEXT);
+                ((JTextField) field[1]).setFont(Theme.FONT_TEXT);
+                search.add(label);
+                search.add((JTextField) field[1]);
+            }
+            rankField.addActionListener(e -> jumpToRank());
+            playerField.addActionListener(e -> findPlayer());
+
+            JPanel north = new JPanel(new BorderLayout());
+            north.setOpaque(false);
+            north.add(title, BorderLayout.NORTH);
+            north.add(search, BorderLayout.SOUTH);
+            add(north, BorderLayout.NORTH);
+
+            tabs.setFont(Theme.FONT_TEXT);
+            tabs.setOpaque(false);
+            tabs.addTab("Top 10 vérifié", scrollPane(topTable));
+            if (gameArchive != null) tabs.addTab("Toutes les parties (archive)", scrollPane(archiveTable));
+            tabs.addChangeListener(e -> updateStatus());
+            add(tabs, BorderLayout.CENTER);
+
+            status.setFont(Theme.FONT_TEXT);
+            status.setForeground(Theme.COLOR_TEXT);
+            JPanel south = new JPanel(new BorderLayout());
+            south.setOpaque(false);
+            south.add(status, BorderLayout.NORTH);
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            buttonPanel.setOpaque(false);
+            buttonPanel.add(new ModernButton("Retour") {{ addActionListener(e -> showPanel(GameState.MAIN_MENU)); }});
+            south.add(buttonPanel, BorderLayout.SOUTH);
+            add(south, BorderLayout.SOUTH);
+        }
+
+        private JScrollPane scrollPane(JTable table) {
+            table.setFont(Theme.FONT_MONO);
+            table.setRowHeight(26);
+            table.setBackground(Theme.COLOR_BACKGROUND_START);
+            table.setForeground(Theme.COLOR_TEXT);
+            table.setGridColor(Theme.COLOR_GRID_LINE);
+            table.setSelectionBackground(Theme.COLOR_BUTTON_HOVER);
+            table.setSelectionForeground(Theme.COLOR_TEXT);
+            table.setFillsViewportHeight(true);
+            table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            table.getTableHeader().setFont(Theme.FONT_TEXT);
+            table.getTableHeader().setReorderingAllowed(false);
+
+            JScrollPane scrollPane = new JScrollPane(table);
+            scrollPane.setBorder(BorderFactory.createLineBorder(Theme.COLOR_ACCENT));
+            scrollPane.getViewport().setBackground(Theme.COLOR_BACKGROUND_START);
+            scrollPane.getVerticalScrollBar().setUnitIncrement(table.getRowHeight());
+            return scrollPane;
         }
         
-        public boolean isValidCoordinate(int x, int y) {
-             return x >= 0 && x < Theme.BOARD_SIZE && y >= 0 && y < Theme.BOARD_SIZE;
+        /**
+         * FR: Met à jour l'affichage des scores. Le top 10 est relu à chaque visite ; le classement
+         *     de l'archive est indexé une seule fois en arrière-plan puis tenu à jour partie après partie.
+         * EN: Updates the score display. The top 10 is reloaded on every visit; the archive
+         *     leaderboard is indexed once in the background then kept up to date game after game.
+         */
+        public void refreshScores() {
+            gameEngine.getHighScoreManager().loadHighScores();
+            topScores = new ArrayList<>(gameEngine.getHighScoreManager().getHighScores());
+            topModel.fireTableDataChanged();
+            tabs.setSelectedIndex(0);
+            updateStatus();
+            if (gameArchive == null || leaderboard != null) return;
+            leaderboard = new ArchiveLeaderboard(gameArchive);
+            Thread builder = new Thread(() -> {
+                leaderboard.build();
+                SwingUtilities.invokeLater(() -> {
+                    archiveRows = leaderboard.size();
+                    archiveModel.fireTableDataChanged();
+                    updateStatus();
+                });
+            }, "battleship-leaderboard");
+            builder.setDaemon(true);
+            leaderboard.setListener(rank -> SwingUtilities.invokeLater(() -> {
+                // FR: Insertion incrémentale : seule la ligne nouvelle est annoncée. / EN: Incremental insertion: only the new row is announced.
+                if (!leaderboard.isReady() || archiveRows >= leaderboard.size()) return;
+                archiveRows++;
+                archiveModel.fireTableRowsInserted(rank, rank);
+                updateStatus();
+            }));
+            builder.start();
+        }
+
+        private boolean showingArchive() {
+            return tabs.getSelectedIndex() == 1;
+        }
+
+        private void updateStatus() {
+            if (!showingArchive()) {
+                status.setText(topScores.isEmpty() ? "Aucun score enregistré pour le moment." : topScores.size() + " meilleurs scores");
+            } else if (!leaderboard.isReady()) {
+                status.setText("Indexation du classement...");
+            } else {
+                status.setText(archiveRows == 0 ? "Aucune partie archivée pour le moment." : String.format("%,d parties classées", archiveRows));
+            }
+        }
+
+        private void jumpToRank() {
+            try {
+                showRank(Integer.parseInt(rankField.getText().trim()) - 1);
+            } catch (NumberFormatException e) {
+                status.setText("Rang invalide.");
+            }
+        }
+
+        private void findPlayer() {
+            String prefix = playerField.getText().trim();
+            if (prefix.isEmpty()) return;
+            int rank = -1;
+            if (showingArchive()) {
+                if (leaderboard.isReady()) rank = leaderboard.findPlayer(prefix);
+            } else {
+                for (int i = 0; i < topScores.size() && rank < 0; i++) {
+                    if (topScores.get(i).getPlayerName().toLowerCase(java.util.Locale.ROOT).startsWith(prefix.toLowerCase(java.util.Locale.ROOT))) rank = i;
+                }
+            }
+            if (rank < 0) {
+                status.setText("Aucun joueur « " + prefix + " ».");
+            } else {
+                showRank(rank);
+            }
+        }
+
+        private void showRank(int rank) {
+            JTable table = showingArchive() ? archiveTable : topTable;
+            int rows = table.getRowCount();
+            if (rows == 0) return;
+            int row = Math.max(0, Math.min(rows - 1, rank));
+            table.changeSelection(row, 0, false, false);
+            table.scrollRectToVisible(table.getCellRect(row, 0, true));
+        }
+    }
+
+    /**
+     * FR: Écran des statistiques : carte de chaleur des tirs, des touches et des placements.
+     * EN: Statistics screen: heatmap of shots, hits and placements.
+     */
+    private class StatsPanel extends GradientPanel {
+        private static final long serialVersionUID = 1L;
+        private final JComboBox<RuleSet> rulesBox = new JComboBox<>(RuleSet.values());
+        private final JComboBox<String> levelBox = new JComboBox<>();
+        private final JComboBox<String> viewBox = new JComboBox<>();
+        private final JLabel summary = new JLabel(" ", SwingConstants.CENTER);
+        private double[] values = new double[0];
+        private boolean probability;
+
+        public StatsPanel() {
+            setLayout(new BorderLayout(10, 10));
+            setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+            JLabel title = new JLabel("Statistiques", SwingConstants.CENTER);
+            title.setFont(Theme.FONT_TITLE);
+            title.setForeground(Theme.COLOR_TEXT);
+
+            levelBox.addItem("Tous les niveaux");
+            for (int level = 1; level <= Theme.MAX_LEVEL; level++) levelBox.addItem("Niveau " + level);
+            viewBox.addItem("Tirs des joueurs");
+            viewBox.addItem("Tirs de l'IA");
+            viewBox.addItem("Probabilité de touche (joueurs)");
+            viewBox.addItem("Probabilité de touche (IA)");
+            for (Ship ship : GameEngine.getShipsForLevel(Theme.MAX_LEVEL)) viewBox.addItem("Placement joueurs : " + ship.getType());
+            for (Ship ship : GameEngine.getShipsForLevel(Theme.MAX_LEVEL)) viewBox.addItem("Placement IA : " + ship.getType());
+
+            JPanel filters = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            filters.setOpaque(false);
+            filters.add(rulesBox);
+            filters.add(levelBox);
+            filters.add(viewBox);
+            for (JComboBox<?> box : java.util.Arrays.asList(rulesBox, levelBox, viewBox)) box.addActionListener(e -> refresh());
+
+            JPanel north = new JPanel(new BorderLayout());
+            north.setOpaque(false);
+            north.add(title, BorderLayout.NORTH);
+            north.add(filters, BorderLayout.SOUTH);
+            add(north, BorderLayout.NORTH);
+
+            summary.setFont(Theme.FONT_TEXT);
+            summary.setForeground(Theme.COLOR_TEXT);
+            JPanel south = new JPanel(new BorderLayout());
+            south.setOpaque(false);
+            south.add(summary, BorderLayout.NORTH);
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            buttonPanel.setOpaque(false);
+            buttonPanel.add(new ModernButton("Retour") {{ addActionListener(e -> showPanel(GameState.MAIN_MENU)); }});
+            south.add(buttonPanel, BorderLayout.SOUTH);
+            add(south, BorderLayout.SOUTH);
         }
 
         /**
-         * FR: Vérifie si un navire peut être placé aux coordonnées données.
-         * EN: Checks if a ship can be placed at the given coordinates.
+         * FR: Relit les compteurs pour la sélection courante.
+         * EN: Re-reads the counters for the current selection.
          */
-        public boolean canPlaceShip(Ship ship) {
-             for(Point p : ship.getOccupiedCells()) {
-                 if (!isValidCoordinate(p.x, p.y) || grid[p.x][p.y] == 'S') {
-                     return false; // FR: Hors de la grille ou sur un autre navire. / EN: Outside the grid or on another ship.
-                 }
-             }
-             return true;
+        public void refresh() {
+            if (shotStatistics == null) {
+                values = new double[0];
+                summary.setText("Statistiques indisponibles.");
+                repaint();
+                return;
+            }
+            RuleSet rules = (RuleSet) rulesBox.getSelectedItem();
+            int level = levelBox.getSelectedIndex();
+            int view = viewBox.getSelectedIndex();
+            probability = view == 2 || view == 3;
+            if (probability) {
+                values = shotStatistics.hitProbability(rules, level, view == 2);
+            } else {
+                long[] counts = view < 2
+                        ? shotStatistics.shotCounts(rules, level, view == 0)
+                        : shotStatistics.placementCounts(rules, level, (view - 4) % ShotStatistics.SHIP_CLASSES, view < 4 + ShotStatistics.SHIP_CLASSES);
+                values = new double[counts.length];
+                for (int i = 0; i < counts.length; i++) values[i] = counts[i];
+            }
+            double total = 0;
+            double max = 0;
+            for (double v : values) { total += v; max = Math.max(max, v); }
+            summary.setText(probability
+                    ? String.format("Probabilité maximale : %.0f %%", max * 100)
+                    : String.format("Total : %.0f  —  maximum par case : %.0f", total, max));
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (values.length == 0) return;
+            Graphics2D g2d = (Graphics2D) g;
+            int size = shotStatistics.getBoardSize();
+            BoardLayout layout = BoardLayout.forSingleBoard(getWidth(), getHeight() - 40, size);
+            int cell = layout.getCell();
+            int offsetX = layout.getOffsetX();
+            int offsetY = layout.getEnemyY() + 20;
+            double max = 0;
+            for (double v : values) max = Math.max(max, v);
+
+            // FR: Rampe de couleurs du fond de grille vers la couleur des touches.
+            // EN: Colour ramp from the grid background to the hit colour.
+            g2d.setFont(Theme.FONT_TEXT.deriveFont(11f));
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    double v = values[x * size + y];
+                    float t = max == 0 ? 0f : (float) (v / max);
+                    int px = offsetX + x * cell;
+                    int py = offsetY + y * cell;
+                    g2d.setColor(new Color(
+                            (int) (Theme.COLOR_GRID_BG.getRed() + t * (Theme.COLOR_HIT.getRed() - Theme.COLOR_GRID_BG.getRed())),
+                            (int) (Theme.COLOR_GRID_BG.getGreen() + t * (Theme.COLOR_HIT.getGreen() - Theme.COLOR_GRID_BG.getGreen())),
+                            (int) (Theme.COLOR_GRID_BG.getBlue() + t * (Theme.COLOR_HIT.getBlue() - Theme.COLOR_GRID_BG.getBlue()))));
+                    g2d.fillRect(px, py, cell, cell);
+                    g2d.setColor(Theme.COLOR_GRID_LINE);
+                    g2d.drawRect(px, py, cell, cell);
+                    if (v > 0) {
+                        g2d.setColor(Theme.COLOR_TEXT);
+                        String label = probability ? String.format("%.0f", v * 100) : (v >= 1000 ? String.format("%.0fk", v / 1000) : String.format("%.0f", v));
+                        g2d.drawString(label, px + 4, py + cell - 6);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * FR: Écran du profil joueur : choix du joueur actif et statistiques de carrière.
+     * EN: Player profile screen: active player selection and lifetime statistics.
+     */
+    private class ProfilePanel extends GradientPanel {
+        private static final long serialVersionUID = 1L;
+        private final JTextField nameField = new JTextField(16);
+        private final JTextArea statsArea = new JTextArea();
+
+        public ProfilePanel() {
+            setLayout(new BorderLayout(20, 20));
+            setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+            JLabel title = new JLabel("Profil Joueur", SwingConstants.CENTER);
+            title.setFont(Theme.FONT_TITLE);
+            title.setForeground(Theme.COLOR_TEXT);
+
+            JLabel nameLabel = new JLabel("Joueur :");
+            nameLabel.setFont(Theme.FONT_TEXT);
+            nameLabel.setForeground(Theme.COLOR_TEXT);
+            nameField.setFont(Theme.FONT_TEXT);
+            nameField.addActionListener(e -> selectPlayer());
+            JPanel selector = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            selector.setOpaque(false);
+            selector.add(nameLabel);
+            selector.add(nameField);
+            selector.add(new ModernButton("Choisir") {{ setPreferredSize(new Dimension(140, 40)); addActionListener(e -> selectPlayer()); }});
+
+            JPanel north = new JPanel(new BorderLayout());
+            north.setOpaque(false);
+            north.add(title, BorderLayout.NORTH);
+            north.add(selector, BorderLayout.SOUTH);
+            add(north, BorderLayout.NORTH);
+
+            statsArea.setFont(Theme.FONT_MONO);
+            statsArea.setBackground(Theme.COLOR_BACKGROUND_START);
+            statsArea.setForeground(Theme.COLOR_TEXT);
+            statsArea.setEditable(false);
+            JScrollPane scrollPane = new JScrollPane(statsArea);
+            scrollPane.setBorder(BorderFactory.createLineBorder(Theme.COLOR_ACCENT));
+            add(scrollPane, BorderLayout.CENTER);
+
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            buttonPanel.setOpaque(false);
+            buttonPanel.add(new ModernButton("Retour") {{ addActionListener(e -> showPanel(GameState.MAIN_MENU)); }});
+            add(buttonPanel, BorderLayout.SOUTH);
         }
 
         /**
-         * FR: Place un navire sur la grille.
-         * EN: Places a ship on the grid.
+         * FR: Fait du nom saisi le joueur actif des prochaines parties.
+         * EN: Makes the typed name the active player for the next games.
          */
-        public boolean placeShip(Ship ship) {
-            if(canPlaceShip(ship)) {
-                for(Point p : ship.getOccupiedCells()) grid[p.x][p.y] = 'S';
-                ships.add(ship);
-                return true;
+        private void selectPlayer() {
+            String name = nameField.getText().trim();
+            if (name.isEmpty()) return;
+            gameEngine.setCurrentPlayerName(name);
+            showProfile(name);
+        }
+
+        /**
+         * FR: Affiche le profil du joueur actif.
+         * EN: Shows the active player's profile.
+         */
+        public void refresh() {
+            String name = gameEngine.getCurrentPlayerName();
+            nameField.setText(name);
+            showProfile(name);
+        }
+
+        private void showProfile(String name) {
+            if (profileStore == null) {
+                statsArea.setText("\n   Profils indisponibles.");
+                return;
             }
-            return false;
+            PlayerProfileStore.Profile profile = profileStore.lookup(name);
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("\n   Joueur actif : %s\n\n", name));
+            if (profile == null) {
+                sb.append("   Aucune partie terminée pour le moment.");
+            } else {
+                sb.append(String.format("   %-22s %10d\n", "Parties", profile.getGames()));
+                sb.append(String.format("   %-22s %10d\n", "Victoires", profile.getWins()));
+                sb.append(String.format("   %-22s %10d\n", "Meilleur niveau", profile.getBestLevel()));
+                sb.append(String.format("   %-22s %10d\n", "Meilleur score", profile.getBestScore()));
+                sb.append(String.format("   %-22s %10d\n", "Tirs", profile.getTotalShots()));
+                sb.append(String.format("   %-22s %9.1f%%\n", "Précision", profile.getAccuracy() * 100));
+            }
+            sb.append(String.format("\n   (%d profils enregistrés)", profileStore.size()));
+            statsArea.setText(sb.toString());
+        }
+    }
+
+    /**
+     * FR: Écran de l'océan partagé : le joueur (joueur 0) affronte des dizaines d'IA sur une seule
+     *     grande grille. Sa flotte est placée au hasard ; il vise d'un clic et son tir part au tour
+     *     suivant, en même temps que ceux des IA.
+     * EN: Shared ocean screen: the player (player 0) faces dozens of AIs on one large grid. Their
+     *     fleet is placed randomly; they aim with a click and the shot fires on the next tick,
+     *     together with the AIs' shots.
+     */
+    private class SharedOceanPanel extends GradientPanel {
+        private static final long serialVersionUID = 1L;
+        private static final int HUMAN = 0;
+        private static final int PLAYERS = 64;
+        private static final long TICK_MILLIS = 400;
+
+        private SharedOcean ocean;
+        private OceanBot[] bots = new OceanBot[0];
+        private FrameClock.Tween nextTick;
+        private int aimCell = -1;
+        private long lastResolveNanos;
+        private final JLabel status = new JLabel(" ", SwingConstants.CENTER);
+
+        public SharedOceanPanel() {
+            setLayout(new BorderLayout());
+            setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+            status.setFont(Theme.FONT_TEXT);
+            status.setForeground(Theme.COLOR_TEXT);
+            JPanel south = new JPanel(new BorderLayout());
+            south.setOpaque(false);
+            south.add(status, BorderLayout.NORTH);
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            buttonPanel.setOpaque(false);
+            buttonPanel.add(new ModernButton("Nouvel Océan") {{ addActionListener(e -> start()); }});
+            buttonPanel.add(new ModernButton("Retour") {{ addActionListener(e -> showPanel(GameState.MAIN_MENU)); }});
+            south.add(buttonPanel, BorderLayout.SOUTH);
+            add(south, BorderLayout.SOUTH);
+            addMouseListener(new MouseAdapter() {
+                @Override public void mousePressed(MouseEvent e) {
+                    aimAt(e.getX(), e.getY());
+                }
+            });
+        }
+
+        /**
+         * FR: Crée un nouvel océan, place toutes les flottes et lance les tours.
+         * EN: Creates a new ocean, places every fleet and starts the ticks.
+         */
+        public void start() {
+            stop();
+            Random random = new Random();
+            // FR: Résolution sur le thread de l'interface : un tour de 64 tirs prend quelques microsecondes.
+            // EN: Resolution on the UI thread: a 64-shot tick takes a few microseconds.
+            ocean = SharedOcean.randomOcean(PLAYERS, 1, random);
+            bots = new OceanBot[PLAYERS];
+            for (int p = 0; p < PLAYERS; p++) {
+                if (p != HUMAN) bots[p] = new OceanBot(p, random.nextLong());
+            }
+            aimCell = -1;
+            status.setText("Cliquez une case pour viser ; votre tir part au prochain tour.");
+            nextTick = frameClock.after(TICK_MILLIS, this::tick);
+            repaint();
+        }
+
+        /**
+         * FR: Suspend les tours (écran quitté).
+         * EN: Suspends the ticks (screen left).
+         */
+        public void stop() {
+            if (nextTick != null) {
+                nextTick.cancel();
+                nextTick = null;
+            }
+        }
+
+        private void aimAt(int px, int py) {
+            if (ocean == null || ocean.isEliminated(HUMAN)) return;
+            BoardLayout layout = BoardLayout.forOcean(getWidth(), getHeight(), ocean.getSize());
+            int x = layout.column(px);
+            int y = layout.row(py, layout.getEnemyY());
+            if (x < 0 || y < 0 || ocean.cellAt(x, y) != SharedOcean.WATER || ocean.ownerAt(x, y) == HUMAN) return;
+            ocean.fire(HUMAN, x, y);
+            aimCell = x * ocean.getSize() + y;
+            repaint();
+        }
+
+        private void tick() {
+            for (OceanBot bot : bots) {
+                if (bot != null) bot.aim(ocean);
+            }
+            long begin = System.nanoTime();
+            ocean.resolveTick();
+            lastResolveNanos = System.nanoTime() - begin;
+            for (OceanBot bot : bots) {
+                if (bot != null) bot.observe(ocean);
+            }
+            if (ocean.getLastShot(HUMAN) >= 0) aimCell = -1;
+
+            int alive = ocean.countPlayersAlive();
+            if (ocean.isEliminated(HUMAN)) {
+                status.setText("Votre flotte est coulée ! Score : " + ocean.getScore(HUMAN) + " (" + alive + " flottes encore à flot)");
+                nextTick = null;
+            } else if (alive == 1) {
+                status.setText("VICTOIRE ! Dernière flotte à flot. Score : " + ocean.getScore(HUMAN));
+                nextTick = null;
+            } else {
+                SharedOcean.Outcome outcome = ocean.getLastOutcome(HUMAN);
+                if (outcome == SharedOcean.Outcome.HIT) status.setText("Touché !");
+                else if (outcome == SharedOcean.Outcome.SUNK) status.setText("Coulé !");
+                else if (outcome == SharedOcean.Outcome.MISS) status.setText("Manqué !");
+                else if (outcome == SharedOcean.Outcome.ALREADY_SHOT) status.setText("Un adversaire a tiré là avant vous.");
+                nextTick = frameClock.after(TICK_MILLIS, this::tick);
+            }
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (ocean == null) return;
+            Graphics2D g2d = (Graphics2D) g;
+            int size = ocean.getSize();
+            BoardLayout layout = BoardLayout.forOcean(getWidth(), getHeight(), size);
+            int cell = layout.getCell();
+            int offsetX = layout.getOffsetX();
+            int offsetY = layout.getEnemyY();
+
+            g2d.setColor(Theme.COLOR_TEXT);
+            g2d.setFont(Theme.FONT_SUBTITLE);
+            g2d.drawString("Océan Partagé", offsetX, 40);
+            g2d.setFont(Theme.FONT_TEXT);
+            g2d.drawString(String.format("Tour %d   Flottes à flot : %d/%d   Vos navires : %d   Score : %d   Résolution : %d µs",
+                    ocean.getTick(), ocean.countPlayersAlive(), ocean.getPlayers(), ocean.getShipsAfloat(HUMAN),
+                    ocean.getScore(HUMAN), lastResolveNanos / 1000), offsetX, 70);
+
+            g2d.setColor(Theme.COLOR_GRID_BG);
+            g2d.fillRect(offsetX, offsetY, size * cell, size * cell);
+            int mark = Math.max(1, cell - 1);
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    byte state = ocean.cellAt(x, y);
+                    boolean own = ocean.ownerAt(x, y) == HUMAN;
+                    Color color;
+                    if (state == SharedOcean.HIT) color = own || ocean.isSunkAt(x, y) ? Theme.COLOR_HIT.darker() : Theme.COLOR_HIT;
+                    else if (state == SharedOcean.MISS) color = Theme.COLOR_MISS;
+                    else if (own) color = Theme.COLOR_SHIP;
+                    else continue;
+                    g2d.setColor(color);
+                    g2d.fillRect(offsetX + x * cell, offsetY + y * cell, mark, mark);
+                }
+            }
+            g2d.setColor(Theme.COLOR_GRID_LINE);
+            g2d.drawRect(offsetX, offsetY, size * cell, size * cell);
+            if (aimCell >= 0) {
+                g2d.setColor(Theme.COLOR_GHOST_OK);
+                g2d.fillRect(offsetX + (aimCell / size) * cell, offsetY + (aimCell % size) * cell, cell, cell);
+            }
+        }
+    }
+
+    /**
+     * FR: Panneau interactif où le joueur place ses navires sur la grille.
+     * EN: Interactive panel where the player places their ships on the grid.
+     */
+    private class ShipPlacementPanel extends GradientPanel implements MouseListener, MouseMotionListener, KeyListener {
+        private int currentShipIndex;
+        private Ship currentPlacingShip;
+        private boolean isHorizontal = true;
+        // FR: Case survolée (ancre du fantôme), -1 hors de la grille. / EN: Hovered cell (ghost anchor), -1 outside the grid.
+        private int hoverX = -1;
+        private int hoverY = -1;
+        private java.util.List<Ship> shipsToPlace;
+        // FR: Grille locale à l'écran de placement ; transmise au moteur une fois la flotte complète.
+        // EN: Board local to the placement screen; handed to the engine once the fleet is complete.
+        private Board placementBoard = new Board();
+        // FR: Ancres valides du navire courant, par orientation ; recalculées après chaque placement.
+        // EN: Valid anchors of the current ship, per orientation; recomputed after each placement.
+        private long[] validHorizontal = new long[0];
+        private long[] validVertical = new long[0];
+        private final Random autoFillRandom = new Random();
+        private BoardLayout layout;
+        private int layoutWidth = -1;
+        private int layoutHeight = -1;
+        private final Rectangle ghostBounds = new Rectangle();
+
+        public ShipPlacementPanel() {
+            this.addMouseListener(this);
+            this.addMouseMotionListener(this);
+            this.addKeyListener(this);
+            this.setFocusable(true);
+        }
+
+        /**
+         * FR: Initialise la phase de placement.
+         * EN: Initializes the placement phase.
+         */
+        public void startPlacementPhase() {
+            shipsToPlace = GameEngine.getShipsForLevel(placementLevel);
+            placementBoard = new Board();
+            currentShipIndex = 0;
+            nextShipToPlace();
+            this.requestFocusInWindow();
+            repaint();
+        }
+
+        /**
+         * FR: Prépare le prochain navire à être placé par le joueur.
+         * EN: Prepares the next ship to be placed by the player.
+         */
+        private void nextShipToPlace() {
+            if (currentShipIndex < shipsToPlace.size()) {
+                currentPlacingShip = shipsToPlace.get(currentShipIndex);
+                currentPlacingShip.setOrientation(isHorizontal);
+                validHorizontal = placementBoard.validAnchors(currentPlacingShip.getSize(), true);
+                validVertical = placementBoard.validAnchors(currentPlacingShip.getSize(), false);
+            } else {
+                // FR: Tous les navires sont placés, on lance le jeu.
+                // EN: All ships are placed, start the game.
+                currentPlacingShip = null;
+                gameEngine.submitPlayerFleet(shipsToPlace);
+                startGameplay();
+            }
+        }
+
+        /**
+         * FR: Place le navire courant à l'ancre donnée si le masque l'autorise.
+         * EN: Places the current ship at the given anchor if the mask allows it.
+         */
+        private void placeCurrentShip(int x, int y) {
+            if (currentPlacingShip == null || !canPlaceAt(x, y)) return;
+            currentPlacingShip.setPlacement(x, y, isHorizontal);
+            if (placementBoard.placeShip(currentPlacingShip)) {
+                currentShipIndex++;
+                nextShipToPlace();
+                repaint();
+            }
+        }
+
+        /**
+         * FR: Place aussitôt tous les navires restants, chacun tiré uniformément parmi ses ancres valides.
+         * EN: Instantly places every remaining ship, each drawn uniformly among its valid anchors.
+         */
+        private void autoFill() {
+            while (currentPlacingShip != null) {
+                if (!placementBoard.placeShipUniformly(currentPlacingShip, autoFillRandom)) {
+                    // FR: Plus aucune place : on recommence le placement. / EN: No room left: restart placement.
+                    startPlacementPhase();
+                    return;
+                }
+                currentShipIndex++;
+                nextShipToPlace();
+            }
+            repaint();
+        }
+
+        private boolean canPlaceAt(int x, int y) {
+            return x >= 0 && y >= 0 && Board.testAnchor(isHorizontal ? validHorizontal : validVertical, Theme.BOARD_SIZE, x, y);
+        }
+
+        private BoardLayout boardLayout() {
+            if (layout == null || layoutWidth != getWidth() || layoutHeight != getHeight()) {
+                layout = BoardLayout.forSingleBoard(getWidth(), getHeight(), Theme.BOARD_SIZE);
+                layoutWidth = getWidth();
+                layoutHeight = getHeight();
+            }
+            return layout;
+        }
+
+        /**
+         * FR: Rectangle du fantôme ancré en (x, y), dans ghostBounds (bordure comprise).
+         * EN: Rectangle of the ghost anchored at (x, y), into ghostBounds (border included).
+         */
+        private Rectangle ghostBounds(int x, int y) {
+            BoardLayout l = boardLayout();
+            int cell = l.getCell();
+            int length = currentPlacingShip == null ? 1 : currentPlacingShip.getSize();
+            ghostBounds.setBounds(l.getOffsetX() + x * cell, l.getEnemyY() + y * cell,
+                    (isHorizontal ? length * cell : cell) + 1, (isHorizontal ? cell : length * cell) + 1);
+            return ghostBounds;
+        }
+
+        /**
+         * FR: Déplace le fantôme ; seuls l'ancien et le nouveau rectangle sont redessinés.
+         * EN: Moves the ghost; only the old and new rectangles are repainted.
+         */
+        private void moveHover(int x, int y) {
+            if (x == hoverX && y == hoverY) return;
+            if (hoverX >= 0 && hoverY >= 0) repaint(ghostBounds(hoverX, hoverY));
+            hoverX = x;
+            hoverY = y;
+            if (x >= 0 && y >= 0) repaint(ghostBounds(x, y));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // FR: Calcule la taille des cases et le décalage pour centrer la grille.
+            // EN: Calculates the cell size and the offset to center the grid.
+            BoardLayout layout = boardLayout();
+            int offsetX = layout.getOffsetX();
+            int offsetY = layout.getEnemyY();
+
+            // FR: Dessine les textes d'instruction.
+            // EN: Draws the instruction texts.
+            g2d.setFont(Theme.FONT_SUBTITLE);
+            g2d.setColor(Theme.COLOR_TEXT);
+            g2d.drawString("Placez vos Navires", getWidth() / 2 - 120, 50);
+
+            String instruction = (currentPlacingShip != null)
+                ? "Cliquez ou glissez pour placer. 'R' pivote, 'A' complète. Navire : " + currentPlacingShip.getType() + " (Taille " + currentPlacingShip.getSize() + ")"
+                : "Placement terminé. Lancement du jeu...";
+            g2d.setFont(Theme.FONT_TEXT);
+            int instructionWidth = g2d.getFontMetrics().stringWidth(instruction);
+            g2d.drawString(instruction, (getWidth() - instructionWidth) / 2, 80);
+
+            // FR: Dessine la grille du joueur.
+            // EN: Draws the player's grid.
+            placementBoard.draw(g2d, offsetX, offsetY, layout.getCell(), false);
+
+            // FR: Dessine un "fantôme" du navire en cours de placement (validité lue dans le masque).
+            // EN: Draws a "ghost" of the ship being placed (validity read from the mask).
+            if (currentPlacingShip != null && hoverX >= 0 && hoverY >= 0) {
+                Rectangle ghost = ghostBounds(hoverX, hoverY);
+                g2d.setColor(canPlaceAt(hoverX, hoverY) ? Theme.COLOR_GHOST_OK : Theme.COLOR_GHOST_BAD);
+                g2d.fillRect(ghost.x, ghost.y, ghost.width - 1, ghost.height - 1);
+            }
+        }
+
+        /**
+         * FR: Met à jour la case survolée à partir des coordonnées en pixels de la souris (sans allocation).
+         * EN: Updates the hovered cell from the mouse pixel coordinates (allocation-free).
+         */
+        private void updateHover(MouseEvent e) {
+            BoardLayout l = boardLayout();
+            int gridX = l.column(e.getX());
+            int gridY = l.row(e.getY(), l.getEnemyY());
+            if (gridX < 0 || gridY < 0) {
+                gridX = -1; // FR: Hors de la grille. / EN: Outside the grid.
+                gridY = -1;
+            }
+            moveHover(gridX, gridY);
+        }
+
+        // --- Écouteurs d'événements / Event Listeners ---
+
+        // FR: Le placement a lieu au relâchement : un clic ou la fin d'un glisser. / EN: Placement happens on release: a click or the end of a drag.
+        @Override public void mouseReleased(MouseEvent e) {
+            if (e.getButton() == MouseEvent.BUTTON1) {
+                updateHover(e);
+                placeCurrentShip(hoverX, hoverY);
+            }
+        }
+
+        @Override public void mouseMoved(MouseEvent e) {
+            updateHover(e);
+        }
+
+        @Override public void mouseDragged(MouseEvent e) {
+            updateHover(e);
+        }
+
+        @Override public void mouseExited(MouseEvent e) {
+            moveHover(-1, -1);
+        }
+
+        @Override public void keyPressed(KeyEvent e) {
+            // FR: La touche 'R' pivote le navire. / EN: The 'R' key rotates the ship.
+            if (e.getKeyCode() == KeyEvent.VK_R && currentPlacingShip != null) {
+                if (hoverX >= 0 && hoverY >= 0) repaint(ghostBounds(hoverX, hoverY));
+                isHorizontal = !isHorizontal;
+                currentPlacingShip.setOrientation(isHorizontal);
+                if (hoverX >= 0 && hoverY >= 0) repaint(ghostBounds(hoverX, hoverY));
+            } else if (e.getKeyCode() == KeyEvent.VK_A && currentPlacingShip != null) {
+                // FR: La touche 'A' complète la flotte. / EN: The 'A' key completes the fleet.
+                autoFill();
+            }
+        }
+
+        // FR: Méthodes d'interface non utilisées. / EN: Unused interface methods.
+        @Override public void keyTyped(KeyEvent e) {}
+        @Override public void keyReleased(KeyEvent e) {}
+        @Override public void mouseClicked(MouseEvent e) {}
+        @Override public void mousePressed(MouseEvent e) {}
+        @Override public void mouseEntered(MouseEvent e) {}
+    }
+
+    /**
+     * FR: Le panneau principal du jeu, où se déroule l'action.
+     * EN: The main game panel, where the action takes place.
+     */
+    private class GamePanel extends JPanel {
+        private static final int MAX_MESSAGES = 3;
+        // FR: Redessin continu, appelé par l'horloge d'images. / EN: Continuous repaint, called by the frame clock.
+        private final Runnable drawingLoop = this::repaint;
+        // FR: Messages animés (Touché, Manqué), du plus ancien au plus récent. / EN: Animated messages (Hit, Miss), oldest first.
+        private final java.util.List<AnimatedMessage> messages = new ArrayList<>();
+        // FR: Effets de tir, simulés à chaque pas de l'horloge. / EN: Shot effects, simulated on every clock step.
+        private final ParticleSystem particles = new ParticleSystem();
+        private final java.util.function.BooleanSupplier particleStep = () -> {
+            boolean alive = particles.step();
+            repaint();
+            return alive;
+        };
+        // FR: Cases visées pour la prochaine salve (mode Salvo). / EN: Cells aimed for the next volley (Salvo mode).
+        private final java.util.List<Point> salvoAims = new ArrayList<>();
+        // FR: Rendu actif sur Canvas (option --active-rendering), sinon null : redessin Swing classique.
+        // EN: Active rendering on a Canvas (--active-rendering option), else null: classic Swing repaint.
+        private final ActiveRenderer activeRenderer = ActiveRenderer.isRequested() ? new ActiveRenderer(this::render) : null;
+        private boolean showFrameStats;
+
+        public GamePanel() {
+            setBackground(Theme.COLOR_BACKGROUND_START);
+            // FR: Échap met le jeu en pause. / EN: Escape pauses the game.
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "pause");
+            getActionMap().put("pause", new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    if (gameEngine.getCurrentState() == GameState.PLAYING) showPanel(GameState.PAUSED);
+                }
+            });
+            // FR: T bascule le mode entraînement ; Ctrl+Z (ou U) annule le dernier coup.
+            // EN: T toggles training mode; Ctrl+Z (or U) undoes the last move.
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_T, 0), "training");
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+            getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_U, 0), "undo");
+            getActionMap().put("training", new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    if (gameEngine.getCurrentState() == GameState.PLAYING) {
+                        gameEngine.setTrainingMode(!gameEngine.getSnapshot().isTrainingMode());
+                    }
+                }
+            });
+            getActionMap().put("undo", new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    if (gameEngine.getCurrentState() == GameState.PLAYING && gameEngine.getSnapshot().isTrainingMode()) {
+                        salvoAims.clear();
+                        gameEngine.undoLastMove();
+                    }
+                }
+            });
+            MouseAdapter clicks = new MouseAdapter() {
+                @Override public void mouseClicked(MouseEvent e) {
+                    // FR: Gère le clic du joueur sur la grille ennemie.
+                    // EN: Handles the player's click on the enemy grid.
+                    if (gameEngine.getCurrentState() == GameState.PLAYING && !gameEngine.isComputerTurn()) {
+                        BoardLayout layout = BoardLayout.forGame(getWidth(), getHeight());
+
+                        // FR: Vérifie si le clic est sur la grille ennemie (la grille du haut).
+                        // EN: Checks if the click is on the enemy grid (the top grid).
+                        int x = layout.column(e.getX());
+                        int y = layout.row(e.getY(), layout.getEnemyY());
+                        if (x >= 0 && y >= 0) {
+                            if (gameEngine.getRuleSet() == RuleSet.SALVO) {
+                                toggleSalvoAim(x, y);
+                            } else {
+                                gameEngine.playerMakeMove(x, y);
+                            }
+                        }
+                    }
+                }
+            };
+            addMouseListener(clicks);
+            if (activeRenderer != null) {
+                // FR: Le Canvas couvre le panneau : mêmes coordonnées, mêmes clics. F3 affiche la cadence mesurée.
+                // EN: The Canvas covers the panel: same coordinates, same clicks. F3 shows the measured pacing.
+                setLayout(new BorderLayout());
+                add(activeRenderer.getCanvas(), BorderLayout.CENTER);
+                activeRenderer.getCanvas().addMouseListener(clicks);
+                getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "frameStats");
+                getActionMap().put("frameStats", new AbstractAction() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        showFrameStats = !showFrameStats;
+                    }
+                });
+            }
+        }
+        
+        /**
+         * FR: Ajoute ou retire une case de la salve en préparation, puis tire dès que la salve est complète.
+         * EN: Adds or removes a cell from the pending volley, then fires as soon as the volley is complete.
+         */
+        private void toggleSalvoAim(int x, int y) {
+            Point aim = new Point(x, y);
+            if (salvoAims.remove(aim)) {
+                repaint();
+                return;
+            }
+            if (gameEngine.isEnemyCellShot(x, y)) {
+                showAnimatedMessage("Déjà tiré ici!");
+                return;
+            }
+            salvoAims.add(aim);
+            if (salvoAims.size() >= gameEngine.getPlayerSalvoSize()) {
+                int[] xs = new int[salvoAims.size()];
+                int[] ys = new int[salvoAims.size()];
+                for (int i = 0; i < salvoAims.size(); i++) {
+                    xs[i] = salvoAims.get(i).x;
+                    ys[i] = salvoAims.get(i).y;
+                }
+                salvoAims.clear();
+                gameEngine.playerFireSalvo(xs, ys, xs.length);
+            }
+            repaint();
+        }
+
+        /**
+         * FR: Déclenche l'effet d'un tir : explosion (touché), gerbe d'eau (manqué), fumée (coulé).
+         * EN: Triggers a shot effect: explosion (hit), splash (miss), smoke (sunk).
+         */
+        public void showShotEffect(GameEventBus.EventType type, boolean byPlayer, int x, int y, long value) {
+            int boardId = byPlayer ? ParticleSystem.ENEMY_BOARD : ParticleSystem.PLAYER_BOARD;
+            if (type == GameEventBus.EventType.SUNK) {
+                particles.explode(boardId, x, y, 1500);
+                particles.smoke(boardId, x, y, 80 * (int) value);
+            } else if (value != 0) {
+                particles.explode(boardId, x, y, 400);
+            } else {
+                particles.splash(boardId, x, y, 150);
+            }
+            frameClock.addStepListener(particleStep);
+        }
+
+        /**
+         * FR: Oublie les cases visées (nouvelle partie ou nouveau niveau).
+         * EN: Forgets the aimed cells (new game or new level).
+         */
+        public void clearSalvoAims() {
+            salvoAims.clear();
+        }
+
+        /**
+         * FR: Affiche un message animé au centre de l'écran.
+         * EN: Displays an animated message in the center of the screen.
+         * @param message Le texte à afficher. / The text to display.
+         */
+        public void showAnimatedMessage(String message) {
+            // FR: Les messages se superposent ; au-delà de MAX_MESSAGES le plus ancien disparaît.
+            // EN: Messages stack; beyond MAX_MESSAGES the oldest one disappears.
+            if (messages.size() >= MAX_MESSAGES) {
+                messages.remove(0).fade.cancel();
+            }
+            AnimatedMessage animated = new AnimatedMessage(message);
+            messages.add(animated);
+            // FR: Fondu de 2 s après 1 s d'affichage. / EN: 2 s fade after being shown for 1 s.
+            animated.fade = frameClock.tween(1, 0, 1000, 2000, FrameClock.Easing.EASE_IN_QUAD,
+                    alpha -> { animated.alpha = (float) alpha; repaint(); },
+                    () -> { messages.remove(animated); repaint(); });
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            // FR: En rendu actif, le Canvas recouvre le panneau et dessine lui-même. / EN: With active rendering, the Canvas covers the panel and draws itself.
+            if (activeRenderer == null) render((Graphics2D) g, getWidth(), getHeight());
+        }
+
+        /**
+         * FR: Dessine une image complète du jeu (appelé par paintComponent ou par le rendu actif, sur l'EDT).
+         * EN: Draws a complete game frame (called by paintComponent or by active rendering, on the EDT).
+         */
+        private void render(Graphics2D g2d, int width, int height) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            
+            // FR: Dessine le fond en dégradé. / EN: Draws the gradient background.
+            GradientPaint gp = new GradientPaint(0, 0, Theme.COLOR_BACKGROUND_START, 0, height, Theme.COLOR_BACKGROUND_END);
+            g2d.setPaint(gp);
+            g2d.fillRect(0, 0, width, height);
+
+            // FR: Laisse le moteur de jeu dessiner les grilles, etc.
+            // EN: Lets the game engine draw the grids, etc.
+            gameEngine.drawGame(g2d, width, height);
+
+            // FR: Dessine les effets de tir par-dessus les grilles. / EN: Draws the shot effects above the grids.
+            particles.render(g2d, BoardLayout.forGame(width, height), width, height);
+
+            // FR: Dessine les viseurs de la salve en préparation.
+            // EN: Draws the crosshairs of the pending volley.
+            if (!salvoAims.isEmpty()) {
+                BoardLayout layout = BoardLayout.forGame(width, height);
+                int cell = layout.getCell();
+                int radius = cell * 3 / 10;
+                int arm = cell * 2 / 5;
+                g2d.setColor(Theme.COLOR_ACCENT);
+                g2d.setStroke(new BasicStroke(2f));
+                for (Point aim : salvoAims) {
+                    int cx = layout.getOffsetX() + aim.x * cell + cell / 2;
+                    int cy = layout.getEnemyY() + aim.y * cell + cell / 2;
+                    g2d.drawOval(cx - radius, cy - radius, 2 * radius, 2 * radius);
+                    g2d.drawLine(cx - arm, cy, cx + arm, cy);
+                    g2d.drawLine(cx, cy - arm, cx, cy + arm);
+                }
+                g2d.setStroke(new BasicStroke(1f));
+            }
+            
+            // FR: Dessine le message animé s'il y en a un.
+            // EN: Draws the animated message if there is one.
+            if (!messages.isEmpty()) {
+                g2d.setFont(Theme.FONT_TITLE);
+                int lineHeight = g2d.getFontMetrics().getHeight();
+                // FR: Le plus récent au centre, les plus anciens au-dessus. / EN: Newest in the centre, older ones above.
+                for (int i = messages.size() - 1, line = 0; i >= 0; i--, line++) {
+                    AnimatedMessage animated = messages.get(i);
+                    g2d.setColor(new Color(255, 255, 255, Math.round(animated.alpha * 255)));
+                    int textWidth = g2d.getFontMetrics().stringWidth(animated.text);
+                    g2d.drawString(animated.text, (width - textWidth) / 2, height / 2 - line * lineHeight);
+                }
+            }
+
+            if (showFrameStats && activeRenderer != null) {
+                g2d.setFont(Theme.FONT_TEXT);
+                g2d.setColor(Theme.COLOR_ACCENT);
+                String summary = activeRenderer.getSummary();
+                g2d.drawString(summary, width - g2d.getFontMetrics().stringWidth(summary) - 10, g2d.getFontMetrics().getAscent() + 6);
+            }
+        }
+
+        /**
+         * FR: Démarre la boucle de rendu principale du jeu.
+         * EN: Starts the main rendering loop of the game.
+         */
+        public void startDrawingLoop() {
+            if (activeRenderer != null) {
+                // FR: L'écran exclusif n'est tenu que pendant la partie. / EN: The exclusive screen is only held during play.
+                ActiveRenderer.enterFullScreen(BattleshipPremiumV2.this);
+                activeRenderer.start();
+            } else {
+                frameClock.addFrameListener(drawingLoop);
+            }
+        }
+
+        /**
+         * FR: Arrête le redessin continu (hors partie) ; les messages en cours se redessinent eux-mêmes.
+         * EN: Stops continuous repainting (outside gameplay); running messages repaint themselves.
+         */
+        public void stopDrawingLoop() {
+            frameClock.removeFrameListener(drawingLoop);
+            if (activeRenderer != null) {
+                activeRenderer.stop();
+                ActiveRenderer.exitFullScreen(BattleshipPremiumV2.this);
+            }
+        }
+    }
+
+    /**
+     * FR: Message animé affiché au centre du panneau de jeu.
+     * EN: Animated message shown in the centre of the game panel.
+     */
+    private static final class AnimatedMessage {
+        private final String text;
+        private float alpha = 1.0f;
+        private FrameClock.Tween fade;
+
+        AnimatedMessage(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * FR: Rendu actif (option --active-rendering [--windowed]) : au lieu d'attendre les repaint()
+     *     de Swing, regroupés au gré du RepaintManager, un thread de rendu cadence les images sur la
+     *     fréquence de l'écran et les présente par un BufferStrategy sur un Canvas, en plein écran
+     *     exclusif si le périphérique le permet (échange de pages synchronisé sur le balayage).
+     *     Le dessin lui-même reste sur l'EDT, propriétaire de l'état affiché ; seule la
+     *     présentation, qui peut attendre le balayage, se fait sur le thread de rendu.
+     * EN: Active rendering (--active-rendering [--windowed] option): instead of waiting for Swing's
+     *     repaint() calls, coalesced at the RepaintManager's discretion, a render thread paces frames
+     *     to the display refresh rate and presents them through a BufferStrategy on a Canvas, in
+     *     full-screen exclusive mode when the device allows it (page flipping synced to the refresh).
+     *     Drawing itself stays on the EDT, which owns the displayed state; only presentation, which
+     *     may wait for the refresh, happens on the render thread.
+     */
+    private static final class ActiveRenderer {
+        private static final int FALLBACK_REFRESH_HZ = 60;
+        private static final long HIDDEN_POLL_NANOS = 100_000_000L;
+        private static final long SPIN_NANOS = 250_000L;
+        private static final long REPORT_NANOS = 10_000_000_000L;
+        private static final int WINDOW = 1024;
+
+        private static boolean requested;
+        private static boolean fullScreen = true;
+
+        /**
+         * FR: Dessine une image complète dans le contexte fourni. / EN: Draws a complete frame into the given context.
+         */
+        interface Painter {
+            void paint(Graphics2D g, int width, int height);
+        }
+
+        private final Canvas canvas = new Canvas();
+        private final Painter painter;
+        private volatile Thread thread;
+        private long periodNanos;
+
+        // FR: État de présentation, écrit sur l'EDT et lu par le thread de rendu après invokeAndWait.
+        // EN: Presentation state, written on the EDT and read by the render thread after invokeAndWait.
+        private java.awt.image.BufferStrategy strategy;
+        private Dimension strategySize;
+        private boolean pageFlipping;
+        private boolean drawn;
+
+        // FR: Mesures (synchronisées : lues aussi par l'EDT et à l'arrêt). / EN: Measurements (synchronized: also read by the EDT and at exit).
+        private final long[] intervals = new long[WINDOW];
+        private int recorded;
+        private long frames;
+        private long missed;
+        private long worstNanos;
+        private volatile String summary = "";
+
+        ActiveRenderer(Painter painter) {
+            this.painter = painter;
+            // FR: Le Canvas ne prend ni le focus (raccourcis Swing intacts) ni les redessins système.
+            // EN: The Canvas takes neither focus (Swing shortcuts intact) nor system repaints.
+            canvas.setFocusable(false);
+            canvas.setIgnoreRepaint(true);
+            canvas.setBackground(Theme.COLOR_BACKGROUND_START);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::finish, "battleship-render-report"));
+        }
+
+        /**
+         * FR: Lit l'option de la ligne de commande (avant la création de l'interface).
+         * EN: Reads the command-line option (before the UI is created).
+         * @param windowed FR: `--windowed` : rendu actif dans la fenêtre. / EN: `--windowed`: active rendering inside the window.
+         */
+        static void configure(boolean windowed) {
+            requested = true;
+            fullScreen = !windowed;
+            System.out.println("Rendu actif" + (fullScreen ? " en plein écran exclusif" : " en fenêtre")
+                    + " : mesures de cadence toutes les " + REPORT_NANOS / 1_000_000_000L + " s, F3 pour les afficher");
+        }
+
+        static boolean isRequested() {
+            return requested;
+        }
+
+        /**
+         * FR: Passe la fenêtre en plein écran exclusif si demandé et possible (sans changer de mode d'affichage).
+         *     Le premier appel précède l'affichage de la fenêtre : elle perd alors ses décorations.
+         * EN: Switches the window to full-screen exclusive mode if requested and possible (without changing the display mode).
+         *     The first call comes before the window is shown: it then loses its decorations.
+         */
+        static void enterFullScreen(JFrame frame) {
+            if (!requested || !fullScreen) return;
+            GraphicsDevice device = frame.getGraphicsConfiguration().getDevice();
+            if (!device.isFullScreenSupported()) {
+                if (!frame.isDisplayable()) {
+                    System.out.println("Plein écran exclusif indisponible sur " + device.getIDstring() + " : rendu actif en fenêtre");
+                }
+                return;
+            }
+            if (!frame.isDisplayable()) {
+                frame.setUndecorated(true);
+                frame.setResizable(false);
+            } else if (!frame.isUndecorated()) {
+                return;
+            }
+            if (device.getFullScreenWindow() != frame) device.setFullScreenWindow(frame);
+        }
+
+        /**
+         * FR: Rend l'écran s'il est tenu par cette fenêtre (fin du rendu, fermeture).
+         * EN: Releases the screen if this window holds it (end of rendering, closing).
+         */
+        static void exitFullScreen(JFrame frame) {
+            if (!requested || !fullScreen) return;
+            GraphicsDevice device = frame.getGraphicsConfiguration().getDevice();
+            if (device.getFullScreenWindow() == frame) device.setFullScreenWindow(null);
+        }
+
+        Canvas getCanvas() {
+            return canvas;
+        }
+
+        String getSummary() {
+            return summary;
+        }
+
+        /**
+         * FR: Démarre le thread de rendu (EDT). / EN: Starts the render thread (EDT).
+         */
+        void start() {
+            if (thread != null) return;
+            periodNanos = 1_000_000_000L / refreshRate();
+            Thread renderer = new Thread(this::loop, "battleship-render");
+            renderer.setDaemon(true);
+            renderer.setPriority(Thread.MAX_PRIORITY);
+            thread = renderer;
+            renderer.start();
+        }
+
+        /**
+         * FR: Arrête le thread de rendu (EDT) ; l'image en cours se termine sans attente.
+         * EN: Stops the render thread (EDT); the current frame finishes without waiting.
+         */
+        void stop() {
+            if (thread == null) return;
+            thread = null;
+            report();
+        }
+
+        private int refreshRate() {
+            GraphicsConfiguration configuration = canvas.getGraphicsConfiguration();
+            GraphicsDevice device = configuration != null ? configuration.getDevice()
+                    : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+            int hz = device.getDisplayMode().getRefreshRate();
+            return hz == DisplayMode.REFRESH_RATE_UNKNOWN || hz <= 0 ? FALLBACK_REFRESH_HZ : hz;
+        }
+
+        /**
+         * FR: Boucle de rendu : échéances absolues (pas de dérive), rattrapage abandonné après une
+         *     image manquée. Si show() attend lui-même le balayage (échange de pages synchronisé),
+         *     l'échéance se cale sur son retour et le dessin commence une demi-période plus tôt.
+         * EN: Render loop: absolute deadlines (no drift), catch-up dropped after a missed frame. If
+         *     show() itself waits for the refresh (synced page flipping), the deadline locks onto its
+         *     return and drawing starts half a period earlier.
+         */
+        private void loop() {
+            Thread self = Thread.currentThread();
+            Runnable draw = this::draw;
+            long period = periodNanos;
+            long next = System.nanoTime();
+            long last = 0;
+            long reportAt = next + REPORT_NANOS;
+            boolean synced = false;
+            while (thread == self) {
+                waitUntil(synced ? next - period / 2 : next);
+                try {
+                    EventQueue.invokeAndWait(draw);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (java.lang.reflect.InvocationTargetException e) {
+                    System.err.println("Rendu actif interrompu : " + e.getCause());
+                    return;
+                }
+                if (!drawn) {
+                    // FR: Canvas masqué (pause, autre écran) : on sonde lentement. / EN: Canvas hidden (pause, other screen): poll slowly.
+                    last = 0;
+                    next = System.nanoTime() + HIDDEN_POLL_NANOS;
+                    continue;
+                }
+                long presented = System.nanoTime();
+                if (!strategy.contentsLost()) {
+                    strategy.show();
+                    Toolkit.getDefaultToolkit().sync();
+                }
+                long now = System.nanoTime();
+                synced = pageFlipping && now - presented > period / 4;
+                if (last != 0) record(now - last, period);
+                last = now;
+                next = synced ? now + period : next + period;
+                if (now - next > period) next = now + period;
+                if (now - reportAt >= 0) {
+                    report();
+                    reportAt = now + REPORT_NANOS;
+                }
+            }
+        }
+
+        /**
+         * FR: Dessine l'image dans le tampon arrière (EDT). / EN: Draws the frame into the back buffer (EDT).
+         */
+        private void draw() {
+            drawn = false;
+            int width = canvas.getWidth();
+            int height = canvas.getHeight();
+            if (!canvas.isShowing() || width <= 0 || height <= 0) return;
+            if (strategy == null || !strategySize.equals(canvas.getSize())) createStrategy();
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    painter.paint(g, width, height);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            drawn = true;
+        }
+
+        /**
+         * FR: Double tampon, en échange de pages accéléré si possible, sinon par copie.
+         * EN: Double buffering, with accelerated page flipping if possible, else by copying.
+         */
+        private void createStrategy() {
+            try {
+                canvas.createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(true), new ImageCapabilities(true),
+                        BufferCapabilities.FlipContents.UNDEFINED));
+            } catch (AWTException e) {
+                canvas.createBufferStrategy(2);
+            }
+            strategy = canvas.getBufferStrategy();
+            strategySize = canvas.getSize();
+            pageFlipping = strategy.getCapabilities().isPageFlipping();
+        }
+
+        /**
+         * FR: Attend l'échéance : sommeil jusqu'à SPIN_NANOS avant, puis attente active (précision du réveil).
+         * EN: Waits for the deadline: sleeps until SPIN_NANOS before, then spins (wake-up accuracy).
+         */
+        private static void waitUntil(long deadline) {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+                java.util.concurrent.locks.LockSupport.parkNanos(remaining - SPIN_NANOS);
+            }
+            while (deadline - System.nanoTime() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private synchronized void record(long interval, long period) {
+            intervals[(int) (frames % WINDOW)] = interval;
+            recorded = Math.min(recorded + 1, WINDOW);
+            frames++;
+            if (interval > period + period / 2) missed++;
+            worstNanos = Math.max(worstNanos, interval);
+        }
+
+        /**
+         * FR: Résumé des WINDOW dernières images : cadence, durée moyenne, gigue (écart type), p99.
+         * EN: Summary of the last WINDOW frames: rate, mean frame time, jitter (standard deviation), p99.
+         */
+        private synchronized void report() {
+            if (recorded == 0) return;
+            long[] window = java.util.Arrays.copyOf(intervals, recorded);
+            java.util.Arrays.sort(window);
+            double sum = 0;
+            for (long interval : window) sum += interval;
+            double mean = sum / recorded;
+            double squares = 0;
+            for (long interval : window) squares += (interval - mean) * (interval - mean);
+            double jitter = Math.sqrt(squares / recorded);
+            long p99 = window[Math.min(recorded - 1, (int) Math.ceil(recorded * 0.99) - 1)];
+            summary = String.format("%.1f i/s · %.2f ms ± %.2f ms · p99 %.2f ms · %d manquées / %d · %s",
+                    1e9 / mean, mean / 1e6, jitter / 1e6, p99 / 1e6, missed, frames,
+                    pageFlipping ? "échange de pages" : "copie");
+            System.out.println("Rendu actif : " + summary + " (cible " + String.format("%.2f", periodNanos / 1e6) + " ms)");
+        }
+
+        private synchronized void finish() {
+            if (frames > 0) System.out.printf("Rendu actif : %d images, pire %.2f ms%n", frames, worstNanos / 1e6);
+        }
+    }
+
+    /**
+     * FR: Bus d'événements de jeu typé, à tampon circulaire préalloué. Un seul thread écrit (le
+     *     propriétaire du moteur) ; chaque abonné lit à son rythme avec son propre curseur de
+     *     séquence et sa propre politique de contre-pression. Aucune allocation ni verrou lors
+     *     de la publication.
+     * EN: Typed game event bus backed by a preallocated ring buffer. A single thread writes (the
+     *     engine's owner); each subscriber reads at its own pace with its own sequence cursor
+     *     and back-pressure policy. Publishing neither allocates nor locks.
+     */
+    private static final class GameEventBus {
+
+        /**
+         * FR: Types d'événements publiés par le moteur.
+         * EN: Event types published by the engine.
+         */
+        public enum EventType {
+            SHOT_FIRED,    // FR: Tir résolu (value = 1 si touché). / EN: Resolved shot (value = 1 if hit).
+            HIT,           // FR: Un navire est touché. / EN: A ship is hit.
+            SUNK,          // FR: Un navire est coulé (value = taille, text = type). / EN: A ship is sunk (value = size, text = type).
+            LEVEL_UP,      // FR: Nouveau niveau (value = niveau). / EN: New level (value = level).
+            GAME_OVER,     // FR: Fin de partie (value = score, byPlayer = victoire, drapeau TRAINING). / EN: Game over (value = score, byPlayer = victory, TRAINING flag).
+            SCORE_CHANGED, // FR: Nouveau score (value = score). / EN: New score (value = score).
+            MATCH_STARTED, // FR: Nouvelle partie (value = ordinal des règles, text = joueur). / EN: New game (value = rule set ordinal, text = player).
+            SHIP_PLACED,   // FR: Navire placé en x,y (value = classe | horizontal << 8 | taille << 16). / EN: Ship placed at x,y (value = class | horizontal << 8 | size << 16).
+            MESSAGE,       // FR: Message à afficher au joueur (text). / EN: Message to show the player (text).
+            POSITION_RESTORED // FR: Grilles restaurées d'un bloc (retour arrière). / EN: Boards restored at once (rewind).
+        }
+
+        /**
+         * FR: Comportement lorsqu'un abonné a une file pleine.
+         * EN: Behaviour when a subscriber's queue is full.
+         */
+        public enum BackPressure {
+            DROP_OLDEST,    // FR: L'abonné saute les événements écrasés (interface, spectateurs). / EN: The subscriber skips overwritten events (UI, spectators).
+            BLOCK_PUBLISHER // FR: L'écrivain attend l'abonné (enregistrement de replays). / EN: The writer waits for the subscriber (replay recording).
+        }
+
+        /**
+         * FR: Reçoit les événements d'un abonnement.
+         * EN: Receives the events of a subscription.
+         */
+        public interface GameEventListener {
+            void onEvent(GameEvent event);
+        }
+
+        /**
+         * FR: Vue en lecture seule d'un événement. L'instance est réutilisée : ne pas la conserver
+         *     au-delà de l'appel à {@link GameEventListener#onEvent}.
+         * EN: Read-only view of an event. The instance is reused: do not keep it beyond the
+         *     call to {@link GameEventListener#onEvent}.
+         */
+        public static final class GameEvent {
+            // FR: Drapeau : partie passée en mode entraînement (annulations possibles).
+            // EN: Flag: match switched to training mode (undo available).
+            public static final int TRAINING = 1;
+
+            private volatile long sequence = -1;
+            private EventType type;
+            private boolean byPlayer;
+            private int x;
+            private int y;
+            private long value;
+            private String text;
+            private int flags;
+
+            private void copyFrom(GameEvent other) {
+                type = other.type;
+                byPlayer = other.byPlayer;
+                x = other.x;
+                y = other.y;
+                value = other.value;
+                text = other.text;
+                flags = other.flags;
+            }
+
+            public long getSequence() { return sequence; }
+            public EventType getType() { return type; }
+            public boolean isByPlayer() { return byPlayer; }
+            public int getX() { return x; }
+            public int getY() { return y; }
+            public long getValue() { return value; }
+            public String getText() { return text; }
+            public int getFlags() { return flags; }
+            public boolean hasFlag(int flag) { return (flags & flag) != 0; }
+        }
+
+        /**
+         * FR: Un abonné au bus, avec son curseur et sa politique.
+         * EN: A bus subscriber, with its cursor and policy.
+         */
+        public final class Subscription {
+            private final GameEventListener listener;
+            private final BackPressure policy;
+            private final Runnable wakeup;
+            private final java.util.concurrent.atomic.AtomicLong cursor;
+            private final java.util.concurrent.atomic.AtomicBoolean signalled = new java.util.concurrent.atomic.AtomicBoolean();
+            private final GameEvent scratch = new GameEvent();
+            private long dropped;
+
+            private Subscription(GameEventListener listener, BackPressure policy, Runnable wakeup, long start) {
+                this.listener = listener;
+                this.policy = policy;
+                this.wakeup = wakeup;
+                this.cursor = new java.util.concurrent.atomic.AtomicLong(start);
+            }
+
+            /**
+             * FR: Délivre au plus `max` événements en attente au listener, sur le thread appelant.
+             * EN: Delivers at most `max` pending events to the listener, on the calling thread.
+             * @return FR: Le nombre d'événements délivrés. / EN: The number of events delivered.
+             */
+            public int poll(int max) {
+                signalled.set(false);
+                long next = cursor.get() + 1;
+                long available = published.get();
+                int delivered = 0;
+                while (next <= available && delivered < max) {
+                    if (available - next >= capacity) {
+                        // FR: L'écrivain nous a dépassés : on saute à l'événement le plus ancien encore valide.
+                        // EN: The writer lapped us: jump to the oldest event still valid.
+                        long oldest = available - capacity + 1;
+                        dropped += oldest - next;
+                        next = oldest;
+                    }
+                    GameEvent slot = ring[(int) (next & mask)];
+                    if (slot.sequence != next) { available = published.get(); continue; }
+                    scratch.copyFrom(slot);
+                    java.lang.invoke.VarHandle.loadLoadFence();
+                    if (slot.sequence != next) { available = published.get(); continue; } // FR: Écrasé pendant la copie. / EN: Overwritten while copying.
+                    scratch.sequence = next;
+                    cursor.lazySet(next);
+                    next++;
+                    delivered++;
+                    listener.onEvent(scratch);
+                }
+                if (next <= published.get()) requestWakeup(); // FR: Il reste du travail. / EN: Work remains.
+                return delivered;
+            }
+
+            /**
+             * FR: Nombre d'événements perdus par cet abonné (politique DROP_OLDEST).
+             * EN: Number of events lost by this subscriber (DROP_OLDEST policy).
+             */
+            public long getDropped() { return dropped; }
+
+            /**
+             * FR: Détache l'abonné du bus.
+             * EN: Detaches the subscriber from the bus.
+             */
+            public void cancel() { subscriptions.remove(this); }
+
+            private void requestWakeup() {
+                if (wakeup != null && !signalled.getAndSet(true)) wakeup.run();
+            }
+        }
+
+        private final GameEvent[] ring;
+        private final int capacity;
+        private final int mask;
+        private final java.util.concurrent.atomic.AtomicLong published = new java.util.concurrent.atomic.AtomicLong(-1);
+        private final java.util.List<Subscription> subscriptions = new java.util.concurrent.CopyOnWriteArrayList<>();
+        private Thread writer;
+
+        /**
+         * @param capacity FR: Taille du tampon, arrondie à la puissance de deux supérieure. / EN: Buffer size, rounded up to a power of two.
+         */
+        public GameEventBus(int capacity) {
+            this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            this.mask = this.capacity - 1;
+            this.ring = new GameEvent[this.capacity];
+            for (int i = 0; i < this.capacity; i++) ring[i] = new GameEvent();
+        }
+
+        /**
+         * FR: Abonne un listener aux événements futurs.
+         * EN: Subscribes a listener to future events.
+         * @param wakeup FR: Appelé (au plus une fois par lot) quand des événements arrivent ; peut être null
+         *               pour un abonné qui interroge lui-même le bus. / EN: Called (at most once per batch)
+         *               when events arrive; may be null for a subscriber that polls the bus itself.
+         */
+        public Subscription subscribe(GameEventListener listener, BackPressure policy, Runnable wakeup) {
+            Subscription subscription = new Subscription(listener, policy, wakeup, published.get());
+            subscriptions.add(subscription);
+            return subscription;
+        }
+
+        /**
+         * FR: Publie un événement. Réservé au thread écrivain unique (le premier à publier).
+         * EN: Publishes an event. Reserved to the single writer thread (the first to publish).
+         */
+        public void publish(EventType type, boolean byPlayer, int x, int y, long value, String text) {
+            publish(type, byPlayer, x, y, value, text, 0);
+        }
+
+        /**
+         * FR: Publie un événement portant des drapeaux (voir {@link GameEvent#TRAINING}).
+         * EN: Publishes an event carrying flags (see {@link GameEvent#TRAINING}).
+         */
+        public void publish(EventType type, boolean byPlayer, int x, int y, long value, String text, int flags) {
+            Thread current = Thread.currentThread();
+            if (writer == null) {
+                writer = current;
+            } else if (writer != current) {
+                throw new IllegalStateException("GameEventBus: un seul thread écrivain est autorisé (" + writer.getName() + ")");
+            }
+
+            long next = published.get() + 1;
+            for (Subscription subscription : subscriptions) {
+                // FR: Seuls les abonnés bloquants peuvent retenir l'écrivain.
+                // EN: Only blocking subscribers may hold the writer back.
+                while (subscription.policy == BackPressure.BLOCK_PUBLISHER
+                        && next - subscription.cursor.get() > capacity && subscriptions.contains(subscription)) {
+                    subscription.requestWakeup();
+                    java.util.concurrent.locks.LockSupport.parkNanos(50_000L);
+                }
+            }
+
+            GameEvent slot = ring[(int) (next & mask)];
+            slot.sequence = -1; // FR: Marque l'emplacement en cours d'écriture. / EN: Marks the slot as being written.
+            // FR: Les écritures simples ne doivent pas remonter avant la marque. / EN: The plain stores must not move above the mark.
+            java.lang.invoke.VarHandle.storeStoreFence();
+            slot.type = type;
+            slot.byPlayer = byPlayer;
+            slot.x = x;
+            slot.y = y;
+            slot.value = value;
+            slot.text = text;
+            slot.flags = flags;
+            slot.sequence = next;
+            published.set(next);
+
+            for (Subscription subscription : subscriptions) {
+                subscription.requestWakeup();
+            }
+        }
+
+        /**
+         * FR: Séquence du dernier événement publié (-1 si aucun).
+         * EN: Sequence of the last published event (-1 if none).
+         */
+        public long getPublished() {
+            return published.get();
+        }
+
+        /**
+         * FR: Libère le thread écrivain, par exemple quand un autre thread reprend le moteur.
+         * EN: Releases the writer thread, for example when another thread takes over the engine.
+         */
+        public void releaseWriter() {
+            writer = null;
+        }
+    }
+
+    /**
+     * FR: Le cœur logique du jeu. Gère l'état, les tours, les scores, et la logique de l'IA.
+     *     Toute mutation est une commande déposée dans une boîte aux lettres sans verrou et
+     *     exécutée par un unique thread propriétaire ; les lecteurs (EDT, spectateurs...) ne
+     *     voient que des instantanés immuables.
+     * EN: The logical core of the game. Manages state, turns, scores, and AI logic.
+     *     Every mutation is a command dropped into a lock-free mailbox and executed by a
+     *     single owner thread; readers (EDT, spectators...) only see immutable snapshots.
+     */
+    private static class GameEngine {
+        private static final long DEFAULT_COMPUTER_TURN_DELAY = 1500;
+
+        private GameState currentState;
+        private Board playerBoard;
+        private Board computerBoard;
+        private final HighScoreManager highScores;
+        private int currentLevel;
+        private long playerScore;
+        private String currentPlayerName = "Joueur";
+        private boolean isComputerTurn = false;
+        private RuleSet ruleSet = RuleSet.CLASSIC;
+        
+        // FR: Liste des cibles prioritaires pour l'IA (après avoir touché un navire).
+        // EN: List of priority targets for the AI (after hitting a ship).
+        private final java.util.List<Point> huntTargets = new ArrayList<>();
+        private final Random random = new Random();
+        // FR: Seul canal de sortie du moteur : l'interface, les métriques, etc. s'y abonnent.
+        // EN: The engine's only output channel: UI, metrics, etc. subscribe to it.
+        private final GameEventBus events = new GameEventBus(1024);
+
+        // FR: Boîte aux lettres des commandes et tâches différées (ces dernières ne sont lues que par le propriétaire).
+        // EN: Command mailbox and delayed tasks (the latter are only touched by the owner).
+        private final CommandMailbox mailbox = new CommandMailbox();
+        private final java.util.PriorityQueue<DelayedCommand> delayedCommands = new java.util.PriorityQueue<>();
+        private final long computerTurnDelayMillis;
+        private long delayedSequence;
+        private volatile Thread owner;
+        private volatile boolean running;
+        private volatile Snapshot snapshot;
+        private long failedCommands; // FR: Commandes ayant levé une exception. / EN: Commands that threw.
+        // FR: Mode entraînement : chaque coup du joueur empile la position compacte qui le précède.
+        // EN: Training mode: each player move pushes the packed position preceding it.
+        private static final int MAX_UNDO = 200;
+        private final java.util.ArrayDeque<UndoEntry> undoStack = new java.util.ArrayDeque<>();
+        private boolean trainingMode;
+        private boolean trainingUsed; // FR: Partie non éligible au classement. / EN: Match not eligible for the leaderboard.
+        // FR: Journal de la partie (graine + actions du joueur) d'où est tirée la preuve du score.
+        // EN: Match log (seed + player actions) the score proof is built from.
+        private long matchSeed;
+        private byte[] actionLog = new byte[256];
+        private int actionLogLength;
+        private byte[] opponentHeat; // FR: Habitudes de tir du joueur actif, null si inconnues. / EN: Active player's targeting habits, null if unknown.
+        // FR: Niveau préparé à l'avance en arrière-plan (moteur avec thread propriétaire uniquement).
+        // EN: Level prepared ahead of time in the background (engine with an owner thread only).
+        private java.util.concurrent.ExecutorService preparer;
+        private java.util.concurrent.CompletableFuture<PreparedLevel> preparedLevel;
+
+        public GameEngine() {
+            this(DEFAULT_COMPUTER_TURN_DELAY, new HighScoreManager());
+        }
+
+        /**
+         * @param computerTurnDelayMillis FR: Pause de "réflexion" de l'IA (0 pour un moteur sans interface).
+         *                                EN: AI "thinking" pause (0 for a headless engine).
+         * @param highScores              FR: Tableau des scores de l'interface (null sans interface).
+         *                                EN: The UI's high score table (null when headless).
+         */
+        public GameEngine(long computerTurnDelayMillis, HighScoreManager highScores) {
+            this.highScores = highScores;
+            this.currentState = GameState.MAIN_MENU;
+            this.computerTurnDelayMillis = computerTurnDelayMillis;
+            this.playerBoard = new Board();
+            this.computerBoard = new Board();
+            this.snapshot = new Snapshot(this);
+        }
+
+        /**
+         * FR: Démarre le thread propriétaire qui exécute toutes les commandes de ce moteur.
+         * EN: Starts the owner thread that executes every command of this engine.
+         */
+        public void start() {
+            if (running) return;
+            running = true;
+            preparer = java.util.concurrent.Executors.newSingleThreadExecutor(task -> {
+                Thread worker = new Thread(task, "battleship-prepare");
+                worker.setDaemon(true);
+                worker.setPriority(Thread.MIN_PRIORITY);
+                return worker;
+            });
+            Thread thread = new Thread(this::ownerLoop, "battleship-engine");
+            thread.setDaemon(true);
+            owner = thread;
+            thread.start();
+        }
+
+        /**
+         * FR: Dépose une commande ; elle sera exécutée par le thread propriétaire. Sûr depuis n'importe quel thread.
+         * EN: Submits a command; it will run on the owner thread. Safe from any thread.
+         */
+        public void submit(Runnable command) {
+            mailbox.offer(command);
+            Thread current = owner;
+            if (current != null && running) java.util.concurrent.locks.LockSupport.unpark(current);
+        }
+
+        /**
+         * FR: Exécute les commandes en attente sur le thread appelant, qui devient propriétaire
+         *     (moteur sans interface : simulations, bots, vérification). Les tâches différées dont
+         *     l'échéance est atteinte sont aussi exécutées.
+         * EN: Runs pending commands on the calling thread, which becomes the owner (headless
+         *     engine: simulations, bots, verification). Delayed tasks that are due also run.
+         * @return FR: Le nombre de commandes exécutées. / EN: The number of commands executed.
+         */
+        public int runPending() {
+            if (running) throw new IllegalStateException("GameEngine: le moteur a déjà un thread propriétaire");
+            Thread current = Thread.currentThread();
+            if (owner != current) {
+                owner = current;
+                events.releaseWriter();
+            }
+            int executed = 0;
+            int batch;
+            do {
+                batch = drainMailbox() + runDueDelayedCommands();
+                executed += batch;
+            } while (batch > 0);
+            return executed;
+        }
+
+        private void ownerLoop() {
+            while (running) {
+                drainMailbox();
+                runDueDelayedCommands();
+                DelayedCommand next = delayedCommands.peek();
+                if (!mailbox.isEmpty()) continue;
+                if (next == null) {
+                    java.util.concurrent.locks.LockSupport.park(this);
+                } else {
+                    long wait = next.dueNanos - System.nanoTime();
+                    if (wait > 0) java.util.concurrent.locks.LockSupport.parkNanos(this, wait);
+                }
+            }
+        }
+
+        private int drainMailbox() {
+            int executed = 0;
+            Runnable command;
+            while ((command = mailbox.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    // FR: Une commande fautive ne doit pas tuer le moteur. / EN: A faulty command must not kill the engine.
+                    failedCommands++;
+                    System.err.println("Erreur dans une commande du moteur : " + e);
+                    e.printStackTrace();
+                }
+                executed++;
+            }
+            if (executed > 0) snapshot = new Snapshot(this);
+            return executed;
+        }
+
+        private int runDueDelayedCommands() {
+            int executed = 0;
+            long now = System.nanoTime();
+            while (!delayedCommands.isEmpty() && delayedCommands.peek().dueNanos <= now) {
+                mailbox.offer(delayedCommands.poll().command);
+                executed += drainMailbox();
+            }
+            return executed;
+        }
+
+        /**
+         * FR: Programme une commande après un délai (appelé uniquement par le propriétaire).
+         * EN: Schedules a command after a delay (only called by the owner).
+         */
+        private void schedule(long delayMillis, Runnable command) {
+            delayedCommands.add(new DelayedCommand(System.nanoTime() + delayMillis * 1_000_000L, delayedSequence++, command));
+        }
+
+        /**
+         * FR: Initialise une session de jeu complète (score, niveau 1).
+         * EN: Initializes a full game session (score, level 1).
+         */
+        public void initGame() {
+            initGame(RuleSet.CLASSIC);
+        }
+
+        /**
+         * FR: Initialise une session de jeu complète avec la variante de règles donnée.
+         * EN: Initializes a full game session with the given rule variant.
+         */
+        public void initGame(RuleSet ruleSet) {
+            // FR: Toute partie est reproductible, pour que son score puisse être prouvé.
+            // EN: Every match is reproducible, so that its score can be proven.
+            long seed = java.util.concurrent.ThreadLocalRandom.current().nextLong();
+            submit(() -> startMatch(ruleSet, seed));
+        }
+
+        /**
+         * FR: Variante reproductible : le générateur aléatoire du moteur (flotte ennemie, IA) est
+         *     réinitialisé avec la graine donnée.
+         * EN: Reproducible variant: the engine's random generator (enemy fleet, AI) is reseeded
+         *     with the given seed.
+         */
+        public void initGame(RuleSet ruleSet, long seed) {
+            submit(() -> startMatch(ruleSet, seed));
+        }
+
+        private void startMatch(RuleSet ruleSet, long seed) {
+            random.setSeed(seed);
+            matchSeed = seed;
+            actionLogLength = 0;
+            if (opponentHeat != null) logHeat(opponentHeat);
+            this.ruleSet = ruleSet;
+            playerScore = 0;
+            currentLevel = 1;
+            trainingUsed = trainingMode;
+            delayedCommands.clear();
+            prepareLevel(1);
+            setupNextLevel();
+            currentState = GameState.SHIP_PLACEMENT;
+            // FR: Le nom du joueur accompagne le début de partie (profils, statistiques).
+            // EN: The player name comes with the match start (profiles, statistics).
+            events.publish(GameEventBus.EventType.MATCH_STARTED, true, -1, -1, ruleSet.ordinal(), currentPlayerName);
+        }
+
+        /**
+         * FR: Prépare le niveau suivant (ou le premier) sans réinitialiser le score.
+         * EN: Prepares the next (or first) level without resetting the score.
+         */
+        private void setupNextLevel() {
+            playerBoard = new Board();
+            computerBoard = new Board();
+            huntTargets.clear();
+            undoStack.clear();
+            isComputerTurn = false;
+        }
+
+        /**
+         * FR: Graine du placement de la flotte de l'ordinateur pour un niveau. Elle ne dépend que de
+         *     la graine de la partie (SplitMix64), pas de l'avancée de l'IA : la flotte du niveau
+         *     suivant peut donc être tirée pendant que le niveau en cours se joue.
+         * EN: Seed of the computer fleet placement for a level. It only depends on the match seed
+         *     (SplitMix64), not on the AI's progress: the next level's fleet can thus be drawn
+         *     while the current level is being played.
+         */
+        static long placementSeed(long matchSeed, int level) {
+            long z = matchSeed + level * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        /**
+         * FR: Lance en arrière-plan la préparation d'un niveau (flotte de l'ordinateur).
+         *     Sans thread propriétaire (rejeu, simulations), rien n'est fait : le niveau est alors
+         *     calculé à la demande, à l'identique.
+         * EN: Starts preparing a level in the background (computer fleet). Without an
+         *     owner thread (replay, simulations), nothing is done: the level is then computed on
+         *     demand, identically.
+         */
+        private void prepareLevel(int level) {
+            if (preparer == null || level > Theme.MAX_LEVEL) return;
+            if (preparedLevel != null) preparedLevel.cancel(false);
+            long seed = matchSeed;
+            byte[] heat = opponentHeat;
+            preparedLevel = java.util.concurrent.CompletableFuture.supplyAsync(() -> new PreparedLevel(seed, level, heat), preparer);
+        }
+
+        /**
+         * FR: Retourne une nouvelle flotte (non placée) pour un niveau donné.
+         * EN: Returns a new (unplaced) fleet for a given level.
+         */
+        public static java.util.List<Ship> getShipsForLevel(int currentLevel) {
+            java.util.List<Ship> ships = new ArrayList<>();
+            // FR: Le nombre de navires augmente avec les niveaux.
+            // EN: The number of ships increases with levels.
+            int numShips = Math.min(currentLevel / 2 + 2, 5);
+            ships.add(new Ship(5, "Porte-avions"));
+            ships.add(new Ship(4, "Croiseur"));
+            ships.add(new Ship(3, "Destroyer"));
+            ships.add(new Ship(3, "Sous-marin"));
+            ships.add(new Ship(2, "Torpilleur"));
+            return ships.subList(0, Math.min(numShips, ships.size()));
+        }
+
+        /**
+         * FR: Installe la flotte placée par le joueur puis celle de l'ordinateur. Le moteur garde
+         *     ses propres copies : l'interface peut continuer à dessiner les navires transmis.
+         * EN: Installs the fleet placed by the player, then the computer's. The engine keeps its
+         *     own copies: the UI may keep drawing the ships passed in.
+         */
+        public void submitPlayerFleet(java.util.List<Ship> fleet) {
+            java.util.List<Ship> ships = new ArrayList<>();
+            for (Ship ship : fleet) ships.add(ship.copy());
+            submit(() -> {
+                playerBoard = new Board();
+                for (Ship ship : ships) playerBoard.placeShip(ship);
+                logFleet(GameRecord.PLAYER_FLEET, ships);
+                placeComputerShips();
+                logFleet(GameRecord.COMPUTER_FLEET, computerBoard.ships);
+                publishFleet(true, playerBoard);
+                publishFleet(false, computerBoard);
+                // FR: Le niveau suivant se prépare pendant que celui-ci se joue. / EN: The next level is prepared while this one is played.
+                prepareLevel(currentLevel + 1);
+            });
+        }
+
+        /**
+         * FR: Habitudes de tir du joueur (voir {@link PlayerProfileStore#targetingHeat}) que la
+         *     flotte de l'ordinateur cherchera à éviter ; null pour un placement uniforme.
+         * EN: The player's targeting habits (see {@link PlayerProfileStore#targetingHeat}) the
+         *     computer's fleet will try to avoid; null for uniform placement.
+         */
+        public void setOpponentHeat(byte[] heat) {
+            byte[] copy = heat == null ? null : heat.clone();
+            submit(() -> opponentHeat = copy);
+        }
+
+        /**
+         * FR: Fournit le journal de la partie en cours (graine, règles, actions du joueur), lu sur
+         *     le thread propriétaire.
+         * EN: Provides the current match log (seed, rules, player actions), read on the owner thread.
+         */
+        public java.util.concurrent.CompletableFuture<GameRecord> recordMatch() {
+            java.util.concurrent.CompletableFuture<GameRecord> result = new java.util.concurrent.CompletableFuture<>();
+            submit(() -> result.complete(new GameRecord(matchSeed, ruleSet, java.util.Arrays.copyOf(actionLog, actionLogLength))));
+            return result;
+        }
+
+        private void logHeat(byte[] heat) {
+            ensureLogCapacity(1 + heat.length);
+            actionLog[actionLogLength++] = (byte) GameRecord.HEAT;
+            System.arraycopy(heat, 0, actionLog, actionLogLength, heat.length);
+            actionLogLength += heat.length;
+        }
+
+        private void logFleet(int kind, java.util.List<Ship> fleet) {
+            ensureLogCapacity(1 + fleet.size());
+            actionLog[actionLogLength++] = (byte) (kind | fleet.size());
+            for (Ship ship : fleet) {
+                actionLog[actionLogLength++] = (byte) (GameRecord.cell(ship.startX, ship.startY) | (ship.isHorizontal ? GameRecord.HORIZONTAL : 0));
+            }
+        }
+
+        private void logShots(int[] xs, int[] ys, int count) {
+            ensureLogCapacity(1 + count);
+            actionLog[actionLogLength++] = (byte) count;
+            for (int i = 0; i < count; i++) actionLog[actionLogLength++] = (byte) GameRecord.cell(xs[i], ys[i]);
+        }
+
+        private void ensureLogCapacity(int extra) {
+            if (actionLogLength + extra > actionLog.length) {
+                actionLog = java.util.Arrays.copyOf(actionLog, Math.max(actionLog.length * 2, actionLogLength + extra));
+            }
+        }
+
+        /**
+         * FR: Publie le placement de chaque navire d'une flotte (statistiques, replays).
+         * EN: Publishes the placement of every ship of a fleet (statistics, replays).
+         */
+        private void publishFleet(boolean byPlayer, Board board) {
+            java.util.List<Ship> fleet = board.ships;
+            for (int i = 0; i < fleet.size(); i++) {
+                Ship ship = fleet.get(i);
+                long value = i | (ship.isHorizontal ? 1L << 8 : 0) | ((long) ship.getSize() << 16);
+                events.publish(GameEventBus.EventType.SHIP_PLACED, byPlayer, ship.startX, ship.startY, value, ship.getType());
+            }
+        }
+
+        /**
+         * FR: Place les navires de l'ordinateur, à l'écart des habitudes de tir du joueur (voir
+         *     {@link AdaptivePlacement}), en reprenant la flotte préparée en arrière-plan si elle
+         *     correspond (sinon elle est calculée ici, à l'identique). Le placement a son propre
+         *     générateur (voir {@link #placementSeed}) ; un nombre est tout de même tiré du
+         *     générateur du moteur, pour que l'IA suive la même suite qu'à l'enregistrement des
+         *     preuves existantes. Le rejeu la tire de la même façon : une flotte journalisée ne peut
+         *     donc pas être forgée.
+         * EN: Places the computer's ships, away from the player's targeting habits (see
+         *     {@link AdaptivePlacement}), taking over the fleet prepared in the background if it
+         *     matches (otherwise it is computed here, identically). Placement has its own
+         *     generator (see {@link #placementSeed}); one number is still drawn from the engine's
+         *     generator, so that the AI follows the same sequence as when existing proofs were
+         *     recorded. The replay draws it the same way, so a logged fleet cannot be forged.
+         */
+        private void placeComputerShips() {
+            random.nextLong();
+            // FR: Une préparation en échec est refaite ici, pour que l'erreur éventuelle survienne au même endroit.
+            // EN: A failed preparation is redone here, so that any error happens at the same place.
+            PreparedLevel prepared = preparedLevel == null ? null : preparedLevel.exceptionally(e -> null).join();
+            preparedLevel = null;
+            if (prepared == null || !prepared.matches(matchSeed, currentLevel, opponentHeat)) {
+                prepared = new PreparedLevel(matchSeed, currentLevel, opponentHeat);
+            }
+            computerBoard = prepared.computerBoard;
+        }
+
+        /**
+         * FR: Gère une tentative de tir du joueur.
+         * EN: Handles a shot attempt from the player.
+         * @param x Coordonnée X. / X coordinate.
+         * @param y Coordonnée Y. / Y coordinate.
+         */
+        public void playerMakeMove(int x, int y) {
+            submit(() -> handlePlayerMove(x, y));
+        }
+
+        private void handlePlayerMove(int x, int y) {
+            if (currentState != GameState.PLAYING || isComputerTurn) return;
+
+            if (computerBoard.isShot(x, y)) {
+                announce("Déjà tiré ici!");
+                return;
+            }
+
+            pushUndo();
+            logShots(new int[] {x}, new int[] {y}, 1);
+            boolean hit = computerBoard.shoot(x, y);
+            publishShot(true, x, y, hit, computerBoard);
+            if (hit) {
+                addScore(100 * currentLevel);
+                announce("Touché !");
+            } else {
+                announce("Manqué !");
+            }
+
+            // FR: Si la partie n'est pas terminée, c'est au tour de l'ordinateur.
+            // EN: If the game is not over, it's the computer's turn.
+            if (checkGameStatus()) {
+                 initiateComputerTurn();
+            }
+        }
+
+        /**
+         * FR: Gère une salve complète du joueur (mode Salvo) : un seul appel au plateau et une seule
+         *     vérification de fin de partie pour toute la volée.
+         * EN: Handles a full player volley (Salvo mode): a single board call and a single
+         *     game-over check for the whole volley.
+         * @param xs    FR: Coordonnées X des tirs. / EN: X coordinates of the shots.
+         * @param ys    FR: Coordonnées Y des tirs. / EN: Y coordinates of the shots.
+         * @param count FR: Nombre de tirs à lire dans les tableaux. / EN: Number of shots to read from the arrays.
+         */
+        public void playerFireSalvo(int[] xs, int[] ys, int count) {
+            int[] shotsX = java.util.Arrays.copyOf(xs, count);
+            int[] shotsY = java.util.Arrays.copyOf(ys, count);
+            submit(() -> handlePlayerSalvo(shotsX, shotsY, count));
+        }
+
+        private void handlePlayerSalvo(int[] xs, int[] ys, int count) {
+            if (currentState != GameState.PLAYING || isComputerTurn) return;
+            // FR: Une salve est toujours complète : le journal (et donc la preuve) n'a pas à le dire.
+            // EN: A volley is always complete: the log (hence the proof) does not need to say so.
+            int expected = playerSalvoShots();
+            if (count != expected) {
+                announce("Salve incomplète : " + expected + " tir(s) attendus");
+                return;
+            }
+
+            pushUndo();
+            logShots(xs, ys, count);
+            Board.SalvoResult result = computerBoard.fireSalvo(xs, ys, count);
+            publishSalvo(true, xs, ys, result, computerBoard);
+            if (result.getHits() > 0) {
+                addScore(100L * currentLevel * result.getHits());
+            }
+            if (!result.getSunkShips().isEmpty()) {
+                announce(result.getSunkShips().size() > 1
+                        ? result.getSunkShips().size() + " navires coulés !" : "Coulé !");
+            } else if (result.getHits() > 0) {
+                announce(result.getHits() + " touché(s) !");
+            } else {
+                announce("Salve manquée !");
+            }
+
+            if (checkGameStatus()) {
+                initiateComputerTurn();
+            }
+        }
+
+        /**
+         * FR: Active ou désactive le mode entraînement (annulation des coups). Une partie où il a
+         *     servi ne peut plus entrer au classement.
+         * EN: Enables or disables training mode (move undo). A match where it was used can no
+         *     longer enter the leaderboard.
+         */
+        public void setTrainingMode(boolean enabled) {
+            submit(() -> {
+                trainingMode = enabled;
+                if (enabled) {
+                    trainingUsed = true;
+                    announce("Mode entraînement : Ctrl+Z pour annuler");
+                } else {
+                    undoStack.clear();
+                    announce("Mode entraînement désactivé");
+                }
+            });
+        }
+
+        /**
+         * FR: Annule le dernier coup du joueur (et la riposte de l'ordinateur) en restaurant la
+         *     position compacte empilée avant ce coup.
+         * EN: Undoes the player's last move (and the computer's reply) by restoring the packed
+         *     position pushed before that move.
+         */
+        public void undoLastMove() {
+            submit(this::handleUndo);
+        }
+
+        private void pushUndo() {
+            if (!trainingMode) return;
+            if (undoStack.size() == MAX_UNDO) undoStack.removeLast();
+            PackedGameState position = new PackedGameState(playerBoard.pack(), computerBoard.pack(), playerScore, currentLevel, false);
+            undoStack.push(new UndoEntry(position, new ArrayList<>(huntTargets)));
+        }
+
+        private void handleUndo() {
+            if (currentState != GameState.PLAYING) return;
+            UndoEntry entry = undoStack.poll();
+            if (entry == null) {
+                announce("Rien à annuler");
+                return;
+            }
+            // FR: La riposte programmée de l'ordinateur appartient au coup annulé.
+            // EN: The computer's scheduled reply belongs to the undone move.
+            delayedCommands.clear();
+            playerBoard.restore(entry.position.getPlayerBoard());
+            computerBoard.restore(entry.position.getComputerBoard());
+            huntTargets.clear();
+            huntTargets.addAll(entry.huntTargets);
+            isComputerTurn = false;
+            playerScore = entry.position.getScore();
+            events.publish(GameEventBus.EventType.POSITION_RESTORED, true, -1, -1, 0, null);
+            events.publish(GameEventBus.EventType.SCORE_CHANGED, true, -1, -1, playerScore, null);
+            announce("Coup annulé");
+        }
+
+        /**
+         * FR: Nombre de tirs auxquels le joueur a droit ce tour-ci.
+         * EN: Number of shots the player is entitled to this turn.
+         */
+        public int getPlayerSalvoSize() {
+            return snapshot.getPlayerSalvoSize();
+        }
+
+        /**
+         * FR: Nombre exact de tirs d'une salve du joueur : un par navire à flot, dans la limite des cases libres.
+         * EN: Exact number of shots in a player volley: one per ship afloat, within the free cells left.
+         */
+        int playerSalvoShots() {
+            return Math.min(salvoSize(playerBoard), computerBoard.countUnshotCells());
+        }
+
+        private int salvoSize(Board firingSide) {
+            return ruleSet == RuleSet.SALVO ? Math.max(1, firingSide.countShipsAfloat()) : 1;
+        }
+
+        /**
+         * FR: Déclenche et exécute le tour de l'ordinateur (IA).
+         * EN: Triggers and executes the computer's turn (AI).
+         */
+        private void initiateComputerTurn() {
+            isComputerTurn = true;
+
+            // FR: Une pause de réflexion simulée, programmée sur le thread propriétaire.
+            // EN: A simulated thinking pause, scheduled on the owner thread.
+            schedule(computerTurnDelayMillis, this::playComputerTurn);
+        }
+
+        private void playComputerTurn() {
+            if (currentState != GameState.PLAYING && currentState != GameState.PAUSED) return;
+            if (!isComputerTurn) return;
+            if (ruleSet == RuleSet.SALVO) {
+                computerFireSalvo();
+                checkGameStatus();
+                isComputerTurn = false;
+                return;
+            }
+            Point target = chooseComputerTarget(null);
+
+            boolean hit = playerBoard.shoot(target.x, target.y);
+            publishShot(false, target.x, target.y, hit, playerBoard);
+            if (hit) {
+                addHuntTargets(target.x, target.y); // FR: Ajoute les cases adjacentes aux cibles. / EN: Adds adjacent cells to targets.
+                Ship sunkShip = playerBoard.getShipAt(target.x, target.y);
+                if (sunkShip != null && sunkShip.isSunk()) {
+                    huntTargets.clear(); // FR: Le navire est coulé, on arrête la chasse. / EN: The ship is sunk, stop hunting.
+                    announce("L'ennemi a coulé un navire!");
+                } else {
+                    announce("L'ennemi a touché!");
+                }
+            }
+
+            checkGameStatus();
+            isComputerTurn = false;
+        }
+
+        /**
+         * FR: Choisit la prochaine case visée par l'IA, en ignorant les cases déjà tirées ou déjà
+         *     retenues pour la salve en cours.
+         * EN: Picks the AI's next target cell, skipping cells already shot or already chosen
+         *     for the current volley.
+         * @param reserved FR: Cases déjà retenues (peut être null). / EN: Cells already chosen (may be null).
+         */
+        private Point chooseComputerTarget(boolean[][] reserved) {
+            return huntTarget(playerBoard, huntTargets, random, reserved);
+        }
+
+        /**
+         * FR: IA de l'ordinateur, sans état propre (aussi utilisée comme adversaire de référence
+         *     par l'entraîneur de politiques) : cibles prioritaires d'abord, sinon tir au hasard.
+         * EN: The computer AI, without state of its own (also used as the reference opponent by
+         *     the policy trainer): priority targets first, else a random shot.
+         */
+        static Point huntTarget(Board board, java.util.List<Point> huntTargets, Random random, boolean[][] reserved) {
+            // FR: Mode "chasse" : si une cible prioritaire existe, on la vise.
+            // EN: "Hunt" mode: if a priority target exists, aim for it.
+            while (!huntTargets.isEmpty()) {
+                Point target = huntTargets.remove(0);
+                if (!board.isShot(target.x, target.y) && (reserved == null || !reserved[target.x][target.y])) {
+                    return target;
+                }
+            }
+            // FR: Mode "recherche" : tir aléatoire sur une case non touchée.
+            // EN: "Search" mode: random shot on an untouched cell.
+            Point target;
+            do {
+                target = new Point(random.nextInt(board.getSize()), random.nextInt(board.getSize()));
+            } while (board.isShot(target.x, target.y) || (reserved != null && reserved[target.x][target.y]));
+            return target;
+        }
+
+        /**
+         * FR: Salve de l'ordinateur : un tir par navire encore à flot, résolus en un seul appel.
+         * EN: Computer volley: one shot per ship still afloat, resolved in a single call.
+         */
+        private void computerFireSalvo() {
+            int size = playerBoard.getSize();
+            int shots = Math.min(salvoSize(computerBoard), playerBoard.countUnshotCells());
+            boolean[][] reserved = new boolean[size][size];
+            int[] xs = new int[shots];
+            int[] ys = new int[shots];
+            for (int i = 0; i < shots; i++) {
+                Point target = chooseComputerTarget(reserved);
+                reserved[target.x][target.y] = true;
+                xs[i] = target.x;
+                ys[i] = target.y;
+            }
+
+            Board.SalvoResult result = playerBoard.fireSalvo(xs, ys, shots);
+            publishSalvo(false, xs, ys, result, playerBoard);
+            for (int i = 0; i < shots; i++) {
+                if (result.getOutcome(i) == Board.SalvoResult.HIT) {
+                    Ship ship = playerBoard.getShipAt(xs[i], ys[i]);
+                    if (ship != null && !ship.isSunk()) {
+                        addHuntTargets(xs[i], ys[i]);
+                    }
+                }
+            }
+            // FR: Seules les cibles du navire coulé disparaissent : les navires endommagés restent chassés.
+            // EN: Only the sunk ship's targets go away: damaged ships keep being hunted.
+            for (Ship sunk : result.getSunkShips()) {
+                dropHuntTargets(sunk);
+            }
+
+            if (!result.getSunkShips().isEmpty()) {
+                announce("L'ennemi a coulé " + result.getSunkShips().size() + " navire(s)!");
+            } else if (result.getHits() > 0) {
+                announce("L'ennemi a touché " + result.getHits() + " fois!");
+            }
+        }
+
+        /**
+         * FR: Publie un tir isolé (tir, touche, navire coulé) sur le bus d'événements. En mode
+         *     entraînement le tir peut être annulé : il porte le drapeau TRAINING pour que les
+         *     statistiques et les profils l'ignorent.
+         * EN: Publishes a single shot (shot, hit, sunk ship) on the event bus. In training mode
+         *     the shot may be undone: it carries the TRAINING flag so statistics and profiles
+         *     ignore it.
+         */
+        private void publishShot(boolean byPlayer, int x, int y, boolean hit, Board target) {
+            int flags = trainingUsed ? GameEventBus.GameEvent.TRAINING : 0;
+            events.publish(GameEventBus.EventType.SHOT_FIRED, byPlayer, x, y, hit ? 1 : 0, null, flags);
+            if (hit) {
+                events.publish(GameEventBus.EventType.HIT, byPlayer, x, y, 0, null, flags);
+                Ship ship = target.getShipAt(x, y);
+                if (ship != null && ship.isSunk()) {
+                    events.publish(GameEventBus.EventType.SUNK, byPlayer, x, y, ship.getSize(), ship.getType(), flags);
+                }
+            }
+        }
+
+        /**
+         * FR: Publie chaque tir accepté d'une salve sur le bus d'événements.
+         * EN: Publishes every accepted shot of a volley on the event bus.
+         */
+        private void publishSalvo(boolean byPlayer, int[] xs, int[] ys, Board.SalvoResult result, Board target) {
+            for (int i = 0; i < result.getCount(); i++) {
+                byte outcome = result.getOutcome(i);
+                if (outcome != Board.SalvoResult.REJECTED) {
+                    publishShot(byPlayer, xs[i], ys[i], outcome == Board.SalvoResult.HIT, target);
+                }
+            }
+        }
+
+        private void addScore(long points) {
+            playerScore += points;
+            events.publish(GameEventBus.EventType.SCORE_CHANGED, true, -1, -1, playerScore, null);
+        }
+
+        private void announce(String message) {
+            events.publish(GameEventBus.EventType.MESSAGE, false, -1, -1, 0, message);
+        }
+
+        /**
+         * FR: Ajoute les cases adjacentes à une touche réussie à la liste des cibles de l'IA.
+         * EN: Adds adjacent cells of a successful hit to the AI's target list.
+         */
+        private void addHuntTargets(int x, int y) {
+            addHuntTargets(playerBoard, huntTargets, random, x, y);
+        }
+
+        /**
+         * FR: Retire les cibles voisines d'un navire coulé, sauf celles qui bordent aussi une touche
+         *     sur un navire encore à flot.
+         * EN: Removes the targets next to a sunk ship, except those also next to a hit on a ship
+         *     still afloat.
+         */
+        private void dropHuntTargets(Ship sunk) {
+            java.util.List<Point> cells = sunk.getOccupiedCells();
+            huntTargets.removeIf(target -> touches(cells, target) && !nextToDamagedShip(target));
+        }
+
+        private static boolean touches(java.util.List<Point> cells, Point target) {
+            for (Point p : cells) {
+                if (Math.abs(p.x - target.x) + Math.abs(p.y - target.y) == 1) return true;
+            }
+            return false;
+        }
+
+        private boolean nextToDamagedShip(Point target) {
+            int[] dx = {0, 0, 1, -1};
+            int[] dy = {1, -1, 0, 0};
+            for (int i = 0; i < 4; i++) {
+                int nx = target.x + dx[i];
+                int ny = target.y + dy[i];
+                if (!playerBoard.isValidCoordinate(nx, ny) || !playerBoard.isShot(nx, ny)) continue;
+                Ship ship = playerBoard.getShipAt(nx, ny);
+                if (ship != null && !ship.isSunk()) return true;
+            }
+            return false;
+        }
+
+        static void addHuntTargets(Board board, java.util.List<Point> huntTargets, Random random, int x, int y) {
+            int[] dx = {0, 0, 1, -1};
+            int[] dy = {1, -1, 0, 0};
+            for (int i = 0; i < 4; i++) {
+                int nx = x + dx[i];
+                int ny = y + dy[i];
+                if (board.isValidCoordinate(nx, ny) && !board.isShot(nx, ny)) {
+                    huntTargets.add(new Point(nx, ny));
+                }
+            }
+            Collections.shuffle(huntTargets, random); // FR: Mélange pour éviter un comportement prévisible. / EN: Shuffle to avoid predictable behavior.
+        }
+
+        /**
+         * FR: Vérifie si la partie est terminée (victoire du joueur ou de l'ordinateur).
+         * EN: Checks if the game is over (player or computer victory).
+         * @return FR: `false` si la partie est terminée, `true` sinon. / EN: `false` if the game is over, `true` otherwise.
+         */
+        private boolean checkGameStatus() {
+            if (computerBoard.areAllShipsSunk()) {
+                addScore(500 * currentLevel);
+                levelUp();
+                return false;
+            } else if (playerBoard.areAllShipsSunk()) {
+                setGameOver();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * FR: Fait passer le joueur au niveau supérieur ou termine la partie s'il a gagné.
+         * EN: Moves the player to the next level or ends the game if they have won.
+         */
+        private void levelUp() {
+            currentLevel++;
+            if (currentLevel > Theme.MAX_LEVEL) {
+                setGameWon();
+            } else {
+                setupNextLevel();
+                // FR: Le moteur change son propre état ; l'interface suit via LEVEL_UP.
+                // EN: The engine changes its own state; the UI follows through LEVEL_UP.
+                currentState = GameState.SHIP_PLACEMENT;
+                events.publish(GameEventBus.EventType.LEVEL_UP, true, -1, -1, currentLevel, "Niveau " + currentLevel);
+            }
+        }
+
+        /**
+         * FR: Gère la condition de défaite du joueur.
+         * EN: Handles the player's defeat condition.
+         */
+        private void setGameOver() {
+            currentState = GameState.GAME_OVER;
+            events.publish(GameEventBus.EventType.GAME_OVER, false, -1, -1, playerScore, "GAME OVER",
+                    trainingUsed ? GameEventBus.GameEvent.TRAINING : 0);
+        }
+
+        /**
+         * FR: Gère la condition de victoire du joueur.
+         * EN: Handles the player's victory condition.
+         */
+        private void setGameWon() {
+            currentState = GameState.GAME_OVER;
+            addScore(1000 * Theme.MAX_LEVEL);
+            events.publish(GameEventBus.EventType.GAME_OVER, true, -1, -1, playerScore, "VICTOIRE !",
+                    trainingUsed ? GameEventBus.GameEvent.TRAINING : 0);
+        }
+
+        /**
+         * FR: Dessine tous les éléments du jeu (grilles, score, etc.).
+         * EN: Draws all game elements (grids, score, etc.).
+         */
+        public void drawGame(Graphics2D g2d, int panelWidth, int panelHeight) {
+            Snapshot view = snapshot;
+            BoardLayout layout = BoardLayout.forGame(panelWidth, panelHeight);
+            int offsetX = layout.getOffsetX();
+            int cell = layout.getCell();
+
+            g2d.setColor(Theme.COLOR_TEXT);
+            g2d.setFont(Theme.FONT_SUBTITLE);
+            g2d.drawString("Grille Ennemie", offsetX, layout.getEnemyY() - 10);
+            view.getComputerBoard().draw(g2d, offsetX, layout.getEnemyY(), cell, true); // hideShips = true
+
+            g2d.setColor(Theme.COLOR_TEXT);
+            g2d.drawString("Votre Grille", offsetX, layout.getPlayerY() - 10);
+            view.getPlayerBoard().draw(g2d, offsetX, layout.getPlayerY(), cell, false); // hideShips = false
+            g2d.setColor(Theme.COLOR_TEXT);
+
+            g2d.setFont(Theme.FONT_BUTTON);
+            g2d.drawString("Score: " + view.getScore(), 20, 40);
+            g2d.drawString("Niveau: " + view.getLevel(), 20, 70);
+            if (view.getRuleSet() == RuleSet.SALVO) {
+                g2d.drawString("Salve: " + view.getPlayerSalvoSize() + " tir(s)", 20, 100);
+            }
+            if (view.isTrainingMode()) {
+                g2d.setColor(Theme.COLOR_ACCENT);
+                g2d.drawString("Entraînement (Ctrl+Z)", 20, view.getRuleSet() == RuleSet.SALVO ? 130 : 100);
+            }
+        }
+        
+        // --- Getters & Setters (lecture via l'instantané / reads go through the snapshot) ---
+        public Snapshot getSnapshot() { return snapshot; }
+        public GameState getCurrentState() { return snapshot.getState(); }
+        public void setCurrentState(GameState state) { submit(() -> this.currentState = state); }
+        public long getPlayerScore() { return snapshot.getScore(); }
+        public int getCurrentLevel() { return snapshot.getLevel(); }
+        public HighScoreManager getHighScoreManager() { return highScores; }
+        public GameEventBus getEventBus() { return events; }
+        public String getCurrentPlayerName() { return snapshot.getPlayerName(); }
+        public void setCurrentPlayerName(String name) { submit(() -> this.currentPlayerName = name); }
+        public boolean isComputerTurn() { return snapshot.isComputerTurn(); }
+        public RuleSet getRuleSet() { return snapshot.getRuleSet(); }
+        public boolean isEnemyCellShot(int x, int y) { return snapshot.getComputerBoard().isShot(x, y); }
+
+        /**
+         * FR: Instantané immuable de l'état du moteur, publié après chaque lot de commandes.
+         *     Les grilles sont des versions compactes immuables ({@link PackedBoard}), partageant la flotte.
+         * EN: Immutable snapshot of the engine state, published after each batch of commands.
+         *     Boards are immutable packed versions ({@link PackedBoard}) sharing the fleet.
+         */
+        public static final class Snapshot {
+            private final GameState state;
+            private final RuleSet ruleSet;
+            private final int level;
+            private final long score;
+            private final boolean computerTurn;
+            private final int playerSalvoSize;
+            private final String playerName;
+            private final PackedBoard playerBoard;
+            private final PackedBoard computerBoard;
+            private final boolean trainingMode;
+            private final boolean trainingUsed;
+            // FR: Dernier événement du bus reflété par cet instantané. / EN: Last bus event reflected by this snapshot.
+            private final long eventSequence;
+
+            private Snapshot(GameEngine engine) {
+                this.state = engine.currentState;
+                this.ruleSet = engine.ruleSet;
+                this.level = engine.currentLevel;
+                this.score = engine.playerScore;
+                this.computerTurn = engine.isComputerTurn;
+                this.playerSalvoSize = engine.playerSalvoShots();
+                this.playerName = engine.currentPlayerName;
+                this.playerBoard = engine.playerBoard.pack();
+                this.computerBoard = engine.computerBoard.pack();
+                this.trainingMode = engine.trainingMode;
+                this.trainingUsed = engine.trainingUsed;
+                this.eventSequence = engine.events.getPublished();
+            }
+
+            public GameState getState() { return state; }
+            public RuleSet getRuleSet() { return ruleSet; }
+            public int getLevel() { return level; }
+            public long getScore() { return score; }
+            public boolean isComputerTurn() { return computerTurn; }
+            public int getPlayerSalvoSize() { return playerSalvoSize; }
+            public String getPlayerName() { return playerName; }
+            public PackedBoard getPlayerBoard() { return playerBoard; }
+            public PackedBoard getComputerBoard() { return computerBoard; }
+            public boolean isTrainingMode() { return trainingMode; }
+            public boolean isTrainingUsed() { return trainingUsed; }
+            public long getEventSequence() { return eventSequence; }
+        }
+
+        /**
+         * FR: Niveau calculé d'avance : la grille de l'ordinateur avec sa flotte placée.
+         *     Construit hors du thread propriétaire puis remis tel quel.
+         * EN: Level computed ahead of time: the computer's board with its fleet placed.
+         *     Built off the owner thread then handed over as is.
+         */
+        private static final class PreparedLevel {
+            private final long matchSeed;
+            private final int level;
+            private final byte[] heat;
+            private final Board computerBoard;
+
+            PreparedLevel(long matchSeed, int level, byte[] heat) {
+                this.matchSeed = matchSeed;
+                this.level = level;
+                this.heat = heat;
+                this.computerBoard = new Board();
+                AdaptivePlacement.place(computerBoard, getShipsForLevel(level), heat, level, new Random(placementSeed(matchSeed, level)));
+            }
+
+            boolean matches(long matchSeed, int level, byte[] heat) {
+                return this.matchSeed == matchSeed && this.level == level && this.heat == heat;
+            }
+        }
+
+        /**
+         * FR: Position empilée pour le retour arrière, avec la file de chasse de l'IA à cet instant.
+         * EN: Position pushed for rewind, with the AI's hunt queue at that moment.
+         */
+        private static final class UndoEntry {
+            private final PackedGameState position;
+            private final java.util.List<Point> huntTargets;
+
+            UndoEntry(PackedGameState position, java.util.List<Point> huntTargets) {
+                this.position = position;
+                this.huntTargets = huntTargets;
+            }
+        }
+
+        /**
+         * FR: Commande programmée, ordonnée par échéance puis par ordre de programmation.
+         * EN: Scheduled command, ordered by due time then scheduling order.
+         */
+        private static final class DelayedCommand implements Comparable<DelayedCommand> {
+            private final long dueNanos;
+            private final long sequence;
+            private final Runnable command;
+
+            DelayedCommand(long dueNanos, long sequence, Runnable command) {
+                this.dueNanos = dueNanos;
+                this.sequence = sequence;
+                this.command = command;
+            }
+
+            @Override public int compareTo(DelayedCommand other) {
+                int byDue = Long.compare(dueNanos - other.dueNanos, 0);
+                return byDue != 0 ? byDue : Long.compare(sequence, other.sequence);
+            }
+        }
+    }
+
+    /**
+     * FR: File de commandes multi-producteurs / consommateur unique, sans verrou (algorithme de
+     *     Vyukov). Les producteurs ne font qu'un échange atomique ; seul le propriétaire consomme.
+     * EN: Lock-free multi-producer / single-consumer command queue (Vyukov's algorithm).
+     *     Producers do a single atomic swap; only the owner consumes.
+     */
+    private static final class CommandMailbox {
+        private static final class Node {
+            private Runnable command;
+            private volatile Node next;
+        }
+
+        private final java.util.concurrent.atomic.AtomicReference<Node> head;
+        private Node tail; // FR: Lu uniquement par le consommateur. / EN: Only read by the consumer.
+
+        CommandMailbox() {
+            Node stub = new Node();
+            head = new java.util.concurrent.atomic.AtomicReference<>(stub);
+            tail = stub;
+        }
+
+        void offer(Runnable command) {
+            Node node = new Node();
+            node.command = command;
+            Node previous = head.getAndSet(node);
+            previous.next = node; // FR: Publication (écriture volatile). / EN: Publication (volatile write).
+        }
+
+        Runnable poll() {
+            Node next = tail.next;
+            if (next == null) return null;
+            tail = next;
+            Runnable command = next.command;
+            next.command = null;
+            return command;
+        }
+
+        boolean isEmpty() {
+            return tail.next == null && head.get() == tail;
+        }
+    }
+
+    /**
+     * FR: Représente une grille de jeu (du joueur ou de l'ordinateur).
+     * EN: Represents a game grid (for the player or the computer).
+     */
+    private static class Board {
+        // FR: '~': Eau, 'S': Navire, 'H': Touché, 'M': Manqué
+        // EN: '~': Water, 'S': Ship, 'H': Hit, 'M': Miss
+        private final int size;
+        private final char[][] grid;
+        // FR: Index case -> navire, pour résoudre un tir sans parcourir la flotte.
+        // EN: Cell -> ship index, to resolve a shot without scanning the fleet.
+        private final Ship[][] shipIndex;
+        private final java.util.List<Ship> ships = new ArrayList<>();
+        private int shipsAfloat;
+        private int shotCount;
+        // FR: Cases visées, tenues à jour à chaque tir (copiées telles quelles par pack()).
+        // EN: Targeted cells, kept up to date on every shot (copied as is by pack()).
+        private final long[] shotBits;
+        // FR: Flotte compacte partagée, invalidée quand la flotte change. / EN: Shared packed fleet, invalidated when the fleet changes.
+        private PackedBoard.Fleet packedFleet;
+
+        public Board() {
+            this(Theme.BOARD_SIZE);
+        }
+
+        /**
+         * FR: Crée une grille carrée de la taille donnée (les grandes grilles servent aux simulations).
+         * EN: Creates a square grid of the given size (large grids are used by simulations).
+         */
+        public Board(int size) {
+            this.size = size;
+            this.grid = new char[size][size];
+            this.shipIndex = new Ship[size][size];
+            this.shotBits = new long[PackedBoard.words(size)];
+            clearShips();
+        }
+
+        public void clearShips() {
+            ships.clear();
+            shipsAfloat = 0;
+            shotCount = 0;
+            packedFleet = null;
+            java.util.Arrays.fill(shotBits, 0L);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    grid[i][j] = '~';
+                    shipIndex[i][j] = null;
+                }
+            }
+        }
+        
+        public boolean isValidCoordinate(int x, int y) {
+             return x >= 0 && x < size && y >= 0 && y < size;
+        }
+
+        /**
+         * FR: Vérifie si un navire peut être placé aux coordonnées données.
+         * EN: Checks if a ship can be placed at the given coordinates.
+         */
+        public boolean canPlaceShip(Ship ship) {
+             for(Point p : ship.getOccupiedCells()) {
+                 if (!isValidCoordinate(p.x, p.y) || grid[p.x][p.y] == 'S') {
+                     return false; // FR: Hors de la grille ou sur un autre navire. / EN: Outside the grid or on another ship.
+                 }
+             }
+             return true;
+        }
+
+        /**
+         * FR: Place un navire sur la grille.
+         * EN: Places a ship on the grid.
+         */
+        public boolean placeShip(Ship ship) {
+            if(canPlaceShip(ship)) {
+                for(Point p : ship.getOccupiedCells()) {
+                    grid[p.x][p.y] = 'S';
+                    shipIndex[p.x][p.y] = ship;
+                }
+                ships.add(ship);
+                if (!ship.isSunk()) shipsAfloat++;
+                packedFleet = null;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * FR: Tente de placer un navire à une position aléatoire.
+         * EN: Tries to place a ship at a random position.
+         */
+        public boolean placeShipRandomly(Ship ship, Random rand) {
+            int attempts = 0;
+            while (attempts < 100) {
+                ship.setPlacement(rand.nextInt(size), rand.nextInt(size), rand.nextBoolean());
+                if (placeShip(ship)) return true;
+                attempts++;
+            }
+            return false; // FR: Échec après 100 tentatives. / EN: Failed after 100 attempts.
+        }
+
+        /**
+         * FR: Masque des ancres valides pour un navire de longueur donnée : le bit x * size + y est à 1
+         *     si le navire ancré en (x, y) tient sur la grille sans chevaucher un autre navire.
+         *     Calculé en un passage par ligne (longueur des suites de cases libres).
+         * EN: Mask of valid anchors for a ship of the given length: bit x * size + y is set if the
+         *     ship anchored at (x, y) fits on the grid without overlapping another ship.
+         *     Computed in one pass per line (length of free-cell runs).
+         */
+        public long[] validAnchors(int length, boolean horizontal) {
+            long[] mask = new long[(size * size + 63) >>> 6];
+            for (int line = 0; line < size; line++) {
+                int run = 0;
+                for (int pos = 0; pos < size; pos++) {
+                    int x = horizontal ? pos : line;
+                    int y = horizontal ? line : pos;
+                    run = grid[x][y] == 'S' ? 0 : run + 1;
+                    if (run >= length) {
+                        int bit = horizontal ? (pos - length + 1) * size + line : line * size + (pos - length + 1);
+                        mask[bit >>> 6] |= 1L << bit;
+                    }
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * FR: Teste l'ancre (x, y) dans un masque produit par {@link #validAnchors}.
+         * EN: Tests anchor (x, y) in a mask produced by {@link #validAnchors}.
+         */
+        public static boolean testAnchor(long[] mask, int size, int x, int y) {
+            if (x >= size || y >= size) return false;
+            int bit = x * size + y;
+            return (mask[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        /**
+         * FR: Place un navire uniformément parmi toutes ses ancres valides (deux orientations) ;
+         *     échoue seulement s'il n'en reste aucune.
+         * EN: Places a ship uniformly among all its valid anchors (both orientations); fails only
+         *     if none is left.
+         */
+        public boolean placeShipUniformly(Ship ship, Random rand) {
+            long[] horizontal = validAnchors(ship.getSize(), true);
+            long[] vertical = validAnchors(ship.getSize(), false);
+            int total = 0;
+            for (long word : horizontal) total += Long.bitCount(word);
+            for (long word : vertical) total += Long.bitCount(word);
+            if (total == 0) return false;
+            int pick = rand.nextInt(total);
+            for (int pass = 0; pass < 2; pass++) {
+                long[] mask = pass == 0 ? horizontal : vertical;
+                for (int w = 0; w < mask.length; w++) {
+                    int bits = Long.bitCount(mask[w]);
+                    if (pick >= bits) {
+                        pick -= bits;
+                        continue;
+                    }
+                    long word = mask[w];
+                    for (; pick > 0; pick--) word &= word - 1; // FR: Retire les bits de poids faible. / EN: Drops low bits.
+                    int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                    ship.setPlacement(bit / size, bit % size, pass == 0);
+                    return placeShip(ship);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * FR: Enregistre un tir à une coordonnée.
+         * EN: Registers a shot at a coordinate.
+         * @return `true` si un navire est touché, `false` sinon.
+         */
+        public boolean shoot(int x, int y) {
+            if (!isValidCoordinate(x, y) || isShot(x,y)) return false;
+            
+            shotCount++;
+            markShot(x, y);
+            if (grid[x][y] == 'S') {
+                grid[x][y] = 'H';
+                registerHit(shipIndex[x][y]);
+                return true;
+            } else {
+                grid[x][y] = 'M';
+                return false;
+            }
+        }
+
+        /**
+         * FR: Résout une salve complète en un seul appel. Les tirs invalides ou répétés (y compris
+         *     à l'intérieur de la même salve) sont rejetés sans effet.
+         * EN: Resolves a whole volley in a single call. Invalid or repeated shots (including
+         *     within the same volley) are rejected without effect.
+         * @param xs    FR: Coordonnées X. / EN: X coordinates.
+         * @param ys    FR: Coordonnées Y. / EN: Y coordinates.
+         * @param count FR: Nombre de tirs à lire. / EN: Number of shots to read.
+         * @param out   FR: Résultat réutilisable, remis à zéro par cet appel. / EN: Reusable result, reset by this call.
+         * @return FR: `out`, rempli. / EN: `out`, filled in.
+         */
+        public SalvoResult fireSalvo(int[] xs, int[] ys, int count, SalvoResult out) {
+            out.reset(count);
+            for (int i = 0; i < count; i++) {
+                int x = xs[i];
+                int y = ys[i];
+                if (!isValidCoordinate(x, y) || isShot(x, y)) {
+                    out.record(i, SalvoResult.REJECTED);
+                    continue;
+                }
+                shotCount++;
+                markShot(x, y);
+                if (grid[x][y] == 'S') {
+                    grid[x][y] = 'H';
+                    Ship ship = shipIndex[x][y];
+                    registerHit(ship);
+                    out.record(i, SalvoResult.HIT);
+                    if (ship.isSunk()) out.sunkShips.add(ship);
+                } else {
+                    grid[x][y] = 'M';
+                    out.record(i, SalvoResult.MISS);
+                }
+            }
+            // FR: Une seule vérification de fin de partie pour toute la salve.
+            // EN: A single game-over check for the whole volley.
+            out.fleetDestroyed = shipsAfloat == 0;
+            return out;
+        }
+
+        /**
+         * FR: Variante pratique de {@link #fireSalvo(int[], int[], int, SalvoResult)} qui alloue le résultat.
+         * EN: Convenience variant of {@link #fireSalvo(int[], int[], int, SalvoResult)} that allocates the result.
+         */
+        public SalvoResult fireSalvo(int[] xs, int[] ys, int count) {
+            return fireSalvo(xs, ys, count, new SalvoResult());
+        }
+
+        private void markShot(int x, int y) {
+            int cell = x * size + y;
+            shotBits[cell >>> 6] |= 1L << cell;
+        }
+
+        /**
+         * FR: Version compacte et immuable de la grille (flotte partagée, quelques longs copiés).
+         * EN: Packed, immutable version of the board (shared fleet, a few longs copied).
+         */
+        public PackedBoard pack() {
+            if (packedFleet == null) packedFleet = new PackedBoard.Fleet(size, ships);
+            byte[] hits = new byte[ships.size()];
+            for (int i = 0; i < hits.length; i++) hits[i] = (byte) ships.get(i).hitCount;
+            return new PackedBoard(packedFleet, shotBits.clone(), hits, shipsAfloat, shotCount);
+        }
+
+        /**
+         * FR: Ramène la grille à une version compacte issue de la même flotte (retour arrière).
+         * EN: Brings the board back to a packed version of the same fleet (rewind).
+         */
+        public void restore(PackedBoard packed) {
+            if (packedFleet == null || packed.fleet != packedFleet) {
+                throw new IllegalArgumentException("Version compacte d'une autre flotte");
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    grid[i][j] = packed.cellAt(i, j);
+                }
+            }
+            for (int i = 0; i < ships.size(); i++) ships.get(i).hitCount = packed.getShipHits(i);
+            System.arraycopy(packed.shots, 0, shotBits, 0, shotBits.length);
+            shipsAfloat = packed.countShipsAfloat();
+            shotCount = size * size - packed.countUnshotCells();
+        }
+
+        private void registerHit(Ship ship) {
+            ship.registerHit();
+            if (ship.isSunk()) shipsAfloat--;
+        }
+        
+        public Ship getShipAt(int x, int y) {
+            return isValidCoordinate(x, y) ? shipIndex[x][y] : null;
+        }
+        
+        public boolean isShot(int x, int y) { return grid[x][y] == 'H' || grid[x][y] == 'M'; }
+        
+        public boolean areAllShipsSunk() {
+            return shipsAfloat == 0;
+        }
+
+        /**
+         * FR: Copie profonde de la grille et de ses navires (utilisée pour les instantanés du moteur).
+         * EN: Deep copy of the board and its ships (used for engine snapshots).
+         */
+        public Board copy() {
+            Board copy = new Board(size);
+            for (Ship ship : ships) {
+                Ship shipCopy = ship.copy();
+                copy.ships.add(shipCopy);
+                for (Point p : shipCopy.getOccupiedCells()) copy.shipIndex[p.x][p.y] = shipCopy;
+            }
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(grid[i], 0, copy.grid[i], 0, size);
+            }
+            copy.shipsAfloat = shipsAfloat;
+            copy.shotCount = shotCount;
+            System.arraycopy(shotBits, 0, copy.shotBits, 0, shotBits.length);
+            return copy;
+        }
+
+        public int countShipsAfloat() { return shipsAfloat; }
+        public int countUnshotCells() { return size * size - shotCount; }
+        public int getSize() { return size; }
+
+        /**
+         * FR: Résultat d'une salve : issue de chaque tir, navires coulés et fin de flotte.
+         * EN: Result of a volley: outcome of each shot, ships sunk and fleet destruction.
+         */
+        public static final class SalvoResult {
+            public static final byte MISS = 0;
+            public static final byte HIT = 1;
+            public static final byte REJECTED = 2;
+
+            private byte[] outcomes = new byte[8];
+            private int count;
+            private int hits;
+            private int misses;
+            private int rejected;
+            private final java.util.List<Ship> sunkShips = new ArrayList<>();
+            private boolean fleetDestroyed;
+
+            private void reset(int count) {
+                if (outcomes.length < count) outcomes = new byte[count];
+                this.count = count;
+                hits = misses = rejected = 0;
+                sunkShips.clear();
+                fleetDestroyed = false;
+            }
+
+            private void record(int index, byte outcome) {
+                outcomes[index] = outcome;
+                if (outcome == HIT) hits++;
+                else if (outcome == MISS) misses++;
+                else rejected++;
+            }
+
+            public int getCount() { return count; }
+            public byte getOutcome(int index) { return outcomes[index]; }
+            public int getHits() { return hits; }
+            public int getMisses() { return misses; }
+            public int getRejected() { return rejected; }
+            public java.util.List<Ship> getSunkShips() { return sunkShips; }
+            public boolean isFleetDestroyed() { return fleetDestroyed; }
+        }
+
+        /**
+         * FR: Dessine la grille et son contenu.
+         * EN: Draws the grid and its contents.
+         * @param hideShips FR: Si vrai, ne dessine pas les navires intacts (pour la grille ennemie).
+         * EN: If true, does not draw intact ships (for the enemy grid).
+         * @param cell FR: Taille d'une case en pixels logiques. / EN: Cell size in logical pixels.
+         */
+        public void draw(Graphics2D g2d, int offsetX, int offsetY, int cell, boolean hideShips) {
+            pack().draw(g2d, offsetX, offsetY, cell, hideShips);
+        }
+    }
+
+    /**
+     * FR: Placement adverse de la flotte de l'ordinateur : chaque navire est tiré parmi ses ancres
+     *     valides avec un poids exp(-k * chaleur moyenne de ses cases), où la chaleur est la
+     *     fréquence de tir du joueur par case. Les zones froides sont donc favorisées, d'autant
+     *     plus que le niveau est élevé (niveau 1 : uniforme). Le coût est borné : au plus
+     *     {@link #EVALUATION_BUDGET} ancres évaluées par niveau (sommes préfixées, O(1) par ancre),
+     *     au-delà le placement redevient uniforme. Rien n'est calculé pendant le jeu.
+     * EN: Adversarial placement of the computer's fleet: each ship is drawn among its valid
+     *     anchors with weight exp(-k * mean heat of its cells), where heat is the player's
+     *     per-cell shot frequency. Cold areas are thus favoured, the more so as the level rises
+     *     (level 1: uniform). Cost is bounded: at most {@link #EVALUATION_BUDGET} anchors
+     *     evaluated per level (prefix sums, O(1) per anchor), beyond which placement falls back
+     *     to uniform. Nothing is computed during play.
+     */
+    private static final class AdaptivePlacement {
+        static final int EVALUATION_BUDGET = 1024;
+        // FR: Rapport maximal de probabilité entre la case la plus froide et la plus chaude (e^k).
+        // EN: Maximum probability ratio between the coldest and hottest cell (e^k).
+        private static final double SHARPNESS = 5.0;
+
+        private AdaptivePlacement() {}
+
+        /**
+         * FR: Force de l'évitement pour un niveau, de 0 (niveau 1) à 1 (dernier niveau).
+         * EN: Avoidance strength for a level, from 0 (level 1) to 1 (last level).
+         */
+        static double strength(int level) {
+            return Math.max(0, Math.min(1, (level - 1) / (double) (Theme.MAX_LEVEL - 1)));
+        }
+
+        /**
+         * FR: Place toute la flotte sur la grille (vide ou non).
+         * EN: Places the whole fleet on the board (empty or not).
+         * @param heat FR: Chaleur 0-255 par case (x * taille + y), null pour un placement uniforme.
+         *             EN: Heat 0-255 per cell (x * size + y), null for uniform placement.
+         */
+        static void place(Board board, java.util.List<Ship> fleet, byte[] heat, int level, Random random) {
+            int size = board.getSize();
+            double k = SHARPNESS * strength(level);
+            int hottest = 0;
+            if (heat != null && heat.length == size * size) {
+                for (byte h : heat) hottest = Math.max(hottest, h & 0xFF);
+            }
+            if (k == 0 || hottest == 0) {
+                for (Ship ship : fleet) placeUniformly(board, ship, random);
+                return;
+            }
+            // FR: Sommes préfixées le long des colonnes (navires horizontaux) et des lignes (verticaux).
+            // EN: Prefix sums along columns (horizontal ships) and rows (vertical ships).
+            double[] alongX = new double[(size + 1) * size];
+            double[] alongY = new double[size * (size + 1)];
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) alongX[y * (size + 1) + x + 1] = alongX[y * (size + 1) + x] + (heat[x * size + y] & 0xFF) / (double) hottest;
+            }
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) alongY[x * (size + 1) + y + 1] = alongY[x * (size + 1) + y] + (heat[x * size + y] & 0xFF) / (double) hottest;
+            }
+
+            int budget = EVALUATION_BUDGET;
+            double[] weights = new double[2 * size * size];
+            int[] anchors = new int[2 * size * size];
+            for (Ship ship : fleet) {
+                int length = ship.getSize();
+                long[] horizontal = board.validAnchors(length, true);
+                long[] vertical = board.validAnchors(length, false);
+                int candidates = 0;
+                for (long word : horizontal) candidates += Long.bitCount(word);
+                for (long word : vertical) candidates += Long.bitCount(word);
+                if (candidates == 0 || candidates > budget) {
+                    // FR: Budget épuisé : les navires restants sont placés uniformément. / EN: Budget spent: remaining ships are placed uniformly.
+                    budget = 0;
+                    placeUniformly(board, ship, random);
+                    continue;
+                }
+                budget -= candidates;
+                int n = 0;
+                double total = 0;
+                for (int pass = 0; pass < 2; pass++) {
+                    long[] mask = pass == 0 ? horizontal : vertical;
+                    for (int w = 0; w < mask.length; w++) {
+                        for (long bits = mask[w]; bits != 0; bits &= bits - 1) {
+                            int bit = (w << 6) + Long.numberOfTrailingZeros(bits);
+                            int x = bit / size;
+                            int y = bit % size;
+                            double sum = pass == 0
+                                    ? alongX[y * (size + 1) + x + length] - alongX[y * (size + 1) + x]
+                                    : alongY[x * (size + 1) + y + length] - alongY[x * (size + 1) + y];
+                            total += Math.exp(-k * sum / length);
+                            weights[n] = total;
+                            anchors[n++] = pass == 0 ? bit : -bit - 1;
+                        }
+                    }
+                }
+                double pick = random.nextDouble() * total;
+                int chosen = 0;
+                while (chosen < n - 1 && weights[chosen] <= pick) chosen++;
+                int anchor = anchors[chosen] >= 0 ? anchors[chosen] : -anchors[chosen] - 1;
+                ship.setPlacement(anchor / size, anchor % size, anchors[chosen] >= 0);
+                board.placeShip(ship);
+            }
+        }
+
+        private static void placeUniformly(Board board, Ship ship, Random random) {
+            if (!board.placeShipUniformly(ship, random)) {
+                throw new IllegalStateException("Plus de place pour le navire " + ship.getType());
+            }
+        }
+    }
+
+    /**
+     * FR: Grille immuable et compacte : bits des cases visées, touches par navire et une flotte
+     *     partagée (jamais modifiée) entre toutes les versions. {@link #apply} retourne une nouvelle
+     *     grille en ne recopiant que quelques longs (et l'octet des touches si un navire est touché) :
+     *     une copie coûte quelques nanosecondes, contre un graphe d'objets pour {@link Board#copy}.
+     * EN: Immutable, packed board: bits of targeted cells, hits per ship and a fleet shared (never
+     *     modified) between all versions. {@link #apply} returns a new board copying only a few
+     *     longs (and the hit bytes if a ship is hit): a copy costs nanoseconds, against an object
+     *     graph for {@link Board#copy}.
+     */
+    private static final class PackedBoard {
+
+        /**
+         * FR: Disposition immuable d'une flotte, partagée par toutes les grilles qui en dérivent.
+         * EN: Immutable fleet layout, shared by every board derived from it.
+         */
+        static final class Fleet {
+            private final int size;
+            private final long[] shipMask;
+            private final int[] shipAt;      // FR: Case -> indice du navire, -1 si eau. / EN: Cell -> ship index, -1 for water.
+            private final int[] placement;   // FR: x | y << 8 | horizontal << 16 | longueur << 24. / EN: x | y << 8 | horizontal << 16 | length << 24.
+            private final String[] types;
+
+            Fleet(int size, java.util.List<Ship> ships) {
+                this.size = size;
+                this.shipMask = new long[words(size)];
+                this.shipAt = new int[size * size];
+                java.util.Arrays.fill(shipAt, -1);
+                this.placement = new int[ships.size()];
+                this.types = new String[ships.size()];
+                for (int i = 0; i < ships.size(); i++) {
+                    Ship ship = ships.get(i);
+                    placement[i] = ship.startX | ship.startY << 8 | (ship.isHorizontal ? 1 : 0) << 16 | ship.getSize() << 24;
+                    types[i] = ship.getType();
+                    for (Point p : ship.getOccupiedCells()) {
+                        int cell = p.x * size + p.y;
+                        shipAt[cell] = i;
+                        shipMask[cell >>> 6] |= 1L << cell;
+                    }
+                }
+            }
+        }
+
+        private final Fleet fleet;
+        private final long[] shots;
+        private final byte[] hits;
+        private final int shipsAfloat;
+        private final int shotCount;
+
+        PackedBoard(Fleet fleet, long[] shots, byte[] hits, int shipsAfloat, int shotCount) {
+            this.fleet = fleet;
+            this.shots = shots;
+            this.hits = hits;
+            this.shipsAfloat = shipsAfloat;
+            this.shotCount = shotCount;
+        }
+
+        static int words(int size) {
+            return (size * size + 63) >>> 6;
+        }
+
+        /**
+         * FR: Grille après un tir en (x, y) ; retourne {@code this} si le tir est invalide ou répété.
+         * EN: Board after a shot at (x, y); returns {@code this} if the shot is invalid or repeated.
+         */
+        public PackedBoard apply(int x, int y) {
+            if (!isValidCoordinate(x, y) || isShot(x, y)) return this;
+            int cell = x * fleet.size + y;
+            long[] nextShots = shots.clone();
+            nextShots[cell >>> 6] |= 1L << cell;
+            int ship = fleet.shipAt[cell];
+            if (ship < 0) {
+                // FR: Manqué : les touches sont partagées. / EN: Miss: hits are shared.
+                return new PackedBoard(fleet, nextShots, hits, shipsAfloat, shotCount + 1);
+            }
+            byte[] nextHits = hits.clone();
+            nextHits[ship]++;
+            boolean sunk = nextHits[ship] == getShipLength(ship);
+            return new PackedBoard(fleet, nextShots, nextHits, sunk ? shipsAfloat - 1 : shipsAfloat, shotCount + 1);
+        }
+
+        public boolean isValidCoordinate(int x, int y) {
+            return x >= 0 && x < fleet.size && y >= 0 && y < fleet.size;
+        }
+
+        public boolean isShot(int x, int y) {
+            int cell = x * fleet.size + y;
+            return (shots[cell >>> 6] & (1L << cell)) != 0;
+        }
+
+        public boolean isShip(int x, int y) {
+            int cell = x * fleet.size + y;
+            return (fleet.shipMask[cell >>> 6] & (1L << cell)) != 0;
+        }
+
+        /**
+         * FR: État d'une case avec les symboles de {@link Board} ('~', 'S', 'H', 'M').
+         * EN: Cell state using {@link Board}'s symbols ('~', 'S', 'H', 'M').
+         */
+        public char cellAt(int x, int y) {
+            boolean ship = isShip(x, y);
+            return isShot(x, y) ? (ship ? 'H' : 'M') : (ship ? 'S' : '~');
+        }
+
+        /** FR: Indice du navire sur la case, -1 si eau. / EN: Index of the ship on the cell, -1 for water. */
+        public int getShipAt(int x, int y) {
+            return isValidCoordinate(x, y) ? fleet.shipAt[x * fleet.size + y] : -1;
+        }
+
+        public int getShipCount() { return fleet.placement.length; }
+        public int getShipLength(int ship) { return fleet.placement[ship] >>> 24; }
+        public String getShipType(int ship) { return fleet.types[ship]; }
+        public int getShipHits(int ship) { return hits[ship]; }
+        public boolean isSunk(int ship) { return hits[ship] >= getShipLength(ship); }
+        public int countShipsAfloat() { return shipsAfloat; }
+        public boolean areAllShipsSunk() { return shipsAfloat == 0; }
+        public int countUnshotCells() { return fleet.size * fleet.size - shotCount; }
+        public int getSize() { return fleet.size; }
+
+        /**
+         * FR: Dessine la grille et son contenu depuis l'atlas de sprites.
+         * EN: Draws the grid and its contents from the sprite atlas.
+         * @param hideShips FR: Si vrai, ne dessine pas les navires (grille ennemie). / EN: If true, does not draw ships (enemy grid).
+         */
+        public void draw(Graphics2D g2d, int offsetX, int offsetY, int cell, boolean hideShips) {
+            int size = fleet.size;
+            SpriteAtlas atlas = SpriteAtlas.forCell(g2d, cell);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    atlas.blit(g2d, SpriteAtlas.WATER, offsetX + i * cell, offsetY + j * cell);
+                }
+            }
+            // FR: Ferme la grille à droite et en bas. / EN: Closes the grid on the right and bottom.
+            g2d.setColor(Theme.COLOR_GRID_LINE);
+            g2d.drawLine(offsetX + size * cell, offsetY, offsetX + size * cell, offsetY + size * cell);
+            g2d.drawLine(offsetX, offsetY + size * cell, offsetX + size * cell, offsetY + size * cell);
+            if (!hideShips) {
+                for (int ship = 0; ship < fleet.placement.length; ship++) {
+                    int p = fleet.placement[ship];
+                    int startX = p & 0xFF;
+                    int startY = (p >>> 8) & 0xFF;
+                    boolean horizontal = ((p >>> 16) & 1) != 0;
+                    int length = p >>> 24;
+                    for (int k = 0; k < length; k++) {
+                        int tile = length == 1 ? SpriteAtlas.SHIP_SINGLE
+                                : (horizontal ? SpriteAtlas.SHIP_BOW_H : SpriteAtlas.SHIP_BOW_V) + (k == 0 ? 0 : (k == length - 1 ? 2 : 1));
+                        int x = horizontal ? startX + k : startX;
+                        int y = horizontal ? startY : startY + k;
+                        atlas.blit(g2d, tile, offsetX + x * cell, offsetY + y * cell);
+                    }
+                }
+            }
+            // FR: Les marqueurs passent au-dessus des navires. / EN: Markers go on top of the ships.
+            for (int w = 0; w < shots.length; w++) {
+                for (long bits = shots[w]; bits != 0; bits &= bits - 1) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    boolean hit = fleet.shipAt[c] >= 0;
+                    atlas.blit(g2d, hit ? SpriteAtlas.HIT : SpriteAtlas.MISS, offsetX + (c / size) * cell, offsetY + (c % size) * cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * FR: Position de jeu immuable (deux grilles compactes, score, niveau, trait) pour la recherche
+     *     et le retour arrière : {@link #apply} partage tout ce que le tir ne modifie pas.
+     * EN: Immutable game position (two packed boards, score, level, side to move) for search and
+     *     rewind: {@link #apply} shares everything the shot does not change.
+     */
+    private static final class PackedGameState {
+        private final PackedBoard playerBoard;
+        private final PackedBoard computerBoard;
+        private final long score;
+        private final int level;
+        private final boolean computerTurn;
+
+        PackedGameState(PackedBoard playerBoard, PackedBoard computerBoard, long score, int level, boolean computerTurn) {
+            this.playerBoard = playerBoard;
+            this.computerBoard = computerBoard;
+            this.score = score;
+            this.level = level;
+            this.computerTurn = computerTurn;
+        }
+
+        /**
+         * FR: Position après un tir (du joueur sur la grille ennemie, ou de l'ordinateur) ; même
+         *     barème que le moteur (100 points par niveau et par touche du joueur).
+         * EN: Position after a shot (by the player on the enemy board, or by the computer); same
+         *     scoring as the engine (100 points per level for each player hit).
+         */
+        public PackedGameState apply(boolean byPlayer, int x, int y) {
+            PackedBoard target = byPlayer ? computerBoard : playerBoard;
+            PackedBoard next = target.apply(x, y);
+            if (next == target) return this;
+            long nextScore = byPlayer && next.isShip(x, y) ? score + 100L * level : score;
+            return byPlayer
+                    ? new PackedGameState(playerBoard, next, nextScore, level, true)
+                    : new PackedGameState(next, computerBoard, nextScore, level, false);
+        }
+
+        public PackedBoard getPlayerBoard() { return playerBoard; }
+        public PackedBoard getComputerBoard() { return computerBoard; }
+        public long getScore() { return score; }
+        public int getLevel() { return level; }
+        public boolean isComputerTurn() { return computerTurn; }
+    }
+
+    /**
+     * FR: Évaluateur de cartes de densité par lots : pour chaque case, le nombre de placements
+     *     encore possibles des navires restants qui la couvrent (les placements évitent les cases
+     *     à l'eau et les navires coulés). La version SWAR découpe les données en tranches de bits :
+     *     le bit b d'un long concerne la grille b du lot, si bien qu'un ET logique teste un
+     *     placement sur 64 grilles à la fois et que les compteurs sont des additionneurs à
+     *     retenue sur des plans de bits. {@link #evaluateScalar} est la version de référence.
+     * EN: Batch density heatmap evaluator: for each cell, the number of still-possible placements
+     *     of the remaining ships covering it (placements avoid misses and sunk ships). The SWAR
+     *     version bit-slices the data: bit b of a long belongs to board b of the batch, so one
+     *     logical AND tests a placement on 64 boards at once and counters are ripple-carry adders
+     *     over bit planes. {@link #evaluateScalar} is the reference version.
+     */
+    private static final class HeatmapEvaluator {
+        static final int LANES = 64;
+        private static final int WARMUP_ROUNDS = 30;
+        private static final int MEASURED_ROUNDS = 10;
+
+        private HeatmapEvaluator() {}
+
+        /**
+         * FR: Cases interdites d'une grille vue par le tireur : tirs à l'eau et navires coulés.
+         * EN: Blocked cells of a board as seen by the shooter: misses and sunk ships.
+         */
+        static long[] blockedCells(PackedBoard board) {
+            int size = board.getSize();
+            long[] blocked = new long[PackedBoard.words(size)];
+            for (int w = 0; w < blocked.length; w++) blocked[w] = board.shots[w] & ~board.fleet.shipMask[w];
+            for (int ship = 0; ship < board.getShipCount(); ship++) {
+                if (!board.isSunk(ship)) continue;
+                int placement = board.fleet.placement[ship];
+                int anchor = (placement & 0xFF) * size + (placement >>> 8 & 0xFF);
+                int step = (placement >>> 16 & 1) == 1 ? size : 1;
+                for (int i = 0; i < board.getShipLength(ship); i++) {
+                    int cell = anchor + i * step;
+                    blocked[cell >>> 6] |= 1L << cell;
+                }
+            }
+            return blocked;
+        }
+
+        /**
+         * FR: Longueurs des navires encore à flot (ce que le tireur sait de la flotte adverse).
+         * EN: Lengths of the ships still afloat (what the shooter knows of the enemy fleet).
+         */
+        static int[] remainingLengths(PackedBoard board) {
+            int[] lengths = new int[board.countShipsAfloat()];
+            int n = 0;
+            for (int ship = 0; ship < board.getShipCount(); ship++) {
+                if (!board.isSunk(ship)) lengths[n++] = board.getShipLength(ship);
+            }
+            return lengths;
+        }
+
+        /**
+         * FR: Cartes de densité de grilles de même taille, par lots de {@link #LANES}.
+         * EN: Density heatmaps of same-size boards, in batches of {@link #LANES}.
+         * @return FR: Un tableau de size * size compteurs par grille (case x * size + y).
+         *         EN: One array of size * size counters per board (cell x * size + y).
+         */
+        static int[][] evaluate(PackedBoard[] boards) {
+            int[][] heat = new int[boards.length][];
+            if (boards.length == 0) return heat;
+            int size = boards[0].getSize();
+            long[][] blocked = new long[boards.length][];
+            int[][] lengths = new int[boards.length][];
+            for (int b = 0; b < boards.length; b++) {
+                if (boards[b].getSize() != size) throw new IllegalArgumentException("Grilles de tailles différentes dans un lot");
+                blocked[b] = blockedCells(boards[b]);
+                lengths[b] = remainingLengths(boards[b]);
+            }
+            for (int first = 0; first < boards.length; first += LANES) {
+                evaluateBatch(size, blocked, lengths, first, Math.min(LANES, boards.length - first), heat);
+            }
+            return heat;
+        }
+
+        /**
+         * FR: Version scalaire de référence : une grille, un placement, une case à la fois.
+         * EN: Scalar reference version: one board, one placement, one cell at a time.
+         */
+        static int[][] evaluateScalar(PackedBoard[] boards) {
+            int[][] heat = new int[boards.length][];
+            for (int b = 0; b < boards.length; b++) {
+                int size = boards[b].getSize();
+                long[] blocked = blockedCells(boards[b]);
+                int[] counts = new int[size * size];
+                for (int length : remainingLengths(boards[b])) {
+                    for (int pass = 0; pass < 2; pass++) {
+                        int step = pass == 0 ? size : 1; // FR: Horizontal : x avance. / EN: Horizontal: x advances.
+                        for (int x = 0; x < (pass == 0 ? size - length + 1 : size); x++) {
+                            for (int y = 0; y < (pass == 0 ? size : size - length + 1); y++) {
+                                int anchor = x * size + y;
+                                boolean free = true;
+                                for (int i = 0; i < length && free; i++) {
+                                    int cell = anchor + i * step;
+                                    free = (blocked[cell >>> 6] & 1L << cell) == 0;
+                                }
+                                if (!free) continue;
+                                for (int i = 0; i < length; i++) counts[anchor + i * step]++;
+                            }
+                        }
+                    }
+                }
+                heat[b] = counts;
+            }
+            return heat;
+        }
+
+        private static void evaluateBatch(int size, long[][] blocked, int[][] lengths, int first, int count, int[][] heat) {
+            int cells = size * size;
+            // FR: free[case] : bit b à 1 si la case est libre sur la grille first + b.
+            // EN: free[cell]: bit b set if the cell is free on board first + b.
+            long[] free = new long[cells];
+            for (int lane = 0; lane < count; lane++) {
+                long[] board = blocked[first + lane];
+                for (int cell = 0; cell < cells; cell++) {
+                    if ((board[cell >>> 6] & 1L << cell) == 0) free[cell] |= 1L << lane;
+                }
+            }
+            // FR: atLeast[L][k] : grilles ayant au moins k + 1 navires de longueur L à flot.
+            // EN: atLeast[L][k]: boards with at least k + 1 ships of length L afloat.
+            int longest = 0;
+            for (int lane = 0; lane < count; lane++) {
+                for (int length : lengths[first + lane]) longest = Math.max(longest, length);
+            }
+            long[][] atLeast = new long[longest + 1][];
+            int maxCount = 0;
+            for (int length = 1; length <= longest; length++) {
+                int most = 0;
+                int[] perLane = new int[count];
+                for (int lane = 0; lane < count; lane++) {
+                    for (int l : lengths[first + lane]) {
+                        if (l == length) most = Math.max(most, ++perLane[lane]);
+                    }
+                }
+                atLeast[length] = new long[most];
+                for (int lane = 0; lane < count; lane++) {
+                    for (int k = 0; k < perLane[lane]; k++) atLeast[length][k] |= 1L << lane;
+                }
+                maxCount += most * 2 * length;
+            }
+            int planes = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxCount));
+            long[] counters = new long[cells * planes];
+
+            for (int length = 1; length <= longest; length++) {
+                if (atLeast[length].length == 0 || length > size) continue;
+                for (int pass = 0; pass < 2; pass++) {
+                    int step = pass == 0 ? size : 1;
+                    for (int x = 0; x < (pass == 0 ? size - length + 1 : size); x++) {
+                        for (int y = 0; y < (pass == 0 ? size : size - length + 1); y++) {
+                            int anchor = x * size + y;
+                            long valid = -1L;
+                            for (int i = 0; i < length && valid != 0; i++) valid &= free[anchor + i * step];
+                            for (long lanes : atLeast[length]) {
+                                long add = valid & lanes;
+                                if (add == 0) break;
+                                for (int i = 0; i < length; i++) {
+                                    // FR: Additionneur à retenue : +1 sur toutes les grilles de `add`.
+                                    // EN: Ripple-carry adder: +1 on every board in `add`.
+                                    int base = (anchor + i * step) * planes;
+                                    long carry = add;
+                                    for (int p = 0; carry != 0; p++) {
+                                        long next = counters[base + p] & carry;
+                                        counters[base + p] ^= carry;
+                                        carry = next;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            // FR: Transposition des plans de bits vers un compteur entier par grille : jusqu'à 8 plans,
+            //     par blocs de 8 x 8 bits (8 grilles, 8 plans) en trois échanges de masques.
+            // EN: Transposes bit planes back to one integer counter per board: up to 8 planes, in
+            //     8 x 8 bit blocks (8 boards, 8 planes) with three masked swaps.
+            for (int lane = 0; lane < count; lane++) heat[first + lane] = new int[cells];
+            for (int cell = 0; cell < cells; cell++) {
+                int base = cell * planes;
+                if (planes > 8) {
+                    for (int lane = 0; lane < count; lane++) {
+                        int value = 0;
+                        for (int p = 0; p < planes; p++) value |= (int) (counters[base + p] >>> lane & 1) << p;
+                        heat[first + lane][cell] = value;
+                    }
+                    continue;
+                }
+                for (int group = 0; group < count; group += 8) {
+                    long block = 0;
+                    for (int p = 0; p < planes; p++) block |= (counters[base + p] >>> group & 0xFF) << (p << 3);
+                    long t = (block ^ (block >>> 7)) & 0x00AA00AA00AA00AAL;
+                    block ^= t ^ (t << 7);
+                    t = (block ^ (block >>> 14)) & 0x0000CCCC0000CCCCL;
+                    block ^= t ^ (t << 14);
+                    t = (block ^ (block >>> 28)) & 0x00000000F0F0F0F0L;
+                    block ^= t ^ (t << 28);
+                    for (int lane = group; lane < Math.min(count, group + 8); lane++) {
+                        heat[first + lane][cell] = (int) (block >>> ((lane - group) << 3) & 0xFF);
+                    }
+                }
+            }
+        }
+
+        /**
+         * FR: Banc de mesure --bench-heatmap [grilles] [graine] : compare les versions scalaire et
+         *     SWAR sur des grilles en cours de partie, et vérifie qu'elles donnent le même résultat.
+         * EN: --bench-heatmap [boards] [seed] benchmark: compares the scalar and SWAR versions on
+         *     mid-game boards, and checks they give the same result.
+         */
+        static void bench(String[] args) {
+            int count = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+            Random random = new Random(seed);
+            PackedBoard[] boards = new PackedBoard[count];
+            for (int b = 0; b < count; b++) {
+                Board board = new Board();
+                for (Ship ship : GameEngine.getShipsForLevel(1 + random.nextInt(Theme.MAX_LEVEL))) board.placeShipUniformly(ship, random);
+                int shots = random.nextInt(board.getSize() * board.getSize() / 2);
+                for (int s = 0; s < shots; s++) board.shoot(random.nextInt(board.getSize()), random.nextInt(board.getSize()));
+                boards[b] = board.pack();
+            }
+            System.out.println("Cartes de densité : " + count + " grilles " + Theme.BOARD_SIZE + "x" + Theme.BOARD_SIZE);
+            int[][] reference = evaluateScalar(boards);
+            if (!java.util.Arrays.deepEquals(reference, evaluate(boards))) {
+                System.out.println("ÉCHEC : les versions scalaire et SWAR diffèrent");
+                System.exit(1);
+            }
+            // FR: Échauffement du JIT, puis mesures alternées. / EN: JIT warm-up, then alternating measurements.
+            double scalar = 0;
+            double swar = 0;
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                int[][] a = evaluateScalar(boards);
+                long middle = System.nanoTime();
+                int[][] b = evaluate(boards);
+                long end = System.nanoTime();
+                if (a.length != b.length) throw new IllegalStateException();
+                if (round >= WARMUP_ROUNDS) {
+                    scalar += (middle - start) / (double) count;
+                    swar += (end - middle) / (double) count;
+                }
+            }
+            scalar /= MEASURED_ROUNDS;
+            swar /= MEASURED_ROUNDS;
+            System.out.printf("scalaire : %.0f ns/grille, SWAR (%d grilles par mot) : %.0f ns/grille, accélération x%.1f%n",
+                    scalar, LANES, swar, scalar / swar);
+        }
+    }
+
+    /**
+     * FR: Politique de tir compacte apprise par auto-jeu (voir SelfPlayTrainer). Chaque case
+     *     inconnue reçoit la somme de trois poids : celui de son voisinage (deux cases dans chaque
+     *     direction : inconnue, bloquée ou touche ouverte ; 3^8 motifs ramenés à leurs classes de
+     *     symétrie), celui de sa position, et celui de la place libre qui la traverse (suites
+     *     horizontale et verticale, selon le plus petit navire restant). L'inférence ne fait que
+     *     des lectures de tables : quelques centaines de nanosecondes par coup sur une grille 10x10.
+     * EN: Compact targeting policy learned by self-play (see SelfPlayTrainer). Each unknown cell
+     *     gets the sum of three weights: that of its neighbourhood (two cells in each direction:
+     *     unknown, blocked or open hit; 3^8 patterns folded into their symmetry classes), that of
+     *     its position, and that of the free room crossing it (horizontal and vertical runs,
+     *     according to the smallest remaining ship). Inference only reads tables: a few hundred
+     *     nanoseconds per move on a 10x10 board.
+     */
+    private static final class TargetingPolicy {
+        static final String DEFAULT_FILE = "targeting_policy.bin";
+        private static final int MAGIC = 0x42504F4C; // "BPOL"
+        private static final int VERSION = 1;
+        static final byte UNKNOWN = 0;
+        static final byte BLOCKED = 1; // FR: Manqué, navire coulé ou hors grille. / EN: Miss, sunk ship or off the board.
+        static final byte OPEN_HIT = 2; // FR: Touche sur un navire encore à flot. / EN: Hit on a ship still afloat.
+        private static final int PAD = 2;
+        private static final int MAX_RUN = 5;
+        private static final int LENGTH_CLASSES = 4; // FR: Plus petit navire restant : 2 à 5. / EN: Smallest remaining ship: 2 to 5.
+        private static final int PATTERNS = 6561; // 3^8
+        private static final int[] POW3 = {1, 3, 9, 27, 81, 243, 729, 2187};
+        // FR: Motif -> classe de symétrie (rotations et réflexions de la grille). / EN: Pattern -> symmetry class (board rotations and reflections).
+        private static final short[] PATTERN_CLASS = new short[PATTERNS];
+        static final int PATTERN_CLASSES;
+
+        static {
+            int[] canonicalToClass = new int[PATTERNS];
+            java.util.Arrays.fill(canonicalToClass, -1);
+            int classes = 0;
+            int[] digits = new int[8];
+            for (int code = 0; code < PATTERNS; code++) {
+                for (int i = 0, c = code; i < 8; i++, c /= 3) digits[i] = c % 3;
+                int canonical = Integer.MAX_VALUE;
+                // FR: Chiffre (direction * 2 + distance - 1), directions dans l'ordre de rotation.
+                // EN: Digit (direction * 2 + distance - 1), directions in rotation order.
+                for (int turn = 0; turn < 4; turn++) {
+                    for (int mirror = 0; mirror < 2; mirror++) {
+                        int transformed = 0;
+                        for (int direction = 0; direction < 4; direction++) {
+                            int target = mirror == 0 ? direction : (4 - direction) % 4;
+                            target = (target + turn) % 4;
+                            transformed += digits[direction * 2] * POW3[target * 2] + digits[direction * 2 + 1] * POW3[target * 2 + 1];
+                        }
+                        canonical = Math.min(canonical, transformed);
+                    }
+                }
+                if (canonicalToClass[canonical] < 0) canonicalToClass[canonical] = classes++;
+                PATTERN_CLASS[code] = (short) canonicalToClass[canonical];
+            }
+            PATTERN_CLASSES = classes;
+        }
+
+        final int size;
+        final int cellBase;
+        final int runBase;
+        // FR: Poids partagés ; l'entraîneur les modifie sans verrou (voir SelfPlayTrainer).
+        // EN: Shared weights; the trainer updates them without locks (see SelfPlayTrainer).
+        final float[] weights;
+        long episodes;
+
+        TargetingPolicy(int size) {
+            this.size = size;
+            this.cellBase = PATTERN_CLASSES;
+            this.runBase = cellBase + size * size;
+            this.weights = new float[runBase + MAX_RUN * MAX_RUN * LENGTH_CLASSES];
+        }
+
+        /**
+         * FR: Ce que le tireur sait de la grille adverse : état de chaque case (grille bordée de
+         *     PAD cases bloquées, pour lire le voisinage sans test de bord) et navires à flot par
+         *     longueur. Les caractéristiques sont tenues à jour à chaque tir : un changement d'état
+         *     ne modifie que le motif des 8 cases qui le voient et les suites de sa ligne et de sa
+         *     colonne, si bien que choisir un coup se réduit à lire trois poids par case.
+         * EN: What the shooter knows of the enemy board: state of each cell (board surrounded by
+         *     PAD blocked cells, to read the neighbourhood without bound checks) and ships afloat by
+         *     length. Features are kept up to date on every shot: a state change only alters the
+         *     pattern of the 8 cells that see it and the runs of its row and column, so choosing a
+         *     move comes down to reading three weights per cell.
+         */
+        static final class Knowledge {
+            final int size;
+            final int stride;
+            final byte[] state;
+            // FR: Code du motif de chaque case (indice bordé), somme des chiffres d'état * 3^i, et sa classe.
+            // EN: Pattern code of each cell (padded index), sum of the state digits * 3^i, and its class.
+            private final int[] pattern;
+            private final short[] patternClass;
+            // FR: Suites horizontale et verticale de chaque case (x * size + y), et leur code (h - 1) * MAX_RUN + v - 1.
+            // EN: Horizontal and vertical runs of each cell (x * size + y), and their code (h - 1) * MAX_RUN + v - 1.
+            private final int[] horizontalRun;
+            private final int[] verticalRun;
+            private final int[] runCode;
+            private final int[] offsets;
+            private final int[] afloatByLength = new int[MAX_RUN + 1];
+
+            Knowledge(int size) {
+                this.size = size;
+                this.stride = size + 2 * PAD;
+                this.state = new byte[stride * stride];
+                this.pattern = new int[stride * stride];
+                this.patternClass = new short[stride * stride];
+                this.horizontalRun = new int[size * size];
+                this.verticalRun = new int[size * size];
+                this.runCode = new int[size * size];
+                // FR: Chiffre i du motif : direction i / 2 (ordre de rotation), distance i % 2 + 1.
+                // EN: Pattern digit i: direction i / 2 (rotation order), distance i % 2 + 1.
+                this.offsets = new int[]{-stride, -2 * stride, 1, 2, stride, 2 * stride, -1, -2};
+            }
+
+            /**
+             * FR: Connaissance initiale face à une flotte (seules les longueurs sont connues).
+             * EN: Initial knowledge against a fleet (only the lengths are known).
+             */
+            void reset(java.util.List<Ship> fleet) {
+                java.util.Arrays.fill(state, BLOCKED);
+                for (int x = 0; x < size; x++) {
+                    java.util.Arrays.fill(state, index(x, 0), index(x, 0) + size, UNKNOWN);
+                }
+                for (int x = 0; x < size; x++) {
+                    for (int p = index(x, 0), end = p + size; p < end; p++) {
+                        int code = 0;
+                        for (int i = 0; i < 8; i++) code += state[p + offsets[i]] * POW3[i];
+                        pattern[p] = code;
+                        patternClass[p] = PATTERN_CLASS[code];
+                    }
+                }
+                for (int line = 0; line < size; line++) {
+                    runs(line, true);
+                    runs(line, false);
+                }
+                java.util.Arrays.fill(afloatByLength, 0);
+                for (Ship ship : fleet) afloatByLength[Math.min(ship.getSize(), MAX_RUN)]++;
+            }
+
+            /**
+             * FR: Connaissance tirée d'une grille telle que le tireur la voit (tirs et navires coulés).
+             * EN: Knowledge derived from a board as the shooter sees it (shots and sunk ships).
+             */
+            static Knowledge of(Board board) {
+                Knowledge knowledge = new Knowledge(board.getSize());
+                knowledge.reset(board.ships);
+                for (Ship ship : board.ships) {
+                    if (ship.isSunk()) knowledge.sunk(ship);
+                }
+                for (int x = 0; x < board.getSize(); x++) {
+                    for (int y = 0; y < board.getSize(); y++) {
+                        if (board.isShot(x, y) && knowledge.state[knowledge.index(x, y)] == UNKNOWN) {
+                            if (board.grid[x][y] == 'H') {
+                                knowledge.hit(x, y);
+                            } else {
+                                knowledge.miss(x, y);
+                            }
+                        }
+                    }
+                }
+                return knowledge;
+            }
+
+            int index(int x, int y) {
+                return (x + PAD) * stride + y + PAD;
+            }
+
+            void miss(int x, int y) {
+                set(x, y, BLOCKED);
+            }
+
+            void hit(int x, int y) {
+                set(x, y, OPEN_HIT);
+            }
+
+            /** FR: Navire coulé : ses cases ne peuvent plus rien abriter. / EN: Sunk ship: its cells can no longer hold anything. */
+            void sunk(Ship ship) {
+                for (Point p : ship.getOccupiedCells()) set(p.x, p.y, BLOCKED);
+                afloatByLength[Math.min(ship.getSize(), MAX_RUN)]--;
+            }
+
+            private void set(int x, int y, byte value) {
+                int p = index(x, y);
+                int delta = value - state[p];
+                if (delta == 0) return;
+                state[p] = value;
+                // FR: La case est le chiffre i du motif de la case située à -offsets[i].
+                // EN: The cell is digit i of the pattern of the cell located at -offsets[i].
+                for (int i = 0; i < 8; i++) {
+                    int q = p - offsets[i];
+                    if (state[q] != UNKNOWN) continue; // FR: Motif inutilisé (et hors table pour la bordure). / EN: Unused pattern (and outside the table for the border).
+                    pattern[q] += delta * POW3[i];
+                    patternClass[q] = PATTERN_CLASS[pattern[q]];
+                }
+                if (value == BLOCKED) {
+                    runs(y, true);
+                    runs(x, false);
+                }
+            }
+
+            int smallestAfloat() {
+                for (int length = 2; length <= MAX_RUN; length++) {
+                    if (afloatByLength[length] > 0) return length;
+                }
+                return 2;
+            }
+
+            /**
+             * FR: Longueur des suites de cases non bloquées d'une ligne (plafonnée à MAX_RUN).
+             * EN: Length of the runs of non-blocked cells of a line (capped at MAX_RUN).
+             */
+            private void runs(int line, boolean horizontal) {
+                int[] out = horizontal ? horizontalRun : verticalRun;
+                int step = horizontal ? stride : 1;
+                int cellStep = horizontal ? size : 1;
+                int first = horizontal ? index(0, line) : index(line, 0);
+                int firstCell = horizontal ? line : line * size;
+                int start = 0;
+                for (int pos = 0; pos <= size; pos++) {
+                    if (pos < size && state[first + pos * step] != BLOCKED) continue;
+                    int run = Math.min(pos - start, MAX_RUN);
+                    for (int i = start; i < pos; i++) {
+                        int cell = firstCell + i * cellStep;
+                        out[cell] = run;
+                        runCode[cell] = (horizontalRun[cell] - 1) * MAX_RUN + verticalRun[cell] - 1;
+                    }
+                    start = pos + 1;
+                }
+            }
+        }
+
+        /**
+         * FR: Caractéristiques des cases candidates (inconnues) : indices des trois poids de chacune.
+         * EN: Features of the candidate (unknown) cells: indices of the three weights of each.
+         * @return FR: Nombre de candidates. / EN: Number of candidates.
+         */
+        int features(Knowledge knowledge, int[] cells, int[] patterns, int[] runs) {
+            byte[] state = knowledge.state;
+            int lengthClass = knowledge.smallestAfloat() - 2;
+            int n = 0;
+            for (int x = 0, cell = 0; x < size; x++) {
+                for (int p = knowledge.index(x, 0), end = p + size; p < end; p++, cell++) {
+                    if (state[p] != UNKNOWN) continue;
+                    cells[n] = cell;
+                    patterns[n] = knowledge.patternClass[p];
+                    runs[n] = runBase + knowledge.runCode[cell] * LENGTH_CLASSES + lengthClass;
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        /**
+         * FR: Coup glouton : la case inconnue de plus haut score (x * size + y), -1 s'il n'y en a plus.
+         * EN: Greedy move: the highest-scoring unknown cell (x * size + y), -1 if none is left.
+         */
+        int choose(Knowledge knowledge) {
+            byte[] state = knowledge.state;
+            short[] patternClass = knowledge.patternClass;
+            int[] runCode = knowledge.runCode;
+            float[] w = weights;
+            int runOffset = runBase + knowledge.smallestAfloat() - 2;
+            int best = -1;
+            float bestScore = Float.NEGATIVE_INFINITY;
+            for (int x = 0, cell = 0; x < size; x++) {
+                for (int p = knowledge.index(x, 0), end = p + size; p < end; p++, cell++) {
+                    if (state[p] != UNKNOWN) continue;
+                    float score = w[patternClass[p]] + w[cellBase + cell] + w[runOffset + runCode[cell] * LENGTH_CLASSES];
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = cell;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * FR: Écrit les poids (fichier temporaire puis remplacement atomique).
+         * EN: Writes the weights (temporary file then atomic replacement).
+         */
+        void save(java.nio.file.Path file) throws IOException {
+            java.nio.file.Path parent = file.toAbsolutePath().getParent();
+            java.nio.file.Path next = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(next)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeInt(size);
+                    out.writeInt(weights.length);
+                    out.writeLong(episodes);
+                    for (float weight : weights) out.writeFloat(weight);
+                }
+                Files.move(next, file, java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(next);
+            }
+        }
+
+        static TargetingPolicy load(java.nio.file.Path file) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("pas une politique de tir : " + file);
+                int size = in.readInt();
+                if (size < 1 || size > 64) throw new IOException("taille de grille invalide : " + size);
+                TargetingPolicy policy = new TargetingPolicy(size);
+                if (in.readInt() != policy.weights.length) throw new IOException("politique d'une autre forme : " + file);
+                policy.episodes = in.readLong();
+                for (int i = 0; i < policy.weights.length; i++) policy.weights[i] = in.readFloat();
+                return policy;
+            }
+        }
+    }
+
+    /**
+     * FR: Entraînement par auto-jeu (--train-policy [secondes] [threads] [fichier]) de la
+     *     politique de tir : chaque thread joue des parties complètes sur les règles sans
+     *     interface (Board, Ship, flottes de GameEngine, placement uniforme), en tirant ses coups
+     *     selon la loi softmax des scores, puis applique le gradient REINFORCE (récompense -1 par
+     *     tir manqué, référence apprise par niveau et par coup). Les gradients de quelques parties
+     *     sont ajoutés aux poids partagés sans verrou ni CAS (« Hogwild! ») : deux threads qui
+     *     mettent à jour le même poids au même instant peuvent perdre une des deux additions, ce
+     *     que la descente de gradient stochastique tolère. Les poids sont écrits régulièrement
+     *     dans un fichier binaire, repris au lancement suivant, et la politique gloutonne est
+     *     comparée à l'IA actuelle (hasard + cibles de chasse) sur les mêmes flottes.
+     * EN: Self-play training (--train-policy [seconds] [threads] [file]) of the targeting policy:
+     *     each thread plays whole games on the headless rules (Board, Ship, GameEngine fleets,
+     *     uniform placement), drawing its moves from the softmax of the scores, then applies the
+     *     REINFORCE gradient (reward -1 per missed shot, baseline learned per level and per move).
+     *     The gradients of a few games are added to the shared weights without locks or CAS
+     *     ("Hogwild!"): two threads updating the same weight at the same instant may lose one of
+     *     the two additions, which stochastic gradient descent tolerates. Weights are regularly
+     *     written to a binary file, resumed on the next launch, and the greedy policy is compared
+     *     with the current AI (random + hunt targets) on the same fleets.
+     */
+    private static final class SelfPlayTrainer {
+        private static final int BATCH_EPISODES = 16;
+        private static final float LEARNING_RATE = 0.002f;
+        private static final float BASELINE_RATE = 0.01f;
+        private static final long CHECKPOINT_NANOS = 10_000_000_000L;
+        private static final int EVALUATION_GAMES = 2000;
+        private static final long EVALUATION_SEED = 0x5E1F_91A7L;
+        private static final int INFERENCE_ROUNDS = 5;
+        private static final int INFERENCE_REPEATS = 16;
+        private static final java.lang.invoke.VarHandle WEIGHT = java.lang.invoke.MethodHandles.arrayElementVarHandle(float[].class);
+
+        private final TargetingPolicy policy;
+        private final java.util.concurrent.atomic.LongAdder episodes = new java.util.concurrent.atomic.LongAdder();
+        private volatile boolean running = true;
+
+        private SelfPlayTrainer(TargetingPolicy policy) {
+            this.policy = policy;
+        }
+
+        /**
+         * FR: Force mesurée sur des flottes communes : tirs moyens pour tout couler, et parties
+         *     gagnées face à l'IA actuelle (moins de tirs ; à égalité, celui qui tire en premier gagne).
+         * EN: Strength measured on common fleets: mean shots to sink everything, and games won
+         *     against the current AI (fewer shots; on a tie, whoever fires first wins).
+         */
+        static final class Strength {
+            final double policyShots;
+            final double huntShots;
+            final double wins;
+            final double ties;
+
+            Strength(double policyShots, double huntShots, double wins, double ties) {
+                this.policyShots = policyShots;
+                this.huntShots = huntShots;
+                this.wins = wins;
+                this.ties = ties;
+            }
+
+            @Override
+            public String toString() {
+                return String.format("politique %.1f tirs, IA actuelle %.1f tirs, victoires %.1f %% (égalités %.1f %%)",
+                        policyShots, huntShots, 100 * wins, 100 * ties);
+            }
+        }
+
+        static void run(String[] args) {
+            long seconds;
+            int threads;
+            try {
+                seconds = args.length > 1 ? Long.parseLong(args[1]) : 60;
+                threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            } catch (NumberFormatException e) {
+                seconds = -1;
+                threads = 0;
+            }
+            if (seconds < 0 || threads < 1) {
+                System.err.println("Usage : --train-policy [secondes >= 0] [threads >= 1] [fichier]");
+                System.exit(2);
+                return;
+            }
+            java.nio.file.Path file = Paths.get(args.length > 3 ? args[3] : TargetingPolicy.DEFAULT_FILE);
+            TargetingPolicy policy;
+            try {
+                policy = Files.exists(file) ? TargetingPolicy.load(file) : new TargetingPolicy(Theme.BOARD_SIZE);
+            } catch (IOException e) {
+                System.err.println("Lecture de la politique impossible : " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            System.out.printf("Auto-jeu : %d s sur %d threads, %d poids, reprise à %d parties (%s)%n",
+                    seconds, threads, policy.weights.length, policy.episodes, file);
+            System.out.println("Départ : " + evaluate(policy, EVALUATION_GAMES, EVALUATION_SEED));
+
+            SelfPlayTrainer trainer = new SelfPlayTrainer(policy);
+            java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(threads, task -> {
+                Thread worker = new Thread(task, "battleship-selfplay");
+                worker.setDaemon(true);
+                return worker;
+            });
+            for (int t = 0; t < threads; t++) {
+                long seed = java.util.concurrent.ThreadLocalRandom.current().nextLong();
+                pool.execute(() -> trainer.work(seed));
+            }
+            long start = System.nanoTime();
+            long deadline = start + seconds * 1_000_000_000L;
+            long startEpisodes = policy.episodes;
+            try {
+                long now;
+                while ((now = System.nanoTime()) < deadline) {
+                    Thread.sleep(Math.max(1, Math.min(CHECKPOINT_NANOS, deadline - now) / 1_000_000));
+                    long played = trainer.episodes.sum();
+                    policy.episodes = startEpisodes + played;
+                    policy.save(file);
+                    System.out.printf("%,d parties (%,.0f/s) : %s%n", played, played / ((System.nanoTime() - start) / 1e9),
+                            evaluate(trainer.snapshot(), EVALUATION_GAMES, EVALUATION_SEED));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                System.err.println("Écriture de la politique impossible : " + e.getMessage());
+                System.exit(1);
+            } finally {
+                trainer.running = false;
+                pool.shutdown();
+            }
+            try {
+                pool.awaitTermination(1, java.util.concurrent.TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.out.printf("Inférence : %.0f ns par coup%n", inferenceNanos(policy, EVALUATION_GAMES / 4, EVALUATION_SEED));
+        }
+
+        /**
+         * FR: Copie des poids partagés (lecture opaque : valeurs récentes, sans barrière).
+         * EN: Copy of the shared weights (opaque reads: recent values, without fences).
+         */
+        private TargetingPolicy snapshot() {
+            TargetingPolicy copy = new TargetingPolicy(policy.size);
+            copyWeights(policy.weights, copy.weights);
+            return copy;
+        }
+
+        private static void copyWeights(float[] from, float[] to) {
+            for (int i = 0; i < from.length; i++) to[i] = (float) WEIGHT.getOpaque(from, i);
+        }
+
+        /**
+         * FR: Boucle d'un thread : parties jouées sur une copie locale des poids, gradients cumulés
+         *     sur BATCH_EPISODES parties puis ajoutés aux poids partagés.
+         * EN: One thread's loop: games played on a local copy of the weights, gradients accumulated
+         *     over BATCH_EPISODES games then added to the shared weights.
+         */
+        private void work(long seed) {
+            Random random = new Random(seed);
+            int size = policy.size;
+            int cells = size * size;
+            TargetingPolicy local = new TargetingPolicy(size);
+            float[] shared = policy.weights;
+            float[] weights = local.weights;
+            float[] scoreTrace = new float[weights.length];
+            float[] baselineTrace = new float[weights.length];
+            float[] batch = new float[weights.length];
+            float[][] baseline = new float[Theme.MAX_LEVEL + 1][cells + 1];
+            int[] missesBefore = new int[cells + 1];
+            int[] candidates = new int[cells];
+            int[] patterns = new int[cells];
+            int[] runs = new int[cells];
+            float[] probabilities = new float[cells];
+            TargetingPolicy.Knowledge knowledge = new TargetingPolicy.Knowledge(size);
+            copyWeights(shared, weights);
+            int batched = 0;
+            while (running) {
+                int level = 1 + random.nextInt(Theme.MAX_LEVEL);
+                Board board = new Board(size);
+                for (Ship ship : GameEngine.getShipsForLevel(level)) board.placeShipUniformly(ship, random);
+                knowledge.reset(board.ships);
+                java.util.Arrays.fill(scoreTrace, 0f);
+                java.util.Arrays.fill(baselineTrace, 0f);
+                int misses = 0;
+                int step = 0;
+                while (!board.areAllShipsSunk()) {
+                    int n = local.features(knowledge, candidates, patterns, runs);
+                    float max = Float.NEGATIVE_INFINITY;
+                    for (int i = 0; i < n; i++) {
+                        probabilities[i] = weights[patterns[i]] + weights[local.cellBase + candidates[i]] + weights[runs[i]];
+                        max = Math.max(max, probabilities[i]);
+                    }
+                    float total = 0;
+                    for (int i = 0; i < n; i++) {
+                        probabilities[i] = (float) Math.exp(probabilities[i] - max);
+                        total += probabilities[i];
+                    }
+                    float pick = random.nextFloat() * total;
+                    int chosen = n - 1;
+                    for (int i = 0; i < n; i++) {
+                        pick -= probabilities[i];
+                        if (pick < 0) {
+                            chosen = i;
+                            break;
+                        }
+                    }
+                    // FR: Gradient du log de la probabilité : caractéristiques du coup moins leur espérance.
+                    //     Il est cumulé deux fois, brut et pondéré par (référence + manqués jusqu'ici),
+                    //     car l'avantage de chaque coup ne sera connu qu'en fin de partie.
+                    // EN: Gradient of the log probability: the move's features minus their expectation.
+                    //     It is accumulated twice, raw and weighted by (baseline + misses so far),
+                    //     since each move's advantage is only known at the end of the game.
+                    float weight = baseline[level][step] + misses;
+                    for (int i = 0; i < n; i++) {
+                        float p = probabilities[i] / total;
+                        scoreTrace[patterns[i]] -= p;
+                        scoreTrace[local.cellBase + candidates[i]] -= p;
+                        scoreTrace[runs[i]] -= p;
+                        baselineTrace[patterns[i]] -= p * weight;
+                        baselineTrace[local.cellBase + candidates[i]] -= p * weight;
+                        baselineTrace[runs[i]] -= p * weight;
+                    }
+                    scoreTrace[patterns[chosen]] += 1;
+                    scoreTrace[local.cellBase + candidates[chosen]] += 1;
+                    scoreTrace[runs[chosen]] += 1;
+                    baselineTrace[patterns[chosen]] += weight;
+                    baselineTrace[local.cellBase + candidates[chosen]] += weight;
+                    baselineTrace[runs[chosen]] += weight;
+                    missesBefore[step++] = misses;
+
+                    int x = candidates[chosen] / size;
+                    int y = candidates[chosen] % size;
+                    if (board.getShipAt(x, y) == null) misses++;
+                    play(board, knowledge, candidates[chosen]);
+                }
+                // FR: Avantage du coup t : (référence + manqués avant t) - total des manqués.
+                // EN: Advantage of move t: (baseline + misses before t) - total misses.
+                for (int i = 0; i < batch.length; i++) batch[i] += baselineTrace[i] - misses * scoreTrace[i];
+                for (int t = 0; t < step; t++) {
+                    baseline[level][t] += BASELINE_RATE * (misses - missesBefore[t] - baseline[level][t]);
+                }
+                episodes.increment();
+                if (++batched == BATCH_EPISODES) {
+                    float rate = LEARNING_RATE / BATCH_EPISODES;
+                    for (int i = 0; i < batch.length; i++) {
+                        if (batch[i] == 0) continue;
+                        WEIGHT.setOpaque(shared, i, (float) WEIGHT.getOpaque(shared, i) + rate * batch[i]);
+                        batch[i] = 0;
+                    }
+                    copyWeights(shared, weights);
+                    batched = 0;
+                }
+            }
+        }
+
+        /**
+         * FR: Joue la politique gloutonne et l'IA actuelle sur les mêmes flottes (graines fixes).
+         * EN: Plays the greedy policy and the current AI on the same fleets (fixed seeds).
+         */
+        static Strength evaluate(TargetingPolicy policy, int games, long seed) {
+            int size = policy.size;
+            TargetingPolicy.Knowledge knowledge = new TargetingPolicy.Knowledge(size);
+            java.util.List<Point> huntTargets = new ArrayList<>();
+            long policyShots = 0;
+            long huntShots = 0;
+            int wins = 0;
+            int ties = 0;
+            for (int game = 0; game < games; game++) {
+                Random random = new Random(seed + game);
+                Board board = new Board(size);
+                for (Ship ship : GameEngine.getShipsForLevel(1 + game % Theme.MAX_LEVEL)) board.placeShipUniformly(ship, random);
+                Board huntBoard = board.copy();
+
+                knowledge.reset(board.ships);
+                int shots = 0;
+                while (!board.areAllShipsSunk()) {
+                    shots++;
+                    play(board, knowledge, policy.choose(knowledge));
+                }
+
+                // FR: Même enchaînement que GameEngine.playComputerTurn (règles classiques).
+                // EN: Same sequence as GameEngine.playComputerTurn (classic rules).
+                huntTargets.clear();
+                int opponentShots = 0;
+                while (!huntBoard.areAllShipsSunk()) {
+                    Point target = GameEngine.huntTarget(huntBoard, huntTargets, random, null);
+                    opponentShots++;
+                    if (huntBoard.shoot(target.x, target.y)) {
+                        GameEngine.addHuntTargets(huntBoard, huntTargets, random, target.x, target.y);
+                        if (huntBoard.getShipAt(target.x, target.y).isSunk()) huntTargets.clear();
+                    }
+                }
+                policyShots += shots;
+                huntShots += opponentShots;
+                if (shots < opponentShots) wins++;
+                if (shots == opponentShots) ties++;
+            }
+            return new Strength(policyShots / (double) games, huntShots / (double) games,
+                    wins / (double) games, ties / (double) games);
+        }
+
+        /**
+         * FR: Durée d'un choix glouton, mesurée sur des positions de vraies parties (chaque choix
+         *     répété INFERENCE_REPEATS fois pour amortir l'horloge, après des tours d'échauffement).
+         * EN: Duration of one greedy choice, measured on positions from real games (each choice
+         *     repeated INFERENCE_REPEATS times to amortize the clock, after warm-up rounds).
+         */
+        static double inferenceNanos(TargetingPolicy policy, int games, long seed) {
+            TargetingPolicy.Knowledge knowledge = new TargetingPolicy.Knowledge(policy.size);
+            double nanos = 0;
+            for (int round = 0; round < INFERENCE_ROUNDS; round++) {
+                long elapsed = 0;
+                long moves = 0;
+                for (int game = 0; game < games; game++) {
+                    Random random = new Random(seed + game);
+                    Board board = new Board(policy.size);
+                    for (Ship ship : GameEngine.getShipsForLevel(1 + game % Theme.MAX_LEVEL)) board.placeShipUniformly(ship, random);
+                    knowledge.reset(board.ships);
+                    while (!board.areAllShipsSunk()) {
+                        int cell = -1;
+                        long start = System.nanoTime();
+                        for (int r = 0; r < INFERENCE_REPEATS; r++) cell = policy.choose(knowledge);
+                        elapsed += System.nanoTime() - start;
+                        moves += INFERENCE_REPEATS;
+                        play(board, knowledge, cell);
+                    }
+                }
+                nanos = elapsed / (double) moves;
+            }
+            return nanos;
+        }
+
+        private static void play(Board board, TargetingPolicy.Knowledge knowledge, int cell) {
+            int x = cell / board.getSize();
+            int y = cell % board.getSize();
+            if (!board.shoot(x, y)) {
+                knowledge.miss(x, y);
+            } else if (board.getShipAt(x, y).isSunk()) {
+                knowledge.sunk(board.getShipAt(x, y));
+            } else {
+                knowledge.hit(x, y);
+            }
+        }
+    }
+
+    /**
+     * FR: Représente un navire avec sa taille, son type et son état.
+     * EN: Represents a ship with its size, type, and state.
+     */
+    private static class Ship {
+        private final int size;
+        private final String type;
+        private int hitCount;
+        private int startX, startY;
+        private boolean isHorizontal;
+        private java.util.List<Point> occupiedCells = new ArrayList<>();
+
+        public Ship(int size, String type) {
+            this.size = size;
+            this.type = type;
+        }
+
+        public void setPlacement(int startX, int startY, boolean isHorizontal) {
+            this.startX = startX;
+            this.startY = startY;
+            this.isHorizontal = isHorizontal;
+            this.occupiedCells = calculateOccupiedCells(startX, startY);
+        }
+
+        /**
+         * FR: Enregistre une touche sur ce navire.
+         * EN: Registers a hit on this ship.
+         * @return `true` si le tir a touché ce navire, `false` sinon.
+         */
+        public boolean isHit(int x, int y) {
+            if (occupiedCells.contains(new Point(x,y))) {
+                hitCount++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * FR: Copie indépendante du navire (placement et dégâts compris).
+         * EN: Independent copy of the ship (placement and damage included).
+         */
+        public Ship copy() {
+            Ship copy = new Ship(size, type);
+            copy.setPlacement(startX, startY, isHorizontal);
+            copy.hitCount = hitCount;
+            return copy;
+        }
+
+        /**
+         * FR: Enregistre une touche déjà localisée par le plateau (index case -> navire).
+         * EN: Registers a hit already located by the board (cell -> ship index).
+         */
+        public void registerHit() {
+            hitCount++;
+        }
+
+        /**
+         * FR: Calcule toutes les cellules occupées par le navire.
+         * EN: Calculates all the cells occupied by the ship.
+         */
+        private java.util.List<Point> calculateOccupiedCells(int startX, int startY) {
+            java.util.List<Point> cells = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                cells.add(new Point(isHorizontal ? startX + i : startX, isHorizontal ? startY : startY + i));
+            }
+            return cells;
+        }
+
+        // --- Getters & Setters ---
+        public int getSize() { return size; }
+        public String getType() { return type; }
+        public boolean isSunk() { return hitCount >= size; }
+        public void setOrientation(boolean isHorizontal) { this.isHorizontal = isHorizontal; }
+        public java.util.List<Point> getOccupiedCells() { return occupiedCells; }
+    }
+
+    /**
+     * FR: Représente une entrée dans le tableau des meilleurs scores.
+     * EN: Represents an entry in the high score table.
+     */
+    private static class HighScoreEntry implements Comparable<HighScoreEntry>, Serializable {
+        private final String playerName;
+        private final long score;
+        private final String proof; // FR: Preuve signée (voir ScoreVerifier), null si absente. / EN: Signed proof (see ScoreVerifier), null if missing.
+
+        public HighScoreEntry(String playerName, long score, String proof) {
+            this.playerName = playerName;
+            this.score = score;
+            this.proof = proof;
+        }
+        public String getPlayerName() { return playerName; }
+        public long getScore() { return score; }
+        public String getProof() { return proof; }
+
+        // FR: Compare les scores pour le tri (ordre décroissant).
+        // EN: Compares scores for sorting (descending order).
+        @Override public int compareTo(HighScoreEntry other) { return Long.compare(other.score, this.score); }
+        @Override public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            HighScoreEntry that = (HighScoreEntry) o;
+            return score == that.score && playerName.equals(that.playerName);
+        }
+        @Override public int hashCode() { return Objects.hash(playerName, score); }
+    }
+    
+    /**
+     * FR: Gère la lecture, l'écriture et la maintenance des meilleurs scores. Les scores vivent
+     *     dans le tableau partagé entre processus ; le fichier JSON n'est plus qu'un export (et la
+     *     source de l'import initial). Sans tableau partagé, la liste est tenue en mémoire comme avant.
+     * EN: Manages the reading, writing, and maintenance of high scores. Scores live in the table
+     *     shared between processes; the JSON file is now only an export (and the source of the
+     *     initial import). Without a shared table, the list is kept in memory as before.
+     */
+    private static class HighScoreManager {
+        private static final String HIGHSCORE_FILE = "highscores_premium.json";
+        private static final int MAX_HIGHSCORES = 10;
+        private java.util.List<HighScoreEntry> highScores;
+        private final ScoreVerifier verifier = ScoreVerifier.openDefault();
+        private final SharedHighScoreTable table = SharedHighScoreTable.openDefault();
+        // FR: Dernier instantané partagé vu, et verdicts déjà rendus par preuve (chaque preuve n'est rejouée qu'une fois).
+        // EN: Last shared snapshot seen, and verdicts already given per proof (each proof is replayed only once).
+        private java.util.List<HighScoreEntry> sharedEntries;
+        private final java.util.Map<String, Boolean> verdictsByProof = new java.util.HashMap<>();
+
+        public HighScoreManager() {
+            this.highScores = new ArrayList<>();
+            if (table != null) {
+                table.importOnce(this::readJsonFile);
+            }
+            loadHighScores();
+        }
+
+        /**
+         * FR: Signe le score avec le journal de la partie, le vérifie par rejeu, puis l'ajoute en
+         *     maintenant la liste triée et limitée en taille.
+         * EN: Signs the score with the match log, verifies it by replay, then adds it while
+         *     keeping the list sorted and limited in size.
+         * @return FR: `false` (et signalé) si le rejeu ne redonne pas ce score ou si le tableau partagé
+         *         refuse l'écriture. / EN: `false` (and reported) if the replay does not yield this score
+         *         or the shared table rejects the write.
+         */
+        public synchronized boolean addScore(String playerName, long score, GameRecord record) {
+            String proof = verifier.sign(playerName, score, record);
+            ScoreVerifier.Verdict verdict = verifier.verify(playerName, score, proof);
+            if (verdict != ScoreVerifier.Verdict.ACCEPTED) {
+                System.err.println("Score refusé (" + verdict + ") : " + playerName + " " + score);
+                JOptionPane.showMessageDialog(null, "Score refusé : la partie ne se rejoue pas à l'identique.",
+                        "Score Non Vérifié", JOptionPane.WARNING_MESSAGE);
+                return false;
+            }
+            HighScoreEntry entry = new HighScoreEntry(playerName, score, proof);
+            if (table != null) {
+                verdictsByProof.put(proof, Boolean.TRUE);
+                try {
+                    table.insert(entry);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Erreur critique lors de l'enregistrement du score : " + e.getMessage());
+                    JOptionPane.showMessageDialog(null,
+                            "Impossible d'enregistrer le score dans le tableau partagé.",
+                            "Erreur de Sauvegarde", JOptionPane.ERROR_MESSAGE);
+                    return false;
+                }
+                return true;
+            }
+            highScores.add(entry);
+            Collections.sort(highScores);
+            if (highScores.size() > MAX_HIGHSCORES) {
+                highScores = highScores.subList(0, MAX_HIGHSCORES);
+            }
+            return true;
+        }
+
+        /**
+         * FR: Met la liste à jour. Avec le tableau partagé, il suffit de comparer sa séquence :
+         *     rien n'est relu ni revérifié si aucun processus n'a écrit. Sinon, relit le fichier JSON.
+         * EN: Brings the list up to date. With the shared table, comparing its sequence is enough:
+         *     nothing is re-read or re-verified if no process has written. Otherwise, re-reads the JSON file.
+         */
+        public synchronized void loadHighScores() {
+            if (table != null) {
+                refreshShared();
+                return;
+            }
+            this.highScores.clear();
+            try {
+                this.highScores.addAll(readJsonFile());
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Erreur lors du chargement des scores : " + e.getMessage());
+                JOptionPane.showMessageDialog(null,
+                        "Impossible de lire le fichier des scores.\nIl sera réinitialisé à la prochaine sauvegarde.",
+                        "Erreur de Lecture", JOptionPane.WARNING_MESSAGE);
+                this.highScores.clear();
+            }
+        }
+
+        private void refreshShared() {
+            if (table == null) return;
+            java.util.List<HighScoreEntry> entries = table.entries();
+            if (entries != sharedEntries) {
+                sharedEntries = entries;
+                checkProofs(entries);
+                highScores = entries;
+            }
+        }
+
+        /**
+         * FR: Charge et vérifie les scores du fichier JSON (liste vide s'il n'existe pas encore).
+         *     Rien n'est écarté : un score sans preuve valide reste, marqué non vérifié.
+         * EN: Loads and verifies the scores of the JSON file (empty list if it does not exist yet).
+         *     Nothing is discarded: a score without a valid proof stays, marked unverified.
+         */
+        private java.util.List<HighScoreEntry> readJsonFile() throws IOException {
+            java.nio.file.Path file = Paths.get(HIGHSCORE_FILE);
+            if (!Files.exists(file)) {
+                return new ArrayList<>(); // FR: Normal au premier lancement. / EN: Normal on first launch.
+            }
+            java.util.List<HighScoreEntry> entries = parseEntries(Files.readString(file, StandardCharsets.UTF_8));
+            checkProofs(entries);
+            Collections.sort(entries);
+            return entries;
+        }
+
+        /**
+         * FR: Rejoue les preuves jamais vues et retient leur verdict. Les scores sans preuve valide
+         *     (anciens fichiers, clé perdue, fichier venu d'une autre machine) sont gardés tels quels :
+         *     les écarter les effacerait du fichier à la sauvegarde suivante.
+         * EN: Replays proofs never seen before and remembers their verdict. Scores without a valid
+         *     proof (old files, lost key, file from another machine) are kept as they are: dropping
+         *     them would erase them from the file on the next save.
+         */
+        private void checkProofs(java.util.List<HighScoreEntry> entries) {
+            java.util.List<HighScoreEntry> unknown = new ArrayList<>();
+            for (HighScoreEntry entry : entries) {
+                if (!verdictsByProof.containsKey(entry.getProof())) unknown.add(entry);
+            }
+            if (unknown.isEmpty()) return;
+            ScoreVerifier.Verdict[] verdicts = verifier.verifyAll(unknown);
+            for (int i = 0; i < verdicts.length; i++) {
+                HighScoreEntry entry = unknown.get(i);
+                verdictsByProof.put(entry.getProof(), verdicts[i] == ScoreVerifier.Verdict.ACCEPTED);
+                if (verdicts[i] != ScoreVerifier.Verdict.ACCEPTED) {
+                    System.err.println("Score non vérifié (" + verdicts[i] + ") : " + entry.getPlayerName() + " " + entry.getScore());
+                }
+            }
+        }
+
+        /**
+         * FR: Vrai si la preuve du score s'est rejouée à l'identique.
+         * EN: True if the score's proof replayed identically.
+         */
+        public synchronized boolean isVerified(HighScoreEntry entry) {
+            return Boolean.TRUE.equals(verdictsByProof.get(entry.getProof()));
+        }
+
+        /**
+         * FR: Extrait les entrées (pseudo, score, preuve) d'un contenu JSON de tableau des scores.
+         * EN: Extracts the entries (name, score, proof) from a high score JSON content.
+         */
+        static java.util.List<HighScoreEntry> parseEntries(String content) {
+            java.util.List<HighScoreEntry> entries = new ArrayList<>();
+            Pattern entryPattern = Pattern.compile("\\{.*?\\}", Pattern.DOTALL);
+            Matcher entryMatcher = entryPattern.matcher(content);
+
+            while (entryMatcher.find()) {
+                String entryBlock = entryMatcher.group();
+                Pattern namePattern = Pattern.compile("\"playerName\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+                Matcher nameMatcher = namePattern.matcher(entryBlock);
+                Pattern scorePattern = Pattern.compile("\"score\"\\s*:\\s*(\\d+)");
+                Matcher scoreMatcher = scorePattern.matcher(entryBlock);
+                Pattern proofPattern = Pattern.compile("\"proof\"\\s*:\\s*\"([A-Za-z0-9_-]*)\"");
+                Matcher proofMatcher = proofPattern.matcher(entryBlock);
+
+                if (nameMatcher.find() && scoreMatcher.find()) {
+                    String name = nameMatcher.group(1).replaceAll("\\\\(.)", "$1");
+                    long score = Long.parseLong(scoreMatcher.group(1));
+                    entries.add(new HighScoreEntry(name, score, proofMatcher.find() ? proofMatcher.group(1) : null));
+                }
+            }
+            return entries;
+        }
+
+        /**
+         * FR: Exporte la liste des scores dans le fichier JSON. Le fichier est remplacé d'un bloc,
+         *     si bien que deux instances qui exportent en même temps ne le laissent jamais à moitié écrit.
+         * EN: Exports the list of scores to the JSON file. The file is replaced in one go, so two
+         *     instances exporting at the same time never leave it half-written.
+         */
+        public synchronized void saveHighScores() {
+            refreshShared();
+            StringBuilder sb = new StringBuilder("[\n");
+            for (int i = 0; i < highScores.size(); i++) {
+                HighScoreEntry entry = highScores.get(i);
+                // FR: Échappe les caractères spéciaux pour un JSON valide.
+                // EN: Escapes special characters for valid JSON.
+                String safePlayerName = entry.getPlayerName()
+                    .replace("\\", "\\\\")
+                    .replace("\"", "\\\"");
+
+                sb.append("  {\n");
+                sb.append("    \"playerName\": \"").append(safePlayerName).append("\",\n");
+                sb.append("    \"score\": ").append(entry.getScore());
+                if (entry.getProof() != null) {
+                    sb.append(",\n    \"proof\": \"").append(entry.getProof()).append('"');
+                }
+                sb.append("\n");
+                sb.append("  }");
+                if (i < highScores.size() - 1) {
+                    sb.append(",\n");
+                } else {
+                    sb.append("\n");
+                }
+            }
+            sb.append("]");
+
+            java.nio.file.Path file = Paths.get(HIGHSCORE_FILE).toAbsolutePath();
+            try {
+                java.nio.file.Path next = Files.createTempFile(file.getParent(), HIGHSCORE_FILE, ".tmp");
+                try {
+                    Files.writeString(next, sb, StandardCharsets.UTF_8);
+                    Files.move(next, file, java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(next);
+                }
+            } catch (IOException e) {
+                 System.err.println("Erreur critique lors de la sauvegarde des scores : " + e.getMessage());
+                 JOptionPane.showMessageDialog(null,
+                         "Impossible d'écrire dans le fichier des scores.\n" +
+                         "Vérifiez les permissions du dossier où le jeu est lancé.",
+                         "Erreur de Sauvegarde", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+
+        public synchronized java.util.List<HighScoreEntry> getHighScores() {
+            refreshShared();
+            return highScores;
+        }
+        public ScoreVerifier getVerifier() { return verifier; }
+
+        /**
+         * FR: Vérifie si un score est assez élevé pour entrer dans le top 10 (d'après les scores de
+         *     tous les processus, y compris ceux enregistrés depuis le début de la partie).
+         * EN: Checks if a score is high enough to enter the top 10 (based on the scores of every
+         *     process, including those saved since the match started).
+         */
+        public synchronized boolean isNewHighScore(long score) {
+            if (score <= 0) {
+                return false;
+            }
+            refreshShared();
+            if (highScores.size() < MAX_HIGHSCORES) {
+                return true;
+            }
+            return score > highScores.get(highScores.size() - 1).getScore();
+        }
+    }
+
+    /**
+     * FR: Tableau des meilleurs scores partagé par tous les processus de jeu d'une machine (bornes
+     *     à plusieurs places) : des enregistrements de taille fixe dans un fichier projeté en mémoire.
+     *     Les écrivains s'excluent par un verrou de fichier et publient sous un verrou séquentiel
+     *     (seqlock) : séquence impaire pendant l'écriture, paire une fois terminée. Les lecteurs ne
+     *     prennent aucun verrou : ils copient les enregistrements et recommencent si la séquence a
+     *     bougé entre-temps. Une seule instance par processus, car les verrous de fichier Java ne
+     *     s'excluent pas au sein d'une même JVM.
+     * EN: High score table shared by every game process of a host (multi-seat cabinets): fixed-size
+     *     records in a memory-mapped file. Writers exclude each other with a file lock and publish
+     *     under a sequence lock (seqlock): odd sequence while writing, even once done. Readers take
+     *     no lock: they copy the records and retry if the sequence moved meanwhile. One instance per
+     *     process, since Java file locks do not exclude each other within one JVM.
+     */
+    private static final class SharedHighScoreTable {
+        private static final String SHARED_FILE = "highscores_shared.dat";
+        private static final int MAGIC = 0x42485353; // "BHSS"
+        private static final int VERSION = 1;
+        private static final int CAPACITY = HighScoreManager.MAX_HIGHSCORES;
+        private static final int HEADER_BYTES = 64;
+        // FR: En-tête : magique, version, capacité, taille d'enregistrement, séquence, nombre, import fait.
+        // EN: Header: magic, version, capacity, record size, sequence, count, import done.
+        private static final int OFF_SEQUENCE = 16;
+        private static final int OFF_COUNT = 24;
+        private static final int OFF_IMPORTED = 28;
+        // FR: Enregistrement : score, longueur du pseudo (UTF-8), longueur de la preuve, puis leurs octets.
+        // EN: Record: score, name length (UTF-8), proof length, then their bytes.
+        private static final int RECORD_BYTES = 4096;
+        private static final int RECORD_HEADER = 16;
+        // FR: Au-delà, l'écrivain est lent ou mort en pleine écriture : on relit sous le verrou.
+        // EN: Beyond this, the writer is slow or died mid-write: the read is redone under the lock.
+        private static final int READ_ATTEMPTS = 100;
+
+        private static final java.lang.invoke.VarHandle SEQUENCE =
+                java.lang.invoke.MethodHandles.byteBufferViewVarHandle(long[].class, java.nio.ByteOrder.nativeOrder());
+
+        private static SharedHighScoreTable defaultTable;
+        private static boolean defaultOpened;
+
+        private final java.nio.channels.FileChannel channel;
+        private final java.nio.MappedByteBuffer region;
+        // FR: Dernier instantané décodé et sa séquence. / EN: Last decoded snapshot and its sequence.
+        private volatile Snapshot cached = new Snapshot(-1, Collections.emptyList());
+
+        private static final class Snapshot {
+            final long sequence;
+            final java.util.List<HighScoreEntry> entries;
+
+            Snapshot(long sequence, java.util.List<HighScoreEntry> entries) {
+                this.sequence = sequence;
+                this.entries = entries;
+            }
+        }
+
+        private SharedHighScoreTable(java.nio.channels.FileChannel channel, java.nio.MappedByteBuffer region) {
+            this.channel = channel;
+            this.region = region;
+        }
+
+        /**
+         * FR: Tableau partagé du processus (ouvert au premier appel) ; null (et signalé) en cas d'échec.
+         * EN: The process's shared table (opened on first call); null (and reported) on failure.
+         */
+        public static synchronized SharedHighScoreTable openDefault() {
+            if (!defaultOpened) {
+                defaultOpened = true;
+                try {
+                    defaultTable = open(Paths.get(SHARED_FILE));
+                } catch (IOException | IllegalStateException e) {
+                    System.err.println("Tableau des scores partagé désactivé : " + e.getMessage());
+                }
+            }
+            return defaultTable;
+        }
+
+        /**
+         * FR: Ouvre (ou crée) un tableau partagé. Le canal reste ouvert : il porte le verrou des écrivains.
+         * EN: Opens (or creates) a shared table. The channel stays open: it carries the writers' lock.
+         */
+        static SharedHighScoreTable open(java.nio.file.Path path) throws IOException {
+            java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(path,
+                    java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE);
+            try {
+                java.nio.channels.FileLock lock = channel.lock();
+                try {
+                    java.nio.ByteBuffer header = java.nio.ByteBuffer.allocate(16).order(java.nio.ByteOrder.nativeOrder());
+                    if (channel.size() == 0) {
+                        header.putInt(MAGIC).putInt(VERSION).putInt(CAPACITY).putInt(RECORD_BYTES).rewind();
+                        channel.write(header, 0);
+                    } else {
+                        channel.read(header, 0);
+                        header.flip();
+                        if (header.remaining() < 16 || header.getInt() != MAGIC || header.getInt() != VERSION
+                                || header.getInt() != CAPACITY || header.getInt() != RECORD_BYTES) {
+                            throw new IllegalStateException(path + " a un format incompatible");
+                        }
+                    }
+                    java.nio.MappedByteBuffer region = channel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE,
+                            0, HEADER_BYTES + (long) CAPACITY * RECORD_BYTES);
+                    region.order(java.nio.ByteOrder.nativeOrder());
+                    return new SharedHighScoreTable(channel, region);
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * FR: Scores actuels, triés. Sans écriture depuis le dernier appel, retourne la même liste
+         *     (immuable) après une simple lecture de la séquence ; sinon la recopie sans verrou, ou
+         *     sous le verrou si une écriture ne se termine pas.
+         * EN: Current scores, sorted. With no write since the last call, returns the same
+         *     (immutable) list after a single read of the sequence; otherwise copies it lock-free,
+         *     or under the lock if a write does not complete.
+         */
+        public java.util.List<HighScoreEntry> entries() {
+            Snapshot current = cached;
+            long sequence = (long) SEQUENCE.getAcquire(region, OFF_SEQUENCE);
+            if (sequence == current.sequence) return current.entries;
+            byte[] copy = new byte[CAPACITY * RECORD_BYTES];
+            for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+                if ((sequence & 1) == 0) {
+                    int count = Math.max(0, Math.min(CAPACITY, region.getInt(OFF_COUNT)));
+                    region.get(HEADER_BYTES, copy, 0, count * RECORD_BYTES);
+                    java.lang.invoke.VarHandle.loadLoadFence();
+                    if ((long) SEQUENCE.getAcquire(region, OFF_SEQUENCE) == sequence) {
+                        Snapshot fresh = new Snapshot(sequence, Collections.unmodifiableList(decode(java.nio.ByteBuffer.wrap(copy).order(java.nio.ByteOrder.nativeOrder()), 0, count)));
+                        cached = fresh;
+                        return fresh.entries;
+                    }
+                }
+                Thread.onSpinWait();
+                sequence = (long) SEQUENCE.getAcquire(region, OFF_SEQUENCE);
+            }
+            return entriesLocked(current);
+        }
+
+        /**
+         * FR: Relit sous le verrou des écrivains. Une séquence encore impaire vient d'un écrivain mort :
+         *     l'instantané est gardé sous cette séquence, les appels suivants ne reprennent pas le verrou.
+         * EN: Reads again under the writers' lock. A sequence still odd comes from a dead writer: the
+         *     snapshot is kept under that sequence, so later calls do not take the lock again.
+         */
+        private synchronized java.util.List<HighScoreEntry> entriesLocked(Snapshot current) {
+            try {
+                java.nio.channels.FileLock lock = channel.lock();
+                try {
+                    long sequence = (long) SEQUENCE.getVolatile(region, OFF_SEQUENCE);
+                    Snapshot fresh = new Snapshot(sequence, Collections.unmodifiableList(readLocked()));
+                    cached = fresh;
+                    return fresh.entries;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                System.err.println("Lecture du tableau des scores partagé impossible : " + e.getMessage());
+                return current.entries;
+            }
+        }
+
+        /**
+         * FR: Ajoute un score sous le verrou des écrivains, en fusionnant avec ce que les autres
+         *     processus ont écrit : aucun score n'est perdu, seuls les meilleurs restent.
+         * EN: Adds a score under the writers' lock, merging with what other processes wrote: no
+         *     score is lost, only the best remain.
+         */
+        public synchronized void insert(HighScoreEntry entry) throws IOException {
+            int bytes = entry.getPlayerName().getBytes(StandardCharsets.UTF_8).length
+                    + (entry.getProof() == null ? 0 : entry.getProof().length());
+            if (RECORD_HEADER + bytes > RECORD_BYTES) {
+                throw new IllegalArgumentException("score trop volumineux pour un enregistrement (" + bytes + " octets)");
+            }
+            java.nio.channels.FileLock lock = channel.lock();
+            try {
+                java.util.List<HighScoreEntry> merged = readLocked();
+                merged.add(entry);
+                publish(merged);
+            } finally {
+                lock.release();
+            }
+        }
+
+        /**
+         * FR: Importe une seule fois, pour tous les processus, les scores de l'ancien fichier JSON.
+         * EN: Imports the scores of the old JSON file once, for every process.
+         */
+        public synchronized void importOnce(java.util.concurrent.Callable<java.util.List<HighScoreEntry>> legacy) {
+            try {
+                java.nio.channels.FileLock lock = channel.lock();
+                try {
+                    if (region.getInt(OFF_IMPORTED) != 0) return;
+                    java.util.List<HighScoreEntry> merged = readLocked();
+                    merged.addAll(legacy.call());
+                    region.putInt(OFF_IMPORTED, 1);
+                    publish(merged);
+                } finally {
+                    lock.release();
+                }
+            } catch (Exception e) {
+                System.err.println("Import des scores JSON impossible : " + e.getMessage());
+            }
+        }
+
+        /**
+         * FR: Lit les enregistrements sous le verrou des écrivains. Une séquence impaire signale un
+         *     écrivain mort en pleine écriture : les enregistrements illisibles sont écartés et la
+         *     prochaine publication répare le fichier.
+         * EN: Reads the records under the writers' lock. An odd sequence means a writer died
+         *     mid-write: unreadable records are dropped and the next publication repairs the file.
+         */
+        private java.util.List<HighScoreEntry> readLocked() {
+            if (((long) SEQUENCE.getVolatile(region, OFF_SEQUENCE) & 1) != 0) {
+                System.err.println("Tableau des scores partagé interrompu en pleine écriture : réparation");
+            }
+            int count = Math.max(0, Math.min(CAPACITY, region.getInt(OFF_COUNT)));
+            return decode(region, HEADER_BYTES, count);
+        }
+
+        /**
+         * FR: Trie, dédoublonne (même preuve = même partie) et écrit les meilleurs scores.
+         * EN: Sorts, deduplicates (same proof = same match) and writes the best scores.
+         */
+        private void publish(java.util.List<HighScoreEntry> entries) {
+            Collections.sort(entries);
+            java.util.List<HighScoreEntry> kept = new ArrayList<>();
+            java.util.Set<Object> seen = new java.util.HashSet<>();
+            for (HighScoreEntry entry : entries) {
+                if (kept.size() == CAPACITY) break;
+                if (seen.add(entry.getProof() != null ? entry.getProof() : entry)) kept.add(entry);
+            }
+
+            long sequence = (long) SEQUENCE.getVolatile(region, OFF_SEQUENCE) | 1;
+            SEQUENCE.setVolatile(region, OFF_SEQUENCE, sequence);
+            java.lang.invoke.VarHandle.storeStoreFence();
+            for (int i = 0; i < kept.size(); i++) {
+                HighScoreEntry entry = kept.get(i);
+                byte[] name = entry.getPlayerName().getBytes(StandardCharsets.UTF_8);
+                byte[] proof = entry.getProof() == null ? new byte[0] : entry.getProof().getBytes(StandardCharsets.US_ASCII);
+                int at = HEADER_BYTES + i * RECORD_BYTES;
+                region.putLong(at, entry.getScore()).putInt(at + 8, name.length).putInt(at + 12, entry.getProof() == null ? -1 : proof.length);
+                region.put(at + RECORD_HEADER, name).put(at + RECORD_HEADER + name.length, proof);
+            }
+            region.putInt(OFF_COUNT, kept.size());
+            SEQUENCE.setRelease(region, OFF_SEQUENCE, sequence + 1);
+            region.force();
+        }
+
+        private static java.util.List<HighScoreEntry> decode(java.nio.ByteBuffer records, int base, int count) {
+            java.util.List<HighScoreEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int at = base + i * RECORD_BYTES;
+                int nameLength = records.getInt(at + 8);
+                int proofLength = records.getInt(at + 12);
+                if (nameLength < 0 || proofLength < -1 || RECORD_HEADER + nameLength + Math.max(proofLength, 0) > RECORD_BYTES) continue;
+                byte[] name = new byte[nameLength];
+                records.get(at + RECORD_HEADER, name);
+                String proof = null;
+                if (proofLength >= 0) {
+                    byte[] proofBytes = new byte[proofLength];
+                    records.get(at + RECORD_HEADER + nameLength, proofBytes);
+                    proof = new String(proofBytes, StandardCharsets.US_ASCII);
+                }
+                entries.add(new HighScoreEntry(new String(name, StandardCharsets.UTF_8), records.getLong(at), proof));
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * FR: Fusionne les tableaux des scores de nombreuses bornes en un classement global (mode
+     *     --merge-leaderboards). Chaque fichier JSON est lu en flux, trié par blocs bornés et
+     *     stocké en « série » binaire dans un cache, avec sa taille et sa date : une nouvelle fusion
+     *     ne relit que les fichiers modifiés. Les séries sont ensuite fusionnées par un tas (fusion
+     *     à k voies) directement vers la sortie, en supprimant les doublons (même pseudo et même
+     *     score, selon HighScoreEntry.equals). Rien n'est chargé en entier en mémoire.
+     * EN: Merges the high score tables of many cabinets into one global ranking (--merge-leaderboards
+     *     mode). Each JSON file is streamed, sorted in bounded chunks and stored as a binary "run"
+     *     in a cache, with its size and date: a new merge only re-reads the files that changed.
+     *     The runs are then merged through a heap (k-way merge) straight to the output, dropping
+     *     duplicates (same name and same score, as per HighScoreEntry.equals). Nothing is fully
+     *     loaded into memory.
+     */
+    private static final class LeaderboardMerger {
+        private static final String DEFAULT_CACHE = "leaderboard_merge";
+        private static final String MANIFEST = "manifest.txt";
+        private static final int RUN_MAGIC = 0x42524E31; // "BRN1"
+        // FR: Entrées triées en mémoire à la fois par fichier, et séries ouvertes à la fois par fusion.
+        // EN: Entries sorted in memory at once per file, and runs open at once per merge.
+        private static final int SORT_CHUNK = 1 << 16;
+        private static final int MAX_FAN_IN = 128;
+        private static final int BUFFER_BYTES = 1 << 15;
+
+        // FR: Ordre du classement ; à score égal, par pseudo, pour que les doublons soient voisins, et
+        //     l'entrée prouvée en tête : c'est elle que garde le dédoublonnage.
+        // EN: Ranking order; for equal scores, by name, so that duplicates are adjacent, with the
+        //     proven entry first: it is the one deduplication keeps.
+        static final java.util.Comparator<HighScoreEntry> ORDER =
+                java.util.Comparator.<HighScoreEntry>naturalOrder().thenComparing(HighScoreEntry::getPlayerName)
+                        .thenComparing(entry -> entry.getProof() == null);
+
+        /**
+         * FR: Flux d'entrées dans l'ordre du classement ; null à la fin.
+         * EN: Stream of entries in ranking order; null at the end.
+         */
+        interface EntrySource extends Closeable {
+            HighScoreEntry next() throws IOException;
+        }
+
+        interface EntrySink {
+            void accept(HighScoreEntry entry) throws IOException;
+        }
+
+        /**
+         * FR: Bilan d'une fusion. / EN: Outcome of a merge.
+         */
+        static final class Result {
+            int files;
+            int reparsed;
+            int skipped;
+            long entriesRead;
+            long written;
+        }
+
+        // FR: Série en cache d'un fichier d'entrée, valable tant que taille et date sont inchangées.
+        // EN: Cached run of an input file, valid as long as size and date are unchanged.
+        private static final class CachedRun {
+            final String run;
+            final long size;
+            final long modified;
+            final long entries;
+
+            CachedRun(String run, long size, long modified, long entries) {
+                this.run = run;
+                this.size = size;
+                this.modified = modified;
+                this.entries = entries;
+            }
+        }
+
+        /**
+         * FR: Point d'entrée : --merge-leaderboards <sortie.json> <fichier|dossier>... [--top N] [--cache dossier].
+         * EN: Entry point: --merge-leaderboards <output.json> <file|directory>... [--top N] [--cache directory].
+         */
+        static void run(String[] args) {
+            java.util.List<java.nio.file.Path> inputs = new ArrayList<>();
+            java.nio.file.Path cache = Paths.get(DEFAULT_CACHE);
+            long top = Long.MAX_VALUE;
+            try {
+                for (int i = 2; i < args.length; i++) {
+                    if (args[i].equals("--top")) {
+                        top = Long.parseLong(args[++i]);
+                    } else if (args[i].equals("--cache")) {
+                        cache = Paths.get(args[++i]);
+                    } else {
+                        inputs.add(Paths.get(args[i]));
+                    }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                inputs.clear();
+            }
+            if (args.length < 3 || inputs.isEmpty()) {
+                System.err.println("Usage : --merge-leaderboards <sortie.json> <fichier|dossier>... [--top N] [--cache dossier]");
+                System.exit(2);
+                return;
+            }
+            java.nio.file.Path output = Paths.get(args[1]);
+            long start = System.nanoTime();
+            try {
+                Result result = merge(inputs, output, cache, top);
+                System.out.printf("%d fichiers (%d relus, %d en cache, %d ignorés), %d entrées lues, %d scores écrits dans %s en %.2f s%n",
+                        result.files, result.reparsed - result.skipped, result.files - result.reparsed, result.skipped,
+                        result.entriesRead, result.written, output, (System.nanoTime() - start) / 1e9);
+                if (result.skipped > 0) System.exit(1);
+            } catch (IOException e) {
+                System.err.println("Fusion impossible : " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        /**
+         * FR: Fusionne les fichiers (les dossiers sont parcourus à la recherche de *.json) et écrit
+         *     les `top` meilleurs scores uniques dans `output`. Seuls les fichiers modifiés depuis
+         *     la fusion précédente avec le même cache sont relus ; les fichiers illisibles sont
+         *     signalés et ignorés.
+         * EN: Merges the files (directories are walked for *.json) and writes the `top` best unique
+         *     scores to `output`. Only files changed since the previous merge with the same cache
+         *     are re-read; unreadable files are reported and skipped.
+         */
+        static Result merge(java.util.List<java.nio.file.Path> inputs, java.nio.file.Path output,
+                            java.nio.file.Path cache, long top) throws IOException {
+            java.util.List<java.nio.file.Path> files = expand(inputs, output);
+            Files.createDirectories(cache);
+            java.util.Map<String, CachedRun> previous = readManifest(cache);
+            java.util.Map<String, CachedRun> current = new java.util.TreeMap<>();
+            java.util.List<java.nio.file.Path> changed = new ArrayList<>();
+            long nextId = 0;
+            for (CachedRun cached : previous.values()) {
+                nextId = Math.max(nextId, Long.parseLong(cached.run.substring(4, cached.run.length() - 4)) + 1);
+            }
+            for (java.nio.file.Path file : files) {
+                String key = file.toString();
+                CachedRun cached = previous.get(key);
+                if (cached != null && cached.size == Files.size(file)
+                        && cached.modified == Files.getLastModifiedTime(file).toMillis()
+                        && Files.exists(cache.resolve(cached.run))) {
+                    current.put(key, cached);
+                } else {
+                    changed.add(file);
+                }
+            }
+
+            Result result = new Result();
+            result.files = files.size();
+            result.reparsed = changed.size();
+            if (!changed.isEmpty()) {
+                java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(
+                        Math.min(changed.size(), Runtime.getRuntime().availableProcessors()), task -> {
+                            Thread thread = new Thread(task, "battleship-merge");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                try {
+                    java.util.List<java.util.concurrent.Future<CachedRun>> runs = new ArrayList<>();
+                    for (java.nio.file.Path file : changed) {
+                        String run = "run-" + (nextId++) + ".bin";
+                        runs.add(pool.submit(() -> sortFile(file, cache, run)));
+                    }
+                    for (int i = 0; i < changed.size(); i++) {
+                        try {
+                            current.put(changed.get(i).toString(), runs.get(i).get());
+                        } catch (java.util.concurrent.ExecutionException e) {
+                            // FR: Un fichier illisible n'empêche pas la fusion ; il sera retenté la prochaine fois.
+                            // EN: An unreadable file does not prevent the merge; it will be retried next time.
+                            if (!(e.getCause() instanceof IOException)) throw new IOException(e.getCause());
+                            System.err.println("Fichier ignoré : " + e.getCause().getMessage());
+                            result.skipped++;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("fusion interrompue", e);
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+            // FR: Le manifeste est écrit avant le nettoyage : une fusion interrompue garde un cache cohérent.
+            // EN: The manifest is written before cleanup: an interrupted merge keeps a consistent cache.
+            writeManifest(cache, current);
+            for (java.util.Map.Entry<String, CachedRun> old : previous.entrySet()) {
+                CachedRun kept = current.get(old.getKey());
+                if (kept == null || !kept.run.equals(old.getValue().run)) Files.deleteIfExists(cache.resolve(old.getValue().run));
+            }
+
+            java.util.List<java.nio.file.Path> runs = new ArrayList<>();
+            for (CachedRun cached : current.values()) {
+                runs.add(cache.resolve(cached.run));
+                result.entriesRead += cached.entries;
+            }
+            java.util.List<java.nio.file.Path> temporary = new ArrayList<>();
+            try {
+                runs = reduceFanIn(runs, cache, temporary);
+                java.nio.file.Path absolute = output.toAbsolutePath();
+                java.nio.file.Path next = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+                try {
+                    try (BufferedWriter writer = Files.newBufferedWriter(next, StandardCharsets.UTF_8)) {
+                        boolean[] first = {true};
+                        writer.write("[\n");
+                        result.written = mergeRuns(runs, entry -> {
+                            if (!first[0]) writer.write(",\n");
+                            first[0] = false;
+                            writeJson(writer, entry);
+                        }, top);
+                        writer.write(first[0] ? "]" : "\n]");
+                    }
+                    Files.move(next, absolute, java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(next);
+                }
+            } finally {
+                for (java.nio.file.Path file : temporary) Files.deleteIfExists(file);
+            }
+            return result;
+        }
+
+        private static java.util.List<java.nio.file.Path> expand(java.util.List<java.nio.file.Path> inputs, java.nio.file.Path output) throws IOException {
+            java.util.TreeSet<java.nio.file.Path> files = new java.util.TreeSet<>();
+            for (java.nio.file.Path input : inputs) {
+                if (Files.isDirectory(input)) {
+                    try (java.util.stream.Stream<java.nio.file.Path> walk = Files.walk(input)) {
+                        walk.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(".json"))
+                            .forEach(p -> files.add(p.toAbsolutePath().normalize()));
+                    }
+                } else {
+                    files.add(input.toAbsolutePath().normalize());
+                }
+            }
+            files.remove(output.toAbsolutePath().normalize()); // FR: Une sortie placée dans un dossier d'entrée. / EN: An output placed in an input directory.
+            return new ArrayList<>(files);
+        }
+
+        /**
+         * FR: Lit un fichier JSON en flux et produit sa série triée et dédoublonnée. Au-delà d'un
+         *     bloc, les blocs triés sont déversés sur disque puis fusionnés.
+         * EN: Streams a JSON file and produces its sorted, deduplicated run. Beyond one chunk,
+         *     sorted chunks are spilled to disk then merged.
+         */
+        private static CachedRun sortFile(java.nio.file.Path file, java.nio.file.Path cache, String run) throws IOException {
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            java.util.List<java.nio.file.Path> spills = new ArrayList<>();
+            java.nio.file.Path target = cache.resolve(run);
+            try (JsonEntryReader reader = new JsonEntryReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                java.util.List<HighScoreEntry> chunk = new ArrayList<>();
+                for (HighScoreEntry entry = reader.next(); entry != null; entry = reader.next()) {
+                    chunk.add(entry);
+                    if (chunk.size() == SORT_CHUNK) {
+                        java.nio.file.Path spill = Files.createTempFile(cache, "spill-", ".bin");
+                        spills.add(spill);
+                        writeRun(spill, chunk);
+                        chunk.clear();
+                    }
+                }
+                long entries;
+                if (spills.isEmpty()) {
+                    entries = writeRun(target, chunk);
+                } else {
+                    if (!chunk.isEmpty()) {
+                        java.nio.file.Path spill = Files.createTempFile(cache, "spill-", ".bin");
+                        spills.add(spill);
+                        writeRun(spill, chunk);
+                    }
+                    try (RunWriter writer = new RunWriter(target)) {
+                        entries = mergeRuns(spills, writer::write, Long.MAX_VALUE);
+                    }
+                }
+                return new CachedRun(run, size, modified, entries);
+            } catch (IOException e) {
+                throw new IOException(file + " : " + e.getMessage(), e);
+            } finally {
+                for (java.nio.file.Path spill : spills) Files.deleteIfExists(spill);
+            }
+        }
+
+        private static long writeRun(java.nio.file.Path path, java.util.List<HighScoreEntry> entries) throws IOException {
+            entries.sort(ORDER);
+            long written = 0;
+            try (RunWriter writer = new RunWriter(path)) {
+                HighScoreEntry last = null;
+                for (HighScoreEntry entry : entries) {
+                    if (entry.equals(last)) continue;
+                    writer.write(entry);
+                    last = entry;
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        /**
+         * FR: Ramène le nombre de séries sous MAX_FAN_IN par passes de fusion intermédiaires,
+         *     pour borner les fichiers ouverts et la mémoire des tampons.
+         * EN: Brings the number of runs under MAX_FAN_IN through intermediate merge passes, to
+         *     bound open files and buffer memory.
+         */
+        private static java.util.List<java.nio.file.Path> reduceFanIn(java.util.List<java.nio.file.Path> runs, java.nio.file.Path cache,
+                                                                      java.util.List<java.nio.file.Path> temporary) throws IOException {
+            while (runs.size() > MAX_FAN_IN) {
+                java.util.List<java.nio.file.Path> next = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                    java.util.List<java.nio.file.Path> group = runs.subList(from, Math.min(runs.size(), from + MAX_FAN_IN));
+                    if (group.size() == 1) {
+                        next.add(group.get(0));
+                        continue;
+                    }
+                    java.nio.file.Path merged = Files.createTempFile(cache, "pass-", ".bin");
+                    temporary.add(merged);
+                    try (RunWriter writer = new RunWriter(merged)) {
+                        mergeRuns(group, writer::write, Long.MAX_VALUE);
+                    }
+                    next.add(merged);
+                }
+                runs = next;
+            }
+            return runs;
+        }
+
+        /**
+         * FR: Fusion à k voies : un tas garde la tête de chaque série ; les doublons, voisins dans
+         *     cet ordre, sont écartés.
+         * EN: K-way merge: a heap holds the head of each run; duplicates, adjacent in this order,
+         *     are dropped.
+         * @return FR: Le nombre d'entrées transmises. / EN: The number of entries passed on.
+         */
+        static long mergeRuns(java.util.List<java.nio.file.Path> runs, EntrySink sink, long limit) throws IOException {
+            java.util.List<EntrySource> sources = new ArrayList<>();
+            try {
+                for (java.nio.file.Path run : runs) sources.add(new RunReader(run));
+                return merge(sources, sink, limit);
+            } finally {
+                for (EntrySource source : sources) source.close();
+            }
+        }
+
+        static long merge(java.util.List<EntrySource> sources, EntrySink sink, long limit) throws IOException {
+            java.util.PriorityQueue<Cursor> heap = new java.util.PriorityQueue<>(Math.max(1, sources.size()),
+                    (a, b) -> ORDER.compare(a.head, b.head));
+            for (EntrySource source : sources) {
+                Cursor cursor = new Cursor(source);
+                if (cursor.advance()) heap.add(cursor);
+            }
+            long written = 0;
+            HighScoreEntry last = null;
+            while (!heap.isEmpty() && written < limit) {
+                Cursor cursor = heap.poll();
+                if (!cursor.head.equals(last)) {
+                    sink.accept(cursor.head);
+                    last = cursor.head;
+                    written++;
+                }
+                if (cursor.advance()) heap.add(cursor);
+            }
+            return written;
+        }
+
+        private static final class Cursor {
+            final EntrySource source;
+            HighScoreEntry head;
+
+            Cursor(EntrySource source) {
+                this.source = source;
+            }
+
+            boolean advance() throws IOException {
+                head = source.next();
+                return head != null;
+            }
+        }
+
+        private static void writeJson(Writer writer, HighScoreEntry entry) throws IOException {
+            // FR: Même présentation que HighScoreManager.saveHighScores. / EN: Same layout as HighScoreManager.saveHighScores.
+            writer.write("  {\n    \"playerName\": \"");
+            writeJsonString(writer, entry.getPlayerName());
+            writer.write("\",\n    \"score\": ");
+            writer.write(Long.toString(entry.getScore()));
+            if (entry.getProof() != null) {
+                writer.write(",\n    \"proof\": \"");
+                writeJsonString(writer, entry.getProof());
+                writer.write('"');
+            }
+            writer.write("\n  }");
+        }
+
+        /**
+         * FR: Écrit le contenu d'une chaîne JSON : guillemets, barres obliques inverses et caractères
+         *     de contrôle sont échappés (les fichiers fusionnés viennent d'autres bornes).
+         * EN: Writes the contents of a JSON string: quotes, backslashes and control characters are
+         *     escaped (merged files come from other kiosks).
+         */
+        private static void writeJsonString(Writer writer, String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"': writer.write("\\\""); break;
+                    case '\\': writer.write("\\\\"); break;
+                    case '\n': writer.write("\\n"); break;
+                    case '\r': writer.write("\\r"); break;
+                    case '\t': writer.write("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            writer.write(String.format(java.util.Locale.ROOT, "\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                        break;
+                }
+            }
+        }
+
+        private static java.util.Map<String, CachedRun> readManifest(java.nio.file.Path cache) throws IOException {
+            java.util.Map<String, CachedRun> runs = new java.util.HashMap<>();
+            java.nio.file.Path manifest = cache.resolve(MANIFEST);
+            if (!Files.exists(manifest)) return runs;
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", 5);
+                if (fields.length < 5 || !fields[0].matches("run-\\d+\\.bin")) continue;
+                try {
+                    runs.put(fields[4], new CachedRun(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+                } catch (NumberFormatException e) {
+                    // FR: Ligne abîmée : le fichier sera simplement relu. / EN: Damaged line: the file will simply be re-read.
+                }
+            }
+            return runs;
+        }
+
+        private static void writeManifest(java.nio.file.Path cache, java.util.Map<String, CachedRun> runs) throws IOException {
+            StringBuilder out = new StringBuilder();
+            for (java.util.Map.Entry<String, CachedRun> entry : runs.entrySet()) {
+                CachedRun run = entry.getValue();
+                out.append(run.run).append('\t').append(run.size).append('\t').append(run.modified).append('\t')
+                   .append(run.entries).append('\t').append(entry.getKey()).append('\n');
+            }
+            java.nio.file.Path next = Files.createTempFile(cache, MANIFEST, ".tmp");
+            try {
+                Files.writeString(next, out, StandardCharsets.UTF_8);
+                Files.move(next, cache.resolve(MANIFEST), java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(next);
+            }
+        }
+
+        /**
+         * FR: Série binaire : en-tête magique, puis par entrée un octet 1, le score, le pseudo et la
+         *     preuve (UTF modifié, preuve vide = absente) ; un octet 0 termine la série.
+         * EN: Binary run: magic header, then per entry a 1 byte, the score, the name and the proof
+         *     (modified UTF, empty proof = missing); a 0 byte ends the run.
+         */
+        private static final class RunWriter implements Closeable {
+            private final DataOutputStream out;
+
+            RunWriter(java.nio.file.Path path) throws IOException {
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_BYTES));
+                out.writeInt(RUN_MAGIC);
+            }
+
+            void write(HighScoreEntry entry) throws IOException {
+                out.writeByte(1);
+                out.writeLong(entry.getScore());
+                out.writeUTF(entry.getPlayerName());
+                out.writeUTF(entry.getProof() == null ? "" : entry.getProof());
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    out.writeByte(0);
+                } finally {
+                    out.close();
+                }
+            }
+        }
+
+        private static final class RunReader implements EntrySource {
+            private final DataInputStream in;
+
+            RunReader(java.nio.file.Path path) throws IOException {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_BYTES));
+                if (in.readInt() != RUN_MAGIC) {
+                    in.close();
+                    throw new IOException(path + " n'est pas une série de scores");
+                }
+            }
+
+            @Override
+            public HighScoreEntry next() throws IOException {
+                if (in.readByte() == 0) return null;
+                long score = in.readLong();
+                String name = in.readUTF();
+                String proof = in.readUTF();
+                return new HighScoreEntry(name, score, proof.isEmpty() ? null : proof);
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        }
+
+        /**
+         * FR: Lecteur JSON en flux pour le format des tableaux des scores : un tableau d'objets
+         *     dont seuls playerName, score et proof sont retenus (les autres clés sont ignorées).
+         * EN: Streaming JSON reader for the high score format: an array of objects of which only
+         *     playerName, score and proof are kept (other keys are ignored).
+         */
+        static final class JsonEntryReader implements Closeable {
+            private final Reader in;
+            private int peeked = -2;
+            private boolean started;
+            private long offset;
+
+            JsonEntryReader(Reader in) {
+                this.in = in;
+            }
+
+            HighScoreEntry next() throws IOException {
+                if (!started) {
+                    started = true;
+                    if (skipSpace() == -1) return null; // FR: Fichier vide. / EN: Empty file.
+                    expect('[');
+                }
+                while (true) {
+                    int c = skipSpace();
+                    if (c == ']' || c == -1) {
+                        if (c == -1) throw error("fin de fichier inattendue");
+                        return null;
+                    }
+                    if (c == ',') {
+                        read();
+                        continue;
+                    }
+                    expect('{');
+                    String name = null;
+                    String proof = null;
+                    long score = -1;
+                    while (skipSpace() != '}') {
+                        if (peek() == ',') {
+                            read();
+                            continue;
+                        }
+                        String key = readString();
+                        skipSpace();
+                        expect(':');
+                        skipSpace();
+                        if (key.equals("playerName") && peek() == '"') {
+                            name = readString();
+                        } else if (key.equals("proof") && peek() == '"') {
+                            proof = readString();
+                        } else if (key.equals("score") && peek() >= '0' && peek() <= '9') {
+                            score = readNumber();
+                        } else {
+                            skipValue();
+                        }
+                    }
+                    read();
+                    if (name != null && score >= 0) return new HighScoreEntry(name, score, proof);
+                }
+            }
+
+            private long readNumber() throws IOException {
+                long value = 0;
+                while (peek() >= '0' && peek() <= '9') {
+                    value = Math.addExact(Math.multiplyExact(value, 10), read() - '0');
+                }
+                return value;
+            }
+
+            private String readString() throws IOException {
+                expect('"');
+                StringBuilder out = new StringBuilder();
+                while (true) {
+                    int c = read();
+                    if (c == -1) throw error("chaîne non terminée");
+                    if (c == '"') return out.toString();
+                    if (c != '\\') {
+                        out.append((char) c);
+                        continue;
+                    }
+                    int escaped = read();
+                    switch (escaped) {
+                        case 'n': out.append('\n'); break;
+                        case 't': out.append('\t'); break;
+                        case 'r': out.append('\r'); break;
+                        case 'b': out.append('\b'); break;
+                        case 'f': out.append('\f'); break;
+                        case 'u': {
+                            int code = 0;
+                            for (int i = 0; i < 4; i++) code = code * 16 + Character.digit(read(), 16);
+                            if (code < 0) throw error("échappement \\u invalide");
+                            out.append((char) code);
+                            break;
+                        }
+                        case -1: throw error("chaîne non terminée");
+                        default: out.append((char) escaped); break;
+                    }
+                }
+            }
+
+            /**
+             * FR: Saute une valeur quelconque (chaîne, nombre, littéral, objet ou tableau imbriqué).
+             * EN: Skips any value (string, number, literal, nested object or array).
+             */
+            private void skipValue() throws IOException {
+                int depth = 0;
+                do {
+                    int c = skipSpace();
+                    if (c == -1) throw error("fin de fichier inattendue");
+                    if (c == '"') {
+                        readString();
+                    } else if (c == '{' || c == '[') {
+                        read();
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        if (depth == 0) throw error("valeur attendue");
+                        read();
+                        depth--;
+                    } else if (c == ',' || c == ':') {
+                        if (depth == 0) throw error("valeur attendue");
+                        read();
+                    } else {
+                        while (peek() != -1 && peek() != ',' && peek() != '}' && peek() != ']' && !Character.isWhitespace(peek())) read();
+                    }
+                } while (depth > 0);
+            }
+
+            private int skipSpace() throws IOException {
+                while (peek() != -1 && Character.isWhitespace(peek())) read();
+                return peek();
+            }
+
+            private void expect(char wanted) throws IOException {
+                if (read() != wanted) throw error("'" + wanted + "' attendu");
+            }
+
+            private int peek() throws IOException {
+                if (peeked == -2) peeked = in.read();
+                return peeked;
+            }
+
+            private int read() throws IOException {
+                int c = peek();
+                peeked = -2;
+                if (c != -1) offset++;
+                return c;
+            }
+
+            private IOException error(String message) {
+                return new IOException("JSON invalide au caractère " + offset + " : " + message);
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * FR: Journal compact d'une partie : graine, règles, actions du joueur et flottes de
+     *     l'ordinateur, dans l'ordre. Chaque entrée est un octet d'en-tête (bit 6 : flotte du
+     *     joueur, bit 7 : flotte de l'ordinateur, aucun : tirs ; bits 0-5 : nombre de cases) suivi
+     *     d'un octet par case (x * taille + y, bit 7 : navire horizontal). Le journal peut
+     *     s'ouvrir sur les habitudes de tir du joueur (en-tête HEAT puis un octet par case), dont
+     *     dépend la flotte de l'ordinateur. Avec la graine, il suffit à rejouer la partie à
+     *     l'identique, IA et flottes ennemies comprises.
+     * EN: Compact match log: seed, rules, player actions and computer fleets, in order. Each
+     *     entry is a header byte (bit 6: player fleet, bit 7: computer fleet, neither: shots;
+     *     bits 0-5: cell count) followed by one byte per cell (x * size + y, bit 7: horizontal
+     *     ship). The log may open with the player's targeting habits (HEAT header then one byte
+     *     per cell), which the computer's fleet depends on. With the seed, it is enough to replay
+     *     the match identically, AI and enemy fleets included.
+     */
+    private static final class GameRecord {
+        static final int PLAYER_FLEET = 0x40;
+        static final int COMPUTER_FLEET = 0x80;
+        static final int HEAT = PLAYER_FLEET | COMPUTER_FLEET;
+        static final int HEAT_BYTES = Theme.BOARD_SIZE * Theme.BOARD_SIZE;
+        static final int COUNT_MASK = 0x3F;
+        static final int HORIZONTAL = 0x80;
+        static final int CELL_MASK = 0x7F;
+
+        private final long seed;
+        private final RuleSet rules;
+        private final byte[] actions;
+
+        GameRecord(long seed, RuleSet rules, byte[] actions) {
+            this.seed = seed;
+            this.rules = rules;
+            this.actions = actions;
+        }
+
+        /** FR: Index d'une case (tient sur 7 bits pour une grille 10x10). / EN: Cell index (fits in 7 bits for a 10x10 grid). */
+        static int cell(int x, int y) {
+            return x * Theme.BOARD_SIZE + y;
+        }
+
+        public long getSeed() { return seed; }
+        public RuleSet getRules() { return rules; }
+        public byte[] getActions() { return actions.clone(); }
+    }
+
+    /**
+     * FR: Signe et vérifie les scores. La preuve jointe à un score est le journal de la partie
+     *     ({@link GameRecord}) avec le pseudo et le score, signé en HMAC-SHA256 ; un score n'est
+     *     accepté que si la signature est valide et si la partie, rejouée par un moteur sans
+     *     interface, donne exactement ce score. Les vérifications de masse sont réparties sur un
+     *     moteur par thread.
+     * EN: Signs and verifies scores. The proof attached to a score is the match log
+     *     ({@link GameRecord}) with the name and score, signed with HMAC-SHA256; a score is only
+     *     accepted if the signature is valid and the match, replayed by a headless engine, yields
+     *     exactly that score. Bulk verification is spread over one engine per thread.
+     */
+    private static final class ScoreVerifier {
+        private static final String KEY_FILE = "score_key.bin";
+        // FR: Clé partagée entre bornes (hexadécimal), prioritaire sur le fichier. / EN: Key shared between cabinets (hex), takes precedence over the file.
+        private static final String KEY_ENV = "BATTLESHIP_SCORE_KEY";
+        private static final int PROOF_VERSION = 3;
+        // FR: Les preuves v2 n'ont jamais d'habitudes de tir journalisées. / EN: v2 proofs never have logged targeting habits.
+        private static final int OLDEST_PROOF_VERSION = 2;
+        private static final int MAC_BYTES = 32;
+        private static final int HEADER_BYTES = 1 + 8 + 1 + 8 + 2;
+        // FR: En dessous, la vérification reste sur le thread appelant. / EN: Below this, verification stays on the calling thread.
+        private static final int PARALLEL_THRESHOLD = 64;
+
+        enum Verdict { ACCEPTED, MALFORMED, BAD_SIGNATURE, SCORE_MISMATCH, ILLEGAL_MOVE }
+
+        private final javax.crypto.spec.SecretKeySpec key;
+        private final ThreadLocal<javax.crypto.Mac> macs;
+        private final ThreadLocal<GameEngine> engines = ThreadLocal.withInitial(() -> new GameEngine(0, null));
+        private java.util.concurrent.ExecutorService pool;
+
+        ScoreVerifier(byte[] keyBytes) {
+            this.key = new javax.crypto.spec.SecretKeySpec(keyBytes, "HmacSHA256");
+            this.macs = ThreadLocal.withInitial(() -> {
+                try {
+                    javax.crypto.Mac mac = javax.crypto.Mac.getInstance("HmacSHA256");
+                    mac.init(key);
+                    return mac;
+                } catch (java.security.GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 indisponible", e);
+                }
+            });
+        }
+
+        /**
+         * FR: Clé de la variable d'environnement, sinon du fichier local (créé au premier lancement).
+         *     Sans fichier accessible, une clé éphémère est utilisée : les scores ne survivront pas.
+         * EN: Key from the environment variable, else from the local file (created on first launch).
+         *     Without an accessible file, an ephemeral key is used: scores will not survive.
+         */
+        public static ScoreVerifier openDefault() {
+            String shared = System.getenv(KEY_ENV);
+            if (shared != null && !shared.isEmpty()) {
+                try {
+                    return new ScoreVerifier(java.util.HexFormat.of().parseHex(shared));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(KEY_ENV + " invalide : " + e.getMessage());
+                }
+            }
+            java.nio.file.Path file = Paths.get(KEY_FILE);
+            try {
+                if (Files.exists(file)) return new ScoreVerifier(Files.readAllBytes(file));
+                byte[] fresh = new byte[32];
+                new java.security.SecureRandom().nextBytes(fresh);
+                Files.write(file, fresh);
+                return new ScoreVerifier(fresh);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Clé de signature des scores indisponible : " + e.getMessage());
+                byte[] ephemeral = new byte[32];
+                new java.security.SecureRandom().nextBytes(ephemeral);
+                return new ScoreVerifier(ephemeral);
+            }
+        }
+
+        /**
+         * FR: Produit la preuve (Base64 URL) d'un score obtenu au terme de la partie journalisée.
+         * EN: Produces the proof (URL-safe Base64) of a score reached at the end of the logged match.
+         */
+        public String sign(String playerName, long score, GameRecord record) {
+            byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+            java.nio.ByteBuffer buffer = java.nio.ByteBuffer.allocate(HEADER_BYTES + name.length + record.actions.length + MAC_BYTES);
+            buffer.put((byte) PROOF_VERSION).putLong(record.seed).put((byte) record.rules.ordinal()).putLong(score)
+                    .putShort((short) name.length).put(name).put(record.actions);
+            javax.crypto.Mac mac = macs.get();
+            mac.update(buffer.array(), 0, buffer.position());
+            buffer.put(mac.doFinal());
+            return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        }
+
+        /**
+         * FR: Vérifie un score soumis : signature, correspondance pseudo/score, puis rejeu complet.
+         * EN: Verifies a submitted score: signature, name/score match, then full replay.
+         */
+        public Verdict verify(String playerName, long score, String proof) {
+            if (proof == null) return Verdict.MALFORMED;
+            byte[] bytes;
+            try {
+                bytes = java.util.Base64.getUrlDecoder().decode(proof);
+            } catch (IllegalArgumentException e) {
+                return Verdict.MALFORMED;
+            }
+            if (bytes.length < HEADER_BYTES + MAC_BYTES) return Verdict.MALFORMED;
+            int payload = bytes.length - MAC_BYTES;
+            javax.crypto.Mac mac = macs.get();
+            mac.update(bytes, 0, payload);
+            byte[] expected = mac.doFinal();
+            if (!java.security.MessageDigest.isEqual(expected, java.util.Arrays.copyOfRange(bytes, payload, bytes.length))) {
+                return Verdict.BAD_SIGNATURE;
+            }
+
+            java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(bytes, 0, payload);
+            int version = buffer.get();
+            if (version < OLDEST_PROOF_VERSION || version > PROOF_VERSION) return Verdict.MALFORMED;
+            long seed = buffer.getLong();
+            int rules = buffer.get();
+            long signedScore = buffer.getLong();
+            int nameLength = buffer.getShort() & 0xFFFF;
+            if (rules < 0 || rules >= RuleSet.values().length || nameLength > buffer.remaining()) return Verdict.MALFORMED;
+            String signedName = new String(bytes, buffer.position(), nameLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + nameLength);
+            if (signedScore != score || !signedName.equals(playerName)) return Verdict.SCORE_MISMATCH;
+
+            long replayed = replay(engines.get(), seed, RuleSet.values()[rules], buffer);
+            if (replayed < 0) return Verdict.ILLEGAL_MOVE;
+            return replayed == score ? Verdict.ACCEPTED : Verdict.SCORE_MISMATCH;
+        }
+
+        /**
+         * FR: Vérifie un lot d'entrées en parallèle (un moteur par thread) ; les petits lots restent
+         *     sur le thread appelant.
+         * EN: Verifies a batch of entries in parallel (one engine per thread); small batches stay
+         *     on the calling thread.
+         */
+        public Verdict[] verifyAll(java.util.List<HighScoreEntry> entries) {
+            Verdict[] verdicts = new Verdict[entries.size()];
+            if (entries.size() < PARALLEL_THRESHOLD) {
+                for (int i = 0; i < verdicts.length; i++) verdicts[i] = verify(entries.get(i));
+                return verdicts;
+            }
+            java.util.concurrent.ExecutorService workers = workers();
+            int threads = Runtime.getRuntime().availableProcessors();
+            java.util.concurrent.atomic.AtomicInteger next = new java.util.concurrent.atomic.AtomicInteger();
+            java.util.List<java.util.concurrent.Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < verdicts.length) verdicts[i] = verify(entries.get(i));
+                    return null;
+                });
+            }
+            try {
+                for (java.util.concurrent.Future<Void> done : workers.invokeAll(tasks)) done.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Vérification interrompue", e);
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException("Vérification impossible", e.getCause());
+            }
+            return verdicts;
+        }
+
+        /**
+         * FR: Point d'entrée du mode --verify-scores [fichier] : vérifie un tableau des scores JSON
+         *     (celui du jeu par défaut) et affiche le verdict de chaque entrée rejetée.
+         * EN: Entry point of the --verify-scores [file] mode: verifies a JSON high score table
+         *     (the game's by default) and prints the verdict of each rejected entry.
+         */
+        static void run(String[] args) {
+            String path = args.length > 1 ? args[1] : HighScoreManager.HIGHSCORE_FILE;
+            java.util.List<HighScoreEntry> entries;
+            try {
+                entries = HighScoreManager.parseEntries(Files.readString(Paths.get(path), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("Tableau des scores illisible : " + e.getMessage());
+                System.exit(2);
+                return;
+            }
+            ScoreVerifier verifier = openDefault();
+            long start = System.nanoTime();
+            Verdict[] verdicts = verifier.verifyAll(entries);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int accepted = 0;
+            for (int i = 0; i < verdicts.length; i++) {
+                if (verdicts[i] == Verdict.ACCEPTED) {
+                    accepted++;
+                } else {
+                    System.out.println(verdicts[i] + " " + entries.get(i).getPlayerName() + " " + entries.get(i).getScore());
+                }
+            }
+            System.out.printf("%d/%d scores acceptés en %.2f s (%.0f vérifications/s)%n",
+                    accepted, verdicts.length, seconds, verdicts.length / Math.max(seconds, 1e-9));
+            if (accepted != verdicts.length) System.exit(1);
+        }
+
+        private Verdict verify(HighScoreEntry entry) {
+            return verify(entry.getPlayerName(), entry.getScore(), entry.getProof());
+        }
+
+        private synchronized java.util.concurrent.ExecutorService workers() {
+            if (pool == null) {
+                pool = java.util.concurrent.Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                    Thread thread = new Thread(task, "battleship-verify");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return pool;
+        }
+
+        /**
+         * FR: Rejoue strictement les actions sur le moteur : toute action que l'interface n'aurait
+         *     pas pu produire invalide la partie, de même qu'une flotte ennemie journalisée qui
+         *     diffère de celle que le moteur tire (graine et habitudes de tir journalisées).
+         * EN: Strictly replays the actions on the engine: any action the UI could not have
+         *     produced invalidates the match, as does a logged enemy fleet that differs from the
+         *     one the engine draws (seed and logged targeting habits).
+         * @return FR: Le score final, ou -1 si une action est illégale. / EN: The final score, or -1 if an action is illegal.
+         */
+        private static long replay(GameEngine engine, long seed, RuleSet rules, java.nio.ByteBuffer actions) {
+            int[] xs = new int[GameRecord.COUNT_MASK];
+            int[] ys = new int[GameRecord.COUNT_MASK];
+            boolean[] horizontal = new boolean[GameRecord.COUNT_MASK];
+            long failedBefore = engine.failedCommands;
+            byte[] heat = null;
+            if (actions.hasRemaining() && (actions.get(actions.position()) & 0xFF) == GameRecord.HEAT) {
+                if (actions.remaining() < 1 + GameRecord.HEAT_BYTES) return -1;
+                actions.get();
+                heat = new byte[GameRecord.HEAT_BYTES];
+                actions.get(heat);
+            }
+            engine.setOpponentHeat(heat);
+            engine.initGame(rules, seed);
+            engine.runPending();
+            while (actions.hasRemaining()) {
+                int header = actions.get() & 0xFF;
+                int count = readCells(actions, header, xs, ys, horizontal);
+                if (count < 0) return -1;
+                int kind = header & ~GameRecord.COUNT_MASK;
+                if (kind == GameRecord.PLAYER_FLEET) {
+                    if (engine.currentState != GameState.SHIP_PLACEMENT || !actions.hasRemaining()) return -1;
+                    java.util.List<Ship> fleet = placedFleet(engine.currentLevel, count, xs, ys, horizontal);
+                    // FR: La flotte de l'ordinateur suit toujours celle du joueur. / EN: The computer's fleet always follows the player's.
+                    int enemyHeader = actions.get() & 0xFF;
+                    int enemyCount = readCells(actions, enemyHeader, xs, ys, horizontal);
+                    if ((enemyHeader & ~GameRecord.COUNT_MASK) != GameRecord.COMPUTER_FLEET || enemyCount < 0) return -1;
+                    java.util.List<Ship> enemyFleet = placedFleet(engine.currentLevel, enemyCount, xs, ys, horizontal);
+                    if (fleet == null || enemyFleet == null) return -1;
+                    engine.submitPlayerFleet(fleet);
+                    engine.setCurrentState(GameState.PLAYING);
+                    engine.runPending();
+                    if (engine.playerBoard.ships.size() != count || engine.failedCommands != failedBefore) return -1;
+                    if (!samePlacement(engine.computerBoard.ships, enemyFleet)) return -1;
+                } else if (kind == 0) {
+                    if (engine.currentState != GameState.PLAYING || engine.isComputerTurn) return -1;
+                    for (int i = 0; i < count; i++) {
+                        if (horizontal[i]) return -1;
+                    }
+                    if (rules == RuleSet.SALVO) {
+                        if (count != engine.playerSalvoShots()) return -1;
+                        engine.playerFireSalvo(xs, ys, count);
+                    } else {
+                        if (count != 1 || engine.computerBoard.isShot(xs[0], ys[0])) return -1;
+                        engine.playerMakeMove(xs[0], ys[0]);
+                    }
+                    engine.runPending();
+                } else {
+                    return -1;
+                }
+            }
+            return engine.failedCommands == failedBefore ? engine.playerScore : -1;
+        }
+
+        /**
+         * FR: Lit les cases d'une entrée du journal ; -1 si elle est tronquée ou hors grille.
+         * EN: Reads the cells of a log entry; -1 if it is truncated or off the grid.
+         */
+        private static int readCells(java.nio.ByteBuffer actions, int header, int[] xs, int[] ys, boolean[] horizontal) {
+            int size = Theme.BOARD_SIZE;
+            int count = header & GameRecord.COUNT_MASK;
+            if (count == 0 || count > actions.remaining()) return -1;
+            for (int i = 0; i < count; i++) {
+                int value = actions.get() & 0xFF;
+                int cell = value & GameRecord.CELL_MASK;
+                if (cell >= size * size) return -1;
+                xs[i] = cell / size;
+                ys[i] = cell % size;
+                horizontal[i] = (value & GameRecord.HORIZONTAL) != 0;
+            }
+            return count;
+        }
+
+        private static boolean samePlacement(java.util.List<Ship> drawn, java.util.List<Ship> logged) {
+            if (drawn.size() != logged.size()) return false;
+            for (int i = 0; i < drawn.size(); i++) {
+                Ship a = drawn.get(i);
+                Ship b = logged.get(i);
+                if (a.startX != b.startX || a.startY != b.startY || a.isHorizontal != b.isHorizontal) return false;
+            }
+            return true;
+        }
+
+        private static java.util.List<Ship> placedFleet(int level, int count, int[] xs, int[] ys, boolean[] horizontal) {
+            java.util.List<Ship> fleet = GameEngine.getShipsForLevel(level);
+            if (fleet.size() != count) return null;
+            for (int i = 0; i < count; i++) fleet.get(i).setPlacement(xs[i], ys[i], horizontal[i]);
+            return fleet;
+        }
+    }
+
+    /**
+     * FR: Compteurs agrégés de tirs et de placements, par règles, niveau et case, stockés dans un
+     *     fichier projeté en mémoire. Les incréments sont atomiques et sans verrou (VarHandle sur
+     *     la projection), si bien que plusieurs processus de jeu peuvent écrire simultanément.
+     * EN: Aggregated shot and placement counters, per rule set, level and cell, stored in a
+     *     memory-mapped file. Increments are atomic and lock-free (VarHandle over the mapping),
+     *     so several game processes can write at the same time.
+     */
+    private static final class ShotStatistics {
+        private static final String STATS_FILE = "shot_statistics.dat";
+        private static final int MAGIC = 0x4253484D; // "BSHM"
+        private static final int VERSION = 1;
+        private static final int HEADER_BYTES = 64;
+        public static final int SHIP_CLASSES = 5;
+
+        // FR: Séries de compteurs (le tireur ou le propriétaire est 0 = humain, 1 = IA).
+        // EN: Counter series (shooter or owner is 0 = human, 1 = AI).
+        private static final int SERIES_SHOTS = 0;
+        private static final int SERIES_HITS = 2;
+        private static final int SERIES_PLACEMENTS = 4;
+        private static final int SERIES_COUNT = SERIES_PLACEMENTS + 2 * SHIP_CLASSES;
+
+        private static final java.lang.invoke.VarHandle COUNTERS =
+                java.lang.invoke.MethodHandles.byteBufferViewVarHandle(long[].class, java.nio.ByteOrder.nativeOrder());
+
+        private final java.nio.MappedByteBuffer counters;
+        private final int boardSize;
+        private final int cells;
+        // FR: Contexte de la partie observée (lu et écrit uniquement par le thread de vidage).
+        // EN: Context of the observed game (only read and written by the drain thread).
+        private int currentRules = -1;
+        private int currentLevel;
+
+        private ShotStatistics(java.nio.MappedByteBuffer counters, int boardSize) {
+            this.counters = counters;
+            this.boardSize = boardSize;
+            this.cells = boardSize * boardSize;
+        }
+
+        /**
+         * FR: Ouvre le fichier de statistiques par défaut ; retourne null (et le signale) en cas d'échec.
+         * EN: Opens the default statistics file; returns null (and reports it) on failure.
+         */
+        public static ShotStatistics openDefault() {
+            try {
+                return open(Paths.get(STATS_FILE), Theme.BOARD_SIZE);
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Statistiques de tir désactivées : " + e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * FR: Ouvre (ou crée) un fichier de statistiques. Le verrou de fichier ne sert qu'à
+         *     l'initialisation ; les mises à jour ultérieures n'en prennent aucun.
+         * EN: Opens (or creates) a statistics file. The file lock is only used for
+         *     initialization; later updates take none.
+         */
+        public static ShotStatistics open(java.nio.file.Path path, int boardSize) throws IOException {
+            long bytes = HEADER_BYTES + (long) RuleSet.values().length * Theme.MAX_LEVEL * SERIES_COUNT * boardSize * boardSize * Long.BYTES;
+            try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(path,
+                    java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE)) {
+                java.nio.channels.FileLock lock = channel.lock();
+                try {
+                    java.nio.ByteBuffer header = java.nio.ByteBuffer.allocate(HEADER_BYTES).order(java.nio.ByteOrder.nativeOrder());
+                    if (channel.size() == 0) {
+                        header.putInt(MAGIC).putInt(VERSION).putInt(boardSize).putInt(RuleSet.values().length)
+                              .putInt(Theme.MAX_LEVEL).putInt(SERIES_COUNT).rewind();
+                        channel.write(header, 0);
+                    } else {
+                        channel.read(header, 0);
+                        header.flip();
+                        if (header.remaining() < 24 || header.getInt() != MAGIC || header.getInt() != VERSION
+                                || header.getInt() != boardSize || header.getInt() != RuleSet.values().length
+                                || header.getInt() != Theme.MAX_LEVEL || header.getInt() != SERIES_COUNT) {
+                            throw new IllegalStateException(path + " a un format incompatible");
+                        }
+                    }
+                    // FR: La projection reste valide après la fermeture du canal. / EN: The mapping stays valid after the channel is closed.
+                    return new ShotStatistics(channel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0, bytes), boardSize);
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+
+        /**
+         * FR: Abonne les statistiques au bus d'un moteur ; le vidage se fait sur un thread dédié.
+         * EN: Subscribes the statistics to an engine's bus; draining happens on a dedicated thread.
+         */
+        public void attach(GameEventBus bus) {
+            java.util.concurrent.ExecutorService drainer = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "battleship-stats");
+                thread.setDaemon(true);
+                return thread;
+            });
+            GameEventBus.Subscription[] subscription = new GameEventBus.Subscription[1];
+            // FR: Abonné bloquant : un tir sauté fausserait les cartes. Le traitement (incréments sans
+            //     verrou dans la projection) est assez court pour ne pas retenir le moteur.
+            // EN: Blocking subscriber: a skipped shot would skew the maps. Handling (lock-free
+            //     increments in the mapping) is short enough not to hold the engine back.
+            subscription[0] = bus.subscribe(this::record, GameEventBus.BackPressure.BLOCK_PUBLISHER,
+                    () -> drainer.execute(() -> subscription[0].poll(1024)));
+        }
+
+        private void record(GameEventBus.GameEvent event) {
+            switch (event.getType()) {
+                case MATCH_STARTED:
+                    currentRules = (int) event.getValue();
+                    currentLevel = 1;
+                    break;
+                case LEVEL_UP:
+                    currentLevel = (int) event.getValue();
+                    break;
+                case SHOT_FIRED: {
+                    if (currentRules < 0 || currentLevel < 1 || currentLevel > Theme.MAX_LEVEL) return;
+                    // FR: Un tir d'entraînement peut être annulé : il n'est pas compté. / EN: A training shot may be undone: it is not counted.
+                    if (event.hasFlag(GameEventBus.GameEvent.TRAINING)) return;
+                    int shooter = event.isByPlayer() ? 0 : 1;
+                    int cell = event.getX() * boardSize + event.getY();
+                    increment(offset(currentRules, currentLevel, SERIES_SHOTS + shooter, cell));
+                    if (event.getValue() == 1) increment(offset(currentRules, currentLevel, SERIES_HITS + shooter, cell));
+                    break;
+                }
+                case SHIP_PLACED: {
+                    if (currentRules < 0 || currentLevel < 1 || currentLevel > Theme.MAX_LEVEL) return;
+                    int shipClass = (int) (event.getValue() & 0xFF);
+                    boolean horizontal = ((event.getValue() >> 8) & 1) == 1;
+                    int size = (int) (event.getValue() >> 16);
+                    if (shipClass >= SHIP_CLASSES) return;
+                    int series = SERIES_PLACEMENTS + (event.isByPlayer() ? 0 : SHIP_CLASSES) + shipClass;
+                    for (int i = 0; i < size; i++) {
+                        int x = horizontal ? event.getX() + i : event.getX();
+                        int y = horizontal ? event.getY() : event.getY() + i;
+                        if (x < boardSize && y < boardSize) increment(offset(currentRules, currentLevel, series, x * boardSize + y));
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+
+        private long offset(int rules, int level, int series, int cell) {
+            return HEADER_BYTES + ((((long) rules * Theme.MAX_LEVEL + (level - 1)) * SERIES_COUNT + series) * cells + cell) * Long.BYTES;
+        }
+
+        private void increment(long offset) {
+            COUNTERS.getAndAdd(counters, (int) offset, 1L);
+        }
+
+        /**
+         * FR: Somme d'une série par case, pour un niveau (0 = tous les niveaux).
+         * EN: Per-cell sum of a series, for one level (0 = all levels).
+         */
+        private long[] series(RuleSet rules, int level, int series) {
+            long[] result = new long[cells];
+            int from = level == 0 ? 1 : level;
+            int to = level == 0 ? Theme.MAX_LEVEL : level;
+            for (int l = from; l <= to; l++) {
+                for (int cell = 0; cell < cells; cell++) {
+                    result[cell] += (long) COUNTERS.getOpaque(counters, (int) offset(rules.ordinal(), l, series, cell));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * FR: Nombre de tirs par case (index x * taille + y).
+         * EN: Number of shots per cell (index x * size + y).
+         */
+        public long[] shotCounts(RuleSet rules, int level, boolean human) {
+            return series(rules, level, SERIES_SHOTS + (human ? 0 : 1));
+        }
+
+        /**
+         * FR: Fréquence d'occupation de chaque case par une classe de navire, ex. "où les humains
+         *     placent-ils le porte-avions au niveau 3".
+         * EN: How often each cell is occupied by a ship class, e.g. "where do humans place the
+         *     carrier at level 3".
+         */
+        public long[] placementCounts(RuleSet rules, int level, int shipClass, boolean human) {
+            return series(rules, level, SERIES_PLACEMENTS + (human ? 0 : SHIP_CLASSES) + shipClass);
+        }
+
+        /**
+         * FR: Probabilité de toucher par case pour un tireur (0 si la case n'a jamais été visée).
+         * EN: Per-cell hit probability for a shooter (0 if the cell was never targeted).
+         */
+        public double[] hitProbability(RuleSet rules, int level, boolean human) {
+            long[] shots = shotCounts(rules, level, human);
+            long[] hits = series(rules, level, SERIES_HITS + (human ? 0 : 1));
+            double[] probability = new double[cells];
+            for (int cell = 0; cell < cells; cell++) {
+                probability[cell] = shots[cell] == 0 ? 0 : (double) hits[cell] / shots[cell];
+            }
+            return probability;
+        }
+
+        public int getBoardSize() { return boardSize; }
+    }
+
+    /**
+     * FR: Magasin de profils joueurs : une table de hachage à adressage ouvert dont les cases sont
+     *     des enregistrements de taille fixe dans un fichier projeté en mémoire. Recherche et mise
+     *     à jour en O(1), écrites sur place ; le fichier n'est réécrit que lorsqu'il faut l'agrandir.
+     *     Depuis la version 2, chaque profil garde aussi la carte des habitudes de tir du joueur
+     *     (un octet par case), apprise partie après partie.
+     * EN: Player profile store: an open-addressing hash table whose slots are fixed-size records
+     *     in a memory-mapped file. O(1) lookup and update, written in place; the file is only
+     *     rewritten when it must grow. Since version 2, each profile also keeps the map of the
+     *     player's targeting habits (one byte per cell), learned game after game.
+     */
+    private static final class PlayerProfileStore {
+        private static final String PROFILE_FILE = "player_profiles.dat";
+        private static final int MAGIC = 0x42505246; // "BPRF"
+        private static final int VERSION = 2;
+        private static final int HEADER_BYTES = 64;
+        private static final int RECORD_BYTES = 256;
+        private static final int V1_RECORD_BYTES = 128;
+        private static final int HEAT_CELLS = Theme.BOARD_SIZE * Theme.BOARD_SIZE;
+        private static final int MAX_NAME_BYTES = 48;
+        private static final int INITIAL_CAPACITY = 1024;
+        // FR: En-tête : magic, version, capacité (@8), profils (@12), fichier remplacé (@16).
+        // EN: Header: magic, version, capacity (@8), profiles (@12), file replaced (@16).
+        private static final int OFF_RETIRED = 16;
+
+        // FR: Disposition d'un enregistrement. / EN: Record layout.
+        private static final int OFF_USED = 0;
+        private static final int OFF_HASH = 4;
+        private static final int OFF_NAME_LENGTH = 8;
+        private static final int OFF_NAME = 12;
+        private static final int OFF_GAMES = 64;
+        private static final int OFF_WINS = 72;
+        private static final int OFF_BEST_LEVEL = 80;
+        private static final int OFF_TOTAL_SHOTS = 88;
+        private static final int OFF_TOTAL_HITS = 96;
+        private static final int OFF_BEST_SCORE = 104;
+        private static final int OFF_HEAT = 128; // FR: HEAT_CELLS octets. / EN: HEAT_CELLS bytes.
+
+        /**
+         * FR: Vue immuable d'un profil.
+         * EN: Immutable view of a profile.
+         */
+        public static final class Profile {
+            private final String name;
+            private final long games;
+            private final long wins;
+            private final int bestLevel;
+            private final long totalShots;
+            private final long totalHits;
+            private final long bestScore;
+
+            Profile(String name, long games, long wins, int bestLevel, long totalShots, long totalHits, long bestScore) {
+                this.name = name;
+                this.games = games;
+                this.wins = wins;
+                this.bestLevel = bestLevel;
+                this.totalShots = totalShots;
+                this.totalHits = totalHits;
+                this.bestScore = bestScore;
+            }
+
+            public String getName() { return name; }
+            public long getGames() { return games; }
+            public long getWins() { return wins; }
+            public int getBestLevel() { return bestLevel; }
+            public long getTotalShots() { return totalShots; }
+            public long getTotalHits() { return totalHits; }
+            public long getBestScore() { return bestScore; }
+            public double getAccuracy() { return totalShots == 0 ? 0 : (double) totalHits / totalShots; }
+        }
+
+        private final java.nio.file.Path path;
+        // FR: Fichier verrou stable : le fichier de profils, lui, est remplacé quand il grandit.
+        // EN: Stable lock file: the profile file itself is replaced when it grows.
+        private final java.nio.channels.FileChannel lockChannel;
+        private java.nio.MappedByteBuffer table;
+        private int capacity;
+        private int count;
+
+        // FR: Partie en cours, suivie depuis le bus (thread de vidage uniquement).
+        // EN: Game in progress, tracked from the bus (drain thread only).
+        private String matchPlayer;
+        private int matchLevel;
+        private long matchShots;
+        private long matchHits;
+        // FR: Tirs "de recherche" (aucun navire touché en cours de chasse) par case.
+        // EN: "Search" shots (no damaged ship being hunted) per cell.
+        private final int[] matchHeat = new int[HEAT_CELLS];
+        private int openHits;
+        // FR: Thread qui prend le verrou et écrit les profils (créé par attach).
+        // EN: Thread that takes the lock and writes the profiles (created by attach).
+        private java.util.concurrent.ExecutorService writer;
+
+        private PlayerProfileStore(java.nio.file.Path path) throws IOException {
+            this.path = path;
+            this.lockChannel = java.nio.channels.FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+                    java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.WRITE);
+            try {
+                java.nio.channels.FileLock lock = lockChannel.lock();
+                try {
+                    if (!Files.exists(path) || Files.size(path) < HEADER_BYTES) {
+                        create(path, INITIAL_CAPACITY);
+                    }
+                    map();
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException | RuntimeException e) {
+                lockChannel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * FR: Exécute une opération sous le verrou inter-processus (plusieurs postes peuvent partager
+         *     le fichier). La projection est d'abord rafraîchie : un autre processus a pu insérer des
+         *     profils, ou agrandir le fichier, ce qui retire l'ancien.
+         * EN: Runs an operation under the cross-process lock (several seats may share the file).
+         *     The mapping is refreshed first: another process may have inserted profiles, or grown
+         *     the file, which retires the old one.
+         */
+        private <T> T locked(java.util.function.Supplier<T> operation) {
+            try {
+                java.nio.channels.FileLock lock = lockChannel.lock();
+                try {
+                    if (table.getInt(OFF_RETIRED) != 0) map();
+                    count = table.getInt(12);
+                    return operation.get();
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException("Accès aux profils impossible", e);
+            }
+        }
+
+        /**
+         * FR: Ouvre le magasin par défaut ; retourne null (et le signale) en cas d'échec.
+         * EN: Opens the default store; returns null (and reports it) on failure.
+         */
+        public static PlayerProfileStore openDefault() {
+            try {
+                return new PlayerProfileStore(Paths.get(PROFILE_FILE));
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Profils joueurs désactivés : " + e.getMessage());
+                return null;
+            }
+        }
+
+        private static void create(java.nio.file.Path file, int capacity) throws IOException {
+            try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file,
+                    java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.TRUNCATE_EXISTING,
+                    java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE)) {
+                java.nio.MappedByteBuffer buffer = channel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_BYTES + (long) capacity * RECORD_BYTES);
+                buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, 0);
+                buffer.force();
+            }
+        }
+
+        private void map() throws IOException {
+            int legacyCapacity = -1;
+            try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(path,
+                    java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE)) {
+                java.nio.MappedByteBuffer header = channel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                if (header.getInt(0) == MAGIC && header.getInt(4) == 1) {
+                    legacyCapacity = header.getInt(8);
+                } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IllegalStateException(path + " n'est pas un fichier de profils valide");
+                } else {
+                    capacity = header.getInt(8);
+                    count = header.getInt(12);
+                    table = channel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * RECORD_BYTES);
+                    return;
+                }
+            }
+            // FR: Fichier de version 1 : conversion, puis nouvelle projection.
+            // EN: Version 1 file: convert, then map again.
+            migrateFromV1(legacyCapacity);
+            map();
+        }
+
+        /**
+         * FR: Convertit un fichier de version 1 : chaque enregistrement garde sa case (même capacité)
+         *     et reçoit une carte de chaleur vide.
+         * EN: Converts a version 1 file: each record keeps its slot (same capacity) and gets an
+         *     empty heat map.
+         */
+        private void migrateFromV1(int oldCapacity) throws IOException {
+            java.nio.file.Path next = path.resolveSibling(path.getFileName() + ".grow");
+            create(next, oldCapacity);
+            try (java.nio.channels.FileChannel source = java.nio.channels.FileChannel.open(path, java.nio.file.StandardOpenOption.READ);
+                 java.nio.channels.FileChannel target = java.nio.channels.FileChannel.open(next,
+                         java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE)) {
+                java.nio.MappedByteBuffer old = source.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, 0,
+                        HEADER_BYTES + (long) oldCapacity * V1_RECORD_BYTES);
+                java.nio.MappedByteBuffer fresh = target.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_BYTES + (long) oldCapacity * RECORD_BYTES);
+                byte[] record = new byte[V1_RECORD_BYTES];
+                for (int slot = 0; slot < oldCapacity; slot++) {
+                    old.get(HEADER_BYTES + slot * V1_RECORD_BYTES, record);
+                    fresh.put((int) recordOffset(slot), record);
+                }
+                fresh.putInt(12, old.getInt(12));
+                fresh.force();
+            }
+            Files.move(next, path, java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        /**
+         * FR: Abonne le magasin au bus d'un moteur : chaque fin de partie met à jour le profil du joueur.
+         * EN: Subscribes the store to an engine's bus: every game over updates the player's profile.
+         */
+        public void attach(GameEventBus bus) {
+            java.util.concurrent.ExecutorService drainer = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "battleship-profiles");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // FR: Un autre poste peut tenir le verrou du fichier : l'attente se fait ici, pas sur le
+            //     thread de vidage qui, en retard, retiendrait le moteur.
+            // EN: Another seat may hold the file lock: the wait happens here, not on the drain
+            //     thread which, once behind, would hold the engine back.
+            writer = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "battleship-profile-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            java.util.concurrent.ExecutorService pending = writer;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                pending.shutdown();
+                try {
+                    pending.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "battleship-profile-flush"));
+            GameEventBus.Subscription[] subscription = new GameEventBus.Subscription[1];
+            // FR: Abonné bloquant : un profil ne doit perdre aucun tir (vidé hors du thread du moteur).
+            // EN: Blocking subscriber: a profile must not lose any shot (drained off the engine thread).
+            subscription[0] = bus.subscribe(this::onEvent, GameEventBus.BackPressure.BLOCK_PUBLISHER,
+                    () -> drainer.execute(() -> subscription[0].poll(1024)));
+        }
+
+        private void onEvent(GameEventBus.GameEvent event) {
+            switch (event.getType()) {
+                case MATCH_STARTED:
+                    matchPlayer = event.getText();
+                    matchLevel = 1;
+                    matchShots = 0;
+                    matchHits = 0;
+                    java.util.Arrays.fill(matchHeat, 0);
+                    openHits = 0;
+                    break;
+                case LEVEL_UP:
+                    matchLevel = (int) event.getValue();
+                    openHits = 0;
+                    break;
+                case SHOT_FIRED:
+                    // FR: Les tirs d'entraînement peuvent être annulés : ni statistiques ni habitudes.
+                    // EN: Training shots may be undone: neither statistics nor habits.
+                    if (event.isByPlayer() && !event.hasFlag(GameEventBus.GameEvent.TRAINING)) {
+                        matchShots++;
+                        matchHits += event.getValue();
+                        // FR: Les tirs de chasse suivent la flotte ennemie, pas les habitudes du joueur.
+                        // EN: Hunting shots follow the enemy fleet, not the player's habits.
+                        if (openHits == 0) matchHeat[event.getX() * Theme.BOARD_SIZE + event.getY()]++;
+                        openHits += event.getValue();
+                    }
+                    break;
+                case SUNK:
+                    if (event.isByPlayer() && !event.hasFlag(GameEventBus.GameEvent.TRAINING)) openHits = Math.max(0, openHits - (int) event.getValue());
+                    break;
+                case GAME_OVER:
+                    if (matchPlayer != null) {
+                        String player = matchPlayer;
+                        boolean won = event.isByPlayer();
+                        int levelReached = Math.min(matchLevel, Theme.MAX_LEVEL);
+                        long shots = matchShots;
+                        long hits = matchHits;
+                        long score = event.getValue();
+                        int[] heat = matchHeat.clone();
+                        try {
+                            writer.execute(() -> {
+                                try {
+                                    recordGame(player, won, levelReached, shots, hits, score);
+                                    learnTargeting(player, heat);
+                                } catch (java.io.UncheckedIOException e) {
+                                    System.err.println("Profil non mis à jour : " + e.getMessage());
+                                }
+                            });
+                        } catch (java.util.concurrent.RejectedExecutionException e) {
+                            System.err.println("Profil non mis à jour : arrêt en cours");
+                        }
+                        matchPlayer = null;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * FR: Cumule le résultat d'une partie dans le profil du joueur (créé au besoin).
+         * EN: Adds a game result to the player's profile (created if needed).
+         */
+        public synchronized void recordGame(String name, boolean won, int levelReached, long shots, long hits, long score) {
+            locked(() -> {
+                updateGame(name, won, levelReached, shots, hits, score);
+                return null;
+            });
+        }
+
+        private void updateGame(String name, boolean won, int levelReached, long shots, long hits, long score) {
+            byte[] key = encodeName(name);
+            int slot = findSlot(key, hash(key));
+            if (slot < 0) {
+                if ((count + 1) * 10L > capacity * 7L) {
+                    grow();
+                }
+                slot = insert(key, hash(key));
+            }
+            long base = recordOffset(slot);
+            table.putLong((int) (base + OFF_GAMES), table.getLong((int) (base + OFF_GAMES)) + 1);
+            if (won) table.putLong((int) (base + OFF_WINS), table.getLong((int) (base + OFF_WINS)) + 1);
+            table.putInt((int) (base + OFF_BEST_LEVEL), Math.max(levelReached, table.getInt((int) (base + OFF_BEST_LEVEL))));
+            table.putLong((int) (base + OFF_TOTAL_SHOTS), table.getLong((int) (base + OFF_TOTAL_SHOTS)) + shots);
+            table.putLong((int) (base + OFF_TOTAL_HITS), table.getLong((int) (base + OFF_TOTAL_HITS)) + hits);
+            table.putLong((int) (base + OFF_BEST_SCORE), Math.max(score, table.getLong((int) (base + OFF_BEST_SCORE))));
+        }
+
+        /**
+         * FR: Ajoute les tirs d'une partie à la carte des habitudes du joueur. Quand une case
+         *     dépasserait 255, toute la carte est divisée par deux : les parties récentes pèsent
+         *     davantage que les anciennes.
+         * EN: Adds a game's shots to the player's habit map. When a cell would exceed 255, the
+         *     whole map is halved: recent games weigh more than old ones.
+         */
+        public synchronized void learnTargeting(String name, int[] shots) {
+            locked(() -> {
+                updateHeat(name, shots);
+                return null;
+            });
+        }
+
+        private void updateHeat(String name, int[] shots) {
+            byte[] key = encodeName(name);
+            int slot = findSlot(key, hash(key));
+            if (slot < 0) return;
+            int base = (int) recordOffset(slot) + OFF_HEAT;
+            int[] heat = new int[HEAT_CELLS];
+            int hottest = 0;
+            for (int cell = 0; cell < HEAT_CELLS; cell++) {
+                heat[cell] = (table.get(base + cell) & 0xFF) + shots[cell];
+                hottest = Math.max(hottest, heat[cell]);
+            }
+            int shift = 0;
+            while ((hottest >> shift) > 255) shift++;
+            for (int cell = 0; cell < HEAT_CELLS; cell++) table.put(base + cell, (byte) (heat[cell] >> shift));
+        }
+
+        /**
+         * FR: Carte des habitudes de tir du joueur (un octet par case, x * taille + y) ; null si
+         *     le profil n'existe pas ou n'a encore rien appris.
+         * EN: The player's targeting habit map (one byte per cell, x * size + y); null if the
+         *     profile does not exist or has learned nothing yet.
+         */
+        public synchronized byte[] targetingHeat(String name) {
+            return locked(() -> readHeat(name));
+        }
+
+        private byte[] readHeat(String name) {
+            byte[] key = encodeName(name);
+            int slot = findSlot(key, hash(key));
+            if (slot < 0) return null;
+            byte[] heat = new byte[HEAT_CELLS];
+            table.get((int) recordOffset(slot) + OFF_HEAT, heat);
+            for (byte h : heat) {
+                if (h != 0) return heat;
+            }
+            return null;
+        }
+
+        /**
+         * FR: Recherche un profil par nom ; null s'il n'existe pas.
+         * EN: Looks up a profile by name; null if it does not exist.
+         */
+        public synchronized Profile lookup(String name) {
+            return locked(() -> readProfile(name));
+        }
+
+        private Profile readProfile(String name) {
+            byte[] key = encodeName(name);
+            int slot = findSlot(key, hash(key));
+            if (slot < 0) return null;
+            long base = recordOffset(slot);
+            return new Profile(new String(key, StandardCharsets.UTF_8),
+                    table.getLong((int) (base + OFF_GAMES)), table.getLong((int) (base + OFF_WINS)),
+                    table.getInt((int) (base + OFF_BEST_LEVEL)), table.getLong((int) (base + OFF_TOTAL_SHOTS)),
+                    table.getLong((int) (base + OFF_TOTAL_HITS)), table.getLong((int) (base + OFF_BEST_SCORE)));
+        }
+
+        public synchronized int size() { return locked(() -> count); }
+
+        private int findSlot(byte[] key, int hash) {
+            int mask = capacity - 1;
+            for (int probe = 0, slot = hash & mask; probe < capacity; probe++, slot = (slot + 1) & mask) {
+                long base = recordOffset(slot);
+                if (table.getInt((int) (base + OFF_USED)) == 0) return -1;
+                if (table.getInt((int) (base + OFF_HASH)) == hash && nameEquals(base, key)) return slot;
+            }
+            return -1;
+        }
+
+        private int insert(byte[] key, int hash) {
+            int mask = capacity - 1;
+            int slot = hash & mask;
+            while (table.getInt((int) (recordOffset(slot) + OFF_USED)) != 0) slot = (slot + 1) & mask;
+            long base = recordOffset(slot);
+            table.putInt((int) (base + OFF_HASH), hash);
+            table.putInt((int) (base + OFF_NAME_LENGTH), key.length);
+            for (int i = 0; i < key.length; i++) table.put((int) (base + OFF_NAME + i), key[i]);
+            table.putInt((int) (base + OFF_USED), 1);
+            count++;
+            table.putInt(12, count);
+            return slot;
+        }
+
+        private boolean nameEquals(long base, byte[] key) {
+            if (table.getInt((int) (base + OFF_NAME_LENGTH)) != key.length) return false;
+            for (int i = 0; i < key.length; i++) {
+                if (table.get((int) (base + OFF_NAME + i)) != key[i]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * FR: Double la capacité : réinsère tous les enregistrements dans un nouveau fichier, puis le
+         *     substitue atomiquement à l'ancien.
+         * EN: Doubles the capacity: reinserts every record into a new file, then atomically swaps
+         *     it for the old one.
+         */
+        private void grow() {
+            java.nio.file.Path next = path.resolveSibling(path.getFileName() + ".grow");
+            try {
+                int newCapacity = capacity * 2;
+                create(next, newCapacity);
+                java.nio.MappedByteBuffer old = table;
+                int oldCapacity = capacity;
+                java.nio.file.Path oldPath = path;
+                try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(next,
+                        java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE)) {
+                    table = channel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) newCapacity * RECORD_BYTES);
+                }
+                capacity = newCapacity;
+                count = 0;
+                byte[] record = new byte[RECORD_BYTES];
+                for (int slot = 0; slot < oldCapacity; slot++) {
+                    int base = HEADER_BYTES + slot * RECORD_BYTES;
+                    if (old.getInt(base + OFF_USED) == 0) continue;
+                    old.get(base, record);
+                    int hash = old.getInt(base + OFF_HASH);
+                    int target = hash & (capacity - 1);
+                    while (table.getInt((int) (recordOffset(target) + OFF_USED)) != 0) target = (target + 1) & (capacity - 1);
+                    table.put((int) recordOffset(target), record);
+                    count++;
+                }
+                table.putInt(12, count);
+                table.force();
+                Files.move(next, oldPath, java.nio.file.StandardCopyOption.REPLACE_EXISTING, java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+                // FR: Les autres processus écrivent encore dans l'ancien fichier : ils le quitteront au prochain verrou.
+                // EN: Other processes still write into the old file: they will leave it at the next lock.
+                old.putInt(OFF_RETIRED, 1);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException("Agrandissement des profils impossible", e);
+            }
+        }
+
+        private static long recordOffset(int slot) {
+            return HEADER_BYTES + (long) slot * RECORD_BYTES;
+        }
+
+        private static byte[] encodeName(String name) {
+            String trimmed = name == null || name.trim().isEmpty() ? "Anonyme" : name.trim();
+            byte[] bytes = trimmed.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length <= MAX_NAME_BYTES) return bytes;
+            // FR: Tronque sans couper un caractère UTF-8. / EN: Truncates without splitting a UTF-8 character.
+            int length = MAX_NAME_BYTES;
+            while (length > 0 && (bytes[length] & 0xC0) == 0x80) length--;
+            return java.util.Arrays.copyOf(bytes, length);
+        }
+
+        private static int hash(byte[] key) {
+            int h = java.util.Arrays.hashCode(key);
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * FR: Archive en colonnes de toutes les parties terminées (le tableau des scores n'en garde que
+     *     dix). Chaque colonne (horodatage, joueur, niveau, score, tirs, précision, durée) a son
+     *     propre fichier, découpé en segments de {@link #SEGMENT_ROWS} lignes. Un segment stocke
+     *     chaque valeur moins le minimum du segment, sur 0, 1, 2, 4 ou 8 octets selon l'écart
+     *     (« frame of reference ») ; son min et son max par colonne forment la carte de zones de
+     *     segments.idx. Les requêtes écartent les segments par cette carte, ne décodent que les
+     *     colonnes utiles, par blocs, et parcourent les segments en parallèle. Les lignes du segment
+     *     en cours vivent dans un fichier tampon projeté en mémoire (tail.bin), scellé une fois plein.
+     *     Seules les parties terminées sont archivées : une partie quittée (menu pause, fermeture de
+     *     la fenêtre) n'a pas de résultat et ne laisse aucune ligne, pas plus qu'une partie d'entraînement.
+     * EN: Columnar archive of every finished game (the high score table only keeps ten). Each
+     *     column (timestamp, player, level, score, shots, accuracy, duration) has its own file,
+     *     split into segments of {@link #SEGMENT_ROWS} rows. A segment stores each value minus the
+     *     segment minimum, in 0, 1, 2, 4 or 8 bytes depending on the spread (frame of reference);
+     *     its per-column min and max make up the zone map in segments.idx. Queries skip segments
+     *     using that map, decode only the columns they need, in blocks, and scan segments in
+     *     parallel. Rows of the current segment live in a memory-mapped buffer file (tail.bin),
+     *     sealed once full.
+     *     Only finished games are archived: a match quit from the pause menu or by closing the
+     *     window has no result and leaves no row, nor does a training match.
+     */
+    private static final class GameArchive {
+        static final String ARCHIVE_DIR = "game_archive";
+        static final int SEGMENT_ROWS = 1 << 18;
+        private static final int MAGIC = 0x42415243; // "BARC"
+        private static final int VERSION = 1;
+        private static final String PLAYERS_FILE = "players.txt";
+        private static final String INDEX_FILE = "segments.idx";
+        private static final String TAIL_FILE = "tail.bin";
+        private static final String LOCK_FILE = "archive.lock";
+        // FR: Dossiers ouverts par ce processus : fermer un second canal sur le fichier verrou
+        //     libérerait le verrou du premier.
+        // EN: Directories opened by this process: closing a second channel on the lock file
+        //     would release the first one's lock.
+        private static final java.util.Set<java.nio.file.Path> OPEN_DIRECTORIES = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        // FR: En-tête du tampon : magic, version, première ligne (long @8), lignes (int @16).
+        // EN: Buffer header: magic, version, first row (long @8), rows (int @16).
+        private static final int TAIL_HEADER = 32;
+        private static final int INDEX_HEADER = 8;
+        private static final int CHUNK = 4096;
+        private static final int GROUP_TABLE_LIMIT = 1 << 16;
+        private static final int LANES = 4;
+
+        /**
+         * FR: Colonnes de l'archive. ACCURACY est en pour mille, TIMESTAMP et DURATION en millisecondes.
+         * EN: Archive columns. ACCURACY is per mille, TIMESTAMP and DURATION are in milliseconds.
+         */
+        enum Column {
+            TIMESTAMP, PLAYER, LEVEL, SCORE, SHOTS, ACCURACY, DURATION;
+
+            String fileName() { return name().toLowerCase(java.util.Locale.ROOT) + ".col"; }
+        }
+
+        private static final int COLUMNS = Column.values().length;
+        private static final int ROW_BYTES = 8 * COLUMNS;
+        // FR: Lignes, puis par colonne : position, largeur, min, max. / EN: Rows, then per column: offset, width, min, max.
+        private static final int ENTRY_BYTES = 4 + COLUMNS * (8 + 1 + 8 + 8);
+
+        /**
+         * FR: Segment scellé : position, largeur et zone (min, max) de chaque colonne.
+         * EN: Sealed segment: offset, width and zone (min, max) of each column.
+         */
+        private static final class Segment {
+            final int rows;
+            final long firstRow;
+            final long[] offset = new long[COLUMNS];
+            final int[] width = new int[COLUMNS];
+            final long[] min = new long[COLUMNS];
+            final long[] max = new long[COLUMNS];
+            private final java.nio.ByteBuffer[] data = new java.nio.ByteBuffer[COLUMNS];
+
+            Segment(int rows, long firstRow) {
+                this.rows = rows;
+                this.firstRow = firstRow;
+            }
+        }
+
+        /**
+         * FR: Résultat d'une agrégation : nombre et somme par groupe.
+         * EN: Result of an aggregation: count and sum per group.
+         */
+        public static final class Aggregate {
+            private final long[] count;
+            private final long[] sum;
+
+            Aggregate(int groups) {
+                count = new long[groups];
+                sum = new long[groups];
+            }
+
+            void merge(Aggregate other) {
+                for (int g = 0; g < count.length; g++) {
+                    count[g] += other.count[g];
+                    sum[g] += other.sum[g];
+                }
+            }
+
+            public int getGroups() { return count.length; }
+            public long getCount(int group) { return count[group]; }
+            public long getSum(int group) { return sum[group]; }
+            public double getMean(int group) { return count[group] == 0 ? Double.NaN : sum[group] / (double) count[group]; }
+
+            public long getTotalCount() {
+                long total = 0;
+                for (long c : count) total += c;
+                return total;
+            }
+        }
+
+        /**
+         * FR: Requête : conjonction d'intervalles inclusifs par colonne, poussés jusqu'aux cartes de zones.
+         * EN: Query: conjunction of inclusive ranges per column, pushed down to the zone maps.
+         */
+        public final class Query {
+            private final long[] low = new long[COLUMNS];
+            private final long[] high = new long[COLUMNS];
+
+            private Query() {
+                java.util.Arrays.fill(low, Long.MIN_VALUE);
+                java.util.Arrays.fill(high, Long.MAX_VALUE);
+            }
+
+            public Query where(Column column, long min, long max) {
+                low[column.ordinal()] = Math.max(low[column.ordinal()], min);
+                high[column.ordinal()] = Math.min(high[column.ordinal()], max);
+                return this;
+            }
+
+            /** FR: Parties terminées dans [from, to[. / EN: Games finished in [from, to[. */
+            public Query between(long fromMillis, long toMillis) {
+                return where(Column.TIMESTAMP, fromMillis, toMillis - 1);
+            }
+
+            public Query player(String name) {
+                Integer id;
+                synchronized (GameArchive.this) {
+                    id = playerIds.get(cleanName(name));
+                }
+                return id == null ? where(Column.PLAYER, 1, 0) : where(Column.PLAYER, id, id);
+            }
+
+            /**
+             * FR: Agrège une colonne sur toutes les lignes retenues (un seul groupe).
+             * EN: Aggregates a column over every matching row (a single group).
+             */
+            public Aggregate aggregate(Column value) {
+                return run(this, null, 1, 1, value);
+            }
+
+            /**
+             * FR: Agrège `value` par tranche de `key` : groupe = key / bucketWidth, borné à [0, buckets - 1].
+             *     Par niveau : (LEVEL, 1, MAX_LEVEL + 1) ; histogramme de précision : (ACCURACY, 100, 10).
+             * EN: Aggregates `value` per slice of `key`: group = key / bucketWidth, clamped to [0, buckets - 1].
+             *     Per level: (LEVEL, 1, MAX_LEVEL + 1); accuracy histogram: (ACCURACY, 100, 10).
+             */
+            public Aggregate groupBy(Column key, long bucketWidth, int buckets, Column value) {
+                if (bucketWidth <= 0 || buckets <= 0) throw new IllegalArgumentException("Tranches invalides");
+                return run(this, key, bucketWidth, buckets, value);
+            }
+        }
+
+        private final java.nio.file.Path directory;
+        // FR: Verrou exclusif tenu tant que l'archive est ouverte : un seul processus y écrit.
+        // EN: Exclusive lock held while the archive is open: a single process writes to it.
+        private final java.nio.channels.FileChannel lockChannel;
+        private final java.nio.channels.FileLock lock;
+        private final java.nio.channels.FileChannel[] columns = new java.nio.channels.FileChannel[COLUMNS];
+        private final java.nio.channels.FileChannel index;
+        private final java.nio.channels.FileChannel tailChannel;
+        private final java.nio.MappedByteBuffer tail;
+        private final long[] columnEnd = new long[COLUMNS];
+        private final java.util.Map<String, Integer> playerIds = new java.util.HashMap<>();
+        private final java.util.List<String> playerNames = new ArrayList<>();
+        private AppendListener appendListener;
+        private volatile Segment[] segments;
+        private long tailFirst;
+        private int tailRows;
+        private java.util.concurrent.ExecutorService pool;
+
+        // FR: Partie en cours, suivie par le thread de l'abonné. / EN: Current game, tracked by the subscriber thread.
+        private String matchPlayer;
+        private int matchLevel;
+        private long matchShots;
+        private long matchHits;
+        private long matchStart;
+        // FR: Thread des écritures, créé par attach. / EN: Write thread, created by attach.
+        private java.util.concurrent.ExecutorService writer;
+
+        /**
+         * FR: Ouvre (ou crée) l'archive d'un dossier. Un seul processus peut l'ouvrir à la fois :
+         *     tout autre reçoit une IllegalStateException et n'archive pas.
+         * EN: Opens (or creates) the archive of a directory. Only one process can open it at a
+         *     time: any other one gets an IllegalStateException and does not archive.
+         */
+        GameArchive(java.nio.file.Path directory) throws IOException {
+            this.directory = directory.toAbsolutePath().normalize();
+            Files.createDirectories(directory);
+            if (!OPEN_DIRECTORIES.add(this.directory)) throw new IllegalStateException("archive déjà ouverte");
+            try {
+                lockChannel = java.nio.channels.FileChannel.open(directory.resolve(LOCK_FILE),
+                        java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.WRITE);
+            } catch (IOException | RuntimeException e) {
+                OPEN_DIRECTORIES.remove(this.directory);
+                throw e;
+            }
+            try {
+                lock = lockChannel.tryLock();
+                if (lock == null) throw new IllegalStateException("archive déjà ouverte par un autre processus");
+                java.nio.file.Path players = directory.resolve(PLAYERS_FILE);
+                if (Files.exists(players)) {
+                    for (String name : Files.readAllLines(players, StandardCharsets.UTF_8)) {
+                        playerIds.put(name, playerIds.size());
+                        playerNames.add(name);
+                    }
+                }
+                for (Column column : Column.values()) {
+                    columns[column.ordinal()] = java.nio.channels.FileChannel.open(directory.resolve(column.fileName()),
+                            java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE);
+                }
+                index = java.nio.channels.FileChannel.open(directory.resolve(INDEX_FILE),
+                        java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE);
+                segments = readIndex();
+                long sealedRows = 0;
+                for (Segment segment : segments) {
+                    sealedRows += segment.rows;
+                    for (int c = 0; c < COLUMNS; c++) columnEnd[c] = segment.offset[c] + (long) segment.rows * segment.width[c];
+                }
+                // FR: Un scellement interrompu peut laisser des blocs non indexés en fin de colonne.
+                // EN: An interrupted seal may leave unindexed blocks at the end of a column.
+                for (int c = 0; c < COLUMNS; c++) {
+                    if (columns[c].size() > columnEnd[c]) columns[c].truncate(columnEnd[c]);
+                }
+
+                tailChannel = java.nio.channels.FileChannel.open(directory.resolve(TAIL_FILE),
+                        java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.READ, java.nio.file.StandardOpenOption.WRITE);
+                boolean fresh = tailChannel.size() < TAIL_HEADER;
+                tail = tailChannel.map(java.nio.channels.FileChannel.MapMode.READ_WRITE, 0, TAIL_HEADER + (long) SEGMENT_ROWS * ROW_BYTES);
+                if (!fresh && (tail.getInt(0) != MAGIC || tail.getInt(4) != VERSION)) {
+                    throw new IllegalStateException(TAIL_FILE + " n'est pas un tampon d'archive valide");
+                }
+                tailFirst = fresh ? sealedRows : tail.getLong(8);
+                tailRows = fresh ? 0 : tail.getInt(16);
+                if (tailFirst < sealedRows) {
+                    // FR: Le segment a été indexé mais le tampon pas encore vidé. / EN: The segment was indexed but the buffer not yet emptied.
+                    tailFirst = sealedRows;
+                    tailRows = 0;
+                }
+                tail.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, tailFirst).putInt(16, tailRows);
+            } catch (IOException | RuntimeException e) {
+                lockChannel.close();
+                OPEN_DIRECTORIES.remove(this.directory);
+                throw e;
+            }
+        }
+
+        /**
+         * FR: Ouvre l'archive par défaut ; retourne null (et le signale) en cas d'échec.
+         * EN: Opens the default archive; returns null (and reports it) on failure.
+         */
+        public static GameArchive openDefault() {
+            try {
+                return new GameArchive(Paths.get(ARCHIVE_DIR));
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Archive des parties désactivée : " + e.getMessage());
+                return null;
+            }
+        }
+
+        private Segment[] readIndex() throws IOException {
+            if (index.size() < INDEX_HEADER) {
+                java.nio.ByteBuffer header = java.nio.ByteBuffer.allocate(INDEX_HEADER).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                index.truncate(0);
+                index.write(header, 0);
+                return new Segment[0];
+            }
+            java.nio.ByteBuffer all = index.map(java.nio.channels.FileChannel.MapMode.READ_ONLY, 0, index.size());
+            if (all.getInt(0) != MAGIC || all.getInt(4) != VERSION) {
+                throw new IllegalStateException(INDEX_FILE + " n'est pas un index d'archive valide");
+            }
+            int count = (int) ((index.size() - INDEX_HEADER) / ENTRY_BYTES);
+            // FR: Une entrée incomplète (écriture interrompue) est ignorée. / EN: An incomplete entry (interrupted write) is dropped.
+            index.truncate(INDEX_HEADER + (long) count * ENTRY_BYTES);
+            Segment[] result = new Segment[count];
+            all.position(INDEX_HEADER);
+            long firstRow = 0;
+            for (int s = 0; s < count; s++) {
+                Segment segment = new Segment(all.getInt(), firstRow);
+                firstRow += segment.rows;
+                for (int c = 0; c < COLUMNS; c++) {
+                    segment.offset[c] = all.getLong();
+                    segment.width[c] = all.get();
+                    segment.min[c] = all.getLong();
+                    segment.max[c] = all.getLong();
+                }
+                result[s] = segment;
+            }
+            return result;
+        }
+
+        /**
+         * FR: Abonne l'archive au bus d'un moteur : chaque fin de partie y ajoute une ligne.
+         * EN: Subscribes the archive to an engine's bus: every game over appends a row.
+         */
+        public void attach(GameEventBus bus) {
+            java.util.concurrent.ExecutorService drainer = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "battleship-archive");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // FR: Les écritures (et le scellement avec fsync) ont leur propre thread : le vidage, qui
+            //     retient le moteur quand il prend du retard, ne touche jamais le disque.
+            // EN: Writes (and sealing with fsync) have their own thread: draining, which holds the
+            //     engine back when it lags, never touches the disk.
+            writer = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "battleship-archive-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            java.util.concurrent.ExecutorService pending = writer;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> finishWrites(pending), "battleship-archive-flush"));
+            GameEventBus.Subscription[] subscription = new GameEventBus.Subscription[1];
+            subscription[0] = bus.subscribe(this::onEvent, GameEventBus.BackPressure.BLOCK_PUBLISHER,
+                    () -> drainer.execute(() -> subscription[0].poll(1024)));
+        }
+
+        /**
+         * FR: Laisse les dernières parties s'écrire avant l'arrêt du processus.
+         * EN: Lets the last games be written before the process stops.
+         */
+        private static void finishWrites(java.util.concurrent.ExecutorService pending) {
+            pending.shutdown();
+            try {
+                pending.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void onEvent(GameEventBus.GameEvent event) {
+            switch (event.getType()) {
+                case MATCH_STARTED:
+                    matchPlayer = event.getText();
+                    matchLevel = 1;
+                    matchShots = 0;
+                    matchHits = 0;
+                    matchStart = System.currentTimeMillis();
+                    break;
+                case LEVEL_UP:
+                    matchLevel = (int) event.getValue();
+                    break;
+                case SHOT_FIRED:
+                    if (event.isByPlayer()) {
+                        matchShots++;
+                        matchHits += event.getValue();
+                    }
+                    break;
+                case GAME_OVER:
+                    // FR: Les annulations faussent score et précision : l'entraînement n'est pas archivé.
+                    // EN: Undos distort score and accuracy: training games are not archived.
+                    if (matchPlayer != null && !event.hasFlag(GameEventBus.GameEvent.TRAINING)) {
+                        long now = System.currentTimeMillis();
+                        String player = matchPlayer;
+                        int level = Math.min(matchLevel, Theme.MAX_LEVEL);
+                        long score = event.getValue();
+                        long shots = matchShots;
+                        long hits = matchHits;
+                        long duration = now - matchStart;
+                        try {
+                            writer.execute(() -> {
+                                try {
+                                    append(now, player, level, score, shots, hits, duration);
+                                } catch (java.io.UncheckedIOException e) {
+                                    System.err.println("Partie non archivée : " + e.getMessage());
+                                }
+                            });
+                        } catch (java.util.concurrent.RejectedExecutionException e) {
+                            System.err.println("Partie non archivée : arrêt en cours");
+                        }
+                        matchPlayer = null;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * FR: Ajoute une partie terminée à l'archive.
+         * EN: Appends a finished game to the archive.
+         */
+        public synchronized void append(long timestamp, String player, int level, long score, long shots, long hits, long durationMillis) {
+            long accuracy = shots == 0 ? 0 : hits * 1000 / shots;
+            appendRow(new long[] {timestamp, playerId(player), level, score, shots, accuracy, durationMillis});
+        }
+
+        /**
+         * FR: Ajoute une ligne déjà encodée (une valeur par colonne, dans l'ordre de {@link Column}).
+         * EN: Appends an already encoded row (one value per column, in {@link Column} order).
+         */
+        synchronized void appendRow(long[] row) {
+            int base = TAIL_HEADER + tailRows * ROW_BYTES;
+            for (int c = 0; c < COLUMNS; c++) tail.putLong(base + c * 8, row[c]);
+            tail.putInt(16, ++tailRows);
+            if (appendListener != null) appendListener.rowAppended(tailFirst + tailRows - 1, row);
+            if (tailRows == SEGMENT_ROWS) {
+                try {
+                    seal();
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException("Scellement de l'archive impossible", e);
+                }
+            }
+        }
+
+        synchronized int playerId(String player) {
+            String name = cleanName(player);
+            Integer id = playerIds.get(name);
+            if (id != null) return id;
+            try {
+                Files.write(directory.resolve(PLAYERS_FILE), (name + "\n").getBytes(StandardCharsets.UTF_8),
+                        java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException("Dictionnaire des joueurs illisible", e);
+            }
+            playerIds.put(name, playerIds.size());
+            playerNames.add(name);
+            return playerIds.size() - 1;
+        }
+
+        private static String cleanName(String name) {
+            return name == null || name.trim().isEmpty() ? "Anonyme" : name.trim().replaceAll("[\\r\\n]", " ");
+        }
+
+        public synchronized long getRowCount() {
+            return tailFirst + tailRows;
+        }
+
+        public synchronized String getPlayerName(int id) {
+            return playerNames.get(id);
+        }
+
+        /**
+         * FR: Reçoit chaque ligne ajoutée, sous le verrou de l'archive : le traitement doit être bref.
+         * EN: Receives every appended row, under the archive's lock: handling must be brief.
+         */
+        interface AppendListener {
+            void rowAppended(long row, long[] values);
+        }
+
+        /**
+         * FR: Reçoit une colonne par blocs : values[0..n[ sont les lignes firstRow..firstRow + n.
+         * EN: Receives a column in blocks: values[0..n[ are rows firstRow..firstRow + n.
+         */
+        interface ChunkVisitor {
+            void visit(long firstRow, long[] values, int n);
+        }
+
+        /**
+         * FR: Installe l'écouteur d'ajouts et retourne le nombre de lignes déjà présentes, de façon
+         *     atomique : aucune ligne n'est vue deux fois ni manquée.
+         * EN: Installs the append listener and returns the number of rows already present,
+         *     atomically: no row is seen twice or missed.
+         */
+        synchronized long listen(AppendListener listener) {
+            appendListener = listener;
+            return getRowCount();
+        }
+
+        /**
+         * FR: Parcourt une colonne sur les lignes [0, limit[, dans un ordre quelconque de blocs.
+         * EN: Scans a column over rows [0, limit[, in any block order.
+         */
+        void scan(Column column, long limit, ChunkVisitor visitor) {
+            int c = column.ordinal();
+            long[] values = new long[CHUNK];
+            Segment[] snapshot;
+            synchronized (this) {
+                snapshot = segments;
+                for (int start = 0; start < tailRows && tailFirst + start < limit; start += CHUNK) {
+                    int n = (int) Math.min(Math.min(CHUNK, tailRows - start), limit - tailFirst - start);
+                    for (int i = 0; i < n; i++) values[i] = tail.getLong(TAIL_HEADER + (start + i) * ROW_BYTES + c * 8);
+                    visitor.visit(tailFirst + start, values, n);
+                }
+            }
+            for (Segment segment : snapshot) {
+                for (int start = 0; start < segment.rows && segment.firstRow + start < limit; start += CHUNK) {
+                    int n = (int) Math.min(Math.min(CHUNK, segment.rows - start), limit - segment.firstRow - start);
+                    decode(segment, c, start, n, values);
+                    visitor.visit(segment.firstRow + start, values, n);
+                }
+            }
+        }
+
+        /**
+         * FR: Lit une valeur par numéro de ligne : accès direct, grâce à la largeur fixe des segments.
+         * EN: Reads one value by row number: direct access, thanks to the segments' fixed width.
+         */
+        long read(long row, Column column) {
+            int c = column.ordinal();
+            Segment[] snapshot = segments;
+            int low = 0;
+            int high = snapshot.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                Segment segment = snapshot[mid];
+                if (row < segment.firstRow) {
+                    high = mid - 1;
+                } else if (row >= segment.firstRow + segment.rows) {
+                    low = mid + 1;
+                } else {
+                    int offset = (int) (row - segment.firstRow);
+                    switch (segment.width[c]) {
+                        case 0: return segment.min[c];
+                        case 1: return segment.min[c] + (data(segment, c).get(offset) & 0xFFL);
+                        case 2: return segment.min[c] + (data(segment, c).getShort(offset * 2) & 0xFFFFL);
+                        case 4: return segment.min[c] + (data(segment, c).getInt(offset * 4) & 0xFFFFFFFFL);
+                        default: return segment.min[c] + data(segment, c).getLong(offset * 8);
+                    }
+                }
+            }
+            synchronized (this) {
+                // FR: Ligne scellée entre-temps : la liste des segments l'a désormais. / EN: Row sealed meanwhile: the segment list now has it.
+                if (row < tailFirst) return read(row, column);
+                if (row >= tailFirst + tailRows) throw new IndexOutOfBoundsException("Ligne " + row);
+                return tail.getLong(TAIL_HEADER + (int) (row - tailFirst) * ROW_BYTES + c * 8);
+            }
+        }
+
+        public Query query() {
+            return new Query();
+        }
+
+        /**
+         * FR: Écrit le tampon plein en un segment par colonne, puis l'entrée d'index, puis vide le
+         *     tampon : une interruption à n'importe quelle étape laisse une archive cohérente.
+         * EN: Writes the full buffer as one segment per column, then the index entry, then empties
+         *     the buffer: an interruption at any step leaves a consistent archive.
+         */
+        private void seal() throws IOException {
+            Segment segment = new Segment(tailRows, tailFirst);
+            for (int c = 0; c < COLUMNS; c++) {
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (int row = 0; row < tailRows; row++) {
+                    long value = tail.getLong(TAIL_HEADER + row * ROW_BYTES + c * 8);
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                int width = widthFor(max - min);
+                java.nio.ByteBuffer block = java.nio.ByteBuffer.allocate(tailRows * width);
+                for (int row = 0; row < tailRows && width > 0; row++) {
+                    long delta = tail.getLong(TAIL_HEADER + row * ROW_BYTES + c * 8) - min;
+                    switch (width) {
+                        case 1: block.put((byte) delta); break;
+                        case 2: block.putShort((short) delta); break;
+                        case 4: block.putInt((int) delta); break;
+                        default: block.putLong(delta); break;
+                    }
+                }
+                block.flip();
+                long position = columnEnd[c];
+                while (block.hasRemaining()) position += columns[c].write(block, position);
+                segment.offset[c] = columnEnd[c];
+                segment.width[c] = width;
+                segment.min[c] = min;
+                segment.max[c] = max;
+                columnEnd[c] = position;
+            }
+            for (java.nio.channels.FileChannel column : columns) column.force(false);
+
+            java.nio.ByteBuffer entry = java.nio.ByteBuffer.allocate(ENTRY_BYTES).putInt(segment.rows);
+            for (int c = 0; c < COLUMNS; c++) {
+                entry.putLong(segment.offset[c]).put((byte) segment.width[c]).putLong(segment.min[c]).putLong(segment.max[c]);
+            }
+            entry.flip();
+            long position = INDEX_HEADER + (long) segments.length * ENTRY_BYTES;
+            while (entry.hasRemaining()) position += index.write(entry, position);
+            index.force(false);
+
+            Segment[] next = java.util.Arrays.copyOf(segments, segments.length + 1);
+            next[segments.length] = segment;
+            segments = next;
+            tailFirst += tailRows;
+            tailRows = 0;
+            tail.putLong(8, tailFirst).putInt(16, 0);
+        }
+
+        private static int widthFor(long range) {
+            if (range == 0) return 0;
+            if (Long.compareUnsigned(range, 0xFFL) <= 0) return 1;
+            if (Long.compareUnsigned(range, 0xFFFFL) <= 0) return 2;
+            if (Long.compareUnsigned(range, 0xFFFFFFFFL) <= 0) return 4;
+            return 8;
+        }
+
+        /**
+         * FR: Parcourt le tampon (sous verrou, pour le voir cohérent avec la liste des segments),
+         *     puis les segments scellés, en parallèle s'il y en a plusieurs.
+         * EN: Scans the buffer (under the lock, to see it consistently with the segment list),
+         *     then the sealed segments, in parallel if there are several.
+         */
+        private Aggregate run(Query query, Column key, long bucketWidth, int buckets, Column value) {
+            Segment[] snapshot;
+            Aggregate total = new Aggregate(buckets);
+            synchronized (this) {
+                snapshot = segments;
+                scanTail(query, key, bucketWidth, value, total);
+            }
+            int workers = Math.min(snapshot.length, Runtime.getRuntime().availableProcessors());
+            if (workers <= 1) {
+                for (Segment segment : snapshot) scanSegment(segment, query, key, bucketWidth, value, total);
+                return total;
+            }
+            java.util.List<java.util.concurrent.Future<Aggregate>> parts = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                int first = w;
+                parts.add(workers().submit(() -> {
+                    Aggregate part = new Aggregate(buckets);
+                    for (int s = first; s < snapshot.length; s += workers) scanSegment(snapshot[s], query, key, bucketWidth, value, part);
+                    return part;
+                }));
+            }
+            try {
+                for (java.util.concurrent.Future<Aggregate> part : parts) total.merge(part.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Requête interrompue", e);
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException("Requête impossible : " + e.getCause().getMessage(), e.getCause());
+            }
+            return total;
+        }
+
+        private synchronized java.util.concurrent.ExecutorService workers() {
+            if (pool == null) {
+                pool = java.util.concurrent.Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                    Thread thread = new Thread(task, "battleship-archive-scan");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return pool;
+        }
+
+        private void scanTail(Query query, Column key, long bucketWidth, Column value, Aggregate out) {
+            long[][] values = new long[COLUMNS][CHUNK];
+            int[] groups = new int[CHUNK];
+            int last = out.count.length - 1;
+            int[] checked = new int[COLUMNS];
+            for (int c = 0; c < COLUMNS; c++) checked[c] = c;
+            for (int start = 0; start < tailRows; start += CHUNK) {
+                int n = Math.min(CHUNK, tailRows - start);
+                for (int i = 0; i < n; i++) {
+                    int base = TAIL_HEADER + (start + i) * ROW_BYTES;
+                    for (int c = 0; c < COLUMNS; c++) values[c][i] = tail.getLong(base + c * 8);
+                }
+                if (key != null) {
+                    long[] keys = values[key.ordinal()];
+                    for (int i = 0; i < n; i++) groups[i] = group(keys[i], bucketWidth, last);
+                }
+                accumulate(values, n, checked, COLUMNS, query, groups, value, out);
+            }
+        }
+
+        private void scanSegment(Segment segment, Query query, Column key, long bucketWidth, Column value, Aggregate out) {
+            // FR: Carte de zones : segment écarté, ou colonnes dont le filtre est acquis pour tout le segment.
+            // EN: Zone map: segment skipped, or columns whose filter holds for the whole segment.
+            int[] checked = new int[COLUMNS];
+            int checks = 0;
+            for (int c = 0; c < COLUMNS; c++) {
+                if (query.low[c] > segment.max[c] || query.high[c] < segment.min[c]) return;
+                if (query.low[c] > segment.min[c] || query.high[c] < segment.max[c]) checked[checks++] = c;
+            }
+            boolean[] needed = new boolean[COLUMNS];
+            for (int i = 0; i < checks; i++) needed[checked[i]] = true;
+            if (key != null) needed[key.ordinal()] = true;
+            needed[value.ordinal()] = true;
+            long[][] values = new long[COLUMNS][];
+            for (int c = 0; c < COLUMNS; c++) {
+                if (needed[c]) values[c] = new long[CHUNK];
+            }
+            // FR: Une division 64 bits par ligne coûterait plus que tout le reste : sur un segment
+            //     d'écart raisonnable, le groupe de chaque valeur vient d'une table précalculée.
+            // EN: A 64-bit division per row would cost more than everything else: on a segment with
+            //     a reasonable spread, each value's group comes from a precomputed table.
+            int last = out.count.length - 1;
+            int[] groups = new int[CHUNK];
+            int[] table = null;
+            long keyBase = key == null ? 0 : segment.min[key.ordinal()];
+            if (key != null && segment.max[key.ordinal()] - keyBase < GROUP_TABLE_LIMIT) {
+                table = new int[(int) (segment.max[key.ordinal()] - keyBase) + 1];
+                for (int d = 0; d < table.length; d++) table[d] = group(keyBase + d, bucketWidth, last);
+            }
+            for (int start = 0; start < segment.rows; start += CHUNK) {
+                int n = Math.min(CHUNK, segment.rows - start);
+                for (int c = 0; c < COLUMNS; c++) {
+                    if (needed[c]) decode(segment, c, start, n, values[c]);
+                }
+                if (key != null) {
+                    long[] keys = values[key.ordinal()];
+                    if (table != null) {
+                        for (int i = 0; i < n; i++) groups[i] = table[(int) (keys[i] - keyBase)];
+                    } else {
+                        for (int i = 0; i < n; i++) groups[i] = group(keys[i], bucketWidth, last);
+                    }
+                }
+                accumulate(values, n, checked, checks, query, groups, value, out);
+            }
+        }
+
+        private static int group(long key, long bucketWidth, int last) {
+            return (int) Math.max(0, Math.min(last, Math.floorDiv(key, bucketWidth)));
+        }
+
+        /**
+         * FR: Cumule les lignes retenues ; `groups` est ignoré (tout au groupe 0) s'il n'y a qu'un groupe.
+         *     Les lignes consécutives tombent souvent dans le même groupe : les cumuls sont répartis
+         *     sur {@link #LANES} copies pour ne pas attendre l'écriture précédente.
+         * EN: Accumulates the matching rows; `groups` is ignored (all in group 0) when there is a single
+         *     group. Consecutive rows often land in the same group: sums are spread over {@link #LANES}
+         *     copies so as not to wait on the previous store.
+         */
+        private static void accumulate(long[][] values, int n, int[] checked, int checks, Query query,
+                                       int[] groups, Column value, Aggregate out) {
+            long[] measured = values[value.ordinal()];
+            int groupCount = out.count.length;
+            if (groupCount == 1 && checks == 0) {
+                long sum = 0;
+                for (int i = 0; i < n; i++) sum += measured[i];
+                out.count[0] += n;
+                out.sum[0] += sum;
+                return;
+            }
+            if (groupCount == 1) java.util.Arrays.fill(groups, 0, n, 0);
+            long[] counts = new long[LANES * groupCount];
+            long[] sums = new long[LANES * groupCount];
+            if (checks == 0) {
+                for (int i = 0; i < n; i++) {
+                    int slot = (i & (LANES - 1)) * groupCount + groups[i];
+                    counts[slot]++;
+                    sums[slot] += measured[i];
+                }
+            } else {
+                rows:
+                for (int i = 0; i < n; i++) {
+                    for (int k = 0; k < checks; k++) {
+                        int c = checked[k];
+                        long v = values[c][i];
+                        if (v < query.low[c] || v > query.high[c]) continue rows;
+                    }
+                    int slot = (i & (LANES - 1)) * groupCount + groups[i];
+                    counts[slot]++;
+                    sums[slot] += measured[i];
+                }
+            }
+            for (int slot = 0; slot < counts.length; slot++) {
+                out.count[slot % groupCount] += counts[slot];
+                out.sum[slot % groupCount] += sums[slot];
+            }
+        }
+
+        private void decode(Segment segment, int c, int from, int n, long[] out) {
+            long base = segment.min[c];
+            int width = segment.width[c];
+            if (width == 0) {
+                java.util.Arrays.fill(out, 0, n, base);
+                return;
+            }
+            java.nio.ByteBuffer data = data(segment, c);
+            switch (width) {
+                case 1:
+                    for (int i = 0; i < n; i++) out[i] = base + (data.get(from + i) & 0xFFL);
+                    break;
+                case 2:
+                    for (int i = 0; i < n; i++) out[i] = base + (data.getShort((from + i) * 2) & 0xFFFFL);
+                    break;
+                case 4:
+                    for (int i = 0; i < n; i++) out[i] = base + (data.getInt((from + i) * 4) & 0xFFFFFFFFL);
+                    break;
+                default:
+                    for (int i = 0; i < n; i++) out[i] = base + data.getLong((from + i) * 8);
+                    break;
+            }
+        }
+
+        private java.nio.ByteBuffer data(Segment segment, int c) {
+            synchronized (segment) {
+                if (segment.data[c] == null) {
+                    try {
+                        segment.data[c] = columns[c].map(java.nio.channels.FileChannel.MapMode.READ_ONLY,
+                                segment.offset[c], (long) segment.rows * segment.width[c]);
+                    } catch (IOException e) {
+                        throw new java.io.UncheckedIOException("Colonne " + Column.values()[c] + " illisible", e);
+                    }
+                }
+                return segment.data[c];
+            }
+        }
+
+        /**
+         * FR: Ferme les fichiers (outils et bancs de mesure ; le jeu garde l'archive ouverte).
+         * EN: Closes the files (tools and benchmarks; the game keeps the archive open).
+         */
+        public synchronized void close() throws IOException {
+            if (pool != null) pool.shutdownNow();
+            tail.force();
+            for (java.nio.channels.FileChannel column : columns) column.close();
+            index.close();
+            tailChannel.close();
+            lock.release();
+            lockChannel.close();
+            OPEN_DIRECTORIES.remove(directory);
+        }
+
+        /**
+         * FR: Rapport d'exploitation --archive-report [dossier] : score moyen par niveau sur les sept
+         *     derniers jours et distribution de la précision sur toute l'archive.
+         * EN: --archive-report [directory] operations report: average score per level over the last
+         *     seven days and accuracy distribution over the whole archive.
+         */
+        static void report(String[] args) {
+            try {
+                GameArchive archive = new GameArchive(Paths.get(args.length > 1 ? args[1] : ARCHIVE_DIR));
+                printReport(archive, System.currentTimeMillis());
+                archive.close();
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Archive illisible : " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        private static void printReport(GameArchive archive, long now) {
+            System.out.println(archive.getRowCount() + " parties archivées, " + archive.segments.length + " segments scellés");
+            long start = System.nanoTime();
+            Aggregate week = archive.query().between(now - 7L * 24 * 3600 * 1000, now + 1)
+                    .groupBy(Column.LEVEL, 1, Theme.MAX_LEVEL + 1, Column.SCORE);
+            System.out.printf("Score moyen par niveau atteint, 7 derniers jours (%.1f ms) :%n", (System.nanoTime() - start) / 1e6);
+            for (int level = 1; level <= Theme.MAX_LEVEL; level++) {
+                System.out.printf("  niveau %d : %10d parties, score moyen %.0f%n", level, week.getCount(level), week.getCount(level) == 0 ? 0 : week.getMean(level));
+            }
+            start = System.nanoTime();
+            Aggregate accuracy = archive.query().groupBy(Column.ACCURACY, 100, 10, Column.ACCURACY);
+            System.out.printf("Distribution de la précision, toutes parties (%.1f ms) :%n", (System.nanoTime() - start) / 1e6);
+            long total = Math.max(1, accuracy.getTotalCount());
+            for (int bucket = 0; bucket < 10; bucket++) {
+                System.out.printf("  %3d-%3d %% : %10d parties (%.1f %%)%n", bucket * 10, bucket * 10 + 10,
+                        accuracy.getCount(bucket), 100.0 * accuracy.getCount(bucket) / total);
+            }
+        }
+
+        /**
+         * FR: Banc de mesure --archive-bench [parties] : remplit une archive temporaire de parties
+         *     synthétiques réparties sur un an, puis chronomètre le rapport.
+         * EN: --archive-bench [games] benchmark: fills a temporary archive with synthetic games
+         *     spread over a year, then times the report.
+         */
+        static void bench(String[] args) {
+            long games = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+            java.nio.file.Path directory = null;
+            try {
+                directory = Files.createTempDirectory("battleship-archive");
+                GameArchive archive = new GameArchive(directory);
+                int players = 5000;
+                for (int p = 0; p < players; p++) archive.playerId("joueur" + p);
+                Random random = new Random(42);
+                long now = System.currentTimeMillis();
+                long span = 365L * 24 * 3600 * 1000;
+                long[] row = new long[COLUMNS];
+                long start = System.nanoTime();
+                for (long g = 0; g < games; g++) {
+                    int level = 1 + Math.min(Theme.MAX_LEVEL - 1, Integer.numberOfTrailingZeros(random.nextInt() | 1 << 16));
+                    long shots = 20 + random.nextInt(60);
+                    row[Column.TIMESTAMP.ordinal()] = now - span + span * g / games;
+                    row[Column.PLAYER.ordinal()] = random.nextInt(players);
+                    row[Column.LEVEL.ordinal()] = level;
+                    row[Column.SCORE.ordinal()] = level * (1000L + random.nextInt(2000));
+                    row[Column.SHOTS.ordinal()] = shots;
+                    row[Column.ACCURACY.ordinal()] = random.nextInt(1001);
+                    row[Column.DURATION.ordinal()] = 30_000 + random.nextInt(600_000);
+                    archive.appendRow(row);
+                }
+                System.out.printf("%d parties écrites en %.1f s%n", games, (System.nanoTime() - start) / 1e9);
+                for (int run = 1; run <= 3; run++) {
+                    System.out.println("--- Passe " + run);
+                    printReport(archive, now);
+                }
+                archive.close();
+            } catch (IOException e) {
+                System.err.println("Banc de mesure impossible : " + e.getMessage());
+            } finally {
+                if (directory != null) deleteQuietly(directory);
+            }
+        }
+
+        private static void deleteQuietly(java.nio.file.Path directory) {
+            try (java.util.stream.Stream<java.nio.file.Path> files = Files.list(directory)) {
+                for (java.nio.file.Path file : (Iterable<java.nio.file.Path>) files::iterator) Files.deleteIfExists(file);
+                Files.deleteIfExists(directory);
+            } catch (IOException e) {
+                System.err.println("Nettoyage incomplet de " + directory);
+            }
+        }
+    }
+
+    /**
+     * FR: Classement de toutes les parties archivées, par score décroissant (à égalité, la plus
+     *     ancienne d'abord). L'index des rangs est un tableau trié de clés (score, ligne) sur
+     *     8 octets ; les lignes affichées sont lues dans l'archive par pages de {@link #PAGE_ROWS}
+     *     rangs, gardées dans un petit cache LRU. Une nouvelle partie s'insère par recherche
+     *     dichotomique, et le meilleur rang de chaque joueur se retrouve par son nom.
+     * EN: Leaderboard of every archived game, by decreasing score (on ties, the oldest first).
+     *     The rank index is a sorted array of 8-byte (score, row) keys; displayed rows are read from
+     *     the archive in pages of {@link #PAGE_ROWS} ranks, kept in a small LRU cache. A new game
+     *     is inserted by binary search, and each player's best rank is found by name.
+     */
+    private static final class ArchiveLeaderboard {
+        static final int PAGE_ROWS = 128;
+        private static final int CACHED_PAGES = 64;
+        private static final long MAX_SCORE = Integer.MAX_VALUE;
+
+        /**
+         * FR: Une ligne du classement.
+         * EN: One leaderboard row.
+         */
+        static final class Row {
+            final String player;
+            final long score;
+            final int level;
+            final long timestamp;
+
+            Row(String player, long score, int level, long timestamp) {
+                this.player = player;
+                this.score = score;
+                this.level = level;
+                this.timestamp = timestamp;
+            }
+        }
+
+        /**
+         * FR: Prévenu (sur le thread de l'archive) de chaque rang inséré.
+         * EN: Notified (on the archive's thread) of every inserted rank.
+         */
+        interface Listener {
+            void rankInserted(int rank);
+        }
+
+        private final GameArchive archive;
+        private long[] keys = new long[0];
+        private int size;
+        private long[] bestKey = new long[0]; // FR: Par identifiant de joueur, -1 sans partie. / EN: Per player id, -1 without a game.
+        private final java.util.TreeMap<String, Integer> names = new java.util.TreeMap<>();
+        private final java.util.LinkedHashMap<Integer, Row[]> pages = new java.util.LinkedHashMap<Integer, Row[]>(CACHED_PAGES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Integer, Row[]> eldest) {
+                return size() > CACHED_PAGES;
+            }
+        };
+        private long version;
+        private boolean ready;
+        private java.util.List<long[]> pending = new ArrayList<>();
+        private Listener listener;
+
+        ArchiveLeaderboard(GameArchive archive) {
+            this.archive = archive;
+        }
+
+        /**
+         * FR: Construit l'index à partir de l'archive (deux colonnes lues, un tri) ; à appeler une
+         *     fois, hors de l'EDT. Les parties terminées pendant la construction sont insérées ensuite.
+         * EN: Builds the index from the archive (two columns read, one sort); to be called once,
+         *     off the EDT. Games finished during the build are inserted afterwards.
+         */
+        void build() {
+            long count = archive.listen(this::onAppend);
+            if (count > Integer.MAX_VALUE) throw new IllegalStateException("Archive trop grande pour le classement");
+            int rows = (int) count;
+            long[] built = new long[rows];
+            archive.scan(GameArchive.Column.SCORE, count, (first, values, n) -> {
+                for (int i = 0; i < n; i++) built[(int) first + i] = key(values[i], first + i);
+            });
+            long[][] best = { new long[0] };
+            archive.scan(GameArchive.Column.PLAYER, count, (first, values, n) -> {
+                for (int i = 0; i < n; i++) {
+                    int id = (int) values[i];
+                    best[0] = ensurePlayer(best[0], id);
+                    long candidate = built[(int) first + i];
+                    if (best[0][id] < 0 || candidate < best[0][id]) best[0][id] = candidate;
+                }
+            });
+            java.util.Arrays.parallelSort(built);
+            java.util.TreeMap<String, Integer> index = new java.util.TreeMap<>();
+            for (int id = 0; id < best[0].length; id++) {
+                if (best[0][id] >= 0) index.putIfAbsent(archive.getPlayerName(id).toLowerCase(java.util.Locale.ROOT), id);
+            }
+            synchronized (this) {
+                keys = built;
+                size = rows;
+                bestKey = best[0];
+                names.putAll(index);
+                ready = true;
+                for (long[] row : pending) insert(row[0], row[1], (int) row[2]);
+                pending = null;
+                version++;
+            }
+        }
+
+        void setListener(Listener listener) {
+            this.listener = listener;
+        }
+
+        private void onAppend(long row, long[] values) {
+            int rank;
+            synchronized (this) {
+                if (!ready) {
+                    pending.add(new long[] {row, values[GameArchive.Column.SCORE.ordinal()], values[GameArchive.Column.PLAYER.ordinal()]});
+                    return;
+                }
+                rank = insert(row, values[GameArchive.Column.SCORE.ordinal()], (int) values[GameArchive.Column.PLAYER.ordinal()]);
+            }
+            Listener current = listener;
+            if (current != null) current.rankInserted(rank);
+        }
+
+        private int insert(long row, long score, int player) {
+            long key = key(score, row);
+            int rank = -java.util.Arrays.binarySearch(keys, 0, size, key) - 1;
+            if (size == keys.length) keys = java.util.Arrays.copyOf(keys, Math.max(16, size + (size >> 1)));
+            System.arraycopy(keys, rank, keys, rank + 1, size - rank);
+            keys[rank] = key;
+            size++;
+            bestKey = ensurePlayer(bestKey, player);
+            if (bestKey[player] < 0) names.putIfAbsent(archive.getPlayerName(player).toLowerCase(java.util.Locale.ROOT), player);
+            if (bestKey[player] < 0 || key < bestKey[player]) bestKey[player] = key;
+            pages.clear();
+            version++;
+            return rank;
+        }
+
+        private static long[] ensurePlayer(long[] best, int id) {
+            if (id < best.length) return best;
+            int old = best.length;
+            long[] grown = java.util.Arrays.copyOf(best, Math.max(id + 1, old * 2));
+            java.util.Arrays.fill(grown, old, grown.length, -1);
+            return grown;
+        }
+
+        // FR: Ordre croissant des clés = score décroissant, puis ligne croissante. / EN: Ascending keys = descending score, then ascending row.
+        private static long key(long score, long row) {
+            return (MAX_SCORE - Math.max(0, Math.min(MAX_SCORE, score))) << 32 | row;
+        }
+
+        public synchronized boolean isReady() { return ready; }
+        public synchronized int size() { return size; }
+
+        /**
+         * FR: Ligne au rang donné (à partir de 0), lue par page. L'archive est lue hors du verrou
+         *     du classement, qu'elle prend elle-même lors des ajouts.
+         * EN: Row at the given rank (from 0), read by page. The archive is read outside the
+         *     leaderboard's lock, which the archive itself takes on appends.
+         */
+        public Row row(int rank) {
+            int page = rank / PAGE_ROWS;
+            long[] pageKeys;
+            long pageVersion;
+            synchronized (this) {
+                if (rank < 0 || rank >= size) return null;
+                Row[] cached = pages.get(page);
+                if (cached != null) return cached[rank - page * PAGE_ROWS];
+                int from = page * PAGE_ROWS;
+                pageKeys = java.util.Arrays.copyOfRange(keys, from, Math.min(size, from + PAGE_ROWS));
+                pageVersion = version;
+            }
+            Row[] loaded = new Row[pageKeys.length];
+            for (int i = 0; i < pageKeys.length; i++) {
+                long row = pageKeys[i] & 0xFFFFFFFFL;
+                loaded[i] = new Row(archive.getPlayerName((int) archive.read(row, GameArchive.Column.PLAYER)),
+                        MAX_SCORE - (pageKeys[i] >>> 32),
+                        (int) archive.read(row, GameArchive.Column.LEVEL),
+                        archive.read(row, GameArchive.Column.TIMESTAMP));
+            }
+            synchronized (this) {
+                if (version == pageVersion) pages.put(page, loaded);
+            }
+            return loaded[rank - page * PAGE_ROWS];
+        }
+
+        /**
+         * FR: Meilleur rang du premier joueur (ordre alphabétique) dont le nom commence par `prefix`,
+         *     sans tenir compte de la casse ; -1 si aucun.
+         * EN: Best rank of the first player (alphabetical order) whose name starts with `prefix`,
+         *     case-insensitively; -1 if none.
+         */
+        public synchronized int findPlayer(String prefix) {
+            String wanted = prefix.trim().toLowerCase(java.util.Locale.ROOT);
+            java.util.Map.Entry<String, Integer> match = names.ceilingEntry(wanted);
+            if (match == null || !match.getKey().startsWith(wanted)) return -1;
+            int rank = java.util.Arrays.binarySearch(keys, 0, size, bestKey[match.getValue()]);
+            return Math.max(-1, rank);
+        }
+    }
+
+    /**
+     * FR: Océan partagé (mode "chacun pour soi") : des dizaines de joueurs placent leur flotte sur
+     *     une seule grande grille et tirent tous en même temps, un tir par joueur et par tour.
+     *     L'index dense case -> navire remplace tout parcours des navires. Un tour se résout en
+     *     deux phases : (1) par région de REGION x REGION cases, en parallèle, chaque tir marque sa
+     *     case (le premier tir dans l'ordre du tour l'emporte) ; (2) en séquence, les touches
+     *     endommagent les navires et les coulent. L'ordre du tour fait tourner la priorité entre
+     *     joueurs, ce qui rend la résolution déterministe quel que soit le nombre de threads.
+     * EN: Shared ocean ("free-for-all" mode): dozens of players place their fleet on one large
+     *     grid and all fire at the same time, one shot per player per tick. The dense
+     *     cell -> ship index replaces any scan over ships. A tick resolves in two phases:
+     *     (1) per region of REGION x REGION cells, in parallel, each shot marks its cell (the first
+     *     shot in tick order wins); (2) sequentially, hits damage ships and sink them. Tick order
+     *     rotates priority between players, which makes resolution deterministic whatever the
+     *     number of threads.
+     */
+    private static final class SharedOcean {
+        static final int REGION = 16;
+        static final byte WATER = 0;
+        static final byte MISS = 1;
+        static final byte HIT = 2;
+        // FR: En dessous, un tour se résout sur le thread appelant. / EN: Below this, a tick resolves on the calling thread.
+        private static final int PARALLEL_THRESHOLD = 64;
+        private static final int PLACEMENT_ATTEMPTS = 10_000;
+        private static final int WARMUP_TICKS = 5_000;
+
+        enum Outcome { NONE, MISS, HIT, SUNK, ALREADY_SHOT, REJECTED }
+
+        private final int size;
+        private final int players;
+        private final int regionsPerSide;
+        private final byte[] cells;
+        private final int[] shipAt;                    // FR: Case -> navire, -1 si eau. / EN: Cell -> ship, -1 for water.
+        private final java.util.List<Ship> ships = new ArrayList<>();
+        private int[] shipOwner = new int[64];
+        private final int[] afloat;
+        private final boolean[] placed;
+        private final long[] scores;
+        private final int[] queued;                    // FR: Tir en attente par joueur, -1 si aucun. / EN: Pending shot per player, -1 if none.
+        private final int[] lastShot;
+        private final Outcome[] lastOutcome;
+        private int tick;
+
+        // FR: Tampons du tour (tri par région). / EN: Tick buffers (sort by region).
+        private final int[] regionStart;
+        private final int[] ordered;
+        private final int[] cuts;
+        private final java.util.concurrent.ExecutorService pool;
+        private final int workers;
+
+        /**
+         * @param workers FR: Threads de résolution (1 : tout sur le thread appelant). / EN: Resolution threads (1: all on the calling thread).
+         */
+        SharedOcean(int players, int size, int workers) {
+            this.size = size;
+            this.players = players;
+            this.regionsPerSide = (size + REGION - 1) / REGION;
+            this.cells = new byte[size * size];
+            this.shipAt = new int[size * size];
+            java.util.Arrays.fill(shipAt, -1);
+            this.afloat = new int[players];
+            this.placed = new boolean[players];
+            this.scores = new long[players];
+            this.queued = new int[players];
+            this.lastShot = new int[players];
+            this.lastOutcome = new Outcome[players];
+            java.util.Arrays.fill(queued, -1);
+            java.util.Arrays.fill(lastShot, -1);
+            java.util.Arrays.fill(lastOutcome, Outcome.NONE);
+            this.regionStart = new int[regionsPerSide * regionsPerSide + 1];
+            this.ordered = new int[players];
+            this.workers = Math.max(1, workers);
+            this.cuts = new int[this.workers + 1];
+            this.pool = this.workers == 1 ? null : java.util.concurrent.Executors.newFixedThreadPool(this.workers - 1, task -> {
+                Thread thread = new Thread(task, "battleship-ocean");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        /**
+         * FR: Côté d'océan laissant environ 80 cases par joueur (densité proche d'une grille 10x10).
+         * EN: Ocean side leaving about 80 cells per player (density close to a 10x10 grid).
+         */
+        static int sizeFor(int players) {
+            return Math.max(Theme.BOARD_SIZE, (int) Math.ceil(Math.sqrt(players * 80.0)));
+        }
+
+        /**
+         * FR: Océan dimensionné pour le nombre de joueurs, toutes les flottes placées au hasard
+         *     (un nouvel océan est tiré dans le cas rare où une flotte ne trouve plus de place).
+         * EN: Ocean sized for the number of players, every fleet placed randomly (a new ocean is
+         *     drawn in the rare case where a fleet no longer finds room).
+         */
+        static SharedOcean randomOcean(int players, int workers, Random random) {
+            while (true) {
+                SharedOcean ocean = new SharedOcean(players, sizeFor(players), workers);
+                int placed = 0;
+                while (placed < players && ocean.placeFleetRandomly(placed, random)) placed++;
+                if (placed == players) return ocean;
+                ocean.close();
+            }
+        }
+
+        /**
+         * FR: Place la flotte d'un joueur (mêmes règles que {@link Board#canPlaceShip}).
+         * EN: Places a player's fleet (same rules as {@link Board#canPlaceShip}).
+         * @return FR: `false` si un navire sort de l'océan ou en chevauche un autre. / EN: `false` if a ship leaves the ocean or overlaps another.
+         */
+        public boolean placeFleet(int player, java.util.List<Ship> fleet) {
+            if (placed[player]) return false;
+            for (int i = 0; i < fleet.size(); i++) {
+                if (!canPlace(fleet.get(i))) return false;
+                for (int j = 0; j < i; j++) {
+                    if (overlaps(fleet.get(i), fleet.get(j))) return false;
+                }
+            }
+            for (Ship ship : fleet) addShip(player, ship);
+            placed[player] = true;
+            return true;
+        }
+
+        /**
+         * FR: Place au hasard la flotte complète (niveau maximal) d'un joueur.
+         * EN: Randomly places a player's full fleet (maximum level).
+         */
+        public boolean placeFleetRandomly(int player, Random random) {
+            if (placed[player]) return false;
+            int firstShip = ships.size();
+            for (Ship ship : GameEngine.getShipsForLevel(Theme.MAX_LEVEL)) {
+                int attempts = 0;
+                do {
+                    if (++attempts > PLACEMENT_ATTEMPTS) {
+                        // FR: Retire les navires déjà posés de cette flotte. / EN: Removes the ships of this fleet already laid.
+                        while (ships.size() > firstShip) {
+                            for (Point p : ships.remove(ships.size() - 1).getOccupiedCells()) shipAt[p.x * size + p.y] = -1;
+                        }
+                        afloat[player] = 0;
+                        return false;
+                    }
+                    ship.setPlacement(random.nextInt(size), random.nextInt(size), random.nextBoolean());
+                } while (!canPlace(ship));
+                addShip(player, ship);
+            }
+            placed[player] = true;
+            return true;
+        }
+
+        private boolean canPlace(Ship ship) {
+            for (Point p : ship.getOccupiedCells()) {
+                if (!isValidCoordinate(p.x, p.y) || shipAt[p.x * size + p.y] >= 0) return false;
+            }
+            return true;
+        }
+
+        private static boolean overlaps(Ship a, Ship b) {
+            for (Point p : a.getOccupiedCells()) {
+                if (b.getOccupiedCells().contains(p)) return true;
+            }
+            return false;
+        }
+
+        private void addShip(int player, Ship ship) {
+            int id = ships.size();
+            ships.add(ship);
+            if (id == shipOwner.length) shipOwner = java.util.Arrays.copyOf(shipOwner, id * 2);
+            shipOwner[id] = player;
+            for (Point p : ship.getOccupiedCells()) shipAt[p.x * size + p.y] = id;
+            if (!ship.isSunk()) afloat[player]++;
+        }
+
+        /**
+         * FR: Programme le tir d'un joueur pour le prochain tour (le dernier demandé l'emporte).
+         * EN: Queues a player's shot for the next tick (the last one requested wins).
+         */
+        public void fire(int player, int x, int y) {
+            if (isValidCoordinate(x, y) && !isEliminated(player)) queued[player] = x * size + y;
+        }
+
+        /**
+         * FR: Résout tous les tirs en attente comme simultanés.
+         * EN: Resolves every pending shot as simultaneous.
+         * @return FR: Le nombre de tirs résolus. / EN: The number of shots resolved.
+         */
+        public int resolveTick() {
+            int regions = regionStart.length - 1;
+            java.util.Arrays.fill(regionStart, 0);
+            java.util.Arrays.fill(lastShot, -1);
+            java.util.Arrays.fill(lastOutcome, Outcome.NONE);
+            // FR: Tri par dénombrement, stable dans l'ordre du tour (priorité tournante).
+            // EN: Counting sort, stable in tick order (rotating priority).
+            int first = tick % players;
+            int shots = 0;
+            for (int i = 0; i < players; i++) {
+                int player = (first + i) % players;
+                if (queued[player] < 0) continue;
+                lastShot[player] = queued[player];
+                regionStart[regionOf(queued[player]) + 1]++;
+                shots++;
+            }
+            for (int r = 0; r < regions; r++) regionStart[r + 1] += regionStart[r];
+            int[] cursor = java.util.Arrays.copyOf(regionStart, regions);
+            for (int i = 0; i < players; i++) {
+                int player = (first + i) % players;
+                if (queued[player] >= 0) ordered[cursor[regionOf(queued[player])]++] = player;
+            }
+
+            // FR: Phase 1 : les régions sont indépendantes (chaque tir n'écrit que dans sa case).
+            // EN: Phase 1: regions are independent (each shot only writes its own cell).
+            if (pool == null || shots < PARALLEL_THRESHOLD) {
+                markRegions(0, shots);
+            } else {
+                // FR: Tranches d'environ shots / workers tirs, coupées aux frontières de région.
+                // EN: Slices of about shots / workers shots, cut on region boundaries.
+                int slice = (shots + workers - 1) / workers;
+                int parts = 0;
+                while (cuts[parts] < shots) {
+                    int end = Math.min(shots, cuts[parts] + slice);
+                    if (end < shots) end = regionStart[regionOf(lastShot[ordered[end - 1]]) + 1];
+                    cuts[++parts] = end;
+                }
+                java.util.List<java.util.concurrent.Future<?>> pending = new ArrayList<>(parts);
+                for (int part = 1; part < parts; part++) {
+                    int from = cuts[part];
+                    int to = cuts[part + 1];
+                    pending.add(pool.submit(() -> markRegions(from, to)));
+                }
+                markRegions(0, cuts[1]);
+                try {
+                    for (java.util.concurrent.Future<?> part : pending) part.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Résolution interrompue", e);
+                } catch (java.util.concurrent.ExecutionException e) {
+                    throw new IllegalStateException("Résolution impossible", e.getCause());
+                }
+            }
+
+            // FR: Phase 2 : dégâts et naufrages, dans l'ordre du tour. / EN: Phase 2: damage and sinkings, in tick order.
+            for (int i = 0; i < players; i++) {
+                int player = (first + i) % players;
+                if (lastOutcome[player] != Outcome.HIT) continue;
+                int ship = shipAt[lastShot[player]];
+                Ship target = ships.get(ship);
+                target.hitCount++;
+                scores[player] += 100;
+                if (target.isSunk()) {
+                    lastOutcome[player] = Outcome.SUNK;
+                    scores[player] += 500;
+                    afloat[shipOwner[ship]]--;
+                }
+            }
+            java.util.Arrays.fill(queued, -1);
+            tick++;
+            return shots;
+        }
+
+        private void markRegions(int from, int to) {
+            for (int i = from; i < to; i++) {
+                int player = ordered[i];
+                int cell = lastShot[player];
+                int ship = shipAt[cell];
+                if (ship >= 0 && shipOwner[ship] == player) {
+                    lastOutcome[player] = Outcome.REJECTED;
+                } else if (cells[cell] != WATER) {
+                    lastOutcome[player] = Outcome.ALREADY_SHOT;
+                } else if (ship < 0) {
+                    cells[cell] = MISS;
+                    lastOutcome[player] = Outcome.MISS;
+                } else {
+                    cells[cell] = HIT;
+                    lastOutcome[player] = Outcome.HIT;
+                }
+            }
+        }
+
+        private int regionOf(int cell) {
+            return (cell / size / REGION) * regionsPerSide + (cell % size) / REGION;
+        }
+
+        /**
+         * FR: Arrête les threads de résolution.
+         * EN: Stops the resolution threads.
+         */
+        public void close() {
+            if (pool != null) pool.shutdownNow();
+        }
+
+        public boolean isValidCoordinate(int x, int y) { return x >= 0 && x < size && y >= 0 && y < size; }
+        public byte cellAt(int x, int y) { return cells[x * size + y]; }
+        /** FR: Propriétaire du navire sur la case, -1 si eau. / EN: Owner of the ship on the cell, -1 for water. */
+        public int ownerAt(int x, int y) { int ship = shipAt[x * size + y]; return ship < 0 ? -1 : shipOwner[ship]; }
+        public boolean isSunkAt(int x, int y) { int ship = shipAt[x * size + y]; return ship >= 0 && ships.get(ship).isSunk(); }
+        public boolean isEliminated(int player) { return placed[player] && afloat[player] == 0; }
+        public int getShipsAfloat(int player) { return afloat[player]; }
+        public long getScore(int player) { return scores[player]; }
+        public Outcome getLastOutcome(int player) { return lastOutcome[player]; }
+        public int getLastShot(int player) { return lastShot[player]; }
+        public int getTick() { return tick; }
+        public int getSize() { return size; }
+        public int getPlayers() { return players; }
+
+        public int countPlayersAlive() {
+            int alive = 0;
+            for (int p = 0; p < players; p++) if (!isEliminated(p)) alive++;
+            return alive;
+        }
+
+        /**
+         * FR: Banc de mesure --ocean-bench [joueurs] [tours] [threads] : des IA jouent des parties
+         *     successives sur un océan partagé ; après WARMUP_TICKS tours d'échauffement non mesurés
+         *     (JIT), affiche le temps de résolution par tour sur les tours suivants.
+         * EN: --ocean-bench [players] [ticks] [threads] benchmark: AIs play successive games on a
+         *     shared ocean; after WARMUP_TICKS unmeasured warm-up ticks (JIT), prints the resolution
+         *     time per tick over the following ticks.
+         */
+        static void bench(String[] args) {
+            int players;
+            int ticks;
+            int threads;
+            try {
+                players = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+                ticks = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+                threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            } catch (NumberFormatException e) {
+                players = 0;
+                ticks = 0;
+                threads = 0;
+            }
+            // FR: Seul, un joueur a déjà gagné : aucune partie ne durerait un tour. / EN: Alone, a player has already won: no game would last a tick.
+            if (players < 2 || ticks < 1 || threads < 1) {
+                System.err.println("Usage : --ocean-bench [joueurs >= 2] [tours >= 1] [threads >= 1]");
+                System.exit(2);
+                return;
+            }
+            Random random = new Random(42);
+            System.out.println("Océan partagé : " + players + " joueurs, " + sizeFor(players) + "x" + sizeFor(players) + ", " + threads + " threads");
+            playBenchGames(players, threads, random, new long[WARMUP_TICKS]);
+            long[] samples = new long[ticks];
+            int games = playBenchGames(players, threads, random, samples);
+            java.util.Arrays.sort(samples);
+            long total = 0;
+            for (long sample : samples) total += sample;
+            System.out.printf("%d tours mesurés (%d parties, après %d d'échauffement) : moyenne %.1f µs, p99 %.1f µs, max %.1f µs%n",
+                    ticks, games, WARMUP_TICKS, total / 1e3 / Math.max(1, ticks),
+                    samples[Math.max(0, (int) (ticks * 0.99) - 1)] / 1e3, samples[Math.max(0, ticks - 1)] / 1e3);
+        }
+
+        /**
+         * FR: Enchaîne des parties jusqu'à remplir `samples` (un temps de résolution par tour).
+         * EN: Plays games back to back until `samples` is full (one resolution time per tick).
+         * @return FR: Nombre de parties entamées. / EN: Number of games started.
+         */
+        private static int playBenchGames(int players, int threads, Random random, long[] samples) {
+            int played = 0;
+            int games = 0;
+            while (played < samples.length) {
+                SharedOcean ocean = randomOcean(players, threads, random);
+                OceanBot[] bots = new OceanBot[players];
+                for (int p = 0; p < players; p++) bots[p] = new OceanBot(p, random.nextLong());
+                games++;
+                while (played < samples.length && ocean.countPlayersAlive() > 1) {
+                    for (OceanBot bot : bots) bot.aim(ocean);
+                    long start = System.nanoTime();
+                    ocean.resolveTick();
+                    samples[played++] = System.nanoTime() - start;
+                    for (OceanBot bot : bots) bot.observe(ocean);
+                }
+                ocean.close();
+            }
+            return games;
+        }
+    }
+
+    /**
+     * FR: IA de l'océan partagé, sur le modèle de celle du moteur : tir au hasard, puis chasse
+     *     des cases voisines après une touche. Elle ne lit que l'état public des cases.
+     * EN: Shared-ocean AI, modelled on the engine's: random shots, then hunting neighbouring
+     *     cells after a hit. It only reads the public cell state.
+     */
+    private static final class OceanBot {
+        private static final int RANDOM_ATTEMPTS = 64;
+        private final int player;
+        private final Random random;
+        private final java.util.ArrayDeque<Integer> huntTargets = new java.util.ArrayDeque<>();
+
+        OceanBot(int player, long seed) {
+            this.player = player;
+            this.random = new Random(seed);
+        }
+
+        /**
+         * FR: Choisit et programme le tir de ce tour.
+         * EN: Picks and queues this tick's shot.
+         */
+        void aim(SharedOcean ocean) {
+            if (ocean.isEliminated(player)) return;
+            int size = ocean.getSize();
+            while (!huntTargets.isEmpty()) {
+                int cell = huntTargets.poll();
+                if (isTarget(ocean, cell / size, cell % size)) {
+                    ocean.fire(player, cell / size, cell % size);
+                    return;
+                }
+            }
+            for (int i = 0; i < RANDOM_ATTEMPTS; i++) {
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                if (isTarget(ocean, x, y)) {
+                    ocean.fire(player, x, y);
+                    return;
+                }
+            }
+            // FR: Océan presque plein : parcours depuis une case au hasard. / EN: Nearly full ocean: scan from a random cell.
+            int start = random.nextInt(size * size);
+            for (int i = 0; i < size * size; i++) {
+                int cell = (start + i) % (size * size);
+                if (isTarget(ocean, cell / size, cell % size)) {
+                    ocean.fire(player, cell / size, cell % size);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * FR: Met à jour la chasse d'après le résultat du tour.
+         * EN: Updates the hunt from the tick's outcome.
+         */
+        void observe(SharedOcean ocean) {
+            SharedOcean.Outcome outcome = ocean.getLastOutcome(player);
+            if (outcome == SharedOcean.Outcome.SUNK) {
+                huntTargets.clear();
+            } else if (outcome == SharedOcean.Outcome.HIT) {
+                int size = ocean.getSize();
+                int cell = ocean.getLastShot(player);
+                int x = cell / size;
+                int y = cell % size;
+                int[][] neighbours = {{x + 1, y}, {x - 1, y}, {x, y + 1}, {x, y - 1}};
+                for (int[] n : neighbours) {
+                    if (ocean.isValidCoordinate(n[0], n[1])) huntTargets.add(n[0] * size + n[1]);
+                }
+            }
+        }
+
+        private boolean isTarget(SharedOcean ocean, int x, int y) {
+            return ocean.cellAt(x, y) == SharedOcean.WATER && ocean.ownerAt(x, y) != player;
+        }
+    }
+
+    /**
+     * FR: Banc de fuzzing par propriétés : joue en parallèle des millions de parties aléatoires
+     *     reproductibles (graines) à travers GameEngine, Board et Ship, vérifie les invariants
+     *     après chaque coup et réduit toute partie fautive à un replay minimal.
+     *     Usage : java BattleshipPremiumV2 --fuzz [parties] [graine] [threads]
+     * EN: Property-based fuzzing harness: plays millions of reproducible (seeded) random games
+     *     in parallel through GameEngine, Board and Ship, checks invariants after every move and
+     *     shrinks any failing game to a minimal replay.
+     *     Usage: java BattleshipPremiumV2 --fuzz [games] [seed] [threads]
+     */
+    private static final class FuzzHarness {
+        // FR: Borne de terminaison : deux tirs par case et par niveau suffisent largement.
+        // EN: Termination bound: two shots per cell and per level are more than enough.
+        private static final int MAX_MOVES_PER_GAME = Theme.MAX_LEVEL * Theme.BOARD_SIZE * Theme.BOARD_SIZE * 2;
+        private static final int MAX_REPORTED_FAILURES = 5;
+
+        /**
+         * FR: Action rejouable du joueur : placement d'une flotte ou tir (salve d'un ou plusieurs coups).
+         * EN: Replayable player action: fleet placement or shot (volley of one or more shots).
+         */
+        private static final class Action {
+            private final boolean placement;
+            private final int[] xs;
+            private final int[] ys;
+            private final boolean[] horizontal;
+
+            Action(boolean placement, int[] xs, int[] ys, boolean[] horizontal) {
+                this.placement = placement;
+                this.xs = xs;
+                this.ys = ys;
+                this.horizontal = horizontal;
+            }
+
+            @Override public String toString() {
+                StringBuilder sb = new StringBuilder(placement ? "place" : "shot");
+                for (int i = 0; i < xs.length; i++) {
+                    sb.append(' ').append(xs[i]).append(',').append(ys[i]);
+                    if (placement) sb.append(horizontal[i] ? ",h" : ",v");
+                }
+                return sb.toString();
+            }
+        }
+
+        /**
+         * FR: Résultat d'une exécution : invariant violé (null si aucun) et index de l'action fautive.
+         * EN: Outcome of a run: violated invariant (null if none) and index of the faulty action.
+         */
+        private static final class Outcome {
+            private final String violation;
+            private final int actionIndex;
+            private final int moves;
+
+            Outcome(String violation, int actionIndex, int moves) {
+                this.violation = violation;
+                this.actionIndex = actionIndex;
+                this.moves = moves;
+            }
+
+            String invariant() {
+                return violation == null ? null : violation.substring(0, violation.indexOf(':') < 0 ? violation.length() : violation.indexOf(':'));
+            }
+        }
+
+        /**
+         * FR: Point d'entrée du mode --fuzz.
+         * EN: Entry point of the --fuzz mode.
+         */
+        static void run(String[] args) {
+            long games = args.length > 1 ? Long.parseLong(args[1]) : 100_000L;
+            long baseSeed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            System.out.println("Fuzzing : " + games + " parties, graine " + baseSeed + ", " + threads + " threads");
+
+            java.util.concurrent.atomic.AtomicLong nextGame = new java.util.concurrent.atomic.AtomicLong();
+            java.util.concurrent.atomic.LongAdder totalMoves = new java.util.concurrent.atomic.LongAdder();
+            java.util.Queue<String> failures = new java.util.concurrent.ConcurrentLinkedQueue<>();
+            java.util.concurrent.atomic.AtomicBoolean stop = new java.util.concurrent.atomic.AtomicBoolean();
+            long start = System.nanoTime();
+
+            java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                pool.execute(() -> {
+                    GameEngine engine = new GameEngine(0, null);
+                    long index;
+                    while (!stop.get() && (index = nextGame.getAndIncrement()) < games) {
+                        long seed = mix(baseSeed + index);
+                        RuleSet rules = (seed & 1) == 0 ? RuleSet.CLASSIC : RuleSet.SALVO;
+                        java.util.List<Action> recorded = new ArrayList<>();
+                        Outcome outcome = execute(engine, seed, rules, null, new Random(seed ^ 0x5DEECE66DL), recorded);
+                        totalMoves.add(outcome.moves);
+                        if (outcome.violation != null) {
+                            java.util.List<Action> minimal = shrink(seed, rules, recorded, outcome);
+                            failures.add(report(seed, rules, outcome, minimal));
+                            if (failures.size() >= MAX_REPORTED_FAILURES) stop.set(true);
+                            engine = new GameEngine(0, null); // FR: État potentiellement corrompu. / EN: State may be corrupted.
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, java.util.concurrent.TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long played = Math.min(nextGame.get(), games);
+            System.out.printf("%d parties, %d coups en %.1f s (%.0f parties/s)%n",
+                    played, totalMoves.sum(), seconds, played / Math.max(seconds, 1e-9));
+            if (failures.isEmpty()) {
+                System.out.println("Aucun invariant violé.");
+            } else {
+                failures.forEach(System.out::println);
+                System.exit(1);
+            }
+        }
+
+        /**
+         * FR: Rejoue un fichier produit par le fuzzing (--fuzz-replay fichier).
+         * EN: Replays a file produced by fuzzing (--fuzz-replay file).
+         */
+        static void replay(String[] args) {
+            try {
+                java.util.List<String> lines = Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8);
+                long seed = 0;
+                RuleSet rules = RuleSet.CLASSIC;
+                java.util.List<Action> actions = new ArrayList<>();
+                for (String line : lines) {
+                    String[] parts = line.trim().split("\\s+");
+                    if (parts.length == 0 || parts[0].isEmpty() || parts[0].startsWith("#")) continue;
+                    switch (parts[0]) {
+                        case "seed": seed = Long.parseLong(parts[1]); break;
+                        case "rules": rules = RuleSet.valueOf(parts[1]); break;
+                        case "place":
+                        case "shot":
+                            actions.add(parseAction(parts));
+                            break;
+                        default: break;
+                    }
+                }
+                Outcome outcome = execute(new GameEngine(0, null), seed, rules, actions, null, null);
+                System.out.println(outcome.violation == null ? "Replay OK (" + outcome.moves + " coups)." : "Replay : " + outcome.violation);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Replay illisible : " + e.getMessage());
+                System.exit(2);
+            }
+        }
+
+        private static Action parseAction(String[] parts) {
+            boolean placement = parts[0].equals("place");
+            int n = parts.length - 1;
+            int[] xs = new int[n];
+            int[] ys = new int[n];
+            boolean[] horizontal = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                String[] cell = parts[i + 1].split(",");
+                xs[i] = Integer.parseInt(cell[0]);
+                ys[i] = Integer.parseInt(cell[1]);
+                horizontal[i] = cell.length > 2 && cell[2].equals("h");
+            }
+            return new Action(placement, xs, ys, horizontal);
+        }
+
+        /**
+         * FR: Joue une partie. Si `script` est null, les actions sont tirées de `moves` et ajoutées
+         *     à `recorded` ; sinon elles sont rejouées telles quelles (les actions inapplicables sont ignorées).
+         * EN: Plays one game. If `script` is null, actions are drawn from `moves` and appended to
+         *     `recorded`; otherwise they are replayed as is (inapplicable actions are skipped).
+         */
+        private static Outcome execute(GameEngine engine, long seed, RuleSet rules, java.util.List<Action> script,
+                                       Random moves, java.util.List<Action> recorded) {
+            long failedBefore = engine.failedCommands;
+            engine.initGame(rules, seed);
+            engine.runPending();
+            long expectedScore = 0;
+            int moveCount = 0;
+            int actionIndex = -1;
+
+            while (engine.currentState != GameState.GAME_OVER) {
+                if (moveCount > MAX_MOVES_PER_GAME) {
+                    return new Outcome("terminaison: plus de " + MAX_MOVES_PER_GAME + " coups", actionIndex, moveCount);
+                }
+                boolean placing = engine.currentState != GameState.PLAYING;
+                Action action;
+                if (script != null) {
+                    if (++actionIndex >= script.size()) break;
+                    action = script.get(actionIndex);
+                    if (action.placement != placing) continue;
+                } else {
+                    action = placing ? randomPlacement(engine.currentLevel, moves) : randomShot(engine, moves);
+                    recorded.add(action);
+                    actionIndex = recorded.size() - 1;
+                }
+                moveCount++;
+
+                if (action.placement) {
+                    java.util.List<Ship> fleet = GameEngine.getShipsForLevel(engine.currentLevel);
+                    if (fleet.size() != action.xs.length) continue;
+                    for (int i = 0; i < fleet.size(); i++) fleet.get(i).setPlacement(action.xs[i], action.ys[i], action.horizontal[i]);
+                    engine.submitPlayerFleet(fleet);
+                    engine.setCurrentState(GameState.PLAYING);
+                    engine.runPending();
+                } else {
+                    int level = engine.currentLevel;
+                    Board target = engine.computerBoard;
+                    int hitsBefore = countCells(target, 'H');
+                    if (rules == RuleSet.SALVO) {
+                        engine.playerFireSalvo(action.xs, action.ys, action.xs.length);
+                    } else {
+                        engine.playerMakeMove(action.xs[0], action.ys[0]);
+                    }
+                    engine.runPending();
+
+                    // FR: Modèle de score indépendant : 100 par touche, 500 par niveau, 1000 par niveau max.
+                    // EN: Independent score model: 100 per hit, 500 per level, 1000 per max level.
+                    expectedScore += 100L * level * (countCells(target, 'H') - hitsBefore);
+                    if (target.areAllShipsSunk()) {
+                        expectedScore += 500L * level;
+                        if (level == Theme.MAX_LEVEL) expectedScore += 1000L * Theme.MAX_LEVEL;
+                    }
+                    if (engine.playerScore != expectedScore) {
+                        return new Outcome("score: attendu " + expectedScore + ", obtenu " + engine.playerScore, actionIndex, moveCount);
+                    }
+                    String violation = checkBoard(target, moveCount);
+                    if (violation != null) return new Outcome(violation, actionIndex, moveCount);
+                }
+
+                if (engine.failedCommands != failedBefore) {
+                    return new Outcome("exception: une commande du moteur a échoué", actionIndex, moveCount);
+                }
+                String violation = checkBoard(engine.playerBoard, moveCount);
+                if (violation == null) violation = checkBoard(engine.computerBoard, moveCount);
+                if (violation != null) return new Outcome(violation, actionIndex, moveCount);
+            }
+            return new Outcome(null, actionIndex, moveCount);
+        }
+
+        private static Action randomPlacement(int level, Random moves) {
+            java.util.List<Ship> fleet = GameEngine.getShipsForLevel(level);
+            Board board = new Board();
+            int n = fleet.size();
+            int[] xs = new int[n];
+            int[] ys = new int[n];
+            boolean[] horizontal = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                Ship ship = fleet.get(i);
+                while (!board.placeShipRandomly(ship, moves));
+                xs[i] = ship.startX;
+                ys[i] = ship.startY;
+                horizontal[i] = ship.isHorizontal;
+            }
+            return new Action(true, xs, ys, horizontal);
+        }
+
+        private static Action randomShot(GameEngine engine, Random moves) {
+            Board target = engine.computerBoard;
+            int size = target.getSize();
+            int n = engine.ruleSet == RuleSet.SALVO ? engine.playerSalvoShots() : 1;
+            int[] xs = new int[n];
+            int[] ys = new int[n];
+            for (int i = 0; i < n; i++) {
+                // FR: Un tir sur dix vise volontairement n'importe quelle case, déjà tirée ou non.
+                // EN: One shot in ten deliberately aims at any cell, already shot or not.
+                boolean anyCell = moves.nextInt(10) == 0;
+                do {
+                    xs[i] = moves.nextInt(size);
+                    ys[i] = moves.nextInt(size);
+                } while (!anyCell && target.isShot(xs[i], ys[i]) && target.countUnshotCells() > 0);
+            }
+            return new Action(false, xs, ys, null);
+        }
+
+        /**
+         * FR: Vérifie les invariants structurels d'une grille.
+         * EN: Checks the structural invariants of a board.
+         */
+        private static String checkBoard(Board board, int probe) {
+            int size = board.getSize();
+            int hitCells = countCells(board, 'H');
+            int hitCounts = 0;
+            int afloat = 0;
+            int[][] owners = new int[size][size];
+            for (Ship ship : board.ships) {
+                hitCounts += ship.hitCount;
+                if (!ship.isSunk()) afloat++;
+                if (ship.hitCount > ship.getSize()) return "touches: " + ship.getType() + " touché " + ship.hitCount + " fois";
+                for (Point p : ship.getOccupiedCells()) {
+                    if (!board.isValidCoordinate(p.x, p.y)) return "placement: " + ship.getType() + " hors de la grille";
+                    if (++owners[p.x][p.y] > 1) return "chevauchement: deux navires en " + p.x + "," + p.y;
+                    if (board.getShipAt(p.x, p.y) != ship) return "index: case " + p.x + "," + p.y + " mal indexée";
+                }
+            }
+            if (hitCounts != hitCells) return "touches: " + hitCounts + " touches comptées pour " + hitCells + " cases 'H'";
+            if (afloat != board.countShipsAfloat()) return "flotte: " + afloat + " navires à flot, compteur " + board.countShipsAfloat();
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    char c = board.grid[x][y];
+                    boolean occupied = owners[x][y] == 1;
+                    if (occupied != (c == 'S' || c == 'H')) return "grille: case " + x + "," + y + " = '" + c + "'";
+                }
+            }
+
+            // FR: isShot et shoot doivent concorder (vérifié sur une copie, case choisie de façon déterministe).
+            // EN: isShot and shoot must agree (checked on a copy, on a deterministically chosen cell).
+            Board copy = board.copy();
+            int cell = Math.floorMod(probe * 7919, size * size);
+            int x = cell / size;
+            int y = cell % size;
+            boolean wasShot = copy.isShot(x, y);
+            char before = copy.grid[x][y];
+            boolean hit = copy.shoot(x, y);
+            if (wasShot && (hit || copy.grid[x][y] != before)) return "isShot/shoot: tir accepté sur une case déjà tirée " + x + "," + y;
+            if (!wasShot && (!copy.isShot(x, y) || hit != (before == 'S'))) return "isShot/shoot: tir incohérent en " + x + "," + y;
+            return null;
+        }
+
+        private static int countCells(Board board, char value) {
+            int count = 0;
+            for (char[] column : board.grid) {
+                for (char c : column) if (c == value) count++;
+            }
+            return count;
+        }
+
+        /**
+         * FR: Réduit le replay fautif (delta debugging) en retirant des tirs tant que le même
+         *     invariant reste violé.
+         * EN: Shrinks the failing replay (delta debugging) by removing shots as long as the same
+         *     invariant still fails.
+         */
+        private static java.util.List<Action> shrink(long seed, RuleSet rules, java.util.List<Action> actions, Outcome failure) {
+            String invariant = failure.invariant();
+            GameEngine engine = new GameEngine(0, null);
+            java.util.List<Action> current = new ArrayList<>(actions.subList(0, Math.min(actions.size(), failure.actionIndex + 1)));
+            int chunk = Math.max(1, current.size() / 2);
+            while (chunk >= 1) {
+                boolean reduced = false;
+                for (int start = 0; start < current.size(); ) {
+                    java.util.List<Action> candidate = new ArrayList<>(current.size());
+                    for (int i = 0; i < current.size(); i++) {
+                        Action action = current.get(i);
+                        if (action.placement || i < start || i >= start + chunk) candidate.add(action);
+                    }
+                    if (candidate.size() < current.size()) {
+                        Outcome outcome = execute(engine, seed, rules, candidate, null, null);
+                        if (invariant.equals(outcome.invariant())) {
+                            current = candidate;
+                            reduced = true;
+                            continue;
+                        }
+                    }
+                    start += chunk;
+                }
+                if (!reduced) chunk /= 2;
+            }
+            return current;
+        }
+
+        private static String report(long seed, RuleSet rules, Outcome outcome, java.util.List<Action> minimal) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("# ").append(outcome.violation).append('\n');
+            sb.append("seed ").append(seed).append('\n');
+            sb.append("rules ").append(rules.name()).append('\n');
+            for (Action action : minimal) sb.append(action).append('\n');
+            String file = "fuzz_failure_" + seed + ".txt";
+            try {
+                Files.write(Paths.get(file), sb.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("Impossible d'écrire " + file + " : " + e.getMessage());
+            }
+            return "ÉCHEC graine " + seed + " (" + rules + ") : " + outcome.violation
+                    + "\n  replay minimal (" + minimal.size() + " actions) : " + file;
+        }
+
+        // FR: Mélangeur SplitMix64 : graines indépendantes pour des indices consécutifs.
+        // EN: SplitMix64 mixer: independent seeds for consecutive indices.
+        static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    /**
+     * FR: Hôte de bots : lance un processus bot externe et lui fait jouer de nombreuses parties
+     *     GameEngine simultanées sur un protocole texte ligne à ligne (stdin/stdout du bot), à la
+     *     manière d'UCI. Toutes les requêtes en attente partent dans un même envoi (pipeline) ;
+     *     chaque coup a une limite de temps, dépassée = partie perdue.
+     *     Usage : java BattleshipPremiumV2 --bot-host "commande du bot" [parties] [simultanées] [ms/coup] [graine] [CLASSIC|SALVO|MIXED]
+     * EN: Bot host: launches an external bot process and has it play many concurrent GameEngine
+     *     matches over a line-based text protocol (the bot's stdin/stdout), UCI style. All pending
+     *     requests go out in a single write (pipelining); each move has a time limit, and
+     *     exceeding it forfeits the game.
+     *     Usage: java BattleshipPremiumV2 --bot-host "bot command" [games] [concurrency] [ms/move] [seed] [CLASSIC|SALVO|MIXED]
+     *
+     * Protocol (one message per line, fields separated by spaces, cells written x,y):
+     * <pre>
+     *   host -> bot                              bot -> host
+     *   hello 1                                  ready [name]
+     *   new   GAME RULES SIZE
+     *   place GAME REQ LEVEL SIZE1 SIZE2 ...     place GAME REQ x,y,h|v ...   (or: place GAME REQ auto)
+     *   move  GAME REQ COUNT                     shot  GAME REQ x,y ...      (exactly COUNT cells)
+     *   result GAME x,y hit|miss                 (for each of the bot's shots)
+     *   sunk  GAME x,y SIZE
+     *   level GAME LEVEL
+     *   end   GAME win|loss|timeout|error SCORE SHOTS
+     *   quit
+     * </pre>
+     * FR: Une réponse à une requête périmée (partie terminée, REQ ancien) est ignorée ; une réponse
+     *     invalide (case hors grille ou déjà visée, mauvais nombre de tirs, flotte impossible)
+     *     termine la partie en « error ».
+     * EN: A reply to a stale request (finished game, old REQ) is ignored; an invalid reply
+     *     (cell off the grid or already targeted, wrong shot count, impossible fleet) ends the
+     *     game as "error".
+     */
+    private static final class BotHost {
+        private static final int PROTOCOL_VERSION = 1;
+        private static final long HANDSHAKE_MILLIS = 10_000;
+        private static final String EOF = "\u0000eof";
+
+        /**
+         * FR: Partie en cours : moteur sans interface piloté par le thread de l'hôte.
+         * EN: Game in progress: headless engine driven by the host thread.
+         */
+        private static final class Match {
+            private final int id;
+            private final long seed;
+            private final RuleSet rules;
+            private final GameEngine engine = new GameEngine(0, null);
+            private int request;
+            private boolean awaitingPlacement;
+            private int expectedShots;
+            private long deadlineNanos;
+            private long sentNanos;
+            private int shots;
+
+            Match(int id, long seed, RuleSet rules) {
+                this.id = id;
+                this.seed = seed;
+                this.rules = rules;
+            }
+        }
+
+        private final java.io.BufferedWriter toBot;
+        private final java.util.concurrent.BlockingQueue<String> fromBot = new java.util.concurrent.LinkedBlockingQueue<>();
+        private final java.util.Map<Integer, Match> active = new java.util.HashMap<>();
+        private final long moveNanos;
+        private long wins, losses, timeouts, errors, totalScore, totalShots, replies, latencyNanos, maxLatencyNanos;
+
+        private BotHost(Process bot, long moveMillis) {
+            this.toBot = new java.io.BufferedWriter(new OutputStreamWriter(bot.getOutputStream(), StandardCharsets.UTF_8), 1 << 16);
+            this.moveNanos = moveMillis * 1_000_000L;
+            Thread reader = new Thread(() -> {
+                try (BufferedReader in = new BufferedReader(new InputStreamReader(bot.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = in.readLine()) != null) fromBot.add(line);
+                } catch (IOException e) {
+                    System.err.println("Lecture du bot interrompue : " + e.getMessage());
+                } finally {
+                    fromBot.add(EOF);
+                }
+            }, "battleship-bot-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        /**
+         * FR: Point d'entrée du mode --bot-host.
+         * EN: Entry point of the --bot-host mode.
+         */
+        static void run(String[] args) {
+            if (args.length < 2) {
+                System.err.println("Usage : --bot-host \"commande du bot\" [parties] [simultanées] [ms/coup] [graine] [CLASSIC|SALVO|MIXED]");
+                return;
+            }
+            int games = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+            int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+            long moveMillis = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+            long baseSeed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+            String rules = args.length > 6 ? args[6].toUpperCase() : "MIXED";
+
+            Process bot;
+            try {
+                bot = new ProcessBuilder(args[1].trim().split("\\s+"))
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+            } catch (IOException e) {
+                System.err.println("Impossible de lancer le bot : " + e.getMessage());
+                return;
+            }
+            BotHost host = new BotHost(bot, moveMillis);
+            try {
+                host.play(games, concurrency, baseSeed, rules);
+            } catch (IOException e) {
+                System.err.println("Bot déconnecté : " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                bot.destroy();
+            }
+        }
+
+        private void play(int games, int concurrency, long baseSeed, String rules) throws IOException, InterruptedException {
+            send("hello " + PROTOCOL_VERSION);
+            toBot.flush();
+            String hello = fromBot.poll(HANDSHAKE_MILLIS, java.util.concurrent.TimeUnit.MILLISECONDS);
+            if (hello == null || !hello.startsWith("ready")) {
+                System.err.println("Le bot n'a pas répondu « ready » : " + hello);
+                return;
+            }
+            System.out.println("Bot " + (hello.length() > 6 ? hello.substring(6) : "?") + " : " + games + " parties, "
+                    + concurrency + " simultanées, " + moveNanos / 1_000_000 + " ms/coup, graine " + baseSeed);
+
+            long start = System.nanoTime();
+            int started = 0;
+            int finished = 0;
+            boolean botAlive = true;
+            while (finished < games && botAlive) {
+                while (active.size() < concurrency && started < games) {
+                    long seed = FuzzHarness.mix(baseSeed + started);
+                    RuleSet ruleSet = "MIXED".equals(rules) ? ((seed & 1) == 0 ? RuleSet.CLASSIC : RuleSet.SALVO) : RuleSet.valueOf(rules);
+                    startMatch(new Match(started++, seed, ruleSet));
+                }
+                // FR: Toutes les requêtes du tour partent ensemble. / EN: All of this round's requests go out together.
+                toBot.flush();
+
+                String line = fromBot.poll(Math.max(1, nextDeadline() - System.nanoTime()), java.util.concurrent.TimeUnit.NANOSECONDS);
+                while (line != null) {
+                    if (line == EOF) {
+                        botAlive = false;
+                        break;
+                    }
+                    finished += handle(line);
+                    line = fromBot.poll();
+                }
+                finished += expireDeadlines();
+            }
+            if (!botAlive) {
+                System.err.println("Le bot s'est arrêté ; " + active.size() + " partie(s) en cours perdues.");
+                errors += active.size();
+                active.clear();
+            } else {
+                send("quit");
+                toBot.flush();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d parties en %.1f s (%.0f parties/s) : %d victoires, %d défaites, %d hors délai, %d erreurs%n",
+                    finished, seconds, finished / seconds, wins, losses, timeouts, errors);
+            if (finished > 0) {
+                System.out.printf("Score moyen %.0f, %.1f tirs par partie, latence moyenne %.2f ms (max %.2f ms)%n",
+                        (double) totalScore / finished, (double) totalShots / finished,
+                        replies == 0 ? 0 : latencyNanos / 1e6 / replies, maxLatencyNanos / 1e6);
+            }
+        }
+
+        private void startMatch(Match match) throws IOException {
+            active.put(match.id, match);
+            match.engine.initGame(match.rules, match.seed);
+            match.engine.runPending();
+            send("new " + match.id + " " + match.rules.name() + " " + Theme.BOARD_SIZE);
+            requestPlacement(match);
+        }
+
+        private void requestPlacement(Match match) throws IOException {
+            StringBuilder sb = new StringBuilder("place ").append(match.id).append(' ').append(++match.request)
+                    .append(' ').append(match.engine.currentLevel);
+            for (Ship ship : GameEngine.getShipsForLevel(match.engine.currentLevel)) sb.append(' ').append(ship.getSize());
+            match.awaitingPlacement = true;
+            arm(match);
+            send(sb.toString());
+        }
+
+        private void requestMove(Match match) throws IOException {
+            GameEngine engine = match.engine;
+            match.expectedShots = engine.playerSalvoShots();
+            match.awaitingPlacement = false;
+            arm(match);
+            send("move " + match.id + " " + ++match.request + " " + match.expectedShots);
+        }
+
+        private void arm(Match match) {
+            match.sentNanos = System.nanoTime();
+            match.deadlineNanos = match.sentNanos + moveNanos;
+        }
+
+        /**
+         * FR: Traite une ligne du bot ; retourne 1 si elle termine une partie.
+         * EN: Handles one line from the bot; returns 1 if it ends a game.
+         */
+        private int handle(String line) throws IOException {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length < 3 || !(tokens[0].equals("place") || tokens[0].equals("shot"))) {
+                System.err.println("Ligne du bot ignorée : " + line);
+                return 0;
+            }
+            Match match;
+            int request;
+            try {
+                match = active.get(Integer.parseInt(tokens[1]));
+                request = Integer.parseInt(tokens[2]);
+            } catch (NumberFormatException e) {
+                System.err.println("Ligne du bot ignorée : " + line);
+                return 0;
+            }
+            if (match == null || request != match.request) return 0; // FR: Réponse périmée. / EN: Stale reply.
+
+            long latency = System.nanoTime() - match.sentNanos;
+            replies++;
+            latencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+
+            boolean placing = tokens[0].equals("place");
+            if (placing != match.awaitingPlacement) return finish(match, "error");
+            return placing ? place(match, tokens) : shoot(match, tokens);
+        }
+
+        private int place(Match match, String[] tokens) throws IOException {
+            GameEngine engine = match.engine;
+            java.util.List<Ship> fleet = GameEngine.getShipsForLevel(engine.currentLevel);
+            Board check = new Board();
+            if (tokens.length == 4 && tokens[3].equals("auto")) {
+                Random random = new Random(match.seed ^ engine.currentLevel);
+                for (Ship ship : fleet) {
+                    if (!check.placeShipUniformly(ship, random)) return finish(match, "error");
+                }
+            } else {
+                if (tokens.length != 3 + fleet.size()) return finish(match, "error");
+                for (int i = 0; i < fleet.size(); i++) {
+                    String[] cell = tokens[3 + i].split(",");
+                    if (cell.length != 3) return finish(match, "error");
+                    try {
+                        fleet.get(i).setPlacement(Integer.parseInt(cell[0]), Integer.parseInt(cell[1]), cell[2].equals("h"));
+                    } catch (NumberFormatException e) {
+                        return finish(match, "error");
+                    }
+                    if (!check.placeShip(fleet.get(i))) return finish(match, "error");
+                }
+            }
+            engine.submitPlayerFleet(fleet);
+            engine.setCurrentState(GameState.PLAYING);
+            engine.runPending();
+            requestMove(match);
+            return 0;
+        }
+
+        private int shoot(Match match, String[] tokens) throws IOException {
+            GameEngine engine = match.engine;
+            int count = tokens.length - 3;
+            if (count != match.expectedShots) return finish(match, "error");
+            int[] xs = new int[count];
+            int[] ys = new int[count];
+            java.util.Set<Integer> seen = new java.util.HashSet<>();
+            for (int i = 0; i < count; i++) {
+                String[] cell = tokens[3 + i].split(",");
+                try {
+                    xs[i] = Integer.parseInt(cell[0]);
+                    ys[i] = Integer.parseInt(cell[1]);
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    return finish(match, "error");
+                }
+                if (!engine.computerBoard.isValidCoordinate(xs[i], ys[i]) || engine.computerBoard.isShot(xs[i], ys[i])
+                        || !seen.add(xs[i] * Theme.BOARD_SIZE + ys[i])) {
+                    return finish(match, "error");
+                }
+            }
+
+            int level = engine.currentLevel;
+            Board target = engine.computerBoard;
+            if (match.rules == RuleSet.SALVO) {
+                engine.playerFireSalvo(xs, ys, count);
+            } else {
+                engine.playerMakeMove(xs[0], ys[0]);
+            }
+            engine.runPending();
+            match.shots += count;
+
+            // FR: La grille visée reste lisible même si le niveau a changé entre-temps.
+            // EN: The targeted board stays readable even if the level changed meanwhile.
+            for (int i = 0; i < count; i++) {
+                boolean hit = target.getShipAt(xs[i], ys[i]) != null;
+                send("result " + match.id + " " + xs[i] + "," + ys[i] + (hit ? " hit" : " miss"));
+                Ship ship = target.getShipAt(xs[i], ys[i]);
+                if (ship != null && ship.isSunk() && lastHitOf(ship, target, xs, ys, i)) {
+                    send("sunk " + match.id + " " + xs[i] + "," + ys[i] + " " + ship.getSize());
+                }
+            }
+
+            if (engine.currentState == GameState.GAME_OVER) {
+                return finish(match, target.areAllShipsSunk() && level == Theme.MAX_LEVEL ? "win" : "loss");
+            }
+            if (engine.currentLevel != level) {
+                send("level " + match.id + " " + engine.currentLevel);
+                requestPlacement(match);
+            } else {
+                requestMove(match);
+            }
+            return 0;
+        }
+
+        // FR: Annonce « sunk » une seule fois, sur le dernier tir de la salve qui touche ce navire.
+        // EN: Announces "sunk" only once, on the volley's last shot that hits this ship.
+        private static boolean lastHitOf(Ship ship, Board target, int[] xs, int[] ys, int index) {
+            for (int j = index + 1; j < xs.length; j++) {
+                if (target.getShipAt(xs[j], ys[j]) == ship) return false;
+            }
+            return true;
+        }
+
+        private long nextDeadline() {
+            long next = System.nanoTime() + moveNanos;
+            for (Match match : active.values()) next = Math.min(next, match.deadlineNanos);
+            return next;
+        }
+
+        private int expireDeadlines() throws IOException {
+            long now = System.nanoTime();
+            java.util.List<Match> late = new ArrayList<>();
+            for (Match match : active.values()) {
+                if (now - match.deadlineNanos > 0) late.add(match);
+            }
+            int ended = 0;
+            for (Match match : late) ended += finish(match, "timeout");
+            return ended;
+        }
+
+        private int finish(Match match, String outcome) throws IOException {
+            active.remove(match.id);
+            long score = match.engine.playerScore;
+            send("end " + match.id + " " + outcome + " " + score + " " + match.shots);
+            switch (outcome) {
+                case "win": wins++; break;
+                case "loss": losses++; break;
+                case "timeout": timeouts++; break;
+                default: errors++; break;
+            }
+            totalScore += score;
+            totalShots += match.shots;
+            return 1;
+        }
+
+        private void send(String line) throws IOException {
+            toBot.write(line);
+            toBot.write('\n');
+        }
+    }
+
+    /**
+     * FR: Bot de référence pour --bot-host : tirs aléatoires, puis chasse autour des touches.
+     *     Usage : java BattleshipPremiumV2 --bot-random
+     * EN: Reference bot for --bot-host: random shots, then hunting around hits.
+     *     Usage: java BattleshipPremiumV2 --bot-random
+     */
+    private static final class RandomBot {
+        /**
+         * FR: État d'une partie vue par le bot.
+         * EN: State of a game as seen by the bot.
+         */
+        private static final class View {
+            private final boolean[] shot;
+            private final java.util.ArrayDeque<Integer> targets = new java.util.ArrayDeque<>();
+            private final int size;
+
+            View(int size) {
+                this.size = size;
+                this.shot = new boolean[size * size];
+            }
+        }
+
+        static void run() throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(new java.io.BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+            java.util.Map<String, View> games = new java.util.HashMap<>();
+            Random random = new Random();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] t = line.split(" ");
+                switch (t[0]) {
+                    case "hello":
+                        out.println("ready random");
+                        break;
+                    case "new":
+                        games.put(t[1], new View(Integer.parseInt(t[3])));
+                        break;
+                    case "level": {
+                        View old = games.get(t[1]);
+                        if (old != null) games.put(t[1], new View(old.size));
+                        break;
+                    }
+                    case "place":
+                        out.println("place " + t[1] + " " + t[2] + " auto");
+                        break;
+                    case "move": {
+                        View view = games.get(t[1]);
+                        StringBuilder sb = new StringBuilder("shot ").append(t[1]).append(' ').append(t[2]);
+                        for (int n = Integer.parseInt(t[3]); n > 0; n--) {
+                            int cell = nextTarget(view, random);
+                            view.shot[cell] = true;
+                            sb.append(' ').append(cell / view.size).append(',').append(cell % view.size);
+                        }
+                        out.println(sb);
+                        break;
+                    }
+                    case "result": {
+                        View view = games.get(t[1]);
+                        if (view != null && t[3].equals("hit")) {
+                            String[] xy = t[2].split(",");
+                            int x = Integer.parseInt(xy[0]);
+                            int y = Integer.parseInt(xy[1]);
+                            if (x > 0) view.targets.add((x - 1) * view.size + y);
+                            if (x < view.size - 1) view.targets.add((x + 1) * view.size + y);
+                            if (y > 0) view.targets.add(x * view.size + y - 1);
+                            if (y < view.size - 1) view.targets.add(x * view.size + y + 1);
+                        }
+                        break;
+                    }
+                    case "end":
+                        games.remove(t[1]);
+                        break;
+                    case "quit":
+                        out.flush();
+                        return;
+                    default:
+                        break;
+                }
+                // FR: Répond par lots : ne vide le tampon que si l'hôte n'a plus rien envoyé.
+                // EN: Replies in batches: only flushes when the host has nothing more queued.
+                if (!in.ready()) out.flush();
+            }
+            out.flush();
+        }
+
+        private static int nextTarget(View view, Random random) {
+            while (!view.targets.isEmpty()) {
+                int cell = view.targets.poll();
+                if (!view.shot[cell]) return cell;
+            }
+            int cell;
+            do {
+                cell = random.nextInt(view.shot.length);
+            } while (view.shot[cell]);
+            return cell;
         }
+    }
+
+    /**
+     * FR: Diffusion en direct d'une partie aux spectateurs du réseau local (option --broadcast [port]).
+     *     Un seul thread encode chaque événement du bus une fois, dans un tampon direct en lecture
+     *     seule, puis le confie à chaque spectateur par duplicate() : aucune copie par connexion.
+     *     Les tirs partent en deltas ; une image clé (grilles complètes) suit chaque changement de
+     *     structure (partie, placement, niveau, fin, retour arrière) et, au plus toutes les 2 s,
+     *     tout autre changement : un spectateur arrivé en retard ou resynchronisé repart de la
+     *     dernière image clé et des deltas émis depuis. Les navires intacts de l'ordinateur ne
+     *     quittent jamais l'hôte : seules les cases visées et touchées de sa grille sont transmises.
+     * EN: Live broadcast of a game to spectators on the local network (--broadcast [port] option).
+     *     A single thread encodes each bus event once, into a read-only direct buffer, then hands
+     *     it to every spectator through duplicate(): no per-connection copy. Shots go out as
+     *     deltas; a keyframe (complete boards) follows every structural change (game, placement,
+     *     level, game over, rewind) and, at most every 2 s, any other change: a late or
+     *     resynchronised spectator restarts from the latest keyframe and the deltas emitted since.
+     *     The computer's intact ships never leave the host: only the targeted and hit cells of
+     *     its board are sent.
+     *
+     * Protocol (big-endian; every frame: int length of what follows, byte type, long sequence):
+     * <pre>
+     *   KEYFRAME  version state rules level:int score:long name:short+utf8
+     *             player:   size count placement:int × count shots:long × words
+     *             computer: size shots:long × words hits:long × words afloat
+     *   SHOT      byPlayer x y hit
+     *   SUNK      byPlayer x y size
+     *   SCORE     score:long
+     * </pre>
+     * FR: La séquence est celle du bus : une image clé reflète tous les événements jusqu'à la sienne
+     *     et seuls des deltas de séquence supérieure la suivent.
+     * EN: The sequence is the bus one: a keyframe reflects every event up to its own and only
+     *     deltas with a greater sequence follow it.
+     */
+    private static final class SpectatorBroadcast {
+        static final int DEFAULT_PORT = 47_470;
+        static final int VERSION = 1;
+        static final byte KEYFRAME = 1;
+        static final byte SHOT = 2;
+        static final byte SUNK = 3;
+        static final byte SCORE = 4;
+        static final int HEADER_BYTES = 4 + 1 + 8;
+        private static final long KEYFRAME_NANOS = 2_000_000_000L;
+        private static final long PENDING_POLL_MILLIS = 5;
+        private static final long IDLE_POLL_MILLIS = 250;
+        private static final int ARENA_BYTES = 64 << 10;
+        private static final long MAX_QUEUED_BYTES = 64 << 10;
+        private static final long STALL_NANOS = 10_000_000_000L;
+        private static final int GATHER = 64;
+
+        private static int requestedPort = -1;
 
         /**
-         * FR: Tente de placer un navire à une position aléatoire.
-         * EN: Tries to place a ship at a random position.
+         * FR: Spectateur connecté : sa file de vues sur les trames partagées.
+         * EN: Connected spectator: its queue of views onto the shared frames.
          */
-        public boolean placeShipRandomly(Ship ship, Random rand) {
-            int attempts = 0;
-            while (attempts < 100) {
-                ship.setPlacement(rand.nextInt(Theme.BOARD_SIZE), rand.nextInt(Theme.BOARD_SIZE), rand.nextBoolean());
-                if (placeShip(ship)) return true;
-                attempts++;
+        private static final class Viewer {
+            private final java.nio.channels.SocketChannel channel;
+            private final String address;
+            private final java.util.ArrayDeque<java.nio.ByteBuffer> queue = new java.util.ArrayDeque<>();
+            private java.nio.channels.SelectionKey key;
+            private long queuedBytes;
+            private long lastProgressNanos;
+
+            Viewer(java.nio.channels.SocketChannel channel, String address, long now) {
+                this.channel = channel;
+                this.address = address;
+                this.lastProgressNanos = now;
             }
-            return false; // FR: Échec après 100 tentatives. / EN: Failed after 100 attempts.
         }
 
-        /**
-         * FR: Enregistre un tir à une coordonnée.
-         * EN: Registers a shot at a coordinate.
-         * @return `true` si un navire est touché, `false` sinon.
-         */
-        public boolean shoot(int x, int y) {
-            if (!isValidCoordinate(x, y) || isShot(x,y)) return false;
-            
-            if (grid[x][y] == 'S') {
-                grid[x][y] = 'H';
-                for (Ship ship : ships) if (ship.isHit(x, y)) break;
-                return true;
-            } else {
-                grid[x][y] = 'M';
-                return false;
+        private final GameEngine engine;
+        private final java.nio.channels.Selector selector;
+        private final java.nio.channels.ServerSocketChannel server;
+        private final java.util.List<Viewer> viewers = new ArrayList<>();
+        private final java.nio.ByteBuffer[] gather = new java.nio.ByteBuffer[GATHER];
+        private final java.nio.ByteBuffer discard = java.nio.ByteBuffer.allocate(256);
+        private java.nio.ByteBuffer arena = java.nio.ByteBuffer.allocateDirect(ARENA_BYTES);
+        private GameEventBus.Subscription subscription;
+
+        // FR: Dernière image clé et deltas émis depuis : tout ce qu'il faut à un nouveau spectateur.
+        // EN: Latest keyframe and deltas emitted since: all a new spectator needs.
+        private java.nio.ByteBuffer keyframe;
+        private long keyframeSequence = -1;
+        private GameEngine.Snapshot keyframeSnapshot;
+        private final java.util.ArrayDeque<java.nio.ByteBuffer> backlog = new java.util.ArrayDeque<>();
+        // FR: Image clé attendue d'un instantané couvrant au moins cette séquence ; les deltas attendent avec elle.
+        // EN: Keyframe awaited from a snapshot covering at least this sequence; deltas wait along with it.
+        private boolean keyframePending;
+        private long pendingCover;
+        private long expected = -1;
+
+        // FR: Compteurs (écrits par le thread de diffusion, lus à l'arrêt). / EN: Counters (written by the broadcast thread, read at exit).
+        private volatile long connections, keyframes, deltas, sentBytes, resyncs, evicted;
+
+        private SpectatorBroadcast(GameEngine engine, int port) throws IOException {
+            this.engine = engine;
+            this.selector = java.nio.channels.Selector.open();
+            this.server = java.nio.channels.ServerSocketChannel.open();
+            try {
+                server.bind(new java.net.InetSocketAddress(port));
+                server.configureBlocking(false);
+                server.register(selector, java.nio.channels.SelectionKey.OP_ACCEPT);
+            } catch (IOException e) {
+                server.close();
+                selector.close();
+                throw e;
             }
         }
-        
-        public Ship getShipAt(int x, int y) {
-             for (Ship ship : ships) {
-                for(Point p : ship.getOccupiedCells()) {
-                    if (p.x == x && p.y == y) return ship;
+
+        /**
+         * FR: Lit l'option de la ligne de commande (avant la création de l'interface).
+         * EN: Reads the command-line option (before the UI is created).
+         * @param port FR: Port demandé, null pour le port par défaut. / EN: Requested port, null for the default one.
+         */
+        static void configure(String port) {
+            requestedPort = DEFAULT_PORT;
+            if (port != null) {
+                try {
+                    requestedPort = Integer.parseInt(port);
+                } catch (NumberFormatException e) {
+                    System.err.println("Port invalide, " + DEFAULT_PORT + " retenu : " + port);
                 }
             }
-            return null;
         }
-        
-        public boolean isShot(int x, int y) { return grid[x][y] == 'H' || grid[x][y] == 'M'; }
-        
-        public boolean areAllShipsSunk() {
-            for (Ship ship : ships) {
-                if (!ship.isSunk()) {
-                    return false;
-                }
+
+        /**
+         * FR: Diffuse le moteur de l'interface si l'option l'a demandé.
+         * EN: Broadcasts the UI's engine if the option asked for it.
+         */
+        static void attachIfRequested(GameEngine engine) {
+            if (requestedPort < 0) return;
+            try {
+                start(engine, requestedPort);
+            } catch (IOException e) {
+                System.err.println("Diffusion impossible sur le port " + requestedPort + " : " + e.getMessage());
             }
-            return true;
         }
 
         /**
-         * FR: Dessine la grille et son contenu.
-         * EN: Draws the grid and its contents.
-         * @param hideShips FR: Si vrai, ne dessine pas les navires intacts (pour la grille ennemie).
-         * EN: If true, does not draw intact ships (for the enemy grid).
+         * FR: Ouvre le port (0 = port libre quelconque) et démarre le thread de diffusion.
+         * EN: Opens the port (0 = any free port) and starts the broadcast thread.
          */
-        public void draw(Graphics2D g2d, int offsetX, int offsetY, boolean hideShips) {
-            for (int i = 0; i < Theme.BOARD_SIZE; i++) {
-                for (int j = 0; j < Theme.BOARD_SIZE; j++) {
-                    int x = offsetX + i * Theme.CELL_SIZE;
-                    int y = offsetY + j * Theme.CELL_SIZE;
-                    
-                    g2d.setColor(Theme.COLOR_GRID_BG);
-                    g2d.fillRect(x, y, Theme.CELL_SIZE, Theme.CELL_SIZE);
-                    g2d.setColor(Theme.COLOR_GRID_LINE);
-                    g2d.drawRect(x, y, Theme.CELL_SIZE, Theme.CELL_SIZE);
+        static SpectatorBroadcast start(GameEngine engine, int port) throws IOException {
+            SpectatorBroadcast broadcast = new SpectatorBroadcast(engine, port);
+            GameEventBus bus = engine.getEventBus();
+            broadcast.subscription = bus.subscribe(broadcast::onEvent, GameEventBus.BackPressure.DROP_OLDEST, broadcast.selector::wakeup);
+            // FR: La première image clé doit couvrir tout ce qui précède l'abonnement.
+            // EN: The first keyframe must cover everything before the subscription.
+            broadcast.requestKeyframe(bus.getPublished());
+            Thread thread = new Thread(broadcast::run, "battleship-broadcast");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(broadcast::finish, "battleship-broadcast-report"));
+            System.out.println("Diffusion aux spectateurs sur le port " + broadcast.getPort()
+                    + " (--spectate [hôte] " + broadcast.getPort() + " pour regarder)");
+            return broadcast;
+        }
 
-                    switch (grid[i][j]) {
-                        case 'H':
-                            g2d.setColor(Theme.COLOR_HIT);
-                            g2d.fillRect(x+2, y+2, Theme.CELL_SIZE-4, Theme.CELL_SIZE-4);
-                            break;
-                        case 'M':
-                            g2d.setColor(Theme.COLOR_MISS);
-                            g2d.fillOval(x + Theme.CELL_SIZE / 2 - 4, y + Theme.CELL_SIZE / 2 - 4, 8, 8);
-                            break;
+        int getPort() {
+            return server.socket().getLocalPort();
+        }
+
+        private void run() {
+            long nextKeyframe = System.nanoTime() + KEYFRAME_NANOS;
+            while (true) {
+                try {
+                    selector.select(keyframePending ? PENDING_POLL_MILLIS : IDLE_POLL_MILLIS);
+                } catch (IOException e) {
+                    System.err.println("Diffusion interrompue : " + e.getMessage());
+                    return;
+                }
+                long now = System.nanoTime();
+                for (java.nio.channels.SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept(now);
+                        continue;
                     }
+                    Viewer viewer = (Viewer) key.attachment();
+                    if (key.isReadable()) read(viewer);
+                    if (key.isValid() && key.isWritable()) deliver(viewer, now);
                 }
-            }
-            if (!hideShips) {
-                for (Ship ship : ships) {
-                    ship.draw(g2d, offsetX, offsetY);
+                selector.selectedKeys().clear();
+
+                subscription.poll(1024);
+                // FR: L'instantané suit les événements d'un lot : l'image clé attend celui qui couvre sa cause.
+                // EN: The snapshot follows a batch's events: the keyframe waits for the one covering its cause.
+                GameEngine.Snapshot snapshot = engine.getSnapshot();
+                if (keyframePending ? snapshot.getEventSequence() >= pendingCover
+                        : now >= nextKeyframe && snapshot != keyframeSnapshot) {
+                    emitKeyframe(snapshot, now);
+                    nextKeyframe = now + KEYFRAME_NANOS;
                 }
             }
         }
-    }
 
-    /**
-     * FR: Représente un navire avec sa taille, son type et son état.
-     * EN: Represents a ship with its size, type, and state.
-     */
-    private static class Ship {
-        private final int size;
-        private final String type;
-        private int hitCount;
-        private int startX, startY;
-        private boolean isHorizontal;
-        private java.util.List<Point> occupiedCells = new ArrayList<>();
+        private void onEvent(GameEventBus.GameEvent event) {
+            long sequence = event.getSequence();
+            // FR: Événements écrasés (file pleine) : seule une image clé rattrape l'écart.
+            // EN: Overwritten events (full queue): only a keyframe can bridge the gap.
+            if (expected >= 0 && sequence != expected) requestKeyframe(sequence);
+            expected = sequence + 1;
+            if (sequence <= keyframeSequence) return; // FR: Déjà dans l'image clé. / EN: Already in the keyframe.
+            switch (event.getType()) {
+                case SHOT_FIRED:
+                    emitDelta(encodeCell(SHOT, sequence, event, (int) event.getValue()));
+                    break;
+                case SUNK:
+                    emitDelta(encodeCell(SUNK, sequence, event, (int) event.getValue()));
+                    break;
+                case SCORE_CHANGED:
+                    emitDelta(seal(allocate(SCORE, sequence, 8).putLong(event.getValue())));
+                    break;
+                case MATCH_STARTED:
+                case SHIP_PLACED:
+                case LEVEL_UP:
+                case GAME_OVER:
+                case POSITION_RESTORED:
+                    requestKeyframe(sequence);
+                    break;
+                default:
+                    break;
+            }
+        }
 
-        public Ship(int size, String type) {
-            this.size = size;
-            this.type = type;
+        private void requestKeyframe(long cover) {
+            pendingCover = keyframePending ? Math.max(pendingCover, cover) : cover;
+            keyframePending = true;
         }
 
-        public void setPlacement(int startX, int startY, boolean isHorizontal) {
-            this.startX = startX;
-            this.startY = startY;
-            this.isHorizontal = isHorizontal;
-            this.occupiedCells = calculateOccupiedCells(startX, startY);
+        private void emitDelta(java.nio.ByteBuffer frame) {
+            deltas++;
+            backlog.add(frame);
+            if (keyframePending) return;
+            long now = System.nanoTime();
+            for (int i = viewers.size() - 1; i >= 0; i--) {
+                Viewer viewer = viewers.get(i);
+                enqueue(viewer, frame);
+                deliver(viewer, now);
+            }
         }
 
         /**
-         * FR: Enregistre une touche sur ce navire.
-         * EN: Registers a hit on this ship.
-         * @return `true` si le tir a touché ce navire, `false` sinon.
+         * FR: Remplace l'image clé et la renvoie à tous, suivie des deltas qu'elle ne couvre pas encore
+         *     (déjà envoyés ou retenus) : l'image clé remet l'état du spectateur à sa séquence.
+         * EN: Replaces the keyframe and sends it to everyone, followed by the deltas it does not cover
+         *     yet (already sent or held back): the keyframe resets the spectator's state to its sequence.
          */
-        public boolean isHit(int x, int y) {
-            if (occupiedCells.contains(new Point(x,y))) {
-                hitCount++;
-                return true;
+        private void emitKeyframe(GameEngine.Snapshot snapshot, long now) {
+            keyframe = encodeKeyframe(snapshot);
+            keyframeSequence = snapshot.getEventSequence();
+            keyframeSnapshot = snapshot;
+            keyframePending = false;
+            keyframes++;
+            while (!backlog.isEmpty() && backlog.peekFirst().getLong(5) <= keyframeSequence) backlog.pollFirst();
+            for (int i = viewers.size() - 1; i >= 0; i--) {
+                Viewer viewer = viewers.get(i);
+                enqueueState(viewer);
+                deliver(viewer, now);
             }
-            return false;
+        }
+
+        private void enqueue(Viewer viewer, java.nio.ByteBuffer frame) {
+            viewer.queue.add(frame.duplicate());
+            viewer.queuedBytes += frame.remaining();
+        }
+
+        private void enqueueState(Viewer viewer) {
+            enqueue(viewer, keyframe);
+            for (java.nio.ByteBuffer frame : backlog) enqueue(viewer, frame);
         }
 
         /**
-         * FR: Calcule toutes les cellules occupées par le navire.
-         * EN: Calculates all the cells occupied by the ship.
+         * FR: Écrit ce que le socket accepte. Un spectateur trop en retard repart de l'image clé
+         *     (les trames intermédiaires sont abandonnées) ; sans progrès depuis 10 s, il est exclu.
+         * EN: Writes what the socket accepts. A spectator too far behind restarts from the keyframe
+         *     (intermediate frames are dropped); with no progress for 10 s, it is evicted.
          */
-        private java.util.List<Point> calculateOccupiedCells(int startX, int startY) {
-            java.util.List<Point> cells = new ArrayList<>();
-            for (int i = 0; i < size; i++) {
-                cells.add(new Point(isHorizontal ? startX + i : startX, isHorizontal ? startY : startY + i));
+        private void deliver(Viewer viewer, long now) {
+            if (!flush(viewer, now)) return;
+            if (viewer.queuedBytes <= MAX_QUEUED_BYTES) return;
+            if (now - viewer.lastProgressNanos > STALL_NANOS) {
+                evicted++;
+                close(viewer, "trop lent");
+                return;
             }
-            return cells;
+            // FR: Le tampon entamé part en entier : une trame coupée désynchroniserait le flux.
+            // EN: The started buffer goes out whole: a truncated frame would desynchronise the stream.
+            java.nio.ByteBuffer head = viewer.queue.peekFirst();
+            viewer.queue.clear();
+            viewer.queuedBytes = 0;
+            if (head != null && head.position() > 0) {
+                viewer.queue.add(head);
+                viewer.queuedBytes = head.remaining();
+            }
+            enqueueState(viewer);
+            resyncs++;
+            flush(viewer, now);
         }
 
         /**
-         * FR: Dessine le navire sur la grille du joueur.
-         * EN: Draws the ship on the player's grid.
+         * FR: Écriture groupée (gathering) des tampons en attente, sans bloquer.
+         * EN: Gathering write of the pending buffers, without blocking.
+         * @return FR: Faux si le spectateur a été déconnecté. / EN: False if the spectator was disconnected.
          */
-        public void draw(Graphics2D g2d, int offsetX, int offsetY) {
-            g2d.setColor(Theme.COLOR_SHIP);
-            int drawX = offsetX + startX * Theme.CELL_SIZE;
-            int drawY = offsetY + startY * Theme.CELL_SIZE;
-            int width = isHorizontal ? size * Theme.CELL_SIZE : Theme.CELL_SIZE;
-            int height = isHorizontal ? Theme.CELL_SIZE : size * Theme.CELL_SIZE;
-            g2d.fillRect(drawX, drawY, width, height);
-            g2d.setColor(Color.WHITE);
-            g2d.drawRect(drawX, drawY, width, height);
+        private boolean flush(Viewer viewer, long now) {
+            try {
+                while (!viewer.queue.isEmpty()) {
+                    int count = 0;
+                    for (java.nio.ByteBuffer buffer : viewer.queue) {
+                        gather[count++] = buffer;
+                        if (count == GATHER) break;
+                    }
+                    long written = viewer.channel.write(gather, 0, count);
+                    java.util.Arrays.fill(gather, 0, count, null);
+                    while (!viewer.queue.isEmpty() && !viewer.queue.peekFirst().hasRemaining()) viewer.queue.pollFirst();
+                    if (written == 0) break;
+                    viewer.queuedBytes -= written;
+                    viewer.lastProgressNanos = now;
+                    sentBytes += written;
+                }
+            } catch (IOException e) {
+                close(viewer, e.getMessage());
+                return false;
+            }
+            boolean waiting = !viewer.queue.isEmpty();
+            if (!waiting) viewer.lastProgressNanos = now;
+            viewer.key.interestOps(java.nio.channels.SelectionKey.OP_READ | (waiting ? java.nio.channels.SelectionKey.OP_WRITE : 0));
+            return true;
         }
-        
+
+        private void accept(long now) {
+            java.nio.channels.SocketChannel channel = null;
+            Viewer viewer;
+            try {
+                channel = server.accept();
+                if (channel == null) return;
+                channel.configureBlocking(false);
+                channel.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+                viewer = new Viewer(channel, String.valueOf(channel.getRemoteAddress()), now);
+                viewer.key = channel.register(selector, java.nio.channels.SelectionKey.OP_READ, viewer);
+            } catch (IOException e) {
+                System.err.println("Connexion de spectateur refusée : " + e.getMessage());
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+                return;
+            }
+            viewers.add(viewer);
+            connections++;
+            System.out.println("Spectateur connecté : " + viewer.address + " (" + viewers.size() + " en ligne)");
+            // FR: Sans image clé encore, il recevra la première comme tout le monde.
+            // EN: Without a keyframe yet, it will receive the first one like everybody else.
+            if (keyframe != null) {
+                enqueueState(viewer);
+                deliver(viewer, now);
+            }
+        }
+
+        private void read(Viewer viewer) {
+            // FR: Les spectateurs n'envoient rien : la lecture ne sert qu'à voir la déconnexion.
+            // EN: Spectators send nothing: reading only serves to notice the disconnection.
+            try {
+                discard.clear();
+                if (viewer.channel.read(discard) < 0) close(viewer, "déconnecté");
+            } catch (IOException e) {
+                close(viewer, e.getMessage());
+            }
+        }
+
+        private void close(Viewer viewer, String reason) {
+            if (!viewers.remove(viewer)) return;
+            viewer.key.cancel();
+            viewer.queue.clear();
+            try {
+                viewer.channel.close();
+            } catch (IOException ignored) {
+            }
+            System.out.println("Spectateur parti : " + viewer.address + " (" + reason + ", " + viewers.size() + " en ligne)");
+        }
+
         /**
-         * FR: Dessine une prévisualisation du navire lors du placement.
-         * EN: Draws a preview of the ship during placement.
+         * FR: Trame taillée dans l'arène directe courante ; les arènes pleines sont libérées par le GC
+         *     une fois leur dernière trame envoyée à tous.
+         * EN: Frame carved from the current direct arena; full arenas are freed by the GC once their
+         *     last frame has been sent to everyone.
          */
-        public void drawGhost(Graphics2D g2d, int offsetX, int offsetY, boolean canPlace) {
-             g2d.setColor(canPlace ? Theme.COLOR_GHOST_OK : Theme.COLOR_GHOST_BAD);
-            int drawX = offsetX + startX * Theme.CELL_SIZE;
-            int drawY = offsetY + startY * Theme.CELL_SIZE;
-            int width = isHorizontal ? size * Theme.CELL_SIZE : Theme.CELL_SIZE;
-            int height = isHorizontal ? Theme.CELL_SIZE : size * Theme.CELL_SIZE;
-            g2d.fillRect(drawX, drawY, width, height);
+        private java.nio.ByteBuffer allocate(byte type, long sequence, int payload) {
+            int length = HEADER_BYTES + payload;
+            if (arena.remaining() < length) arena = java.nio.ByteBuffer.allocateDirect(Math.max(ARENA_BYTES, length));
+            java.nio.ByteBuffer frame = arena.slice();
+            frame.limit(length);
+            arena.position(arena.position() + length);
+            return frame.putInt(length - 4).put(type).putLong(sequence);
         }
-        
-        // --- Getters & Setters ---
-        public int getSize() { return size; }
-        public String getType() { return type; }
-        public boolean isSunk() { return hitCount >= size; }
-        public void setOrientation(boolean isHorizontal) { this.isHorizontal = isHorizontal; }
-        public java.util.List<Point> getOccupiedCells() { return occupiedCells; }
-    }
 
-    /**
-     * FR: Représente une entrée dans le tableau des meilleurs scores.
-     * EN: Represents an entry in the high score table.
-     */
-    private static class HighScoreEntry implements Comparable<HighScoreEntry>, Serializable {
-        private final String playerName;
-        private final long score;
+        private static java.nio.ByteBuffer seal(java.nio.ByteBuffer frame) {
+            frame.flip();
+            return frame.asReadOnlyBuffer();
+        }
 
-        public HighScoreEntry(String playerName, long score) {
-            this.playerName = playerName;
-            this.score = score;
+        private java.nio.ByteBuffer encodeCell(byte type, long sequence, GameEventBus.GameEvent event, int value) {
+            return seal(allocate(type, sequence, 4)
+                    .put((byte) (event.isByPlayer() ? 1 : 0)).put((byte) event.getX()).put((byte) event.getY()).put((byte) value));
         }
-        public String getPlayerName() { return playerName; }
-        public long getScore() { return score; }
 
-        // FR: Compare les scores pour le tri (ordre décroissant).
-        // EN: Compares scores for sorting (descending order).
-        @Override public int compareTo(HighScoreEntry other) { return Long.compare(other.score, this.score); }
-        @Override public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            HighScoreEntry that = (HighScoreEntry) o;
-            return score == that.score && playerName.equals(that.playerName);
+        private java.nio.ByteBuffer encodeKeyframe(GameEngine.Snapshot snapshot) {
+            PackedBoard player = snapshot.getPlayerBoard();
+            PackedBoard computer = snapshot.getComputerBoard();
+            byte[] name = String.valueOf(snapshot.getPlayerName()).getBytes(StandardCharsets.UTF_8);
+            int nameLength = Math.min(name.length, 0xFFFF);
+            int ships = player.getShipCount();
+            int payload = 3 + 4 + 8 + 2 + nameLength
+                    + 2 + 4 * ships + 8 * player.shots.length
+                    + 1 + 16 * computer.shots.length + 1;
+            java.nio.ByteBuffer frame = allocate(KEYFRAME, snapshot.getEventSequence(), payload);
+            frame.put((byte) VERSION).put((byte) snapshot.getState().ordinal()).put((byte) snapshot.getRuleSet().ordinal())
+                    .putInt(snapshot.getLevel()).putLong(snapshot.getScore())
+                    .putShort((short) nameLength).put(name, 0, nameLength);
+            // FR: Grille du joueur : telle qu'il la voit, flotte comprise. / EN: Player's board: as they see it, fleet included.
+            frame.put((byte) player.getSize()).put((byte) ships);
+            for (int ship = 0; ship < ships; ship++) frame.putInt(player.fleet.placement[ship]);
+            for (long word : player.shots) frame.putLong(word);
+            // FR: Grille de l'ordinateur : tirs et touches seulement. / EN: Computer's board: shots and hits only.
+            frame.put((byte) computer.getSize());
+            for (long word : computer.shots) frame.putLong(word);
+            for (int w = 0; w < computer.shots.length; w++) frame.putLong(computer.shots[w] & computer.fleet.shipMask[w]);
+            frame.put((byte) computer.countShipsAfloat());
+            return seal(frame);
+        }
+
+        private void finish() {
+            System.out.printf("Diffusion : %d spectateur(s) au total, %d image(s) clé(s), %d delta(s), %.1f Ko envoyés, %d resynchronisation(s), %d exclusion(s)%n",
+                    connections, keyframes, deltas, sentBytes / 1024.0, resyncs, evicted);
         }
-        @Override public int hashCode() { return Objects.hash(playerName, score); }
     }
-    
+
     /**
-     * FR: Gère la lecture, l'écriture et la maintenance des meilleurs scores.
-     * EN: Manages the reading, writing, and maintenance of high scores.
+     * FR: Fenêtre de spectateur (option --spectate [hôte] [port]) : reçoit la diffusion d'une partie et
+     *     la dessine avec {@link Board#draw}, la grille de l'ordinateur toujours masquée. Se reconnecte
+     *     seule ; chaque connexion repart de l'image clé envoyée par l'hôte.
+     * EN: Spectator window (--spectate [host] [port] option): receives a game's broadcast and draws
+     *     it with {@link Board#draw}, the computer's board always hidden. Reconnects on its own;
+     *     every connection restarts from the keyframe sent by the host.
      */
-    private static class HighScoreManager {
-        private static final String HIGHSCORE_FILE = "highscores_premium.json";
-        private static final int MAX_HIGHSCORES = 10;
-        private java.util.List<HighScoreEntry> highScores;
-
-        public HighScoreManager() {
-            this.highScores = new ArrayList<>();
-            loadHighScores();
-        }
+    private static final class SpectatorView extends JPanel {
+        private static final long serialVersionUID = 1L;
+        private static final long RETRY_MILLIS = 2000;
+        private static final int MAX_FRAME_BYTES = 1 << 20;
 
         /**
-         * FR: Ajoute un nouveau score et maintient la liste triée et limitée en taille.
-         * EN: Adds a new score and keeps the list sorted and limited in size.
+         * FR: Copie locale de la partie, reconstruite depuis les trames (synchronisée : lecteur réseau et EDT).
+         *     Les touches sur l'ordinateur deviennent des navires d'une case, jamais dessinés.
+         * EN: Local copy of the game, rebuilt from the frames (synchronized: network reader and EDT).
+         *     Hits on the computer become one-cell ships, never drawn.
          */
-        public void addScore(String playerName, long score) {
-            highScores.add(new HighScoreEntry(playerName, score));
-            Collections.sort(highScores);
-            if (highScores.size() > MAX_HIGHSCORES) {
-                highScores = highScores.subList(0, MAX_HIGHSCORES);
-            }
-        }
+        static final class Replica {
+            private GameState state;
+            private RuleSet rules;
+            private int level;
+            private long score;
+            private String playerName = "";
+            private Board playerBoard;
+            private Board computerBoard;
+            private int computerAfloat;
+            private long keyframeSequence = -1;
 
-        /**
-         * FR: Charge les scores depuis le fichier JSON. Gère les erreurs de formatage.
-         * EN: Loads scores from the JSON file. Handles formatting errors.
-         */
-        public void loadHighScores() {
-            this.highScores.clear();
-            java.nio.file.Path file = Paths.get(HIGHSCORE_FILE);
-            if (!Files.exists(file)) {
-                return; // FR: Normal au premier lancement. / EN: Normal on first launch.
+            synchronized void apply(byte type, long sequence, java.nio.ByteBuffer in) throws IOException {
+                if (type == SpectatorBroadcast.KEYFRAME) {
+                    readKeyframe(in);
+                    keyframeSequence = sequence;
+                    return;
+                }
+                // FR: Rien à quoi appliquer le delta, ou delta déjà compté dans l'image clé.
+                // EN: Nothing to apply the delta to, or delta already counted in the keyframe.
+                if (playerBoard == null || sequence <= keyframeSequence) return;
+                switch (type) {
+                    case SpectatorBroadcast.SHOT: {
+                        boolean byPlayer = in.get() != 0;
+                        int x = in.get() & 0xFF;
+                        int y = in.get() & 0xFF;
+                        boolean hit = in.get() != 0;
+                        Board target = byPlayer ? computerBoard : playerBoard;
+                        if (!target.isValidCoordinate(x, y) || target.isShot(x, y)) return;
+                        if (byPlayer && hit) placeMarker(target, x, y);
+                        target.shoot(x, y);
+                        break;
+                    }
+                    case SpectatorBroadcast.SUNK:
+                        if (in.get() != 0) computerAfloat = Math.max(0, computerAfloat - 1);
+                        break;
+                    case SpectatorBroadcast.SCORE:
+                        score = in.getLong();
+                        break;
+                    default:
+                        break; // FR: Type inconnu (hôte plus récent) : ignoré. / EN: Unknown type (newer host): ignored.
+                }
             }
 
-            try {
-                String content = Files.readString(file, StandardCharsets.UTF_8);
+            private void readKeyframe(java.nio.ByteBuffer in) throws IOException {
+                int version = in.get();
+                if (version != SpectatorBroadcast.VERSION) throw new IOException("version de diffusion " + version + " non prise en charge");
+                state = GameState.values()[in.get()];
+                rules = RuleSet.values()[in.get()];
+                level = in.getInt();
+                score = in.getLong();
+                byte[] name = new byte[in.getShort() & 0xFFFF];
+                in.get(name);
+                playerName = new String(name, StandardCharsets.UTF_8);
+
+                int size = in.get() & 0xFF;
+                Board player = new Board(size);
+                int ships = in.get() & 0xFF;
+                for (int i = 0; i < ships; i++) {
+                    int p = in.getInt();
+                    Ship ship = new Ship(p >>> 24, "");
+                    ship.setPlacement(p & 0xFF, (p >>> 8) & 0xFF, ((p >>> 16) & 1) != 0);
+                    player.placeShip(ship);
+                }
+                shootAll(player, readWords(in, size));
 
-                Pattern entryPattern = Pattern.compile("\\{.*?\\}", Pattern.DOTALL);
-                Matcher entryMatcher = entryPattern.matcher(content);
+                size = in.get() & 0xFF;
+                Board computer = new Board(size);
+                long[] shots = readWords(in, size);
+                long[] hits = readWords(in, size);
+                for (int w = 0; w < hits.length; w++) {
+                    for (long bits = hits[w]; bits != 0; bits &= bits - 1) {
+                        int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        placeMarker(computer, c / size, c % size);
+                    }
+                }
+                shootAll(computer, shots);
+                computerAfloat = in.get() & 0xFF;
+                playerBoard = player;
+                computerBoard = computer;
+            }
 
-                while (entryMatcher.find()) {
-                    String entryBlock = entryMatcher.group();
-                    Pattern namePattern = Pattern.compile("\"playerName\"\\s*:\\s*\"(.*?)\"");
-                    Matcher nameMatcher = namePattern.matcher(entryBlock);
-                    Pattern scorePattern = Pattern.compile("\"score\"\\s*:\\s*(\\d+)");
-                    Matcher scoreMatcher = scorePattern.matcher(entryBlock);
+            private static long[] readWords(java.nio.ByteBuffer in, int size) {
+                long[] words = new long[PackedBoard.words(size)];
+                for (int w = 0; w < words.length; w++) words[w] = in.getLong();
+                return words;
+            }
 
-                    if (nameMatcher.find() && scoreMatcher.find()) {
-                        String name = nameMatcher.group(1);
-                        long score = Long.parseLong(scoreMatcher.group(1));
-                        this.highScores.add(new HighScoreEntry(name, score));
+            private static void shootAll(Board board, long[] shots) {
+                int size = board.getSize();
+                for (int w = 0; w < shots.length; w++) {
+                    for (long bits = shots[w]; bits != 0; bits &= bits - 1) {
+                        int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        board.shoot(c / size, c % size);
                     }
                 }
-                Collections.sort(this.highScores);
+            }
 
-            } catch (IOException | NumberFormatException e) {
-                System.err.println("Erreur lors du chargement des scores : " + e.getMessage());
-                JOptionPane.showMessageDialog(null,
-                        "Impossible de lire le fichier des scores.\nIl sera réinitialisé à la prochaine sauvegarde.",
-                        "Erreur de Lecture", JOptionPane.WARNING_MESSAGE);
-                this.highScores.clear();
+            private static void placeMarker(Board board, int x, int y) {
+                Ship marker = new Ship(1, "");
+                marker.setPlacement(x, y, true);
+                board.placeShip(marker);
             }
         }
 
+        private final Replica replica = new Replica();
+        private volatile String status = "";
+
         /**
-         * FR: Sauvegarde la liste des scores dans le fichier JSON.
-         * EN: Saves the list of scores to the JSON file.
+         * FR: Point d'entrée du mode --spectate.
+         * EN: Entry point of the --spectate mode.
          */
-        public void saveHighScores() {
-            StringBuilder sb = new StringBuilder("[\n");
-            for (int i = 0; i < highScores.size(); i++) {
-                HighScoreEntry entry = highScores.get(i);
-                // FR: Échappe les caractères spéciaux pour un JSON valide.
-                // EN: Escapes special characters for valid JSON.
-                String safePlayerName = entry.getPlayerName()
-                    .replace("\\", "\\\\")
-                    .replace("\"", "\\\"");
-
-                sb.append("  {\n");
-                sb.append("    \"playerName\": \"").append(safePlayerName).append("\",\n");
-                sb.append("    \"score\": ").append(entry.getScore()).append("\n");
-                sb.append("  }");
-                if (i < highScores.size() - 1) {
-                    sb.append(",\n");
-                } else {
-                    sb.append("\n");
+        static void run(String[] args) {
+            String host = args.length > 1 ? args[1] : "localhost";
+            int port = SpectatorBroadcast.DEFAULT_PORT;
+            if (args.length > 2) {
+                try {
+                    port = Integer.parseInt(args[2]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Port invalide, " + port + " retenu : " + args[2]);
                 }
             }
-            sb.append("]");
+            int target = port;
+            SwingUtilities.invokeLater(() -> {
+                SpectatorView view = new SpectatorView();
+                JFrame frame = new JFrame(APP_TITLE + " — spectateur");
+                frame.add(view);
+                frame.setSize(Theme.APP_WIDTH * 3 / 4, Theme.APP_HEIGHT);
+                frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                Thread reader = new Thread(() -> view.receive(host, target), "battleship-spectate");
+                reader.setDaemon(true);
+                reader.start();
+            });
+        }
 
-            try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(HIGHSCORE_FILE), StandardCharsets.UTF_8)) {
-                writer.write(sb.toString());
-            } catch (IOException e) {
-                 System.err.println("Erreur critique lors de la sauvegarde des scores : " + e.getMessage());
-                 JOptionPane.showMessageDialog(null,
-                         "Impossible d'écrire dans le fichier des scores.\n" +
-                         "Vérifiez les permissions du dossier où le jeu est lancé.",
-                         "Erreur de Sauvegarde", JOptionPane.ERROR_MESSAGE);
+        private void receive(String host, int port) {
+            while (true) {
+                setStatus("Connexion à " + host + ":" + port + "…");
+                try (java.net.Socket socket = new java.net.Socket(host, port)) {
+                    socket.setTcpNoDelay(true);
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    setStatus("En direct de " + host + ":" + port);
+                    byte[] payload = new byte[256];
+                    while (true) {
+                        int length = in.readInt();
+                        if (length < 9 || length > MAX_FRAME_BYTES) throw new IOException("trame invalide (" + length + " octets)");
+                        byte type = in.readByte();
+                        long sequence = in.readLong();
+                        int size = length - 9;
+                        if (payload.length < size) payload = new byte[size];
+                        in.readFully(payload, 0, size);
+                        replica.apply(type, sequence, java.nio.ByteBuffer.wrap(payload, 0, size));
+                        repaint();
+                    }
+                } catch (IOException | IndexOutOfBoundsException | java.nio.BufferUnderflowException e) {
+                    setStatus("Déconnecté (" + (e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage())
+                            + "), nouvel essai dans " + RETRY_MILLIS / 1000 + " s");
+                }
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
             }
         }
 
-        public java.util.List<HighScoreEntry> getHighScores() { return highScores; }
+        private void setStatus(String status) {
+            this.status = status;
+            repaint();
+        }
 
-        /**
-         * FR: Vérifie si un score est assez élevé pour entrer dans le top 10.
-         * EN: Checks if a score is high enough to enter the top 10.
-         */
-        public boolean isNewHighScore(long score) {
-            if (score <= 0) {
-                return false;
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            int width = getWidth();
+            int height = getHeight();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setPaint(new GradientPaint(0, 0, Theme.COLOR_BACKGROUND_START, 0, height, Theme.COLOR_BACKGROUND_END));
+            g2d.fillRect(0, 0, width, height);
+
+            BoardLayout layout = BoardLayout.forGame(width, height);
+            int offsetX = layout.getOffsetX();
+            int cell = layout.getCell();
+            String phase = "";
+            synchronized (replica) {
+                if (replica.playerBoard != null) {
+                    g2d.setColor(Theme.COLOR_TEXT);
+                    g2d.setFont(Theme.FONT_SUBTITLE);
+                    g2d.drawString("Grille de l'ordinateur", offsetX, layout.getEnemyY() - 10);
+                    replica.computerBoard.draw(g2d, offsetX, layout.getEnemyY(), cell, true); // hideShips = true
+                    g2d.drawString("Grille de " + replica.playerName, offsetX, layout.getPlayerY() - 10);
+                    replica.playerBoard.draw(g2d, offsetX, layout.getPlayerY(), cell, false);
+
+                    g2d.setFont(Theme.FONT_BUTTON);
+                    g2d.drawString("Score: " + replica.score, 20, 40);
+                    g2d.drawString("Niveau: " + replica.level + "   Navires ennemis: " + replica.computerAfloat
+                            + (replica.rules == RuleSet.SALVO ? "   (salve)" : ""), 20, 70);
+                    phase = phaseLabel(replica.state);
+                }
             }
-            if (highScores.size() < MAX_HIGHSCORES) {
-                return true;
+            g2d.setColor(Theme.COLOR_ACCENT);
+            g2d.setFont(Theme.FONT_BUTTON);
+            g2d.drawString(phase.isEmpty() ? status : status + " — " + phase, 20, 100);
+        }
+
+        private static String phaseLabel(GameState state) {
+            switch (state) {
+                case PLAYING: return "partie en cours";
+                case SHIP_PLACEMENT: return "placement des navires";
+                case PAUSED: return "en pause";
+                case GAME_OVER: return "partie terminée";
+                default: return "hors partie";
             }
-            return score > highScores.get(highScores.size() - 1).getScore();
         }
     }
-}
\ No newline at end of file
+}